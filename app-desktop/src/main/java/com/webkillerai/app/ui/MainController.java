@@ -9,6 +9,7 @@ import com.webkillerai.core.service.ScanService;
 import com.webkillerai.core.service.export.ExportCoordinator;
 import com.webkillerai.core.service.export.OpenHtmlToPdfSupport;
 import com.webkillerai.core.service.export.PdfReportExporter;
+import com.webkillerai.core.service.export.ResultSource;
 import com.webkillerai.core.util.ProgressListener;
 
 import javafx.application.Platform;
@@ -35,7 +36,6 @@ import java.net.URI;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
@@ -522,7 +522,6 @@ public final class MainController {
     // =========================
 
     private void runScan(ScanConfig cfg) {
-        final String startedIso = Instant.now().toString();
         final ScanService svc = new ScanService(cfg);
 
         cancelFlag.set(false);
@@ -610,7 +609,10 @@ public final class MainController {
                         .withRuntime(svc)
                         .withAlsoJsonToggle(chkExportJson != null ? chkExportJson.isSelected() : null);
 
-                Path last = coordinator.exportAll(outRoot, cfg, results, startedIso, formats);
+                // resultLog가 켜져 있으면 보고서는 NDJSON 로그에서 스트리밍(keepInMemory=false면 results는 비어 있음)
+                Path logPath = svc.getResultLogPath();
+                ResultSource source = (logPath != null) ? ResultSource.ofLog(logPath) : ResultSource.of(results);
+                Path last = coordinator.exportAll(outRoot, cfg, source, svc.getStartedIso(), formats);
 
                 if (last != null) {
                     LOG.info(() -> "Report exported: " + last);
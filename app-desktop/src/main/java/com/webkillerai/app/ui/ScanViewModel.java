@@ -6,6 +6,7 @@ import com.webkillerai.core.model.VulnResult;
 import com.webkillerai.core.service.ScanService;
 import com.webkillerai.core.service.export.HtmlReportExporter;
 import com.webkillerai.core.service.export.PdfReportExporter;
+import com.webkillerai.core.service.export.ResultSource;
 import com.webkillerai.core.util.YamlConfigLoader;
 
 import javafx.application.Platform;
@@ -19,7 +20,6 @@ import javafx.concurrent.Worker;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.time.Instant;
 import java.util.*;
 
 /** ViewModel: 입력값 바인딩 + 실제 스캔 연결 + 결과 저장(복사 용이 경로 제공) + 이슈 필터/정렬 모델 */
@@ -97,7 +97,6 @@ public class ScanViewModel {
     public void startMockScan(Runnable onDone) {
         if (!validateInputs() || isRunning()) return;
 
-        final String startedIso = Instant.now().toString();
 
         Task<Path> task = new Task<>() {
             @Override protected Path call() throws Exception {
@@ -128,7 +127,7 @@ public class ScanViewModel {
                 }
 
                 // 4) 저장 (경로 반환)
-                Path outFile = saveResults(results, startedIso, effective, svc);
+                Path outFile = saveResults(results, svc.getStartedIso(), effective, svc);
                 updateMessage("Saved: " + outFile.toAbsolutePath() + " (" + results.size() + " issues)");
                 return outFile;
             }
@@ -202,13 +201,16 @@ public class ScanViewModel {
 
         // output.format 유연 파싱
         Set<String> formats = resolveFormats(effective);
+        // resultLog가 켜져 있으면 NDJSON 로그에서 읽음(keepInMemory=false면 results는 비어 있음)
+        Path logPath = svc.getResultLogPath();
+        ResultSource source = (logPath != null) ? ResultSource.ofLog(logPath) : ResultSource.of(results);
 
         Path last = null;
 
         if (formats.contains("json")) {
             Path json = new com.webkillerai.core.service.export.JsonReportExporter()
                     .withRuntime(svc) // 런타임/통계 주입
-                    .export(baseDir, effective, results, startedIso);
+                    .export(baseDir, effective, source, startedIso);
             last = json;
             lastJsonPath.set(json.toAbsolutePath().toString()); // HTML 없을 때 fallback
         }
@@ -216,14 +218,14 @@ public class ScanViewModel {
         if (formats.contains("html")) {
             Path html = new HtmlReportExporter()
                     // .withStats(svc.getStats()) // 필요 시 활성화
-                    .export(baseDir, effective, results, startedIso);
+                    .export(baseDir, effective, source, startedIso);
             last = html; // UI엔 HTML 경로를 우선 표시
             lastHtmlPath.set(html.toAbsolutePath().toString());
         }
 
         if (formats.contains("pdf")) {
             if (PdfReportExporter.isAvailable()) {
-                Path pdf = new PdfReportExporter().export(baseDir, effective, results, startedIso);
+                Path pdf = new PdfReportExporter().export(baseDir, effective, source, startedIso);
                 last = pdf;
             } else {
                 // updateMessage("PDF exporter unavailable (missing openhtmltopdf deps)");
@@ -234,7 +236,7 @@ public class ScanViewModel {
         if (last == null) {
             Path json = new com.webkillerai.core.service.export.JsonReportExporter()
                     .withRuntime(svc)
-                    .export(baseDir, effective, results, startedIso);
+                    .export(baseDir, effective, source, startedIso);
             last = json;
             lastJsonPath.set(json.toAbsolutePath().toString());
         }
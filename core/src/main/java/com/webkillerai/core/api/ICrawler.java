@@ -7,5 +7,28 @@ import java.util.List;
 /** 크롤러 최소 계약: 시드 URL 목록을 돌려준다. */
 public interface ICrawler extends AutoCloseable {
     List<URI> crawlSeeds();
+
+    /**
+     * 스트리밍 크롤: 방문이 확정된 URL을 발견 즉시 sink로 흘려보낸다.
+     * 기본 구현은 crawlSeeds() 결과를 순서대로 전달한다(비스트리밍 구현체 호환).
+     * sink가 false를 반환하면 탐색을 중단한다.
+     */
+    default void crawlSeeds(SeedSink sink) throws InterruptedException {
+        for (URI u : crawlSeeds()) {
+            if (!sink.accept(u, 0)) return;
+        }
+    }
+
     @Override default void close() throws Exception {}
+
+    /** 스트리밍 수신자 */
+    @FunctionalInterface
+    interface SeedSink {
+        /**
+         * @param seed    방문 확정 URL
+         * @param pending 아직 방문하지 않은 프론티어 크기(총량 추정용, 모르면 0)
+         * @return false면 크롤 중단 요청
+         */
+        boolean accept(URI seed, int pending) throws InterruptedException;
+    }
 }
@@ -0,0 +1,21 @@
+package com.webkillerai.core.crawler;
+
+import com.webkillerai.core.crawler.frontier.Frontier;
+
+import java.util.List;
+
+/**
+ * 크롤 재개 지점(병합 사이의 안전 지점에서 뜬 상태).
+ * - pending: 아직 방문하지 않은 항목(확장 중 + 프론티어, 방문 순서대로)
+ * - seen: 발견 URL 해시(SeenUrlSet) — 재개 시 이미 본 URL을 다시 넣지 않음
+ */
+public record CrawlState(List<Frontier.Entry> pending, long[] seen) {
+
+    /** 크롤러 안전 지점 연결점: 필요할 때만 상태를 떠서 넘긴다(크롤 스레드에서 호출) */
+    public interface Sink {
+        /** 다음 안전 지점에서 상태가 필요한지(병합마다 호출되므로 가벼워야 함) */
+        boolean wanted();
+
+        void save(CrawlState state);
+    }
+}
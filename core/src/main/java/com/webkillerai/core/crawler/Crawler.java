@@ -1,27 +1,51 @@
 package com.webkillerai.core.crawler;
 
 import com.webkillerai.core.api.ICrawler;
+import com.webkillerai.core.api.IHttpAnalyzer;
+import com.webkillerai.core.http.HttpTransport;
+import com.webkillerai.core.http.PageStore;
+import com.webkillerai.core.model.HttpResponseData;
 import com.webkillerai.core.model.ScanConfig;
 import com.webkillerai.core.util.UrlExclusion;
 import com.webkillerai.core.util.UrlUtils;
 import com.webkillerai.core.crawler.robots.*;
+import com.webkillerai.core.crawler.frontier.Frontier;
+import com.webkillerai.core.crawler.frontier.Frontier.Entry;
+import com.webkillerai.core.crawler.frontier.MemoryFrontier;
+import com.webkillerai.core.crawler.frontier.SegmentedFileFrontier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
 
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.time.Duration;
 
 /**
  * BFS 기반 Crawler
  * - sameDomainOnly / maxDepth / excludePaths / robots 존중
  * - 링크 추출은 LinkExtractor에 위임
+ * - FIFO 프론티어 순서대로 병렬 확장(crawler.workers, 기본 concurrency) — 출력 순서는 단일 스레드와 동일
+ * - 프론티어는 힙(기본) 또는 디스크 세그먼트(crawler.frontier: disk)
+ * - 체크포인트: setCheckpoint로 받은 싱크에 안전 지점 상태(CrawlState)를 넘기고, restore로 그 지점부터 재개
+ * - fetcher/PageStore가 주입되면 페이지를 한 번만 받아 저장소에 공유하고 저장 본문에서 링크 추출
+ * - 중복 방지 집합은 URL 해시만 보관(SeenUrlSet, 선택적 Bloom 앞단: crawler.bloomExpectedUrls)
  */
 public class Crawler implements ICrawler {
 
+    private static final Logger LOG = LoggerFactory.getLogger(Crawler.class);
     private final ScanConfig config;
     private final LinkExtractor extractor;
     private final RobotsRepository robotsRepo;
     private final boolean respectRobots;
+    private final IHttpAnalyzer fetcher;   // null이면 extractor가 직접 요청(기존 동작)
+    private final PageStore pages;         // null 허용
+    private volatile CrawlState.Sink checkpoint; // null이면 상태 저장 안 함
+    private volatile CrawlState resumeFrom;      // 다음 crawlSeeds 1회에만 적용
     private static final String UA = "WebKillerAI";
 
     public Crawler(ScanConfig config) {
@@ -33,10 +57,31 @@ public class Crawler implements ICrawler {
     }
 
     public Crawler(ScanConfig config, LinkExtractor extractor, HttpClient httpClient) {
+        this(config, extractor, httpClient, null, null);
+    }
+
+    /** 공유 페이지 저장소 사용: fetcher로 받은 응답을 pages에 넣고 그 본문에서 링크 추출 */
+    public Crawler(ScanConfig config, LinkExtractor extractor, HttpClient httpClient,
+                   IHttpAnalyzer pageFetcher, PageStore pages) {
+        this(config, extractor, new HttpRobotsFetcher(Objects.requireNonNull(httpClient, "httpClient"), UA),
+                pageFetcher, pages);
+    }
+
+    /** 스캔 공용 전송 계층 사용: robots.txt도 같은 연결 풀(비추적 클라이언트)로 받음 */
+    public Crawler(ScanConfig config, LinkExtractor extractor, HttpTransport transport,
+                   IHttpAnalyzer pageFetcher, PageStore pages) {
+        this(config, extractor, new HttpRobotsFetcher(Objects.requireNonNull(transport, "transport")),
+                pageFetcher, pages);
+    }
+
+    private Crawler(ScanConfig config, LinkExtractor extractor, RobotsFetcher robotsFetcher,
+                    IHttpAnalyzer pageFetcher, PageStore pages) {
+        this.fetcher = pageFetcher;
+        this.pages = pages;
         this.config = Objects.requireNonNull(config, "config");
         this.extractor = Objects.requireNonNull(extractor, "extractor");
         int ttlMin = (config.getCrawler() != null ? config.getCrawler().getCacheTtlMinutes() : 30);
-        RobotsFetcher fetcher = new HttpRobotsFetcher(Objects.requireNonNull(httpClient, "httpClient"), UA);
+        RobotsFetcher fetcher = robotsFetcher;
         RobotsClock clock = RobotsClock.SYSTEM;
         this.robotsRepo = new RobotsRepository(
         		fetcher,
@@ -47,61 +92,185 @@ public class Crawler implements ICrawler {
         this.respectRobots = safeRespectRobots(config); // 기본 false
     }
 
+    /** 안전 지점 상태 수신자(체크포인트) */
+    public void setCheckpoint(CrawlState.Sink checkpoint) { this.checkpoint = checkpoint; }
+
+    /** 다음 crawlSeeds를 저장된 지점부터: seed 대신 pending으로 시작, seen 복원 */
+    public void restore(CrawlState state) { this.resumeFrom = state; }
+
     @Override
     public List<URI> crawlSeeds() {
+        List<URI> fetched = new ArrayList<>();      // 실제 방문(추출) 성공 목록
+        try {
+            crawlSeeds((u, pending) -> fetched.add(u));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        return fetched;
+    }
+
+    /**
+     * 스트리밍 병렬 BFS (FIFO 프론티어)
+     * - 프론티어 앞쪽 노드를 워커 풀에서 동시에 확장(robots 확인 → 페이지 수신 → 링크 추출/필터)
+     * - 병합은 프론티어 순서대로 수행 → 방문 순서/중복 제거 결과가 단일 스레드 BFS와 동일
+     * - 확장 선행 폭은 workers*4로 제한(저장 페이지/메모리 상한)
+     */
+    @Override
+    public void crawlSeeds(SeedSink sink) throws InterruptedException {
+        Objects.requireNonNull(sink, "sink");
         URI seed = UrlUtils.normalize(URI.create(config.getTarget()));
         int maxDepth = Math.max(0, config.getMaxDepth());
-        boolean sameDomainOnly = config.isSameDomainOnly();
         final List<String> excludes = safeGetExcludes(config);
 
-        Set<URI> seen = new LinkedHashSet<>();      // 중복 방지 전용
-        List<URI> fetched = new ArrayList<>();      // 실제 방문(추출) 성공 목록
-        Deque<Node> q = new ArrayDeque<>();
-        seen.add(seed);
-        q.addLast(new Node(seed, 0));
+        // 중복 방지 전용(워커는 조회만, 추가는 병합 스레드에서만)
+        SeenUrlSet seen = new SeenUrlSet(1024, config.getCrawler().getBloomExpectedUrls());
+        final CrawlState resume = resumeFrom;
+        resumeFrom = null;
+        final CrawlState.Sink cp = checkpoint;
 
-        while (!q.isEmpty()) {
-            Node cur = q.pollFirst();
+        final int workers = resolveWorkers(config);
+        ExecutorService exec = (workers > 1) ? Executors.newFixedThreadPool(workers, CRAWL_THREADS) : null;
+        final int window = Math.max(1, workers * 4);
+        try (Frontier frontier = openFrontier()) {
+            if (resume != null) {
+                for (long h : resume.seen()) seen.addHash(h);
+                for (Entry e : resume.pending()) frontier.push(e.uri(), e.depth());
+            } else {
+                seen.add(seed);
+                frontier.push(seed, 0);
+            }
+            ArrayDeque<Future<Expansion>> ahead = new ArrayDeque<>();
+            ArrayDeque<Entry> aheadEntries = new ArrayDeque<>(); // ahead와 같은 순서(체크포인트용)
 
-            // 방문(추출) 전에 robots 허용 여부 확인 — seed 포함
-            if (respectRobots) {
-            	var polCur = robotsRepo.policyFor(cur.uri, UA);
-            	if (!polCur.allow(cur.uri)) continue;
+            for (;;) {
+                if (Thread.currentThread().isInterrupted()) throw new InterruptedException();
+                if (cp != null && cp.wanted()) cp.save(snapshot(aheadEntries, frontier, seen));
+
+                Expansion x;
+                if (exec == null) {
+                    Entry e = frontier.poll();
+                    if (e == null) break;
+                    x = expand(e, seed, maxDepth, excludes, seen);
+                } else {
+                    while (ahead.size() < window) {
+                        final Entry e = frontier.poll();
+                        if (e == null) break;
+                        ahead.addLast(exec.submit(() -> expand(e, seed, maxDepth, excludes, seen)));
+                        aheadEntries.addLast(e);
+                    }
+                    Future<Expansion> f = ahead.pollFirst();
+                    if (f == null) break;
+                    aheadEntries.pollFirst();
+                    x = await(f);
+                }
+
+                if (!x.allowed) continue; // robots 차단
+
+                // ✔ 실제 방문으로 카운트/전달 (pending = 확장 중 + 프론티어 대기)
+                if (!sink.accept(x.uri, (int) Math.min(Integer.MAX_VALUE, frontier.size() + ahead.size()))) return;
+
+                for (URI n : x.links) {
+                    if (seen.add(n)) {  // dedupe는 유지, 결과는 방문 시점에만 추가
+                        frontier.push(n, x.depth + 1);
+                    }
+                }
             }
+        } finally {
+            if (exec != null) exec.shutdownNow();
+        }
+    }
 
-            fetched.add(cur.uri); // ✔ 실제 방문으로 카운트/반환
-            
-            if (cur.depth >= maxDepth) continue;
+    /** 안전 지점(직전 노드 병합 완료) 상태: 확장 중 → 프론티어 순 */
+    private static CrawlState snapshot(Collection<Entry> ahead, Frontier frontier, SeenUrlSet seen) {
+        List<Entry> pending = new ArrayList<>(ahead);
+        frontier.forEach(pending::add);
+        return new CrawlState(pending, seen.hashes());
+    }
 
-            Set<URI> links;
-            try {
-                links = extractor.extract(cur.uri);
-            } catch (Exception ignore) {
-                continue;
+    /** crawler.frontier: disk면 세그먼트 파일 프론티어, 열기 실패 시 메모리로 */
+    private Frontier openFrontier() {
+        if (!"disk".equals(config.getCrawler().getFrontier())) return new MemoryFrontier();
+        try {
+            return SegmentedFileFrontier.open(config.frontierDir(), SegmentedFileFrontier.DEFAULT_SEGMENT_BYTES);
+        } catch (IOException e) {
+            LOG.warn("Disk frontier unavailable, using memory: {}", e.toString());
+            return new MemoryFrontier();
+        }
+    }
+
+    /** 노드 1개 확장: robots → (리프가 아니면) 수신/추출 → 필터. 예외는 "링크 없음"으로 흡수 */
+    private Expansion expand(Entry cur, URI seed, int maxDepth, List<String> excludes, SeenUrlSet seen) {
+        // 방문(추출) 전에 robots 허용 여부 확인 — seed 포함
+        if (respectRobots) {
+            var polCur = robotsRepo.policyFor(cur.uri(), UA);
+            if (!polCur.allow(cur.uri())) return Expansion.blocked(cur);
+        }
+
+        // 리프(더 내려가지 않음)는 받지 않음 → 스캔 워커가 받음
+        if (cur.depth() >= maxDepth) return new Expansion(cur.uri(), cur.depth(), true, List.of());
+
+        Set<URI> links;
+        try {
+            if (fetcher != null) {
+                // 한 번만 받아 저장 → 워커/액티브 페이지 검사가 재사용
+                HttpResponseData page = fetcher.analyze(cur.uri());
+                if (page == null) return new Expansion(cur.uri(), cur.depth(), true, List.of());
+                if (pages != null) pages.put(page);
+                links = extractor.extract(page);
+            } else {
+                links = extractor.extract(cur.uri());
             }
+        } catch (Exception ignore) {
+            return new Expansion(cur.uri(), cur.depth(), true, List.of());
+        }
+        if (links == null || links.isEmpty()) return new Expansion(cur.uri(), cur.depth(), true, List.of());
 
-            for (URI raw : links) {
-                URI n = UrlUtils.normalize(raw);
-                if (n == null) continue;
+        boolean sameDomainOnly = config.isSameDomainOnly();
+        List<URI> out = new ArrayList<>(links.size());
+        for (URI raw : links) {
+            URI n = UrlUtils.normalize(raw);
+            if (n == null) continue;
 
-                if (sameDomainOnly && !UrlUtils.sameDomain(seed, n)) continue;
+            if (sameDomainOnly && !UrlUtils.sameDomain(seed, n)) continue;
 
-                if (!excludes.isEmpty() && UrlExclusion.isExcluded(n, excludes)) continue;
+            if (!excludes.isEmpty() && UrlExclusion.isExcluded(n, excludes)) continue;
 
-                // robots.txt 존중(큐 넣기 직전)
-                if (respectRobots) {
-                	var pol = robotsRepo.policyFor(n, UA);
-                	if (!pol.allow(n)) continue;
-                }
+            if (seen.contains(n)) continue; // 이전 레벨에서 이미 본 URL은 robots 조회도 생략
 
-                if (seen.add(n)) {  // dedupe는 유지, 결과는 방문 시점에만 추가
-                    q.addLast(new Node(n, cur.depth + 1));
-                }
+            // robots.txt 존중(큐 넣기 직전)
+            if (respectRobots) {
+            	var pol = robotsRepo.policyFor(n, UA);
+            	if (!pol.allow(n)) continue;
             }
+            out.add(n);
         }
-        return fetched;
+        return new Expansion(cur.uri(), cur.depth(), true, out);
     }
 
+    private static Expansion await(Future<Expansion> f) throws InterruptedException {
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("crawl worker failed", e.getCause()); // expand는 예외를 흡수하므로 도달하지 않음
+        }
+    }
+
+    /** crawler.workers(>0) 우선, 없으면 concurrency */
+    private static int resolveWorkers(ScanConfig cfg) {
+        int w = (cfg.getCrawler() != null) ? cfg.getCrawler().getWorkers() : 0;
+        if (w <= 0) w = cfg.getConcurrency();
+        return Math.max(1, w);
+    }
+
+    private static final ThreadFactory CRAWL_THREADS = new ThreadFactory() {
+        private final AtomicInteger seq = new AtomicInteger(1);
+        @Override public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "crawl-worker-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    };
+
     // config 구조가 달라도 안전하게 읽기 (기본 빈 리스트)
     @SuppressWarnings("unchecked")
     private static List<String> safeGetExcludes(ScanConfig cfg) {
@@ -143,8 +312,8 @@ public class Crawler implements ICrawler {
         return false;
     }
 
-    private static final class Node {
-        final URI uri; final int depth;
-        Node(URI u, int d) { this.uri = u; this.depth = d; }
+    /** 확장 결과: 방문 허용 여부 + 필터 통과 링크(추출 순서 유지) */
+    private record Expansion(URI uri, int depth, boolean allowed, List<URI> links) {
+        static Expansion blocked(Entry n) { return new Expansion(n.uri(), n.depth(), false, List.of()); }
     }
 }
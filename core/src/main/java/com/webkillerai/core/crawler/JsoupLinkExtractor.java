@@ -1,29 +1,59 @@
 package com.webkillerai.core.crawler;
 
+import com.webkillerai.core.http.CappedBodyHandler;
+import com.webkillerai.core.http.HttpTransport;
+import com.webkillerai.core.model.HttpResponseData;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
 import java.net.URI;
+import java.net.http.HttpResponse;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
-/** 기본 JSoup 기반 링크 추출기: a[href] → abs:href 수집 */
+/**
+ * 기본 JSoup 기반 링크 추출기: a[href] → abs:href 수집.
+ * HttpTransport가 주입되면 URL 기반 추출도 스캔 공용 연결 풀로 받고 JSoup은 파싱만 한다.
+ */
 public class JsoupLinkExtractor implements LinkExtractor {
     private final int timeoutMs;
     private final boolean followRedirects;
+    private final HttpTransport transport; // null이면 Jsoup.connect(HttpURLConnection) 경로
 
     public JsoupLinkExtractor(long timeoutMs, boolean followRedirects) {
         // jsoup timeout은 int 필요 → 안전 캐스팅
         long clamped = Math.max(0, Math.min(Integer.MAX_VALUE, timeoutMs));
         this.timeoutMs = (int) clamped;
         this.followRedirects = followRedirects;
+        this.transport = null;
+    }
+
+    /** 공용 전송 계층으로 받기(timeout/리다이렉트/User-Agent는 전송 계층 설정) */
+    public JsoupLinkExtractor(HttpTransport transport) {
+        this.transport = java.util.Objects.requireNonNull(transport, "transport");
+        this.timeoutMs = (int) Math.max(0, Math.min(Integer.MAX_VALUE, transport.timeout().toMillis()));
+        this.followRedirects = true;
     }
 
     @Override
     public Set<URI> extract(URI base) throws Exception {
-        Set<URI> out = new HashSet<>();
-        if (base == null) return out;
+        if (base == null) return new HashSet<>();
+
+        if (transport != null) {
+            HttpResponse<CappedBodyHandler.Body> r = transport.send(transport.request(base).GET().build(),
+                    transport.bodyHandler(), true);
+            CappedBodyHandler.Body b = r.body();
+            return extract(HttpResponseData.builder()
+                    .url(r.uri() != null ? r.uri() : base) // 리다이렉트 후 최종 URL 기준으로 abs:href 해석
+                    .statusCode(r.statusCode())
+                    .headers(r.headers().map())
+                    .body(b == null ? "" : b.text())
+                    .contentType(r.headers().firstValue("Content-Type").orElse(null))
+                    .bodyTruncated(b != null && b.truncated())
+                    .build());
+        }
 
         Document doc = Jsoup.connect(base.toString())
                 .userAgent("WebKillerAI/0.1 (+crawler)")
@@ -31,6 +61,29 @@ public class JsoupLinkExtractor implements LinkExtractor {
                 .followRedirects(followRedirects)
                 .get();
 
+        return collect(doc);
+    }
+
+    /** 저장된 응답 본문을 파싱(네트워크 재요청 없음). Jsoup.get()과 같이 비2xx/비HTML은 링크 없음 */
+    @Override
+    public Set<URI> extract(HttpResponseData page) throws Exception {
+        if (page == null || page.getUrl() == null) return new HashSet<>();
+        int sc = page.getStatusCode();
+        if (sc < 200 || sc >= 300) return new HashSet<>();
+        if (!isHtml(page.getContentType())) return new HashSet<>();
+
+        Document doc = Jsoup.parse(page.getBody(), page.getUrl().toString());
+        return collect(doc);
+    }
+
+    private static boolean isHtml(String contentType) {
+        if (contentType == null || contentType.isBlank()) return true; // 미지정은 관대하게
+        String ct = contentType.toLowerCase(Locale.ROOT);
+        return ct.startsWith("text/") || ct.contains("html") || ct.contains("xml");
+    }
+
+    private static Set<URI> collect(Document doc) {
+        Set<URI> out = new HashSet<>();
         for (Element a : doc.select("a[href]")) {
             String abs = a.attr("abs:href");
             if (abs == null || abs.isBlank()) continue;
@@ -1,5 +1,7 @@
 package com.webkillerai.core.crawler;
 
+import com.webkillerai.core.model.HttpResponseData;
+
 import java.net.URI;
 import java.util.Set;
 
@@ -10,4 +12,12 @@ public interface LinkExtractor {
      * 네트워크/파싱 예외는 호출자가 정책적으로 처리.
      */
     Set<URI> extract(URI base) throws Exception;
+
+    /**
+     * 이미 받은 페이지(PageStore 공유 응답)에서 링크 추출.
+     * 기본 구현은 URL 기반 extract로 위임(본문 파싱을 지원하는 구현체만 재정의).
+     */
+    default Set<URI> extract(HttpResponseData page) throws Exception {
+        return extract(page.getUrl());
+    }
 }
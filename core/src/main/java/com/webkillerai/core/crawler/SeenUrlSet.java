@@ -0,0 +1,72 @@
+package com.webkillerai.core.crawler;
+
+import com.webkillerai.core.util.BloomFilter;
+import com.webkillerai.core.util.LongHashSet;
+
+import java.net.URI;
+
+/**
+ * 크롤러 방문/발견 URL 집합: 정규화 URL 문자열의 64비트 해시만 보관(URI 객체 미보관).
+ * - 본체: LongHashSet(키당 약 12바이트) — URI 집합 대비 수십 분의 1
+ * - 선택: Bloom 필터 앞단(bloomExpected > 0) — 처음 보는 URL 대부분을 큰 테이블 조회 없이 판정
+ * - 쓰기(add)는 병합 스레드 하나, contains는 크롤 워커들이 동시에 호출
+ * - 서로 다른 URL이 같은 64비트 해시면 뒤의 것을 이미 본 것으로 취급(1천만 URL에서 충돌 확률 ~3e-6)
+ */
+public final class SeenUrlSet {
+
+    private final LongHashSet set;
+    private final BloomFilter bloom; // null이면 끔
+
+    public SeenUrlSet(int expected, long bloomExpected) {
+        this.set = new LongHashSet(expected);
+        this.bloom = (bloomExpected > 0) ? BloomFilter.forExpected(bloomExpected, 0.01) : null;
+    }
+
+    /** @return 처음 본 URL이면 true */
+    public boolean add(URI u) {
+        return addHash(hash(u));
+    }
+
+    /** 저장된 해시 복원(체크포인트 재개) */
+    boolean addHash(long h) {
+        if (bloom != null) {
+            if (!bloom.mightContain(h)) {
+                bloom.put(h);
+                set.add(h);
+                return true;
+            }
+        }
+        return set.add(h);
+    }
+
+    public boolean contains(URI u) {
+        long h = hash(u);
+        if (bloom != null && !bloom.mightContain(h)) return false;
+        return set.contains(h);
+    }
+
+    public int size() { return set.size(); }
+
+    /** 보관 중인 해시 전체(체크포인트 저장용) */
+    long[] hashes() { return set.toArray(); }
+
+    public long footprintBytes() {
+        return set.footprintBytes() + (bloom != null ? bloom.footprintBytes() : 0);
+    }
+
+    /** 정규화된 URI 문자열의 64비트 해시(문자당 곱셈-시프트 + 최종 혼합) */
+    static long hash(URI u) {
+        String s = u.toString();
+        long h = 0x9e3779b97f4a7c15L ^ s.length();
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * 0x100000001b3L;
+            h ^= h >>> 29;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,30 @@
+package com.webkillerai.core.crawler.frontier;
+
+import java.net.URI;
+import java.util.function.Consumer;
+
+/**
+ * 크롤 프론티어(FIFO). BFS는 깊이가 줄지 않는 순서로 push하므로 poll 순서가 곧 깊이 순서.
+ * - push/poll/size는 크롤 병합 스레드 하나에서만 호출
+ * - 구현: MemoryFrontier(기본), SegmentedFileFrontier(crawler.frontier: disk)
+ */
+public interface Frontier extends AutoCloseable {
+
+    /** 대기 URL 1건 */
+    record Entry(URI uri, int depth) {}
+
+    void push(URI uri, int depth);
+
+    /** 가장 먼저 넣은 항목(비었으면 null) */
+    Entry poll();
+
+    long size();
+
+    /** 대기 항목을 poll 순서대로 훑음(소비하지 않음) — 체크포인트 저장용 */
+    void forEach(Consumer<Entry> action);
+
+    default boolean isEmpty() { return size() == 0; }
+
+    /** 임시 파일 등 정리(예외 없음) */
+    @Override void close();
+}
@@ -0,0 +1,21 @@
+package com.webkillerai.core.crawler.frontier;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/** 힙 ArrayDeque 프론티어(소규모 스캔 기본값) */
+public final class MemoryFrontier implements Frontier {
+
+    private final ArrayDeque<Entry> q = new ArrayDeque<>();
+
+    @Override public void push(URI uri, int depth) { q.addLast(new Entry(uri, depth)); }
+
+    @Override public Entry poll() { return q.pollFirst(); }
+
+    @Override public long size() { return q.size(); }
+
+    @Override public void forEach(Consumer<Entry> action) { q.forEach(action); }
+
+    @Override public void close() { q.clear(); }
+}
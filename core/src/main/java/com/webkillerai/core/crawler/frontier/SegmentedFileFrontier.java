@@ -0,0 +1,195 @@
+package com.webkillerai.core.crawler.frontier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 디스크 세그먼트 프론티어(대형 사이트용, crawler.frontier: disk).
+ * - 꼬리: 힙 버퍼 1개(segmentBytes)에 [depth int][len int][URL UTF-8] 레코드를 이어 붙이고, 차면 seg-N 파일로 봉인
+ * - 머리: 가장 오래된 봉인 세그먼트를 읽기 전용 mmap으로 순차 소비, 다 읽으면 삭제
+ * - 봉인 파일이 없으면 꼬리 버퍼에서 바로 읽음 → 힙에는 머리 매핑 + 꼬리 버퍼만 상주
+ * - 단일 스레드 전용(Frontier 계약). 임시 디렉터리는 close()에서 삭제
+ */
+public final class SegmentedFileFrontier implements Frontier {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 4 << 20;
+    private static final int MIN_SEGMENT_BYTES = 4 << 10;
+
+    private final Path dir;
+    private final int segmentBytes;
+
+    private ByteBuffer tail;          // 쓰기 위치 = position()
+    private int tailRead;             // 꼬리에서 이미 소비한 위치(봉인 파일이 없을 때)
+    private long tailSeg;             // 다음에 봉인될 세그먼트 번호
+    private long headSeg;             // 다음에 매핑할 봉인 세그먼트 번호
+    private MappedByteBuffer head;    // 소비 중인 세그먼트(null이면 없음)
+    private long headMapped = -1;     // head가 매핑한 세그먼트 번호
+    private long size;
+    private long segmentsWritten;
+
+    private SegmentedFileFrontier(Path dir, int segmentBytes) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.tail = ByteBuffer.allocate(segmentBytes);
+    }
+
+    /** parent 아래에 전용 임시 디렉터리를 만들어 연다 */
+    public static SegmentedFileFrontier open(Path parent, int segmentBytes) throws IOException {
+        Files.createDirectories(parent);
+        Path dir = Files.createTempDirectory(parent, "frontier-");
+        return new SegmentedFileFrontier(dir, Math.max(MIN_SEGMENT_BYTES, segmentBytes));
+    }
+
+    @Override
+    public void push(URI uri, int depth) {
+        byte[] b = uri.toString().getBytes(StandardCharsets.UTF_8);
+        int need = 8 + b.length;
+        if (tail.remaining() < need) {
+            seal();
+            if (tail.capacity() < need) tail = ByteBuffer.allocate(need); // 세그먼트보다 긴 URL: 전용 세그먼트
+        }
+        tail.putInt(depth).putInt(b.length).put(b);
+        size++;
+    }
+
+    @Override
+    public Entry poll() {
+        if (size == 0) return null;
+        for (;;) {
+            if (head != null) {
+                if (head.hasRemaining()) {
+                    size--;
+                    return read(head);
+                }
+                dropHead();
+                continue;
+            }
+            if (headSeg < tailSeg) {
+                mapHead();
+                continue;
+            }
+            // 봉인 파일 없음 → 꼬리에서 직접
+            ByteBuffer view = tail.duplicate();
+            view.flip().position(tailRead);
+            Entry e = read(view);
+            tailRead = view.position();
+            if (tailRead == tail.position()) {
+                tail.clear();
+                tailRead = 0;
+            }
+            size--;
+            return e;
+        }
+    }
+
+    @Override public long size() { return size; }
+
+    /** 머리 매핑 잔여 → 봉인 세그먼트(오래된 순) → 꼬리 버퍼 */
+    @Override
+    public void forEach(Consumer<Entry> action) {
+        if (head != null) drain(head.duplicate(), action);
+        for (long n = headSeg; n < tailSeg; n++) {
+            Path p = segPath(n);
+            try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+                drain(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()), action);
+            } catch (IOException e) {
+                throw new UncheckedIOException("frontier segment map failed: " + p, e);
+            }
+        }
+        ByteBuffer view = tail.duplicate();
+        view.flip().position(tailRead);
+        drain(view, action);
+    }
+
+    /** 지금까지 디스크로 봉인한 세그먼트 수 */
+    public long segmentsWritten() { return segmentsWritten; }
+
+    /** 힙에 상주하는 꼬리 버퍼 크기 */
+    public int heapBytes() { return tail.capacity(); }
+
+    public Path dir() { return dir; }
+
+    @Override
+    public void close() {
+        head = null;
+        tail = ByteBuffer.allocate(0);
+        size = 0;
+        try (Stream<Path> s = Files.list(dir)) {
+            s.forEach(SegmentedFileFrontier::deleteQuietly);
+        } catch (IOException ignore) {
+            // 이미 지워졌거나 접근 불가
+        }
+        deleteQuietly(dir);
+    }
+
+    // ============ 내부 ============
+
+    private void seal() {
+        int from = tailRead, to = tail.position();
+        if (to > from) {
+            Path p = segPath(tailSeg);
+            try (FileChannel ch = FileChannel.open(p, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer out = tail.duplicate();
+                out.position(from).limit(to);
+                while (out.hasRemaining()) ch.write(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException("frontier segment write failed: " + p, e);
+            }
+            tailSeg++;
+            segmentsWritten++;
+        }
+        if (tail.capacity() != segmentBytes) tail = ByteBuffer.allocate(segmentBytes);
+        else tail.clear();
+        tailRead = 0;
+    }
+
+    private void mapHead() {
+        Path p = segPath(headSeg);
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+            head = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("frontier segment map failed: " + p, e);
+        }
+        headMapped = headSeg++;
+    }
+
+    private void dropHead() {
+        head = null;
+        deleteQuietly(segPath(headMapped)); // Windows는 매핑 해제 전 삭제 실패 → close()/종료 시 정리
+        headMapped = -1;
+    }
+
+    private static void drain(ByteBuffer buf, Consumer<Entry> action) {
+        while (buf.hasRemaining()) action.accept(read(buf));
+    }
+
+    private static Entry read(ByteBuffer buf) {
+        int depth = buf.getInt();
+        int len = buf.getInt();
+        byte[] b = new byte[len];
+        buf.get(b);
+        return new Entry(URI.create(new String(b, StandardCharsets.UTF_8)), depth);
+    }
+
+    private Path segPath(long n) {
+        return dir.resolve(String.format("seg-%08d.bin", n));
+    }
+
+    private static void deleteQuietly(Path p) {
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException e) {
+            p.toFile().deleteOnExit();
+        }
+    }
+}
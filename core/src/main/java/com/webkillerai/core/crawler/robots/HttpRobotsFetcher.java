@@ -1,5 +1,7 @@
 package com.webkillerai.core.crawler.robots;
 
+import com.webkillerai.core.http.HttpTransport;
+
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -8,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 
 public final class HttpRobotsFetcher implements RobotsFetcher {
     private final HttpClient client;
+    private final HttpTransport transport; // null이면 client 직접 사용
     private final String userAgent;
 
     public HttpRobotsFetcher(HttpClient client) {
@@ -15,20 +18,32 @@ public final class HttpRobotsFetcher implements RobotsFetcher {
     }
     public HttpRobotsFetcher(HttpClient client, String userAgent) {
         this.client = client;
+        this.transport = null;
         this.userAgent = (userAgent == null || userAgent.isBlank()) ? "WebKillerAI" : userAgent;
     }
 
+    /** 스캔 공용 전송 계층(비추적 클라이언트, http.userAgent) 사용 */
+    public HttpRobotsFetcher(HttpTransport transport) {
+        this.client = null;
+        this.transport = transport;
+        this.userAgent = transport.userAgent();
+    }
+
     @Override
     public Response fetch(URI robotsTxtUri) {
         try {
-            HttpRequest req = HttpRequest.newBuilder(robotsTxtUri)
-                    .GET()
-                    .header("User-Agent", userAgent)
-                    .header("Accept", "text/plain,*/*;q=0.8")
-                    .build();
+            HttpRequest req = (transport != null)
+                    ? transport.request(robotsTxtUri, java.util.Map.of("Accept", "text/plain,*/*;q=0.8")).GET().build()
+                    : HttpRequest.newBuilder(robotsTxtUri)
+                        .GET()
+                        .header("User-Agent", userAgent)
+                        .header("Accept", "text/plain,*/*;q=0.8")
+                        .build();
 
             // HttpClient는 기본 Redirect.NEVER → repository가 직접 리다이렉트 판단
-            HttpResponse<String> res = client.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            HttpResponse<String> res = (transport != null)
+                    ? transport.send(req, transport.bodyHandler(null, false).asString(), false) // 압축/상한 처리, octet-stream도 읽음
+                    : client.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
             int code = res.statusCode();
 
             // 리다이렉트면 Location 헤더만 전달(본문은 무시)
@@ -1,5 +1,7 @@
 package com.webkillerai.core.crawler.robots;
 
+import com.webkillerai.core.http.HttpTransport;
+
 import java.net.URI;
 import java.net.http.*;
 import java.time.*;
@@ -19,6 +21,7 @@ public class RobotsCache {
     private static final Duration DEFAULT_TTL = Duration.ofMinutes(30);
 
     private final HttpClient http;
+    private final String userAgent;
     private final Duration ttl;
     private final Map<String, Entry> cache = new ConcurrentHashMap<>();
 
@@ -29,7 +32,17 @@ public class RobotsCache {
 
     /** NEW: TTL 주입 가능 (scan.yml 값 전달 권장) */
     public RobotsCache(HttpClient http, Duration ttlBase) {
+        this(http, UA, ttlBase);
+    }
+
+    /** 스캔 공용 전송 계층의 비추적 클라이언트/User-Agent 사용 */
+    public RobotsCache(HttpTransport transport, Duration ttlBase) {
+        this(transport.noRedirectClient(), transport.userAgent(), ttlBase);
+    }
+
+    private RobotsCache(HttpClient http, String userAgent, Duration ttlBase) {
         this.http = Objects.requireNonNull(http, "http");
+        this.userAgent = userAgent;
         this.ttl = resolveTtl(ttlBase);
     }
 
@@ -67,7 +80,7 @@ public class RobotsCache {
             HttpRequest req = HttpRequest.newBuilder(u)
                     .GET()
                     .timeout(Duration.ofSeconds(5))
-                    .header("User-Agent", UA)
+                    .header("User-Agent", userAgent)
                     .build();
             HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
             if (res.statusCode() >= 200 && res.statusCode() < 300) {
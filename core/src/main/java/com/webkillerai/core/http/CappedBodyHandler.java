@@ -0,0 +1,438 @@
+package com.webkillerai.core.http;
+
+import com.webkillerai.core.model.ScanStats;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 바이트 상한이 있는 스트리밍 본문 핸들러(BodyHandlers.ofString 대체).
+ * - 마커가 없으면 원시 바이트만 모으고 디코딩(Content-Type charset, 기본 UTF-8)은 Body.text() 때 한 번에.
+ *   마커가 있으면 받은 청크를 바로 디코딩하며 탐색(조기 종료 판단용)
+ * - Content-Encoding gzip/deflate는 청크 단위로 풀어서(Inflater) 디코딩, 그 외 인코딩은 읽지 않음(reason="encoding")
+ * - 상한(maxBytes, 압축 응답은 maxDecodedBytes와 중 작은 값)은 풀린 바이트 기준 → 압축 폭탄 방어.
+ *   닿으면 구독을 취소하고 그때까지의 본문으로 완료(truncated=true, reason="cap")
+ * - 바이너리 Content-Type(image/, video/, octet-stream 등)은 읽지 않고 빈 본문(reason="binary")
+ * - stopMarkers 중 하나가 보이면 증거 스니펫용 꼬리(TAIL_CHARS)만 더 읽고 중단(reason="marker")
+ * - stats가 있으면 응답마다 전송(wire) 바이트 / 풀린(decoded) 바이트를 누적
+ */
+public final class CappedBodyHandler implements HttpResponse.BodyHandler<CappedBodyHandler.Body> {
+
+    /**
+     * 본문 + 풀린 바이트(bytes) + 전송 바이트(wireBytes) + 잘림 여부
+     * (reason: null | cap | binary | marker | encoding).
+     * 마커 없이 읽은 본문은 원시 바이트로 들고 있다가 text() 첫 호출 때 한 번에 디코딩
+     */
+    public static final class Body {
+        private final byte[] raw;          // null이면 스트리밍 디코딩 결과(text)만 있음
+        private final Charset charset;
+        private volatile String text;
+        private final long bytes;
+        private final long wireBytes;
+        private final boolean truncated;
+        private final String reason;
+
+        public Body(String text, long bytes, long wireBytes, boolean truncated, String reason) {
+            this(null, null, text, bytes, wireBytes, truncated, reason);
+        }
+
+        Body(byte[] raw, Charset charset, long wireBytes, boolean truncated, String reason) {
+            this(raw, charset, null, raw.length, wireBytes, truncated, reason);
+        }
+
+        private Body(byte[] raw, Charset charset, String text, long bytes, long wireBytes,
+                     boolean truncated, String reason) {
+            this.raw = raw;
+            this.charset = charset;
+            this.text = text;
+            this.bytes = bytes;
+            this.wireBytes = wireBytes;
+            this.truncated = truncated;
+            this.reason = reason;
+        }
+
+        static Body skipped(String reason) { return new Body("", 0, 0, true, reason); }
+
+        public String text() {
+            String t = text;
+            if (t == null) {
+                t = new String(raw, charset);
+                text = t;
+            }
+            return t;
+        }
+
+        /** 원시(풀린) 본문 바이트. 스트리밍 디코딩된 본문이면 null */
+        public byte[] raw() { return raw; }
+        public Charset charset() { return charset; }
+        public long bytes() { return bytes; }
+        public long wireBytes() { return wireBytes; }
+        public boolean truncated() { return truncated; }
+        public String reason() { return reason; }
+    }
+
+    /** 마커 발견 후 더 읽는 문자 수(snippetAround 반경 여유) */
+    static final int TAIL_CHARS = 512;
+
+    private final long maxBytes;
+    private final long maxDecodedBytes;
+    private final boolean skipBinary;
+    private final List<String> stopMarkers;
+    private final ScanStats stats;   // null 허용
+
+    /**
+     * @param maxBytes    응답당 바이트 상한(<=0이면 무제한)
+     * @param skipBinary  바이너리 Content-Type이면 본문을 읽지 않음
+     * @param stopMarkers 보이면 읽기를 멈출 문자열(null/빈 값이면 끝까지)
+     */
+    public CappedBodyHandler(long maxBytes, boolean skipBinary, Collection<String> stopMarkers) {
+        this(maxBytes, 0, skipBinary, stopMarkers, null);
+    }
+
+    /**
+     * @param maxDecodedBytes 압축 응답을 풀었을 때의 상한(<=0이면 maxBytes만 적용)
+     * @param stats           전송/풀린 바이트 누적 대상(null이면 기록 안 함)
+     */
+    public CappedBodyHandler(long maxBytes, long maxDecodedBytes, boolean skipBinary,
+                             Collection<String> stopMarkers, ScanStats stats) {
+        this.maxBytes = (maxBytes <= 0) ? Long.MAX_VALUE : maxBytes;
+        this.maxDecodedBytes = (maxDecodedBytes <= 0) ? Long.MAX_VALUE : maxDecodedBytes;
+        this.skipBinary = skipBinary;
+        this.stopMarkers = (stopMarkers == null) ? List.of()
+                : stopMarkers.stream().filter(m -> m != null && !m.isEmpty()).toList();
+        this.stats = stats;
+    }
+
+    /** 본문 텍스트만 필요한 호출자(ProbeEngine 등)용 String 핸들러 */
+    public HttpResponse.BodyHandler<String> asString() {
+        return info -> HttpResponse.BodySubscribers.mapping(apply(info), Body::text);
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<Body> apply(HttpResponse.ResponseInfo info) {
+        HttpHeaders h = info.headers();
+        String ct = h.firstValue("Content-Type").orElse(null);
+        if (skipBinary && isBinary(ct)) return new Sub(null, null, 0, List.of(), null, "binary");
+        String enc = h.firstValue("Content-Encoding").orElse("identity").trim().toLowerCase(Locale.ROOT);
+        return switch (enc) {
+            case "", "identity" -> new Sub(charsetOf(h), null, maxBytes, stopMarkers, stats, null);
+            case "gzip", "x-gzip", "deflate" ->
+                    new Sub(charsetOf(h), enc.endsWith("gzip") ? Codec.GZIP : Codec.DEFLATE,
+                            Math.min(maxBytes, maxDecodedBytes), stopMarkers, stats, null);
+            default -> new Sub(null, null, 0, List.of(), null, "encoding"); // br 등은 요청하지 않으므로 해석 안 함
+        };
+    }
+
+    /** 텍스트로 볼 수 없는 Content-Type(미지정은 텍스트로 간주) */
+    public static boolean isBinary(String contentType) {
+        if (contentType == null || contentType.isBlank()) return false;
+        String ct = contentType.toLowerCase(Locale.ROOT);
+        if (ct.startsWith("text/")) return false;
+        if (ct.contains("json") || ct.contains("xml") || ct.contains("html")
+                || ct.contains("javascript") || ct.contains("ecmascript")
+                || ct.contains("x-www-form-urlencoded") || ct.contains("graphql")) return false;
+        return ct.startsWith("image/") || ct.startsWith("audio/") || ct.startsWith("video/")
+                || ct.startsWith("font/") || ct.startsWith("application/")
+                || ct.startsWith("multipart/byteranges");
+    }
+
+    static Charset charsetOf(HttpHeaders headers) {
+        String ct = headers.firstValue("Content-Type").orElse("");
+        for (String part : ct.split(";")) {
+            String p = part.trim();
+            if (p.regionMatches(true, 0, "charset=", 0, 8)) {
+                String name = p.substring(8).trim().replace("\"", "");
+                try {
+                    return Charset.forName(name);
+                } catch (RuntimeException ignore) {
+                    break;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    enum Codec { GZIP, DEFLATE }
+
+    /** 스트리밍 구독자: (압축 해제 →) 청크 단위 디코딩 + 상한/마커 조기 종료 */
+    static final class Sub implements HttpResponse.BodySubscriber<Body> {
+        private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+        private final CompletableFuture<Body> result = new CompletableFuture<>();
+        private final CharsetDecoder decoder;     // null이면 본문을 읽지 않음(skipReason)
+        private final String skipReason;
+        private final long cap;
+        private final List<String> markers;
+        private final int maxMarkerLen;
+        private final ScanStats stats;
+
+        private final Codec codec;                 // null이면 무압축
+        private Inflater inflater;                 // 헤더 확인 후 생성
+        private byte[] head = new byte[0];         // gzip 헤더 / zlib 판별용으로 모으는 앞부분
+        private final byte[] inflated = new byte[16 * 1024];
+
+        private final Charset charset;
+        private final boolean rawMode;             // 마커 없음 → 디코딩 없이 바이트만 모음
+        private byte[] raw = new byte[0];
+        private int rawLen;
+        private final StringBuilder text = new StringBuilder();
+        private final CharBuffer out = CharBuffer.allocate(8192);
+        private ByteBuffer carry = EMPTY;          // 청크 경계에 걸린 멀티바이트 문자 조각
+        private Flow.Subscription subscription;
+        private long bytes;                        // 풀린 바이트(상한 기준)
+        private long wireBytes;                    // 전송 바이트
+        private int scannedTo;                     // 마커 탐색을 마친 위치
+        private int stopAt = -1;                   // 마커 발견 시 여기까지 읽고 종료
+        private boolean done;
+
+        Sub(Charset cs, long cap, List<String> markers) {
+            this(cs, null, cap, markers, null, cs == null ? "binary" : null);
+        }
+
+        Sub(Charset cs, Codec codec, long cap, List<String> markers, ScanStats stats, String skipReason) {
+            this.charset = cs;
+            this.rawMode = markers.isEmpty();
+            this.decoder = (cs == null) ? null : cs.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.skipReason = skipReason;
+            this.codec = codec;
+            this.cap = cap;
+            this.markers = markers;
+            this.maxMarkerLen = markers.stream().mapToInt(String::length).max().orElse(0);
+            this.stats = stats;
+        }
+
+        @Override
+        public CompletionStage<Body> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            this.subscription = s;
+            if (decoder == null) {
+                done = true;
+                s.cancel();
+                result.complete(Body.skipped(skipReason));
+                return;
+            }
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (done) return;
+            for (ByteBuffer b : items) {
+                wireBytes += b.remaining();
+                boolean more = (codec == null) ? accept(b) : inflate(b);
+                if (!more) return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) return;
+            done = true;
+            release();
+            result.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) return;
+            if (!rawMode) decode(EMPTY, true);
+            // 스트림이 압축 종료 블록 전에 끝났으면 받은 만큼만(잘림)
+            boolean cut = codec != null && (inflater == null ? head.length > 0 : !inflater.finished());
+            finish(cut, cut ? "encoding" : null);
+        }
+
+        /** 풀린 바이트 청크 1개 반영. false면 종료됨 */
+        private boolean accept(ByteBuffer b) {
+            long room = cap - bytes;
+            boolean capped = b.remaining() > room;
+            ByteBuffer chunk = b;
+            if (capped) {
+                chunk = b.slice();
+                chunk.limit((int) room);
+            }
+            bytes += chunk.remaining();
+            if (rawMode) {
+                keep(chunk);
+            } else {
+                decode(chunk, false);
+            }
+            if (markerSatisfied()) {
+                finish(true, "marker");
+                return false;
+            }
+            if (capped) {
+                finish(true, "cap");
+                return false;
+            }
+            return true;
+        }
+
+        /** 압축 청크를 풀어서 accept로 넘김. false면 종료됨 */
+        private boolean inflate(ByteBuffer b) {
+            byte[] in = new byte[b.remaining()];
+            b.get(in);
+            if (inflater == null) {
+                in = concat(head, in);
+                int skip;
+                try {
+                    skip = (codec == Codec.GZIP) ? gzipHeaderLength(in) : (in.length < 2 ? -1 : 0);
+                } catch (DataFormatException e) {
+                    finish(true, "encoding");
+                    return false;
+                }
+                if (skip < 0) {             // 헤더가 아직 덜 옴
+                    head = in;
+                    return true;
+                }
+                head = new byte[0];
+                // HTTP "deflate"는 원래 zlib 래핑이지만 raw deflate를 보내는 서버도 있음
+                boolean nowrap = codec == Codec.GZIP || !isZlibHeader(in[0], in[1]);
+                inflater = new Inflater(nowrap);
+                in = Arrays.copyOfRange(in, skip, in.length);
+            }
+            if (inflater.finished()) return true; // gzip 트레일러(CRC/ISIZE) 등은 무시
+            inflater.setInput(in);
+            try {
+                while (!inflater.finished()) {
+                    int n = inflater.inflate(inflated);
+                    if (n == 0) break; // 입력 소진(다음 청크 대기) 또는 사전 필요(미지원)
+                    if (!accept(ByteBuffer.wrap(inflated, 0, n))) return false;
+                }
+            } catch (DataFormatException e) {
+                finish(true, "encoding");
+                return false;
+            }
+            return true;
+        }
+
+        private void finish(boolean truncated, String reason) {
+            done = true;
+            if (truncated && subscription != null) subscription.cancel();
+            release();
+            if (stats != null) stats.addBodyBytes(wireBytes, bytes);
+            if (rawMode) {
+                byte[] b = (raw.length == rawLen) ? raw : Arrays.copyOf(raw, rawLen);
+                result.complete(new Body(b, charset, wireBytes, truncated, reason));
+                return;
+            }
+            if (stopAt >= 0 && text.length() > stopAt) text.setLength(stopAt);
+            result.complete(new Body(text.toString(), bytes, wireBytes, truncated, reason));
+        }
+
+        private void keep(ByteBuffer chunk) {
+            int n = chunk.remaining();
+            if (rawLen + n > raw.length) {
+                raw = Arrays.copyOf(raw, Math.max(rawLen + n, Math.max(8192, raw.length * 2)));
+            }
+            chunk.get(raw, rawLen, n);
+            rawLen += n;
+        }
+
+        private void release() {
+            if (inflater != null) inflater.end();
+        }
+
+        /** 새로 디코딩된 구간(경계 겹침 포함)에서 마커를 찾고, 찾았으면 꼬리까지 읽었는지 */
+        private boolean markerSatisfied() {
+            if (markers.isEmpty()) return false;
+            if (stopAt < 0) {
+                int from = Math.max(0, scannedTo - (maxMarkerLen - 1));
+                for (String m : markers) {
+                    int i = text.indexOf(m, from);
+                    if (i >= 0) stopAt = Math.max(stopAt, i + m.length() + TAIL_CHARS);
+                }
+                scannedTo = text.length();
+            }
+            return stopAt >= 0 && text.length() >= stopAt;
+        }
+
+        private void decode(ByteBuffer in, boolean endOfInput) {
+            ByteBuffer src = in;
+            if (carry.hasRemaining()) {
+                src = ByteBuffer.allocate(carry.remaining() + in.remaining());
+                src.put(carry).put(in).flip();
+            }
+            CoderResult cr;
+            do {
+                cr = decoder.decode(src, out, endOfInput);
+                drain();
+            } while (cr.isOverflow());
+            if (endOfInput) {
+                do {
+                    cr = decoder.flush(out);
+                    drain();
+                } while (cr.isOverflow());
+            }
+            if (src.hasRemaining()) {
+                ByteBuffer rest = ByteBuffer.allocate(src.remaining());
+                rest.put(src).flip();
+                carry = rest;
+            } else {
+                carry = EMPTY;
+            }
+        }
+
+        private void drain() {
+            out.flip();
+            text.append(out);
+            out.clear();
+        }
+    }
+
+    /** RFC 1952 gzip 헤더 길이(아직 덜 왔으면 -1) */
+    static int gzipHeaderLength(byte[] b) throws DataFormatException {
+        if (b.length < 10) return -1;
+        if ((b[0] & 0xff) != 0x1f || (b[1] & 0xff) != 0x8b || b[2] != 8) {
+            throw new DataFormatException("not gzip");
+        }
+        int flg = b[3] & 0xff;
+        int i = 10;
+        if ((flg & 0x04) != 0) {                       // FEXTRA
+            if (b.length < i + 2) return -1;
+            i += 2 + ((b[i] & 0xff) | ((b[i + 1] & 0xff) << 8));
+        }
+        for (int bit : new int[] {0x08, 0x10}) {       // FNAME, FCOMMENT (0 종료)
+            if ((flg & bit) == 0) continue;
+            while (i < b.length && b[i] != 0) i++;
+            if (i >= b.length) return -1;
+            i++;
+        }
+        if ((flg & 0x02) != 0) i += 2;                 // FHCRC
+        return (i <= b.length) ? i : -1;
+    }
+
+    /** zlib(RFC 1950) 헤더 여부: CM=8, (CMF*256+FLG) % 31 == 0 */
+    static boolean isZlibHeader(byte cmf, byte flg) {
+        return (cmf & 0x0f) == 8 && (((cmf & 0xff) << 8) | (flg & 0xff)) % 31 == 0;
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        if (a.length == 0) return b;
+        byte[] r = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, r, a.length, b.length);
+        return r;
+    }
+}
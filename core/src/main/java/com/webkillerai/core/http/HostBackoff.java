@@ -0,0 +1,135 @@
+package com.webkillerai.core.http;
+
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.ScanStats;
+import com.webkillerai.core.util.StructuredLog;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 호스트 단위 공용 정지 창(backoff window).
+ * - 429/503 응답이 오면 해당 호스트 전체를 Retry-After(없으면 http.defaultPauseMs)만큼 정지
+ *   (Retry-After는 초/HTTP-date 모두 해석, http.maxRetryAfterMs로 상한)
+ * - 패시브/액티브/크롤 요청은 보내기 전에 await()/awaitAsync()로 창이 끝나길 기다린다
+ * - 창은 늘어나기만 하며(겹치면 더 늦은 쪽), 새로 늘어난 구간만 ScanStats에 정지 시간으로 누적
+ */
+public final class HostBackoff {
+
+    private static final StructuredLog SLOG = StructuredLog.get(HostBackoff.class);
+
+    /** 타이머 만료 시 비동기 대기자를 바로 완료 */
+    private static final Executor DIRECT = Runnable::run;
+
+    private final Duration cap;
+    private final Duration defaultPause;
+    private final ScanStats stats;   // null 허용
+    private final ConcurrentHashMap<String, AtomicLong> until = new ConcurrentHashMap<>(); // 호스트 → 정지 종료(nanoTime)
+
+    /**
+     * @param cap          Retry-After 상한
+     * @param defaultPause Retry-After가 없거나 해석 불가일 때의 정지 시간
+     * @param stats        정지 시간 누적 대상(null이면 기록 안 함)
+     */
+    public HostBackoff(Duration cap, Duration defaultPause, ScanStats stats) {
+        this.cap = (cap == null || cap.isNegative()) ? Duration.ZERO : cap;
+        this.defaultPause = (defaultPause == null || defaultPause.isNegative()) ? Duration.ZERO : defaultPause;
+        this.stats = stats;
+    }
+
+    /** scan.yml http.maxRetryAfterMs / http.defaultPauseMs 기준 */
+    public static HostBackoff from(ScanConfig cfg, ScanStats stats) {
+        ScanConfig.HttpCfg h = cfg.getHttp();
+        return new HostBackoff(Duration.ofMillis(h.getMaxRetryAfterMs()), Duration.ofMillis(h.getDefaultPauseMs()), stats);
+    }
+
+    static String hostOf(URI u) {
+        return (u == null || u.getHost() == null) ? "" : u.getHost().toLowerCase(Locale.ROOT);
+    }
+
+    /** 호스트 정지를 일으키는 상태(429 Too Many Requests / 503 Service Unavailable) */
+    public static boolean isThrottle(int status) {
+        return status == 429 || status == 503;
+    }
+
+    /** Retry-After 해석(상한 적용), 없거나 해석 불가면 null */
+    public Duration retryAfter(Map<String, List<String>> headers) {
+        return RetryAfter.from(headers, cap, Instant.now());
+    }
+
+    /**
+     * 응답 1건 반영: 429/503이면 호스트 정지 창을 연장.
+     * @return 적용한 정지 시간(정지 대상이 아니면 null)
+     */
+    public Duration onResponse(URI url, int status, Map<String, List<String>> headers) {
+        if (!isThrottle(status)) return null;
+        Duration ra = retryAfter(headers);
+        Duration d = (ra != null) ? ra : defaultPause;
+        pause(url, d, status);
+        return d;
+    }
+
+    /** 호스트를 지금부터 d 동안 정지(이미 더 긴 창이 있으면 유지) */
+    public void pause(URI url, Duration d) {
+        pause(url, d, 0);
+    }
+
+    private void pause(URI url, Duration d, int status) {
+        long ns = (d == null) ? 0L : Math.max(0L, d.toNanos());
+        if (ns <= 0) return;
+        String host = hostOf(url);
+        AtomicLong end = until.computeIfAbsent(host, h -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        long target = now + ns;
+        for (;;) {
+            long cur = end.get();
+            boolean active = cur != Long.MIN_VALUE && cur - now > 0;
+            if (active && cur - target >= 0) return;                  // 이미 더 늦게 끝나는 창
+            if (end.compareAndSet(cur, target)) {
+                long addedNs = target - (active ? cur : now);             // 새로 늘어난 구간만
+                if (stats != null) stats.addPause(TimeUnit.NANOSECONDS.toMillis(addedNs), !active);
+                SLOG.info("host-pause",
+                        "host", host,
+                        "status", status,
+                        "pauseMs", TimeUnit.NANOSECONDS.toMillis(ns),
+                        "extended", active);
+                return;
+            }
+        }
+    }
+
+    /** 호스트 정지 창의 남은 시간(ns, 0이면 정지 아님) */
+    public long remainingNanos(URI url) {
+        AtomicLong end = until.get(hostOf(url));
+        if (end == null) return 0L;
+        long cur = end.get();
+        if (cur == Long.MIN_VALUE) return 0L;
+        return Math.max(0L, cur - System.nanoTime());
+    }
+
+    /** 정지 창이 끝날 때까지 대기(블로킹). 대기 중 창이 연장되면 그만큼 더 기다림 */
+    public void await(URI url) throws InterruptedException {
+        long left;
+        while ((left = remainingNanos(url)) > 0) {
+            TimeUnit.NANOSECONDS.sleep(left);
+        }
+    }
+
+    /** 비동기 대기: 창 종료 시각에 타이머가 완료(대기 중 스레드 점유 없음) */
+    public CompletableFuture<Void> awaitAsync(URI url) {
+        long left = remainingNanos(url);
+        if (left <= 0) return CompletableFuture.completedFuture(null);
+        CompletableFuture<Void> f = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(left, TimeUnit.NANOSECONDS, DIRECT).execute(() -> f.complete(null));
+        return f.thenCompose(v -> awaitAsync(url)); // 그 사이 연장됐으면 다시
+    }
+}
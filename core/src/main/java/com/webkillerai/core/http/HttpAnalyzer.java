@@ -3,18 +3,27 @@ package com.webkillerai.core.http;
 import com.webkillerai.core.api.IHttpAnalyzer;
 import com.webkillerai.core.model.HttpResponseData;
 import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.ScanStats;
+import com.webkillerai.core.util.RateLimiter;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
-/** HTTP 분석 스텁: 실제 요청 전송 후 HttpResponseData로 매핑 */
+/**
+ * HTTP 분석 스텁: 실제 요청 전송 후 HttpResponseData로 매핑.
+ * http.headTriage면 HEAD를 먼저 보내 Content-Type/Content-Length로 경로를 고른다
+ * (HTML 등 → 전체 GET, JSON → http.apiMaxBytes 상한 GET, 바이너리/초과 크기 → HEAD 응답으로 헤더 검사만).
+ * HEAD 뒤의 GET은 요청이 하나 더 나가므로 호스트 리미터(setFollowUpLimiter)에서 허가를 하나 더 받고, HEAD도 시도 수에 센다.
+ */
 public class HttpAnalyzer implements IHttpAnalyzer {
 
     /** ✅ 추가: 테스트/모킹용 송신 훅 */
@@ -23,69 +32,356 @@ public class HttpAnalyzer implements IHttpAnalyzer {
         HttpResponse<String> send(HttpRequest req) throws Exception;
     }
 
+    /** 시도(재시도 포함) 1회가 끝날 때마다 결과를 받는 관찰자(적응형 제어 등) */
+    @FunctionalInterface
+    public interface AttemptObserver {
+        void onAttempt(URI url, int status, long latencyMs);
+    }
+
     private final ScanConfig config;
-    private final HttpClient client;   // 프로덕션 경로
+    private final HttpTransport transport; // 프로덕션 경로(스캔 공용 연결 풀)
     private final HttpSender sender;   // 테스트 경로(있으면 이걸 사용)
+    private volatile AttemptObserver observer; // null이면 보고 안 함
+    private volatile HostBackoff backoff;      // null이면 호스트 정지 창 없음(재시도 대기만)
+    private volatile ValidatorCache cache;     // null이면 조건부 GET 안 함
+    private volatile Function<URI, RateLimiter> followUp; // null이면 HEAD 뒤 GET도 추가 허가 없음
+    private volatile ScanStats stats;          // null이면 HEAD 시도 계수 안 함
 
     public HttpAnalyzer(ScanConfig config) {
+        this(config, new HttpTransport(Objects.requireNonNull(config, "config")));
+    }
+
+    /** 공용 전송 계층 주입(크롤러/프로브와 연결 풀 공유) */
+    public HttpAnalyzer(ScanConfig config, HttpTransport transport) {
         this.config = Objects.requireNonNull(config, "config");
-        this.client = HttpClient.newBuilder()
-                .followRedirects(config.isFollowRedirects() ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER)
-                .connectTimeout(config.getTimeout())
-                .build();
+        this.transport = Objects.requireNonNull(transport, "transport");
         this.sender = null; // 기본은 HttpClient 사용
     }
 
     /** ✅ 추가: 테스트용 생성자(송신 훅 주입) */
     public HttpAnalyzer(ScanConfig config, HttpSender testSender) {
         this.config = Objects.requireNonNull(config, "config");
-        this.client = null; // 테스트에선 사용 안 함
+        this.transport = null; // 테스트에선 사용 안 함
         this.sender = Objects.requireNonNull(testSender, "testSender");
     }
 
-    /** GET 요청을 보내고 결과를 HttpResponseData로 반환. (예외 시 status -1 반환) */
+    /** HEAD 선별 결과 */
+    enum Route { FULL, BOUNDED, HEADERS_ONLY }
+
+    /** 재시도 경로(analyzeWithRetry/-Async)의 시도별 결과 관찰자 등록(null이면 해제) */
+    public void setAttemptObserver(AttemptObserver observer) {
+        this.observer = observer;
+    }
+
+    /** 호스트 공용 정지 창 등록(null이면 해제): 요청 전 대기 + 429/503 응답 시 창 연장 */
+    public void setHostBackoff(HostBackoff backoff) {
+        this.backoff = backoff;
+    }
+
+    /** 검증자 캐시 등록(null이면 해제): If-None-Match/If-Modified-Since 전송 + 304면 저장 응답으로 복원 */
+    public void setValidatorCache(ValidatorCache cache) {
+        this.cache = cache;
+    }
+
+    /** HEAD 선별 뒤 GET 직전에 허가를 받을 호스트 리미터(null이면 해제). 호출자가 첫 요청 허가는 이미 받았다고 가정 */
+    public void setFollowUpLimiter(Function<URI, RateLimiter> limiterOf) {
+        this.followUp = limiterOf;
+    }
+
+    /** 시도 수 계수기 등록(null이면 해제): 선별 HEAD를 requestsTotal에 더한다(GET/재시도는 호출자가 셈) */
+    public void setStats(ScanStats stats) {
+        this.stats = stats;
+    }
+
+    private void countHead() {
+        ScanStats st = stats;
+        if (st != null) st.addAttempts(1);
+    }
+
+    /** HEAD 뒤 GET 허가(블로킹). 반환값은 대기한 시간(ns) → 응답 시간에서 제외 */
+    private long followUpPermit(URI url) throws InterruptedException {
+        Function<URI, RateLimiter> f = followUp;
+        if (f == null) return 0L;
+        long t0 = System.nanoTime();
+        f.apply(url).acquire();
+        return System.nanoTime() - t0;
+    }
+
+    private CompletableFuture<Void> followUpPermitAsync(URI url) {
+        Function<URI, RateLimiter> f = followUp;
+        return (f == null) ? CompletableFuture.completedFuture(null) : f.apply(url).acquireAsync();
+    }
+
+    private void report(URI url, HttpResponseData data) {
+        AttemptObserver o = observer;
+        if (o == null) return;
+        try {
+            o.onAttempt(url, data.getStatusCode(), data.getResponseTimeMs());
+        } catch (RuntimeException ignore) {
+            // 관찰자 오류가 요청 흐름을 깨지 않도록
+        }
+    }
+
+    /**
+     * GET 요청을 보내고 결과를 HttpResponseData로 반환. (예외 시 status -1 반환)
+     * 호스트가 정지 창 안에 있으면 창이 끝날 때까지 기다린 뒤 보낸다(대기 중 인터럽트도 -1).
+     */
     public HttpResponseData analyze(URI url) {
         Objects.requireNonNull(url, "url");
+        HostBackoff b = backoff;
+        if (b != null) {
+            try {
+                b.await(url);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return failed(url, System.nanoTime());
+            }
+        }
         long start = System.nanoTime();
         try {
-            Duration timeout = config.getTimeout();
-            HttpRequest req = HttpRequest.newBuilder(url)
-                    .timeout(timeout)
-                    .GET()
-                    .build();
-
-            // ✅ 변경: sender가 있으면 sender로, 아니면 기존 HttpClient로 전송
-            HttpResponse<String> resp = (sender != null)
-                    ? sender.send(req)
-                    : client.send(req, HttpResponse.BodyHandlers.ofString());
-
-            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
-
-            HttpHeaders hh = resp.headers();
-            Map<String, List<String>> headers = hh.map();
-            String contentType = hh.firstValue("Content-Type").orElse(null);
-
-            return HttpResponseData.builder()
-                    .url(url)
-                    .statusCode(resp.statusCode())
-                    .headers(headers)
-                    .body(resp.body() == null ? "" : resp.body())
-                    .contentType(contentType)
-                    .responseTimeMs(elapsedMs)
-                    .build();
+            HttpRequest req = newGet(url);
+
+            // ✅ 변경: sender가 있으면 sender로, 아니면 공용 전송 계층(상한 스트리밍 본문)으로 전송
+            if (sender != null) {
+                return throttled(url, toData(url, sender.send(req), start));
+            }
+            Route route = Route.FULL;
+            if (config.getHttp().isHeadTriage()) {
+                HttpResponse<Void> head = sendHead(url);
+                countHead();
+                if (head != null) {
+                    route = route(head.statusCode(), head.headers(), config.getHttp());
+                    if (route == Route.HEADERS_ONLY) return throttled(url, headOnly(url, head, start));
+                }
+                start += followUpPermit(url); // HEAD가 허가 1개를 썼으므로 GET은 하나 더(대기는 응답 시간에서 제외)
+            }
+            HttpResponse<CappedBodyHandler.Body> resp = transport.send(req, bodyHandler(route), true);
+            return throttled(url, revalidated(url, toCapped(url, resp, start)));
+        } catch (Exception e) {
+            return failed(url, start);
+        }
+    }
+
+    /** 선별용 HEAD. 실패(연결 끊김/타임아웃/HEAD 거부)면 null → 비동기 경로와 같이 그냥 GET. 인터럽트는 전파 */
+    private HttpResponse<Void> sendHead(URI url) throws InterruptedException {
+        try {
+            return transport.send(newHead(url), HttpResponse.BodyHandlers.discarding(), true);
+        } catch (InterruptedException ie) {
+            throw ie;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 비동기 GET: 스레드를 붙잡지 않고 sendAsync로 전송. (예외 시 status -1로 정상 완료)
+     * 테스트 송신 훅이 있으면 공용 풀에서 동기 훅을 호출한다.
+     */
+    public CompletableFuture<HttpResponseData> analyzeAsync(URI url) {
+        Objects.requireNonNull(url, "url");
+        if (sender != null) {
+            return CompletableFuture.supplyAsync(() -> analyze(url));
+        }
+        HostBackoff b = backoff;
+        if (b != null && b.remainingNanos(url) > 0) {
+            return b.awaitAsync(url).thenCompose(v -> sendAsync(url)); // 정지 창 타이머 → 전송
+        }
+        return sendAsync(url);
+    }
+
+    private CompletableFuture<HttpResponseData> sendAsync(URI url) {
+        final long start = System.nanoTime();
+        if (!config.getHttp().isHeadTriage()) return getAsync(url, Route.FULL, start);
+        try {
+            return transport.sendAsync(newHead(url), HttpResponse.BodyHandlers.discarding(), true)
+                    .handle((head, ex) -> head)
+                    .thenCompose(head -> {
+                        countHead();
+                        // HEAD 실패 → 그냥 GET
+                        Route route = (head == null) ? Route.FULL : route(head.statusCode(), head.headers(), config.getHttp());
+                        if (route == Route.HEADERS_ONLY) {
+                            return CompletableFuture.completedFuture(throttled(url, headOnly(url, head, start)));
+                        }
+                        long w0 = System.nanoTime(); // GET 허가 대기는 응답 시간에서 제외
+                        return followUpPermitAsync(url)
+                                .thenCompose(v -> getAsync(url, route, start + (System.nanoTime() - w0)));
+                    });
+        } catch (Exception e) {
+            return getAsync(url, Route.FULL, start);
+        }
+    }
+
+    private CompletableFuture<HttpResponseData> getAsync(URI url, Route route, long start) {
+        try {
+            return transport.sendAsync(newGet(url), bodyHandler(route), true)
+                    .handle((resp, ex) -> (ex != null || resp == null)
+                            ? failed(url, start)
+                            : throttled(url, revalidated(url, toCapped(url, resp, start))));
         } catch (Exception e) {
-            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
-            return HttpResponseData.builder()
-                    .url(url)
-                    .statusCode(-1)
-                    .headers(Map.of())
-                    .body("")
-                    .contentType(null)
-                    .responseTimeMs(elapsedMs)
-                    .build();
+            return CompletableFuture.completedFuture(failed(url, start));
         }
     }
 
+    private CappedBodyHandler bodyHandler(Route route) {
+        return (route == Route.BOUNDED)
+                ? transport.bodyHandler(config.getHttp().getApiMaxBytes())
+                : transport.bodyHandler();
+    }
+
+    /**
+     * HEAD 응답으로 경로 결정.
+     * 2xx가 아니면 GET으로 다시 확인(405/501 등 HEAD 미지원 포함). 단 429/503은 GET 없이 그대로 돌려
+     * 재시도/정지 창이 처리하게 한다. 바이너리 → 헤더만, JSON → 상한 GET, http.triageMaxBytes 초과 → 헤더만.
+     */
+    static Route route(int status, HttpHeaders h, ScanConfig.HttpCfg cfg) {
+        if (HostBackoff.isThrottle(status)) return Route.HEADERS_ONLY;
+        if (status < 200 || status >= 300) return Route.FULL;
+        String ct = h.firstValue("Content-Type").orElse(null);
+        if (CappedBodyHandler.isBinary(ct)) return Route.HEADERS_ONLY;
+        if (ct != null && ct.toLowerCase(java.util.Locale.ROOT).contains("json")) return Route.BOUNDED;
+        long len = h.firstValueAsLong("Content-Length").orElse(-1L);
+        if (cfg.getTriageMaxBytes() > 0 && len > cfg.getTriageMaxBytes()) return Route.HEADERS_ONLY;
+        return Route.FULL;
+    }
+
+    /** HEAD 응답 → 본문 없는 HttpResponseData(헤더 기반 패시브 검사용) */
+    private static HttpResponseData headOnly(URI url, HttpResponse<?> head, long startNanos) {
+        return HttpResponseData.builder()
+                .url(url)
+                .statusCode(head.statusCode())
+                .headers(head.headers().map())
+                .body("")
+                .contentType(head.headers().firstValue("Content-Type").orElse(null))
+                .responseTimeMs((System.nanoTime() - startNanos) / 1_000_000)
+                .bodyTruncated(true)
+                .headOnly(true)
+                .build();
+    }
+
+    private HttpRequest newHead(URI url) {
+        return transport.request(url).method("HEAD", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    /** 304면 검증자 캐시의 저장 응답으로 대체(캐시에 본문이 없으면 304 그대로) */
+    private HttpResponseData revalidated(URI url, HttpResponseData data) {
+        ValidatorCache c = cache;
+        if (c == null || data.getStatusCode() != 304) return data;
+        HttpResponseData restored = c.revalidated(url, data);
+        return (restored != null) ? restored : data;
+    }
+
+    /** 429/503이면 호스트 정지 창 연장(같은 호스트의 다른 요청도 멈춤) */
+    private HttpResponseData throttled(URI url, HttpResponseData data) {
+        HostBackoff b = backoff;
+        if (b != null) b.onResponse(url, data.getStatusCode(), data.getHeaders());
+        return data;
+    }
+
+    /**
+     * 재시도 포함 비동기 버전: 지연은 delayedExecutor 타이머로 처리(슬립 없음).
+     * 재시도 조건/Retry-After 해석은 analyzeWithRetry와 동일.
+     */
+    public CompletableFuture<HttpResponseData> analyzeWithRetryAsync(URI url,
+                                                                    com.webkillerai.core.http.RetryPolicy policy) {
+        return attemptAsync(url, policy, 1);
+    }
+
+    private CompletableFuture<HttpResponseData> attemptAsync(URI url, RetryPolicy policy, int attempt) {
+        return analyzeAsync(url).thenCompose(data -> {
+            report(url, data);
+            if (!policy.shouldRetry(data.getStatusCode(), attempt) || attempt + 1 > policy.maxAttempts()) {
+                return CompletableFuture.completedFuture(data);
+            }
+            java.time.Duration delay = resolveRetryAfterOr(policy.nextDelay(attempt), data);
+            Executor timer = CompletableFuture.delayedExecutor(Math.max(0, delay.toMillis()), TimeUnit.MILLISECONDS);
+            return CompletableFuture.supplyAsync(() -> null, timer)
+                    .thenCompose(v -> attemptAsync(url, policy, attempt + 1));
+        });
+    }
+
+    /**
+     * http.rangeRequests면 상한만큼만 Range로 요청(서버가 무시하면 200 + 스트리밍 상한으로 처리).
+     * 검증자 캐시에 항목이 있으면 조건부 GET.
+     */
+    private HttpRequest newGet(URI url) {
+        if (transport != null) {
+            ValidatorCache c = cache;
+            HttpRequest.Builder b = transport.request(url, (c != null) ? c.conditionalHeaders(url) : null).GET();
+            long cap = transport.maxBodyBytes();
+            if (config.getHttp().isRangeRequests() && cap > 0) b.header("Range", "bytes=0-" + (cap - 1));
+            return b.build();
+        }
+        return HttpRequest.newBuilder(url)
+                .timeout(config.getTimeout())
+                .GET()
+                .build();
+    }
+
+    private static HttpResponseData toCapped(URI url, HttpResponse<CappedBodyHandler.Body> resp, long startNanos) {
+        CappedBodyHandler.Body body = resp.body();
+        boolean truncated = body != null && body.truncated();
+        if (resp.statusCode() == 206 && body != null) {
+            long total = contentRangeTotal(resp.headers());
+            truncated = truncated || total < 0 || total > body.bytes(); // 전체 크기 모름(*)도 부분으로 간주
+        }
+        HttpResponseData.Builder b = builder(url, resp.statusCode(), resp.headers(), truncated, startNanos);
+        if (body != null && body.raw() != null) {
+            b.rawBody(body.raw(), body.charset()); // 디코딩은 첫 getBody() 때
+        } else {
+            b.body(body == null ? "" : body.text());
+        }
+        return b.build();
+    }
+
+    private static HttpResponseData toData(URI url, HttpResponse<String> resp, long startNanos) {
+        return data(url, resp.statusCode(), resp.headers(), resp.body() == null ? "" : resp.body(), false, startNanos);
+    }
+
+    private static HttpResponseData data(URI url, int status, HttpHeaders hh, String body,
+                                         boolean truncated, long startNanos) {
+        return builder(url, status, hh, truncated, startNanos).body(body).build();
+    }
+
+    private static HttpResponseData.Builder builder(URI url, int status, HttpHeaders hh,
+                                                    boolean truncated, long startNanos) {
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+
+        Map<String, List<String>> headers = hh.map();
+        String contentType = hh.firstValue("Content-Type").orElse(null);
+
+        return HttpResponseData.builder()
+                .url(url)
+                .statusCode(status)
+                .headers(headers)
+                .contentType(contentType)
+                .responseTimeMs(elapsedMs)
+                .bodyTruncated(truncated);
+    }
+
+    /** Content-Range: bytes 0-99/1234 → 1234 (없거나 "*"면 -1) */
+    static long contentRangeTotal(HttpHeaders hh) {
+        String cr = hh.firstValue("Content-Range").orElse("");
+        int slash = cr.lastIndexOf('/');
+        if (slash < 0) return -1;
+        try {
+            return Long.parseLong(cr.substring(slash + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static HttpResponseData failed(URI url, long startNanos) {
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        return HttpResponseData.builder()
+                .url(url)
+                .statusCode(-1)
+                .headers(Map.of())
+                .body("")
+                .contentType(null)
+                .responseTimeMs(elapsedMs)
+                .build();
+    }
+
     /** 재시도 포함 버전: 429/5xx/(-1)에서만 재시도, Retry-After 우선 */
     public HttpResponseData analyzeWithRetry(URI url,
                                              com.webkillerai.core.http.RetryPolicy policy,
@@ -94,11 +390,12 @@ public class HttpAnalyzer implements IHttpAnalyzer {
         while (true) {
             HttpResponseData data = analyze(url); // 기존 메서드 재사용(예외 시 -1로 반환)
             int status = data.getStatusCode();
+            report(url, data);
 
             if (!policy.shouldRetry(status, attempt)) {
                 return data;
             }
-            // 다음 시도 전 대기(Retry-After 우선, 상한 30s)
+            // 다음 시도 전 대기(Retry-After 우선, 상한 http.maxRetryAfterMs)
             java.time.Duration delay = resolveRetryAfterOr(policy.nextDelay(attempt), data);
             sleeper.sleep(delay);
 
@@ -109,24 +406,12 @@ public class HttpAnalyzer implements IHttpAnalyzer {
         }
     }
 
-    /** Retry-After 헤더를 존중하되 과도한 대기는 30초로 상한 */
+    /** Retry-After 헤더(초/HTTP-date)를 존중하되 과도한 대기는 http.maxRetryAfterMs로 상한 */
     private java.time.Duration resolveRetryAfterOr(java.time.Duration fallback, HttpResponseData data) {
         try {
-            var headers = data.getHeaders(); // Map<String, List<String>>
-            if (headers == null) return fallback;
-            var values = headers.get("Retry-After");
-            if (values == null || values.isEmpty()) values = headers.get("retry-after");
-            if (values == null || values.isEmpty()) return fallback;
-
-            String v = values.get(0).trim();
-            // seconds 형태
-            try {
-                long sec = Long.parseLong(v);
-                return java.time.Duration.ofSeconds(Math.min(sec, 30));
-            } catch (NumberFormatException ignore) { /* fallthrough */ }
-
-            // HTTP-date 형태는 단순히 fallback 사용(간소화; 필요 시 RFC1123 파싱 추가)
-            return fallback;
+            java.time.Duration cap = java.time.Duration.ofMillis(config.getHttp().getMaxRetryAfterMs());
+            java.time.Duration ra = RetryAfter.from(data.getHeaders(), cap, java.time.Instant.now());
+            return (ra != null) ? ra : fallback;
         } catch (Exception e) {
             return fallback;
         }
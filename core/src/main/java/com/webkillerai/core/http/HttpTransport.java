@@ -0,0 +1,191 @@
+package com.webkillerai.core.http;
+
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.ScanStats;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스캔 1회가 공유하는 HTTP 전송 계층.
+ * - HTTP/2 우선 클라이언트 2개(설정대로 리다이렉트 추적 / 항상 비추적)를 소유 → 분석기·크롤러·robots·프로브가
+ *   같은 연결 풀을 써서 호스트당 TLS 핸드셰이크가 컴포넌트 수만큼 반복되지 않는다
+ * - 요청 빌더에 timeout·User-Agent·기본 헤더(scan.yml http.userAgent / http.headers)를 일괄 적용
+ * - 본문은 CappedBodyHandler로 스트리밍 디코딩(http.maxBodyBytes 상한, 바이너리 건너뜀)
+ * - http.compression이면 Accept-Encoding: gzip, deflate를 붙이고 핸들러가 풀어서 읽음
+ *   (JDK HttpClient는 Content-Encoding을 자동 처리하지 않음). 전송/해제 바이트는 ScanStats에 누적
+ * - 연결 재사용 통계(근사치): HttpClient는 풀 상태를 노출하지 않으므로 소켓 수가 아니라
+ *   서로 다른 (클라이언트, origin, 프로토콜) 조합 수(originsSeen)를 센다.
+ *   HTTP/2는 origin당 연결 1개라 연결 수와 같고, HTTP/1.1은 연결 수의 하한 → 재사용률은 상한 추정
+ */
+public final class HttpTransport {
+
+    /**
+     * 연결 재사용 통계 스냅샷.
+     * originsSeen은 실제 소켓 수가 아니라 응답을 받은 (클라이언트, origin, 프로토콜) 조합 수
+     */
+    public record Stats(long requests, long failures, long http2Responses, long originsSeen) {
+        /** 재사용 요청 비율 추정치(0~1): 조합마다 연결 1개로 가정 → HTTP/1.1 다중 연결이면 실제보다 높음 */
+        public double reuseRatioEstimate() {
+            long ok = requests - failures;
+            return ok <= 0 ? 0.0 : Math.max(0.0, 1.0 - (double) originsSeen / ok);
+        }
+    }
+
+    private final HttpClient client;       // follow 여부 = config.followRedirects
+    private final HttpClient noRedirect;   // 항상 Redirect.NEVER
+    private final boolean followRedirects;
+    private final Duration timeout;
+    private final String userAgent;
+    private final Map<String, String> defaultHeaders;
+    private final long maxBodyBytes;
+    private final long maxDecodedBytes;
+    private final boolean skipBinary;
+    private final boolean compression;
+    private volatile ScanStats stats; // null이면 본문 바이트 기록 안 함
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong http2 = new AtomicLong();
+    private final Set<String> origins = ConcurrentHashMap.newKeySet(); // "r|https://host:443|HTTP_2"
+
+    public HttpTransport(ScanConfig config) {
+        Objects.requireNonNull(config, "config");
+        ScanConfig.HttpCfg h = config.getHttp();
+        this.followRedirects = config.isFollowRedirects();
+        this.timeout = config.getTimeout();
+        this.userAgent = h.getUserAgent();
+        this.defaultHeaders = Collections.unmodifiableMap(new LinkedHashMap<>(h.getHeaders()));
+        this.maxBodyBytes = h.getMaxBodyBytes();
+        this.maxDecodedBytes = h.getMaxDecodedBytes();
+        this.skipBinary = h.isSkipBinary();
+        this.compression = h.isCompression();
+        HttpClient.Version version = h.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+
+        this.client = HttpClient.newBuilder()
+                .version(version)
+                .followRedirects(followRedirects ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER)
+                .connectTimeout(timeout)
+                .build();
+        this.noRedirect = followRedirects
+                ? HttpClient.newBuilder()
+                    .version(version)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(timeout)
+                    .build()
+                : client; // 설정이 이미 비추적이면 풀 하나로 충분
+    }
+
+    public HttpClient client() { return client; }
+    public HttpClient noRedirectClient() { return noRedirect; }
+    public Duration timeout() { return timeout; }
+    public String userAgent() { return userAgent; }
+    public Map<String, String> defaultHeaders() { return defaultHeaders; }
+    public long maxBodyBytes() { return maxBodyBytes; }
+
+    /** 응답 본문 전송/해제 바이트 누적 대상(null이면 해제) */
+    public void setStats(ScanStats stats) {
+        this.stats = stats;
+    }
+
+    /** http.maxBodyBytes / http.skipBinary 기준 스트리밍 본문 핸들러(markers가 보이면 조기 종료) */
+    public CappedBodyHandler bodyHandler(Collection<String> markers) {
+        return bodyHandler(markers, skipBinary);
+    }
+
+    /** 상한만 다른 핸들러(http.maxBodyBytes보다 크게는 못 올림) */
+    public CappedBodyHandler bodyHandler(long maxBytes) {
+        long cap = (maxBodyBytes > 0) ? Math.min(maxBodyBytes, maxBytes) : maxBytes;
+        return new CappedBodyHandler(cap, maxDecodedBytes, skipBinary, null, stats);
+    }
+
+    /** Content-Type과 무관하게 텍스트로 읽어야 하는 경우(robots.txt 등)는 skipBinary=false */
+    public CappedBodyHandler bodyHandler(Collection<String> markers, boolean skipBinary) {
+        return new CappedBodyHandler(maxBodyBytes, maxDecodedBytes, skipBinary, markers, stats);
+    }
+
+    public CappedBodyHandler bodyHandler() {
+        return bodyHandler(null);
+    }
+
+    /**
+     * timeout + User-Agent + 기본 헤더(+ compression이면 Accept-Encoding)가 적용된 요청 빌더.
+     * 요청별 헤더는 headers로, 같은 이름이면 요청별 우선. 응답은 bodyHandler()로 받아야 압축이 풀린다.
+     */
+    public HttpRequest.Builder request(URI url, Map<String, String> headers) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(url).timeout(timeout);
+        Map<String, String> hs = (headers == null) ? Map.of() : headers;
+        if (!containsIgnoreCase(hs, "User-Agent")) b.header("User-Agent", userAgent);
+        if (compression && !containsIgnoreCase(hs, "Accept-Encoding") && !containsIgnoreCase(defaultHeaders, "Accept-Encoding")) {
+            b.header("Accept-Encoding", "gzip, deflate");
+        }
+        defaultHeaders.forEach((k, v) -> { if (!containsIgnoreCase(hs, k)) b.header(k, v); });
+        hs.forEach(b::header);
+        return b;
+    }
+
+    public HttpRequest.Builder request(URI url) {
+        return request(url, null);
+    }
+
+    /** 동기 전송(follow=false면 비추적 클라이언트) */
+    public <T> HttpResponse<T> send(HttpRequest req, HttpResponse.BodyHandler<T> handler, boolean follow) throws Exception {
+        HttpClient hc = follow ? client : noRedirect;
+        requests.incrementAndGet();
+        try {
+            HttpResponse<T> r = hc.send(req, handler);
+            record(hc, r);
+            return r;
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /** 비동기 전송(sendAsync: 스레드 점유 없음) */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest req, HttpResponse.BodyHandler<T> handler, boolean follow) {
+        HttpClient hc = follow ? client : noRedirect;
+        requests.incrementAndGet();
+        try {
+            return hc.sendAsync(req, handler).whenComplete((r, ex) -> {
+                if (ex != null || r == null) failures.incrementAndGet();
+                else record(hc, r);
+            });
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(requests.get(), failures.get(), http2.get(), origins.size());
+    }
+
+    private void record(HttpClient hc, HttpResponse<?> r) {
+        if (r.version() == HttpClient.Version.HTTP_2) http2.incrementAndGet();
+        URI u = r.uri();
+        if (u == null || u.getHost() == null) return;
+        int port = u.getPort() > 0 ? u.getPort() : ("https".equalsIgnoreCase(u.getScheme()) ? 443 : 80);
+        origins.add((hc == client ? "f|" : "n|")
+                + String.valueOf(u.getScheme()).toLowerCase(Locale.ROOT) + "://"
+                + u.getHost().toLowerCase(Locale.ROOT) + ":" + port + "|" + r.version());
+    }
+
+    private static boolean containsIgnoreCase(Map<String, String> m, String key) {
+        for (String k : m.keySet()) if (k != null && k.equalsIgnoreCase(key)) return true;
+        return false;
+    }
+}
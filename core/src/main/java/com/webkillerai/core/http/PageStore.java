@@ -0,0 +1,71 @@
+package com.webkillerai.core.http;
+
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.util.UrlUtils;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스캔 단위 페이지 저장소: 한 번 받은 응답(status/headers/body)을 크롤러·분석기·액티브 페이지 검사가 공유.
+ * - 키는 UrlUtils.normalize 기준
+ * - 재시도 대상 응답(-1/429/5xx)은 재사용하지 않음(분석기가 다시 받아 재시도 정책 적용)
+ * - 스캔 작업이 끝나면 release()로 즉시 비워 메모리를 묶어두지 않는다
+ */
+public final class PageStore {
+
+    private final ConcurrentHashMap<URI, HttpResponseData> pages = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** 응답 저장(같은 URL은 최신 응답으로 교체) */
+    public void put(HttpResponseData page) {
+        if (page == null || page.getUrl() == null) return;
+        URI k = key(page.getUrl());
+        if (k != null) pages.put(k, page);
+    }
+
+    /** 재사용 가능한 응답(없거나 재시도 대상이면 null) */
+    public HttpResponseData get(URI url) {
+        URI k = key(url);
+        HttpResponseData p = (k == null) ? null : pages.get(k);
+        if (p == null || !isReusable(p.getStatusCode())) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return p;
+    }
+
+    /** 재사용 가능한 응답이 있는지(히트/미스 집계 없음) */
+    public boolean contains(URI url) {
+        URI k = key(url);
+        HttpResponseData p = (k == null) ? null : pages.get(k);
+        return p != null && isReusable(p.getStatusCode());
+    }
+
+    /** 사용이 끝난 페이지 제거 */
+    public void release(URI url) {
+        URI k = key(url);
+        if (k != null) pages.remove(k);
+    }
+
+    /** 스캔 종료 시 남은 페이지(필터/중단으로 소비되지 않은 것) 일괄 제거 */
+    public void clear() { pages.clear(); }
+
+    public int size() { return pages.size(); }
+    public long hits() { return hits.get(); }
+    public long misses() { return misses.get(); }
+
+    /** DefaultRetryPolicy와 동일 기준: 429/5xx/(-1)은 재요청 대상 */
+    static boolean isReusable(int status) {
+        return status > 0 && status != 429 && status < 500;
+    }
+
+    private static URI key(URI url) {
+        if (url == null) return null;
+        URI n = UrlUtils.normalize(url);
+        return (n != null) ? n : url;
+    }
+}
@@ -0,0 +1,79 @@
+package com.webkillerai.core.http;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Retry-After 헤더 해석(RFC 9110 §10.2.3).
+ * - delta-seconds: "120"
+ * - HTTP-date: IMF-fixdate/RFC 1123 "Sun, 06 Nov 1994 08:49:37 GMT",
+ *   폐기 형식 RFC 850 "Sunday, 06-Nov-94 08:49:37 GMT", asctime "Sun Nov  6 08:49:37 1994"
+ * 결과는 [0, cap]으로 자르며, 이미 지난 날짜는 0, 해석 불가면 null.
+ */
+public final class RetryAfter {
+
+    private static final DateTimeFormatter RFC_850 =
+            DateTimeFormatter.ofPattern("EEEE, dd-MMM-yy HH:mm:ss zzz", Locale.US);
+    private static final DateTimeFormatter ASCTIME =
+            DateTimeFormatter.ofPattern("EEE MMM d HH:mm:ss yyyy", Locale.US).withZone(ZoneOffset.UTC);
+
+    private RetryAfter() {}
+
+    /** 응답 헤더 맵에서 Retry-After를 찾아 해석(대소문자 무시) */
+    public static Duration from(Map<String, List<String>> headers, Duration cap, Instant now) {
+        if (headers == null || headers.isEmpty()) return null;
+        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+            if (e.getKey() != null && e.getKey().equalsIgnoreCase("Retry-After")
+                    && e.getValue() != null && !e.getValue().isEmpty()) {
+                return parse(e.getValue().get(0), cap, now);
+            }
+        }
+        return null;
+    }
+
+    /** 헤더 값 1개 해석 */
+    public static Duration parse(String value, Duration cap, Instant now) {
+        if (value == null) return null;
+        String v = value.trim();
+        if (v.isEmpty()) return null;
+
+        Duration d = null;
+        if (v.chars().allMatch(Character::isDigit)) {
+            try {
+                d = Duration.ofSeconds(Long.parseLong(v));
+            } catch (NumberFormatException overflow) {
+                d = cap;
+            }
+        } else {
+            Instant at = parseDate(v);
+            if (at != null) d = Duration.between(now, at);
+        }
+        if (d == null) return null;
+        if (d.isNegative()) return Duration.ZERO;
+        return (cap != null && d.compareTo(cap) > 0) ? cap : d;
+    }
+
+    /** HTTP-date 3형식 중 하나로 해석(실패 시 null) */
+    static Instant parseDate(String v) {
+        try {
+            return ZonedDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (DateTimeParseException ignore) { /* 다음 형식 */ }
+        try {
+            // 2자리 연도: 50년 이상 미래로 보이면 과거 세기로(RFC 9110 §5.6.7)
+            ZonedDateTime z = ZonedDateTime.parse(v, RFC_850);
+            if (z.getYear() > ZonedDateTime.now(ZoneOffset.UTC).getYear() + 50) z = z.minusYears(100);
+            return z.toInstant();
+        } catch (DateTimeParseException ignore) { /* 다음 형식 */ }
+        try {
+            return ZonedDateTime.parse(v.replaceAll("\\s+", " "), ASCTIME).toInstant();
+        } catch (DateTimeParseException ignore) { /* 해석 불가 */ }
+        return null;
+    }
+}
@@ -0,0 +1,321 @@
+package com.webkillerai.core.http;
+
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.VulnResult;
+import com.webkillerai.core.util.UrlUtils;
+import com.webkillerai.core.util.VulnResultProps;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 재스캔용 디스크 검증자(validator) 캐시(기본 위치 out/cache/).
+ * - URL(UrlUtils.normalize)마다 ETag / Last-Modified / 본문 해시 / 패시브 결과를 &lt;sha256&gt;.properties로,
+ *   본문은 &lt;sha256&gt;.body.gz로 저장
+ * - 다음 실행에서 HttpAnalyzer가 If-None-Match / If-Modified-Since를 붙이고, 304면 저장된 본문으로 응답을 복원
+ * - 304이거나 본문 해시가 같으면(검증자 없는 서버), 그리고 보안 헤더 지문도 같으면 저장된 패시브 결과를 재생하고
+ *   SignatureScanner는 건너뜀(헤더만 바뀐 페이지는 다시 스캔). 실행 간 기준선에 의존하는 크기 변동 결과는 호출자가
+ *   저장에서 빼고 재생 때 이번 실행 기준선으로 다시 계산(ScanService.scanPassive)
+ * - 보안 헤더(SECURITY_HEADERS)는 항목에 함께 저장해 304 복원 때 304에 없는 것을 채움
+ * - 파일 쓰기는 임시 파일 → 원자적 이동(실패 시 임시 파일 삭제), 읽기 실패/손상 항목은 없는 것으로 취급
+ */
+public final class ValidatorCache {
+
+    /** 캐시 통계(보고서 runtime.cache) */
+    public record Stats(long hits, long misses, long notModified, long stores) {}
+
+    /** 저장된 항목(본문은 필요할 때만 디스크에서 읽음). headers는 SECURITY_HEADERS 부분집합(소문자 키) */
+    public record Entry(URI url, String etag, String lastModified, String bodyHash, String headerHash,
+                        Map<String, List<String>> headers,
+                        int status, String contentType, List<VulnResult> findings) {}
+
+    /** 패시브 결과에 영향을 주는 응답 헤더(SignatureScanner 점검 대상) — 바뀌면 재생하지 않음 */
+    static final List<String> SECURITY_HEADERS = List.of(
+            "content-security-policy", "strict-transport-security", "x-frame-options",
+            "x-content-type-options", "referrer-policy", "set-cookie", "content-type");
+
+    private final Path dir;
+    private final ConcurrentHashMap<String, Optional<Entry>> index = new ConcurrentHashMap<>(); // 키 → 항목(없음 포함)
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+
+    public ValidatorCache(Path dir) throws IOException {
+        this.dir = Files.createDirectories(dir);
+    }
+
+    public Path dir() { return dir; }
+
+    // ============ 요청 측 ============
+
+    /** 조건부 요청 헤더(If-None-Match / If-Modified-Since). 항목이 없으면 빈 맵 */
+    public Map<String, String> conditionalHeaders(URI url) {
+        Entry e = lookup(url);
+        if (e == null) return Map.of();
+        Map<String, String> h = new LinkedHashMap<>(2);
+        if (e.etag() != null) h.put("If-None-Match", e.etag());
+        if (e.lastModified() != null) h.put("If-Modified-Since", e.lastModified());
+        return h;
+    }
+
+    /**
+     * 304 응답을 저장된 응답으로 복원(상태/Content-Type/본문은 캐시, 헤더는 304 것 우선 병합).
+     * 복원할 항목이나 본문 파일이 없으면 null.
+     */
+    public HttpResponseData revalidated(URI url, HttpResponseData notModifiedResp) {
+        Entry e = lookup(url);
+        if (e == null) return null;
+        String body = readBody(keyOf(url));
+        if (body == null) return null;
+        notModified.incrementAndGet();
+        Map<String, List<String>> headers = new LinkedHashMap<>(notModifiedResp.getHeaders());
+        for (Map.Entry<String, List<String>> h : e.headers().entrySet()) {
+            if (!notModifiedResp.hasHeader(h.getKey())) headers.put(h.getKey(), h.getValue());
+        }
+        if (e.contentType() != null && !notModifiedResp.hasHeader("content-type")) {
+            headers.putIfAbsent("content-type", List.of(e.contentType()));
+        }
+        return HttpResponseData.builder()
+                .url(notModifiedResp.getUrl())
+                .statusCode(e.status())
+                .headers(headers)
+                .body(body)
+                .contentType(e.contentType())
+                .responseTimeMs(notModifiedResp.getResponseTimeMs())
+                .notModified(true)
+                .build();
+    }
+
+    // ============ 스캔 측 ============
+
+    /**
+     * 페이지가 지난 실행과 같으면(304 복원 또는 본문 해시 일치 + 보안 헤더 지문 일치) 저장된 패시브 결과 사본, 아니면 null.
+     * hit/miss는 여기서 센다.
+     */
+    public List<VulnResult> replay(HttpResponseData resp) {
+        Entry e = (resp == null) ? null : lookup(resp.getUrl());
+        if (e != null && e.findings() != null
+                && (resp.isNotModified() || sha256(resp.getBody()).equals(e.bodyHash()))
+                && headerHash(securityHeaders(resp)).equals(e.headerHash())) {
+            hits.incrementAndGet();
+            return new ArrayList<>(e.findings());
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /** 2xx 응답의 검증자 + 본문 + 패시브 결과 저장(같은 URL은 교체) */
+    public void store(HttpResponseData resp, List<VulnResult> findings) {
+        if (resp == null || resp.getUrl() == null) return;
+        int sc = resp.getStatusCode();
+        if (sc < 200 || sc >= 300) return;
+        String key = keyOf(resp.getUrl());
+        Entry prev = lookup(resp.getUrl());
+        // 304로 복원된 응답은 새 검증자가 없으면 이전 값 유지
+        String etag = firstNonNull(resp.header("ETag"), resp.isNotModified() && prev != null ? prev.etag() : null);
+        String lm = firstNonNull(resp.header("Last-Modified"), resp.isNotModified() && prev != null ? prev.lastModified() : null);
+        Map<String, List<String>> sec = securityHeaders(resp);
+        Entry e = new Entry(UrlUtils.normalize(resp.getUrl()), etag, lm, sha256(resp.getBody()), headerHash(sec), sec,
+                sc, resp.getContentType(), List.copyOf(findings == null ? List.of() : findings));
+        try {
+            if (!resp.isNotModified()) writeBody(key, resp.getBody());
+            writeEntry(key, e);
+            index.put(key, Optional.of(e));
+            stores.incrementAndGet();
+        } catch (IOException ignore) {
+            // 캐시는 최적화일 뿐: 쓰기 실패해도 스캔은 계속
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hits.get(), misses.get(), notModified.get(), stores.get());
+    }
+
+    // ============ 내부 ============
+
+    Entry lookup(URI url) {
+        if (url == null) return null;
+        String key = keyOf(url);
+        return index.computeIfAbsent(key, k -> Optional.ofNullable(readEntry(k))).orElse(null);
+    }
+
+    static String keyOf(URI url) {
+        URI n = UrlUtils.normalize(url);
+        return sha256(String.valueOf(n));
+    }
+
+    /** 응답의 SECURITY_HEADERS 값(소문자 키, 순서 고정, 없는 헤더는 생략) */
+    static Map<String, List<String>> securityHeaders(HttpResponseData resp) {
+        Map<String, List<String>> m = new LinkedHashMap<>();
+        for (String name : SECURITY_HEADERS) {
+            if (resp.hasHeader(name)) m.put(name, resp.headers(name));
+        }
+        return m;
+    }
+
+    /**
+     * 보안 헤더 지문. Set-Cookie는 쿠키 이름 + 속성 이름만 본다
+     * (세션 값/Expires는 매 응답 바뀌지만 HttpOnly/Secure 판정에는 무관).
+     */
+    static String headerHash(Map<String, List<String>> headers) {
+        StringBuilder b = new StringBuilder();
+        for (Map.Entry<String, List<String>> h : headers.entrySet()) {
+            b.append(h.getKey()).append('\0');
+            for (String v : h.getValue()) {
+                b.append(h.getKey().equals("set-cookie") ? cookieShape(v) : v).append('\n');
+            }
+        }
+        return sha256(b.toString());
+    }
+
+    /** "sid=abc; Path=/; HttpOnly" → "sid;path;httponly" */
+    private static String cookieShape(String setCookie) {
+        String[] parts = setCookie.split(";");
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            String p = parts[i].trim();
+            int eq = p.indexOf('=');
+            String name = (eq < 0) ? p : p.substring(0, eq).trim();
+            if (i > 0) b.append(';');
+            b.append(i == 0 ? name : name.toLowerCase(Locale.ROOT));
+        }
+        return b.toString();
+    }
+
+    static String sha256(String s) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest((s == null ? "" : s).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Entry readEntry(String key) {
+        Path p = dir.resolve(key + ".properties");
+        if (!Files.isRegularFile(p)) return null;
+        Properties pr = new Properties();
+        try (Reader r = Files.newBufferedReader(p, StandardCharsets.UTF_8)) {
+            pr.load(r);
+            URI url = URI.create(pr.getProperty("url"));
+            int n = Integer.parseInt(pr.getProperty("finding.count", "0"));
+            List<VulnResult> findings = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) findings.add(VulnResultProps.read(pr, "finding." + i + ".", url));
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : SECURITY_HEADERS) {
+                int hc = Integer.parseInt(pr.getProperty("header." + name + ".count", "0"));
+                if (hc == 0) continue;
+                List<String> vs = new ArrayList<>(hc);
+                for (int i = 0; i < hc; i++) vs.add(pr.getProperty("header." + name + "." + i, ""));
+                headers.put(name, List.copyOf(vs));
+            }
+            return new Entry(url,
+                    pr.getProperty("etag"),
+                    pr.getProperty("lastModified"),
+                    pr.getProperty("bodyHash", ""),
+                    pr.getProperty("headerHash", ""), // 지문 없는 옛 항목은 재생 안 함
+                    headers,
+                    Integer.parseInt(pr.getProperty("status", "200")),
+                    pr.getProperty("contentType"),
+                    List.copyOf(findings));
+        } catch (IOException | RuntimeException e) {
+            return null; // 손상된 항목은 캐시 미스로
+        }
+    }
+
+    private void writeEntry(String key, Entry e) throws IOException {
+        Properties pr = new Properties();
+        pr.setProperty("url", String.valueOf(e.url()));
+        if (e.etag() != null) pr.setProperty("etag", e.etag());
+        if (e.lastModified() != null) pr.setProperty("lastModified", e.lastModified());
+        pr.setProperty("bodyHash", e.bodyHash());
+        pr.setProperty("headerHash", e.headerHash());
+        for (Map.Entry<String, List<String>> h : e.headers().entrySet()) {
+            pr.setProperty("header." + h.getKey() + ".count", String.valueOf(h.getValue().size()));
+            for (int i = 0; i < h.getValue().size(); i++) pr.setProperty("header." + h.getKey() + "." + i, h.getValue().get(i));
+        }
+        pr.setProperty("status", String.valueOf(e.status()));
+        if (e.contentType() != null) pr.setProperty("contentType", e.contentType());
+        pr.setProperty("storedAt", Instant.now().toString());
+        pr.setProperty("finding.count", String.valueOf(e.findings().size()));
+        for (int i = 0; i < e.findings().size(); i++) VulnResultProps.write(pr, "finding." + i + ".", e.findings().get(i));
+
+        Path tmp = Files.createTempFile(dir, key, ".tmp");
+        try {
+            try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                pr.store(w, null);
+            }
+            move(tmp, dir.resolve(key + ".properties"));
+        } catch (IOException | RuntimeException ex) {
+            deleteQuietly(tmp);
+            throw ex;
+        }
+    }
+
+    private String readBody(String key) {
+        Path p = dir.resolve(key + ".body.gz");
+        if (!Files.isRegularFile(p)) return null;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(p))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeBody(String key, String body) throws IOException {
+        Path tmp = Files.createTempFile(dir, key, ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                out.write((body == null ? "" : body).getBytes(StandardCharsets.UTF_8));
+            }
+            move(tmp, dir.resolve(key + ".body.gz"));
+        } catch (IOException | RuntimeException ex) {
+            deleteQuietly(tmp);
+            throw ex;
+        }
+    }
+
+    private static void move(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteQuietly(Path p) {
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException ignore) {
+            // 다음 실행에서 덮어쓰지 않는 잔여물일 뿐
+        }
+    }
+
+    private static String firstNonNull(String a, String b) {
+        return (a != null) ? a : b;
+    }
+}
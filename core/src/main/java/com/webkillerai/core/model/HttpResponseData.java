@@ -1,36 +1,102 @@
 package com.webkillerai.core.model;
 
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 
-/** HTTP 응답 캡처(본문은 텍스트 기준, 필요시 바이트 확장 가능) */
+/**
+ * HTTP 응답 캡처. 여러 검사가 같은 파생 값을 다시 만들지 않도록 응답 단위로 한 번만 계산해 둔다.
+ * - 헤더: 생성 시 소문자 키 인덱스(대소문자만 다른 키는 값 병합) → header()/headers()/hasHeader()는 해시 조회
+ * - 본문: 원시 바이트 + charset으로 받으면 getBody() 첫 호출 때 디코딩하고 바이트는 놓아 줌(이중 보유 방지)
+ * - 파생 뷰(지연 계산, 캐시): 앞 공백을 뗀 소문자 머리(HEAD_CHARS), Content-Type 분류
+ */
 public final class HttpResponseData {
+
+    /** Content-Type 분류(헤더 우선, 없으면 contentType 필드) */
+    public enum ContentClass {
+        HTML, JSON, XML, SCRIPT, TEXT, OTHER, NONE;
+
+        public static ContentClass of(String contentType) {
+            if (contentType == null || contentType.isBlank()) return NONE;
+            String ct = contentType.toLowerCase(Locale.ROOT);
+            if (ct.contains("json")) return JSON;
+            if (ct.contains("html")) return HTML;                // text/html, application/xhtml+xml
+            if (ct.contains("xml")) return XML;
+            if (ct.contains("javascript") || ct.contains("ecmascript")) return SCRIPT;
+            if (ct.contains("text/")) return TEXT;
+            return OTHER;
+        }
+
+        /** 텍스트로 다룰 수 있는 분류(미지정 포함) */
+        public boolean isTextLike() { return this != OTHER; }
+    }
+
+    /** bodyHead() 길이 */
+    public static final int HEAD_CHARS = 64;
+
     private final URI url;
     private final int statusCode;
     private final Map<String, List<String>> headers;
-    private final String body;
+    private final Map<String, List<String>> headerIndex; // 소문자 키 → 값
+    private final Charset charset;
     private final String contentType;
     private final long responseTimeMs;
+    private final boolean bodyTruncated;
+    private final boolean notModified;
+    private final boolean headOnly;
+
+    // 지연 계산 캐시(동일 값으로 수렴하므로 경합 시 중복 계산만 허용)
+    private volatile byte[] rawBody;   // 디코딩 전 본문. body 게시 후 null
+    private volatile String body;
+    private volatile String bodyHead;
+    private volatile ContentClass contentClass;
 
     private HttpResponseData(Builder b) {
         this.url = b.url;
         this.statusCode = b.statusCode;
         this.headers = (b.headers == null) ? Map.of() : Collections.unmodifiableMap(b.headers);
-        this.body = (b.body == null) ? "" : b.body;
+        this.headerIndex = index(this.headers);
+        this.rawBody = (b.body == null) ? b.rawBody : null;
+        this.charset = (b.charset == null) ? StandardCharsets.UTF_8 : b.charset;
+        this.body = (b.body != null) ? b.body : (b.rawBody == null ? "" : null);
         this.contentType = b.contentType;
         this.responseTimeMs = b.responseTimeMs;
+        this.bodyTruncated = b.bodyTruncated;
+        this.notModified = b.notModified;
+        this.headOnly = b.headOnly;
     }
 
     // ----- 기존 게터 -----
     public URI getUrl() { return url; }
     public int getStatusCode() { return statusCode; }
     public Map<String, List<String>> getHeaders() { return headers; }
-    public String getBody() { return body; }
+
+    public String getBody() {
+        String s = body;
+        if (s != null) return s;
+        byte[] raw = rawBody;
+        if (raw == null) return body; // 다른 스레드가 body 게시 후 rawBody를 비움
+        s = new String(raw, charset);
+        body = s;
+        rawBody = null;
+        return s;
+    }
+
     public String getContentType() { return contentType; }
     public long getResponseTimeMs() { return responseTimeMs; }
+    /** 본문이 전부가 아님(바이트 상한/바이너리 건너뜀/Range 부분 응답) */
+    public boolean isBodyTruncated() { return bodyTruncated; }
+    /** 304 Not Modified를 받아 검증자 캐시의 저장 응답으로 복원됨(지난 실행과 같은 페이지) */
+    public boolean isNotModified() { return notModified; }
+    /** HEAD 선별에서 바이너리/초과 크기로 판정되어 본문 없이 HEAD 응답만 담김 */
+    public boolean isHeadOnly() { return headOnly; }
 
     // ----- [추가] 공용 헬퍼: 디텍터/리포터용 표준 접근 -----
 
@@ -41,27 +107,63 @@ public final class HttpResponseData {
 
     /** 첫 번째 헤더 값(대소문자 무시). 없으면 null. */
     public String header(String name) {
-        if (name == null || headers == null) return null;
-        for (var e : headers.entrySet()) {
-            final String k = e.getKey();
-            if (k != null && k.equalsIgnoreCase(name)) {
-                final List<String> vs = e.getValue();
-                return (vs == null || vs.isEmpty()) ? null : vs.get(0);
-            }
-        }
-        return null;
+        List<String> vs = headers(name);
+        return vs.isEmpty() ? null : vs.get(0);
     }
 
-    /** 모든 헤더 값(대소문자 무시). 없으면 빈 리스트. */
+    /** 모든 헤더 값(대소문자 무시, 대소문자만 다른 키는 합침). 없으면 빈 리스트. */
     public List<String> headers(String name) {
-        if (name == null || headers == null) return List.of();
-        for (var e : headers.entrySet()) {
-            final String k = e.getKey();
-            if (k != null && k.equalsIgnoreCase(name)) {
-                return (e.getValue() != null) ? e.getValue() : List.of();
-            }
+        if (name == null) return List.of();
+        List<String> vs = headerIndex.get(name.toLowerCase(Locale.ROOT));
+        return (vs == null) ? List.of() : vs;
+    }
+
+    /** 헤더 존재 여부(값이 비어 있어도 키가 있으면 true) */
+    public boolean hasHeader(String name) {
+        return name != null && headerIndex.containsKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    /** 본문 디코딩 charset(문자열로 받은 응답은 UTF-8) */
+    public Charset getCharset() { return charset; }
+
+    /** 앞 공백을 건너뛴 최대 HEAD_CHARS자의 소문자 머리(포맷 추정용, 캐시) */
+    public String bodyHead() {
+        String s = bodyHead;
+        if (s == null) {
+            String b = getBody();
+            int i = 0, n = b.length();
+            while (i < n && Character.isWhitespace(b.charAt(i))) i++;
+            s = b.substring(i, Math.min(n, i + HEAD_CHARS)).toLowerCase(Locale.ROOT);
+            bodyHead = s;
+        }
+        return s;
+    }
+
+    /** Content-Type 분류(캐시) */
+    public ContentClass contentClass() {
+        ContentClass c = contentClass;
+        if (c == null) {
+            String ct = header("Content-Type");
+            c = ContentClass.of(ct != null ? ct : contentType);
+            contentClass = c;
+        }
+        return c;
+    }
+
+    private static Map<String, List<String>> index(Map<String, List<String>> headers) {
+        if (headers.isEmpty()) return Map.of();
+        Map<String, List<String>> idx = new HashMap<>(headers.size() * 2);
+        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+            if (e.getKey() == null) continue; // HTTP/1 상태줄 등
+            List<String> vs = (e.getValue() == null) ? List.of() : e.getValue();
+            idx.merge(e.getKey().toLowerCase(Locale.ROOT), vs, (a, b) -> {
+                List<String> all = new ArrayList<>(a);
+                all.addAll(b);
+                return all;
+            });
         }
-        return List.of();
+        idx.replaceAll((k, v) -> List.copyOf(v));
+        return idx;
     }
 
     // ----- 빌더 -----
@@ -72,15 +174,29 @@ public final class HttpResponseData {
         private int statusCode;
         private Map<String, List<String>> headers;
         private String body;
+        private byte[] rawBody;
+        private Charset charset;
         private String contentType;
         private long responseTimeMs;
+        private boolean bodyTruncated;
+        private boolean notModified;
+        private boolean headOnly;
 
         public Builder url(URI url) { this.url = url; return this; }
         public Builder statusCode(int statusCode) { this.statusCode = statusCode; return this; }
         public Builder headers(Map<String, List<String>> headers) { this.headers = headers; return this; }
         public Builder body(String body) { this.body = body; return this; }
+        /** 디코딩 전 본문(getBody() 때 charset으로 디코딩). body(String)가 있으면 그쪽 우선 */
+        public Builder rawBody(byte[] rawBody, Charset charset) {
+            this.rawBody = rawBody;
+            this.charset = charset;
+            return this;
+        }
         public Builder contentType(String contentType) { this.contentType = contentType; return this; }
         public Builder responseTimeMs(long responseTimeMs) { this.responseTimeMs = responseTimeMs; return this; }
+        public Builder bodyTruncated(boolean bodyTruncated) { this.bodyTruncated = bodyTruncated; return this; }
+        public Builder notModified(boolean notModified) { this.notModified = notModified; return this; }
+        public Builder headOnly(boolean headOnly) { this.headOnly = headOnly; return this; }
 
         public HttpResponseData build() {
             Objects.requireNonNull(url, "url");
@@ -1,8 +1,12 @@
 package com.webkillerai.core.model;
 
+import java.net.URI;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -22,12 +26,294 @@ public final class ScanConfig {
         private boolean respectRobots = true;
         /** robots.txt 캐시 TTL(분). 기본 30. 0이면 캐시 미사용 의미로 해석 가능 */
         private int cacheTtlMinutes = 30;
+        /** 크롤 워커 수. 0 이하면 concurrency를 따른다 */
+        private int workers = 0;
+        /** 발견 URL 집합 앞단 Bloom 필터 예상 URL 수(0이면 끔, 1% 오탐 기준 URL당 약 1.2바이트) */
+        private long bloomExpectedUrls = 0;
+        /** 프론티어 저장소: memory(기본) | disk(세그먼트 파일 + mmap, 수백만 URL용) */
+        private String frontier = "memory";
+        /** disk 프론티어 세그먼트 위치 (null이면 outputDir/frontier) */
+        private Path frontierDir;
 
         public boolean isRespectRobots() { return respectRobots; }
         public void setRespectRobots(boolean respectRobots) { this.respectRobots = respectRobots; }
 
         public int getCacheTtlMinutes() { return cacheTtlMinutes; }
         public void setCacheTtlMinutes(int cacheTtlMinutes) { this.cacheTtlMinutes = cacheTtlMinutes; }
+
+        public int getWorkers() { return workers; }
+        public void setWorkers(int workers) { this.workers = Math.max(0, workers); }
+
+        public long getBloomExpectedUrls() { return bloomExpectedUrls; }
+        public void setBloomExpectedUrls(long bloomExpectedUrls) { this.bloomExpectedUrls = Math.max(0, bloomExpectedUrls); }
+
+        public String getFrontier() { return frontier; }
+        public void setFrontier(String frontier) {
+            this.frontier = (frontier == null || frontier.isBlank()) ? "memory" : frontier.trim().toLowerCase(Locale.ROOT);
+        }
+
+        public Path getFrontierDir() { return frontierDir; }
+        public void setFrontierDir(Path frontierDir) { this.frontierDir = frontierDir; }
+    }
+
+    /** HTTP 실행 엔진 하위 설정: YAML의 `http:` 섹션과 매핑 */
+    public static final class HttpCfg {
+        /** sendAsync 기반 비동기 파이프라인 사용 여부 (기본 false = 스레드당 1요청) */
+        private boolean async = false;
+        /** 비동기 모드 동시 진행 요청 상한 (기본 256) */
+        private int maxInFlight = 256;
+        /** Retry-After 상한(ms, 기본 30000). 초/HTTP-date 모두 이 값으로 자름 */
+        private int maxRetryAfterMs = 30_000;
+        /** 429/503에 Retry-After가 없을 때 호스트 정지 시간(ms, 기본 1000, 0이면 정지 안 함) */
+        private int defaultPauseMs = 1_000;
+        /** HTTP/2 우선 협상(기본 true, 서버가 못 하면 HTTP/1.1) */
+        private boolean http2 = true;
+        /** 모든 요청의 User-Agent */
+        private String userAgent = "WebKillerAI/0.3";
+        /** 모든 요청의 기본 헤더(요청별 헤더가 같은 이름이면 요청별 우선) */
+        private Map<String, String> headers = new LinkedHashMap<>();
+        /** 응답당 본문 바이트 상한(기본 2 MiB, 0이면 무제한). 넘으면 잘라서 truncated로 기록 */
+        private int maxBodyBytes = 2 * 1024 * 1024;
+        /** 바이너리 Content-Type(image/, octet-stream 등) 본문은 읽지 않음(기본 true) */
+        private boolean skipBinary = true;
+        /** 페이지 GET에 Range: bytes=0-(maxBodyBytes-1) 요청(기본 false) */
+        private boolean rangeRequests = false;
+        /** Accept-Encoding: gzip, deflate 요청 + 스트리밍 해제(기본 false) */
+        private boolean compression = false;
+        /** 압축 응답을 풀었을 때의 상한(압축 폭탄 방어, 기본 16 MiB, maxBodyBytes가 더 작으면 그쪽) */
+        private int maxDecodedBytes = 16 * 1024 * 1024;
+        /** 페이지 GET 전에 HEAD로 선별(기본 false) */
+        private boolean headTriage = false;
+        /** HEAD의 Content-Length가 이보다 크면 본문 없이 헤더만 검사(기본 8 MiB, 0이면 크기 무시) */
+        private int triageMaxBytes = 8 * 1024 * 1024;
+        /** HEAD 선별에서 JSON(API)으로 판정된 응답의 본문 상한(기본 256 KiB) */
+        private int apiMaxBytes = 256 * 1024;
+
+        public boolean isAsync() { return async; }
+        public void setAsync(boolean async) { this.async = async; }
+
+        public int getMaxInFlight() { return maxInFlight; }
+        public void setMaxInFlight(int maxInFlight) { this.maxInFlight = Math.max(1, maxInFlight); }
+
+        public int getMaxRetryAfterMs() { return maxRetryAfterMs; }
+        public void setMaxRetryAfterMs(int v) { this.maxRetryAfterMs = Math.max(0, v); }
+
+        public int getDefaultPauseMs() { return defaultPauseMs; }
+        public void setDefaultPauseMs(int v) { this.defaultPauseMs = Math.max(0, v); }
+
+        public boolean isHttp2() { return http2; }
+        public void setHttp2(boolean http2) { this.http2 = http2; }
+
+        public String getUserAgent() { return userAgent; }
+        public void setUserAgent(String ua) { if (ua != null && !ua.isBlank()) this.userAgent = ua.trim(); }
+
+        public int getMaxBodyBytes() { return maxBodyBytes; }
+        public void setMaxBodyBytes(int v) { this.maxBodyBytes = Math.max(0, v); }
+
+        public boolean isSkipBinary() { return skipBinary; }
+        public void setSkipBinary(boolean skipBinary) { this.skipBinary = skipBinary; }
+
+        public boolean isRangeRequests() { return rangeRequests; }
+        public void setRangeRequests(boolean rangeRequests) { this.rangeRequests = rangeRequests; }
+
+        public boolean isCompression() { return compression; }
+        public void setCompression(boolean compression) { this.compression = compression; }
+
+        public int getMaxDecodedBytes() { return maxDecodedBytes; }
+        public void setMaxDecodedBytes(int v) { this.maxDecodedBytes = Math.max(1, v); }
+
+        public boolean isHeadTriage() { return headTriage; }
+        public void setHeadTriage(boolean headTriage) { this.headTriage = headTriage; }
+
+        public int getTriageMaxBytes() { return triageMaxBytes; }
+        public void setTriageMaxBytes(int v) { this.triageMaxBytes = Math.max(0, v); }
+
+        public int getApiMaxBytes() { return apiMaxBytes; }
+        public void setApiMaxBytes(int v) { this.apiMaxBytes = Math.max(1, v); }
+
+        public Map<String, String> getHeaders() { return headers; }
+        public void setHeaders(Map<String, String> headers) {
+            this.headers = (headers != null ? new LinkedHashMap<>(headers) : new LinkedHashMap<>());
+        }
+    }
+
+    /** YAML `hosts:` 섹션의 호스트별 오버라이드(0이면 전역값 상속) */
+    public static final class HostCfg {
+        /** 패시브 요청 RPS(호스트별 토큰버킷) */
+        private int rps = 0;
+        /** 액티브 프로브 RPS */
+        private int activeRps = 0;
+        /** 동시에 진행하는 액티브 프로브 수 */
+        private int activeConcurrency = 0;
+
+        public int getRps() { return rps; }
+        public HostCfg setRps(int rps) { this.rps = Math.max(0, rps); return this; }
+
+        public int getActiveRps() { return activeRps; }
+        public HostCfg setActiveRps(int activeRps) { this.activeRps = Math.max(0, activeRps); return this; }
+
+        public int getActiveConcurrency() { return activeConcurrency; }
+        public HostCfg setActiveConcurrency(int v) { this.activeConcurrency = Math.max(0, v); return this; }
+    }
+
+    /**
+     * YAML `adaptive:` 섹션: 호스트별 AIMD 제어(응답 상태/지연으로 rps·동시성을 자동 조절).
+     * 건강하면 +1씩 올리고, 429·오류율·지연 급증 시 decreaseFactor배로 깎는다(min~max 범위).
+     */
+    public static final class AdaptiveCfg {
+        /** 사용 여부 (기본 false = 고정 rps/concurrency) */
+        private boolean enabled = false;
+        /** rps 하한/상한 (maxRps 0이면 호스트 시작 rps의 2배) */
+        private int minRps = 1;
+        private int maxRps = 0;
+        /** 호스트별 패시브 동시 요청 하한/상한 (maxConcurrency 0이면 concurrency, async면 http.maxInFlight) */
+        private int minConcurrency = 1;
+        private int maxConcurrency = 0;
+        /** 판단 주기(ms)와 주기당 최소 표본 수 */
+        private int windowMs = 2000;
+        private int minSamples = 5;
+        /** 스트레스 시 곱할 비율(0~1) */
+        private double decreaseFactor = 0.5;
+        /** 이 비율 이상이 -1/5xx면 스트레스 */
+        private double errorRate = 0.1;
+        /** 지연 EWMA가 기준(건강할 때 최저치)의 이 배수 이상이면 스트레스 */
+        private double latencyFactor = 2.0;
+
+        public boolean isEnabled() { return enabled; }
+        public AdaptiveCfg setEnabled(boolean enabled) { this.enabled = enabled; return this; }
+
+        public int getMinRps() { return minRps; }
+        public AdaptiveCfg setMinRps(int v) { this.minRps = Math.max(1, v); return this; }
+
+        public int getMaxRps() { return maxRps; }
+        public AdaptiveCfg setMaxRps(int v) { this.maxRps = Math.max(0, v); return this; }
+
+        public int getMinConcurrency() { return minConcurrency; }
+        public AdaptiveCfg setMinConcurrency(int v) { this.minConcurrency = Math.max(1, v); return this; }
+
+        public int getMaxConcurrency() { return maxConcurrency; }
+        public AdaptiveCfg setMaxConcurrency(int v) { this.maxConcurrency = Math.max(0, v); return this; }
+
+        public int getWindowMs() { return windowMs; }
+        public AdaptiveCfg setWindowMs(int v) { this.windowMs = Math.max(100, v); return this; }
+
+        public int getMinSamples() { return minSamples; }
+        public AdaptiveCfg setMinSamples(int v) { this.minSamples = Math.max(1, v); return this; }
+
+        public double getDecreaseFactor() { return decreaseFactor; }
+        public AdaptiveCfg setDecreaseFactor(double v) { this.decreaseFactor = Math.min(0.95, Math.max(0.05, v)); return this; }
+
+        public double getErrorRate() { return errorRate; }
+        public AdaptiveCfg setErrorRate(double v) { this.errorRate = Math.min(1.0, Math.max(0.0, v)); return this; }
+
+        public double getLatencyFactor() { return latencyFactor; }
+        public AdaptiveCfg setLatencyFactor(double v) { this.latencyFactor = Math.max(1.0, v); return this; }
+    }
+
+    /**
+     * YAML `cache:` 섹션: 재스캔용 디스크 검증자 캐시(ETag/Last-Modified/본문 해시 + 패시브 결과).
+     * 켜면 조건부 GET을 보내고, 바뀌지 않은 페이지는 저장된 패시브 결과를 재생한다.
+     */
+    public static final class CacheCfg {
+        /** 사용 여부 (기본 false) */
+        private boolean enabled = false;
+        /** 캐시 디렉터리 (null이면 outputDir/cache) */
+        private Path dir;
+
+        public boolean isEnabled() { return enabled; }
+        public CacheCfg setEnabled(boolean enabled) { this.enabled = enabled; return this; }
+
+        public Path getDir() { return dir; }
+        public CacheCfg setDir(Path dir) { this.dir = dir; return this; }
+    }
+
+    /**
+     * YAML `anomaly:` 섹션: 패시브 이상탐지 상태 한도.
+     * 응답 크기 기준선은 고정 용량 테이블(host|path 키)이며, 넘치면 CLOCK으로 교체하고 runtime.baselineEvictions에 집계.
+     */
+    public static final class AnomalyCfg {
+        /** SignatureScanner 기준선 키 수 상한 (기본 65536). AnomalyEngine에는 적용되지 않음(생성자 인자) */
+        private int baselineCapacity = 1 << 16;
+
+        public int getBaselineCapacity() { return baselineCapacity; }
+        public AnomalyCfg setBaselineCapacity(int v) { this.baselineCapacity = Math.max(1, v); return this; }
+    }
+
+    /**
+     * YAML `dedup:` 섹션: SimHash 지문으로 같은 템플릿의 근사 중복 페이지를 묶는다.
+     * 대표 페이지는 전체 검사, 거리 이내 페이지는 헤더만 검사하고 액티브 프로브는 클러스터 할당량 안에서만.
+     */
+    public static final class DedupCfg {
+        /** 사용 여부 (기본 false) */
+        private boolean enabled = false;
+        /** 근사 중복 해밍 거리(0..15, 기본 3) */
+        private int maxDistance = 3;
+        /** 클러스터당 액티브 프로브 페이지 수(대표 포함, 0이면 무제한) */
+        private int activePerCluster = 2;
+        /** 대표 지문 수 상한(넘으면 새 페이지는 중복 판정 없이 전체 검사) */
+        private int maxClusters = 100_000;
+
+        public boolean isEnabled() { return enabled; }
+        public DedupCfg setEnabled(boolean enabled) { this.enabled = enabled; return this; }
+
+        public int getMaxDistance() { return maxDistance; }
+        public DedupCfg setMaxDistance(int v) { this.maxDistance = Math.max(0, Math.min(15, v)); return this; }
+
+        public int getActivePerCluster() { return activePerCluster; }
+        public DedupCfg setActivePerCluster(int v) { this.activePerCluster = Math.max(0, v); return this; }
+
+        public int getMaxClusters() { return maxClusters; }
+        public DedupCfg setMaxClusters(int v) { this.maxClusters = Math.max(1, v); return this; }
+    }
+
+    /**
+     * YAML `checkpoint:` 섹션: 긴 스캔의 중단/재개.
+     * 켜면 intervalSec마다 크롤 프론티어·발견 URL·완료 URL·액티브 예산·결과를 state 디렉터리에 저장하고,
+     * resume이면 저장된 지점부터 이어서 스캔한다(완료 URL은 다시 분석하지 않음).
+     */
+    public static final class CheckpointCfg {
+        /** 사용 여부 (기본 false) */
+        private boolean enabled = false;
+        /** 저장 주기(초, 기본 30) */
+        private int intervalSec = 30;
+        /** 저장된 상태가 있으면 이어서 스캔 (기본 false) */
+        private boolean resume = false;
+        /** 상태 디렉터리 (null이면 outputDir/state/&lt;host&gt;) */
+        private Path dir;
+
+        public boolean isEnabled() { return enabled; }
+        public CheckpointCfg setEnabled(boolean enabled) { this.enabled = enabled; return this; }
+
+        public int getIntervalSec() { return intervalSec; }
+        public CheckpointCfg setIntervalSec(int v) { this.intervalSec = Math.max(1, v); return this; }
+
+        public boolean isResume() { return resume; }
+        public CheckpointCfg setResume(boolean resume) { this.resume = resume; return this; }
+
+        public Path getDir() { return dir; }
+        public CheckpointCfg setDir(Path dir) { this.dir = dir; return this; }
+    }
+
+    /**
+     * YAML `resultLog:` 섹션: 결과를 찾는 즉시 NDJSON 로그(reports/&lt;host&gt;/scan-&lt;slug&gt;-&lt;ts&gt;.ndjson)에 한 줄씩 추가.
+     * 비정상 종료에도 마지막 flush까지의 결과가 남고, keepInMemory=false면 run()은 빈 목록을 돌려주며 보고서는 로그에서 읽는다.
+     */
+    public static final class ResultLogCfg {
+        /** 사용 여부 (기본 false) */
+        private boolean enabled = false;
+        /** 버퍼 flush 주기(ms, 기본 1000) */
+        private int flushMs = 1000;
+        /** 결과를 메모리 목록에도 모을지 (기본 true) */
+        private boolean keepInMemory = true;
+
+        public boolean isEnabled() { return enabled; }
+        public ResultLogCfg setEnabled(boolean enabled) { this.enabled = enabled; return this; }
+
+        public int getFlushMs() { return flushMs; }
+        public ResultLogCfg setFlushMs(int v) { this.flushMs = Math.max(50, v); return this; }
+
+        public boolean isKeepInMemory() { return keepInMemory; }
+        public ResultLogCfg setKeepInMemory(boolean v) { this.keepInMemory = v; return this; }
     }
 
     // ---------- 기본 필드 ----------
@@ -44,10 +330,35 @@ public final class ScanConfig {
     private Path outputDir = Path.of("out");
     private OutputFormat outputFormat = OutputFormat.JSON;
     private int rps = 10;
+    private String executor = "fixed";   // 스캔 워커 실행기: fixed | forkjoin | virtual
 
     /** YAML `crawler:` 섹션 매핑 */
     private CrawlerCfg crawler = new CrawlerCfg();
 
+    /** YAML `http:` 섹션 매핑 */
+    private HttpCfg http = new HttpCfg();
+
+    /** YAML `adaptive:` 섹션 매핑 */
+    private AdaptiveCfg adaptive = new AdaptiveCfg();
+
+    /** YAML `cache:` 섹션 매핑 */
+    private CacheCfg cache = new CacheCfg();
+
+    /** YAML `anomaly:` 섹션 매핑 */
+    private AnomalyCfg anomaly = new AnomalyCfg();
+
+    /** YAML `dedup:` 섹션 매핑 */
+    private DedupCfg dedup = new DedupCfg();
+
+    /** YAML `checkpoint:` 섹션 매핑 */
+    private CheckpointCfg checkpoint = new CheckpointCfg();
+
+    /** YAML `resultLog:` 섹션 매핑 */
+    private ResultLogCfg resultLog = new ResultLogCfg();
+
+    /** YAML `hosts:` 섹션 매핑(키: 소문자 호스트 또는 "*.example.com") */
+    private Map<String, HostCfg> hosts = new LinkedHashMap<>();
+
     // ---------- v0.4 SAFE_PLUS 최소 추가 ----------
     /** URL당 주입 파라미터 최대 개수 (가드레일: SAFE_PLUS용 기본) */
     private int maxParamsPerUrl = 3;
@@ -102,7 +413,53 @@ public final class ScanConfig {
     public Path getOutputDir() { return outputDir; }
     public OutputFormat getOutputFormat() { return outputFormat; }
     public int getRps() { return rps; }
+    public String getExecutor() { return executor; }
     public CrawlerCfg getCrawler() { return crawler; }
+    public HttpCfg getHttp() { return http; }
+    public AdaptiveCfg getAdaptive() { return adaptive; }
+    public CacheCfg getCache() { return cache; }
+    public AnomalyCfg getAnomaly() { return anomaly; }
+    public DedupCfg getDedup() { return dedup; }
+    public CheckpointCfg getCheckpoint() { return checkpoint; }
+    public ResultLogCfg getResultLog() { return resultLog; }
+
+    /** 검증자 캐시 위치: cache.dir 또는 outputDir/cache */
+    public Path cacheDir() {
+        return (cache.getDir() != null) ? cache.getDir() : getOutputDir().resolve("cache");
+    }
+
+    /** disk 프론티어 위치: crawler.frontierDir 또는 outputDir/frontier */
+    public Path frontierDir() {
+        return (crawler.getFrontierDir() != null) ? crawler.getFrontierDir() : getOutputDir().resolve("frontier");
+    }
+
+    /** 체크포인트 위치: checkpoint.dir 또는 outputDir/state/&lt;host[_port]&gt; */
+    public Path stateDir() {
+        if (checkpoint.getDir() != null) return checkpoint.getDir();
+        String host = "unknown";
+        try {
+            URI u = URI.create(String.valueOf(target));
+            if (u.getHost() != null) host = u.getHost().toLowerCase(Locale.ROOT) + (u.getPort() > 0 ? "_" + u.getPort() : "");
+        } catch (IllegalArgumentException ignore) {
+            // validate()가 먼저 거름
+        }
+        return getOutputDir().resolve("state").resolve(host);
+    }
+
+    public Map<String, HostCfg> getHosts() { return hosts; }
+
+    /** 호스트 오버라이드 조회: 정확히 일치 → "*.도메인" 접미사 일치 → null */
+    public HostCfg hostCfg(String host) {
+        if (host == null || hosts.isEmpty()) return null;
+        String h = host.toLowerCase(Locale.ROOT);
+        HostCfg exact = hosts.get(h);
+        if (exact != null) return exact;
+        for (Map.Entry<String, HostCfg> e : hosts.entrySet()) {
+            String k = e.getKey();
+            if (k.startsWith("*.") && (h.endsWith(k.substring(1)) || h.equals(k.substring(2)))) return e.getValue();
+        }
+        return null;
+    }
 
     /** v0.4 SAFE_PLUS 게터 */
     public int getMaxParamsPerUrl() { return maxParamsPerUrl; }
@@ -129,7 +486,17 @@ public final class ScanConfig {
     public ScanConfig setFollowRedirects(boolean v) { this.followRedirects = v; return this; }
     public ScanConfig setOutputDir(Path outputDir) { this.outputDir = outputDir; return this; }
     public ScanConfig setOutputFormat(OutputFormat outputFormat) { this.outputFormat = outputFormat; return this; }
+    public ScanConfig setExecutor(String executor) {
+        this.executor = (executor == null || executor.isBlank()) ? "fixed" : executor.trim().toLowerCase(Locale.ROOT);
+        return this;
+    }
     public ScanConfig setCrawler(CrawlerCfg crawler) { this.crawler = (crawler != null ? crawler : new CrawlerCfg()); return this; }
+    public ScanConfig setHttp(HttpCfg http) { this.http = (http != null ? http : new HttpCfg()); return this; }
+    public ScanConfig setAdaptive(AdaptiveCfg adaptive) { this.adaptive = (adaptive != null ? adaptive : new AdaptiveCfg()); return this; }
+    public ScanConfig putHost(String host, HostCfg cfg) {
+        if (host != null && !host.isBlank() && cfg != null) hosts.put(host.trim().toLowerCase(Locale.ROOT), cfg);
+        return this;
+    }
 
     /** v0.4 SAFE_PLUS 세터 */
     public ScanConfig setMaxParamsPerUrl(int maxParamsPerUrl) {
@@ -160,6 +527,16 @@ public final class ScanConfig {
         if (crawler.getCacheTtlMinutes() < 0)
             throw new IllegalArgumentException("crawler.cacheTtlMinutes must be >= 0");
 
+        Objects.requireNonNull(http, "http");
+        if (http.getMaxInFlight() < 1)
+            throw new IllegalArgumentException("http.maxInFlight must be >= 1");
+
+        Objects.requireNonNull(adaptive, "adaptive");
+        if (adaptive.getMaxRps() > 0 && adaptive.getMaxRps() < adaptive.getMinRps())
+            throw new IllegalArgumentException("adaptive.maxRps must be >= adaptive.minRps");
+        if (adaptive.getMaxConcurrency() > 0 && adaptive.getMaxConcurrency() < adaptive.getMinConcurrency())
+            throw new IllegalArgumentException("adaptive.maxConcurrency must be >= adaptive.minConcurrency");
+
         // SAFE_PLUS 필드
         if (maxParamsPerUrl < 1) throw new IllegalArgumentException("maxParamsPerUrl must be >= 1");
         Objects.requireNonNull(xssParamHints, "xssParamHints");
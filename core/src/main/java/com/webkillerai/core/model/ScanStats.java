@@ -10,6 +10,13 @@ public final class ScanStats {
     private final AtomicLong sumWallMsAcrossCalls = new AtomicLong(0); // 각 URL analyzeWithRetry의 벽시계 합
     private final AtomicLong attemptsAcrossCalls  = new AtomicLong(0); // 각 URL별 (1+retries) 합
     private final AtomicInteger maxObservedConcurrency = new AtomicInteger(0);
+    private final AtomicLong pausesTotal  = new AtomicLong(0);         // 429/503로 새로 시작된 호스트 정지 횟수
+    private final AtomicLong pausedMsTotal = new AtomicLong(0);        // 호스트 정지 창 길이 합(연장분 포함, 호스트별 합산)
+    private final AtomicLong wireBytesTotal = new AtomicLong(0);       // 수신한 본문 바이트(압축 상태 그대로)
+    private final AtomicLong decodedBytesTotal = new AtomicLong(0);    // 압축 해제 후 본문 바이트(무압축이면 wire와 같음)
+    private final AtomicLong baselineBytes = new AtomicLong(0);        // 이상탐지 기준선 테이블 메모리(고정 용량 합)
+    private final AtomicLong baselineEvictions = new AtomicLong(0);    // 기준선 테이블 용량 초과로 교체된 키 수
+    private final AtomicLong nearDuplicates = new AtomicLong(0);       // SimHash 근사 중복으로 헤더만 검사한 페이지 수
 
     /** attempts = (1 + retries) for a URL */
     public void addAttempts(long attempts) {
@@ -27,6 +34,31 @@ public final class ScanStats {
         maxObservedConcurrency.accumulateAndGet(current, Math::max);
     }
 
+    /** 호스트 정지 창 반영: 새로 늘어난 구간(ms), started=새 정지 시작 여부(연장이면 false) */
+    public void addPause(long addedMs, boolean started) {
+        if (started) pausesTotal.incrementAndGet();
+        pausedMsTotal.addAndGet(Math.max(0, addedMs));
+    }
+
+    /** 응답 본문 1건의 전송/해제 바이트(상한으로 끊겼으면 읽은 만큼) */
+    public void addBodyBytes(long wireBytes, long decodedBytes) {
+        wireBytesTotal.addAndGet(Math.max(0, wireBytes));
+        decodedBytesTotal.addAndGet(Math.max(0, decodedBytes));
+    }
+
+    /** 기준선 테이블 1개의 메모리 사용량(생성/연결 시 1회) */
+    public void addBaselineFootprint(long bytes) {
+        baselineBytes.addAndGet(Math.max(0, bytes));
+    }
+
+    public void addBaselineEvictions(long n) {
+        baselineEvictions.addAndGet(Math.max(0, n));
+    }
+
+    public void addNearDuplicates(long n) {
+        nearDuplicates.addAndGet(Math.max(0, n));
+    }
+
     public Snapshot snapshot() {
         long req = requestsTotal.get();
         long ret = retriesTotal.get();
@@ -34,7 +66,9 @@ public final class ScanStats {
         long attempts = Math.max(1, attemptsAcrossCalls.get());
         long avgLatencyMs = sumWall / attempts; // per-attempt 평균(대기 포함, 근사치)
         int maxCC = maxObservedConcurrency.get();
-        return new Snapshot(req, ret, maxCC, avgLatencyMs);
+        return new Snapshot(req, ret, maxCC, avgLatencyMs, pausesTotal.get(), pausedMsTotal.get(),
+                wireBytesTotal.get(), decodedBytesTotal.get(), baselineBytes.get(), baselineEvictions.get(),
+                nearDuplicates.get());
     }
 
     /** 불변 스냅샷 DTO */
@@ -43,11 +77,37 @@ public final class ScanStats {
         public final long retriesTotal;
         public final int  maxObservedConcurrency;
         public final long avgLatencyMs;
+        public final long pausesTotal;
+        public final long pausedMs;
+        public final long wireBytes;
+        public final long decodedBytes;
+        public final long baselineBytes;
+        public final long baselineEvictions;
+        public final long nearDuplicates;
         public Snapshot(long r, long t, int c, long a) {
+            this(r, t, c, a, 0, 0);
+        }
+        public Snapshot(long r, long t, int c, long a, long p, long pm) {
+            this(r, t, c, a, p, pm, 0, 0);
+        }
+        public Snapshot(long r, long t, int c, long a, long p, long pm, long wb, long db) {
+            this(r, t, c, a, p, pm, wb, db, 0, 0);
+        }
+        public Snapshot(long r, long t, int c, long a, long p, long pm, long wb, long db, long bb, long be) {
+            this(r, t, c, a, p, pm, wb, db, bb, be, 0);
+        }
+        public Snapshot(long r, long t, int c, long a, long p, long pm, long wb, long db, long bb, long be, long nd) {
             this.requestsTotal = r;
             this.retriesTotal = t;
             this.maxObservedConcurrency = c;
             this.avgLatencyMs = a;
+            this.pausesTotal = p;
+            this.pausedMs = pm;
+            this.wireBytes = wb;
+            this.decodedBytes = db;
+            this.baselineBytes = bb;
+            this.baselineEvictions = be;
+            this.nearDuplicates = nd;
         }
     }
 }
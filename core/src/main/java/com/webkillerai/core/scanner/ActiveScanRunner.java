@@ -15,6 +15,8 @@ import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * 액티브 스캔 실행기:
@@ -93,6 +95,44 @@ public final class ActiveScanRunner {
         }
     }
 
+    /**
+     * 비동기 엔트리: 계획 실행은 ProbeEngine.executePlannedAsync(sendAsync 체인)로 위임.
+     * OR 세이프티 넷(동기 디텍터)은 blockingExec에서 실행해 HttpClient 스레드를 막지 않는다.
+     */
+    public CompletableFuture<List<VulnResult>> runAsync(ScanConfig cfg, URI url, Executor blockingExec) {
+        try {
+            final Mode mode = cfg.getMode();
+            if (!FeatureMatrix.isAnyActive(mode)) return CompletableFuture.completedFuture(List.of());
+
+            List<ProbePlan> built = buildPlans(cfg, url);
+            if (built.isEmpty()) return CompletableFuture.completedFuture(List.of());
+            final List<ProbePlan> plans = dedupe(url, built);
+
+            return engine.executePlannedAsync(cfg, url, plans)
+                    .thenApply(ArrayList::new)
+                    .thenComposeAsync(results -> {
+                        if (FeatureMatrix.activeOpenRedirect(mode)
+                                && hasOpenRedirectPlan(plans)
+                                && !containsOpenRedirect(results)) {
+                            try {
+                                var or = new OpenRedirectDetector().detect(this.engine, cfg, url);
+                                or.ifPresent(results::add);
+                            } catch (Throwable t) {
+                                LOG.debug("OpenRedirect fallback failed: {}", t.toString());
+                            }
+                        }
+                        return CompletableFuture.completedFuture((List<VulnResult>) results);
+                    }, blockingExec)
+                    .exceptionally(t -> {
+                        LOG.warn("ActiveScanRunner.runAsync failed: {}", t.toString());
+                        return List.of();
+                    });
+        } catch (Throwable t) {
+            LOG.warn("ActiveScanRunner.runAsync failed: {}", t.toString());
+            return CompletableFuture.completedFuture(List.of());
+        }
+    }
+
     /* ===============================
        계획 수립 (모드별 프로브 셋)
        =============================== */
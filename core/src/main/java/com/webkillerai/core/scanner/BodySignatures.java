@@ -0,0 +1,213 @@
+package com.webkillerai.core.scanner;
+
+import com.webkillerai.core.util.AhoCorasick;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 본문 시그니처 카탈로그 + 공용 Aho–Corasick 자동자(클래스 로딩 시 1회 생성).
+ * - 리터럴 그룹(SQL 오류/LFI/SSTI): 히트 자체가 결과. caseSensitive 그룹은 원문 대조로 재확인
+ * - *_RX 그룹: 해당 정규식의 각 대안이 시작하는 리터럴(앵커). 앵커 위치에서만 lookingAt으로 확정하므로
+ *   후보가 없는 본문에서는 정규식이 아예 돌지 않고, 확정 결과는 전체 find()와 같다(가장 왼쪽 매치)
+ * - 같은 리터럴은 자동자에 한 번만 넣고 그룹 비트마스크로 공유
+ */
+public final class BodySignatures {
+
+    public enum Group {
+        /** ProbeEngine SQLI_ERROR 프로브 응답 */
+        SQL_ERROR(false,
+                "you have an error in your sql syntax",
+                "unclosed quotation mark after the character string",
+                "sqlstate",
+                "syntax error near",
+                "warning: mysql",
+                "ORA-0",
+                "SQLiteException",
+                "PG::SyntaxError",
+                "mysql_fetch_",
+                "System.Data.SqlClient",
+                "org.hibernate.exception",
+                "MySqlException"),
+        /** SqliErrorDetector(보수적) */
+        SQLI_ERROR_SIGNS(false,
+                // 공통/프레임워크
+                "SQLSTATE[", "JDBCException", "HibernateException",
+                // MySQL/MariaDB
+                "You have an error in your SQL", "SQL syntax", "MariaDB server version",
+                // PostgreSQL
+                "ERROR: syntax error at or near", "PG::SyntaxError",
+                // Oracle
+                "ORA-00933", "ORA-00904", "ORA-01756", "ORA-00936",
+                // SQL Server
+                "Unclosed quotation mark", "Incorrect syntax near",
+                // SQLite
+                "SQLite3::SQLException", "unrecognized token"),
+        /** [fonts]: win.ini 힌트 */
+        LFI(true, "root:x:", "[fonts]"),
+        /** 첫 항목(평가 결과)이 우선, 나머지는 템플릿 엔진 오류 */
+        SSTI(true,
+                "49WKAI",
+                "TemplateSyntaxError", "Jinja2", "Thymeleaf", "Freemarker",
+                "VelocityException", "MustacheException", "PebbleException"),
+        /** SignatureScanner.SQLI_ERROR 앵커 */
+        SQLI_ERROR_RX(false,
+                "you have an error in your sql syntax", "warning:", "ora-", "sqlstate",
+                "syntax error at or near", "unclosed quotation mark after the character string"),
+        /** SignatureScanner.XSS_ECHO 앵커 */
+        XSS_ECHO_RX(false, "<script"),
+        /** SignatureScanner.P_STACKTRACE 앵커 */
+        STACKTRACE_RX(false, "exception", "traceback", "at"),
+        /** AnomalyEngine.STACKTRACE 앵커 */
+        ANOMALY_STACKTRACE_RX(false,
+                "traceback", "exception", "nullpointerexception", "indexoutofboundsexception", "at",
+                "typeerror", "referenceerror", "syntaxerror", "system.",
+                "org.springframework.", "org.hibernate.", "javax.servlet.");
+
+        private final boolean caseSensitive;
+        private final List<String> literals;
+
+        Group(boolean caseSensitive, String... literals) {
+            this.caseSensitive = caseSensitive;
+            this.literals = List.of(literals);
+        }
+
+        public boolean caseSensitive() { return caseSensitive; }
+        /** 선언 순서 = 우선순위 */
+        public List<String> literals() { return literals; }
+    }
+
+    private static final AhoCorasick AC;
+    private static final int[] MASKS;        // 리터럴 id → 그룹 비트마스크
+    private static final boolean[] EXACT;    // 리터럴 id → 원문 대소문자 대조 필요
+    private static final int[][] PRIORITY;   // 그룹 ordinal → 리터럴 id(선언 순)
+
+    static {
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        List<Integer> masks = new ArrayList<>();
+        List<Boolean> exact = new ArrayList<>();
+        Group[] gs = Group.values();
+        PRIORITY = new int[gs.length][];
+        for (Group g : gs) {
+            int[] pr = new int[g.literals.size()];
+            for (int k = 0; k < pr.length; k++) {
+                String lit = g.literals.get(k);
+                String key = (g.caseSensitive ? "S|" + lit : "I|" + lit.toLowerCase(Locale.ROOT));
+                Integer id = ids.get(key);
+                if (id == null) {
+                    id = ids.size();
+                    ids.put(key, id);
+                    masks.add(0);
+                    exact.add(g.caseSensitive);
+                }
+                masks.set(id, masks.get(id) | (1 << g.ordinal()));
+                pr[k] = id;
+            }
+            PRIORITY[g.ordinal()] = pr;
+        }
+        List<String> pats = new ArrayList<>(ids.size());
+        for (String k : ids.keySet()) pats.add(k.substring(2));
+        AC = AhoCorasick.of(pats);
+        MASKS = masks.stream().mapToInt(Integer::intValue).toArray();
+        EXACT = new boolean[exact.size()];
+        for (int i = 0; i < EXACT.length; i++) EXACT[i] = exact.get(i);
+    }
+
+    private BodySignatures() {}
+
+    /** 전 그룹 1회 스캔 */
+    public static Hits scan(String body) {
+        return scan(body, Group.values());
+    }
+
+    /** 지정 그룹의 히트만 모은다(순회는 여전히 1회) */
+    public static Hits scan(String body, Group... groups) {
+        int mask = 0;
+        for (Group g : groups) mask |= 1 << g.ordinal();
+        Hits h = new Hits(body == null ? "" : body);
+        final int want = mask;
+        AC.scan(h.body, (id, start) -> {
+            if ((MASKS[id] & want) == 0) return true;
+            if (EXACT[id] && !h.body.startsWith(AC.pattern(id), start)) return true;
+            h.add(id, start);
+            return true;
+        });
+        return h;
+    }
+
+    /** 스캔 결과: 리터럴 id + 시작 오프셋(끝 위치 순). 객체 할당 없이 int 배열에 쌓음 */
+    public static final class Hits {
+        private final String body;
+        private int[] ids = new int[8];
+        private int[] starts = new int[8];
+        private int n;
+
+        private Hits(String body) {
+            this.body = body;
+        }
+
+        private void add(int id, int start) {
+            if (n == ids.length) {
+                ids = Arrays.copyOf(ids, n * 2);
+                starts = Arrays.copyOf(starts, n * 2);
+            }
+            ids[n] = id;
+            starts[n] = start;
+            n++;
+        }
+
+        public int size() { return n; }
+        public int start(int i) { return starts[i]; }
+        /** 본문 원문 그대로의 히트 문자열 */
+        public String text(int i) { return body.substring(starts[i], starts[i] + AC.length(ids[i])); }
+        public boolean in(int i, Group g) { return (MASKS[ids[i]] & (1 << g.ordinal())) != 0; }
+
+        public boolean any(Group g) {
+            for (int i = 0; i < n; i++) if (in(i, g)) return true;
+            return false;
+        }
+
+        /** 그룹 선언 순으로 가장 앞선 리터럴의 첫 출현(본문 원문). 없으면 null */
+        public String first(Group g) {
+            for (int id : PRIORITY[g.ordinal()]) {
+                int best = -1;
+                for (int i = 0; i < n; i++) {
+                    if (ids[i] == id && (best < 0 || starts[i] < starts[best])) best = i;
+                }
+                if (best >= 0) return text(best);
+            }
+            return null;
+        }
+
+        /**
+         * 그룹 앵커 위치에서만 정규식을 lookingAt으로 확정 → 가장 왼쪽 매치(전체 find()와 동일), 없으면 null.
+         * 경계(\b)가 앵커 앞 문자를 보도록 transparent bounds 사용.
+         */
+        public MatchResult confirm(Group g, Pattern p) {
+            Matcher m = null;
+            MatchResult best = null;
+            int bestStart = Integer.MAX_VALUE;
+            int bit = 1 << g.ordinal();
+            for (int i = 0; i < n; i++) {
+                int s = starts[i];
+                // 히트는 끝 위치 순: 이후 히트는 모두 (끝 - 최대길이 + 1) 이후에서 시작
+                if (best != null && s + AC.length(ids[i]) - AC.maxLength() > bestStart) break;
+                if ((MASKS[ids[i]] & bit) == 0 || s >= bestStart) continue;
+                if (m == null) m = p.matcher(body).useTransparentBounds(true).useAnchoringBounds(false);
+                m.region(s, body.length());
+                if (m.lookingAt()) {
+                    best = m.toMatchResult();
+                    bestStart = s;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -40,8 +40,13 @@ public class DetectorOrchestrator {
     private final MixedContentDetector mixed  = new MixedContentDetector();
 
     public DetectorOrchestrator(ScanConfig cfg, RateLimiter sharedLimiter) {
+        this(cfg, sharedLimiter, new ProbeEngine(Objects.requireNonNull(cfg, "cfg")));
+    }
+
+    /** 엔진 주입(스캔 공용 HttpTransport를 쓰는 ProbeEngine 공유) */
+    public DetectorOrchestrator(ScanConfig cfg, RateLimiter sharedLimiter, ProbeEngine engine) {
         this.cfg = Objects.requireNonNull(cfg, "cfg");
-        this.engine = new ProbeEngine(cfg);
+        this.engine = Objects.requireNonNull(engine, "engine");
         this.rl = sharedLimiter;
     }
     public DetectorOrchestrator(ScanConfig cfg) { this(cfg, null); }
@@ -3,8 +3,10 @@ package com.webkillerai.core.scanner;
 import com.webkillerai.core.api.IScanner;
 import com.webkillerai.core.model.HttpResponseData;
 import com.webkillerai.core.model.IssueType;
+import com.webkillerai.core.model.ScanStats;
 import com.webkillerai.core.model.Severity;
 import com.webkillerai.core.model.VulnResult;
+import com.webkillerai.core.scanner.anomaly.SizeBaselines;
 import com.webkillerai.core.scanner.probe.ProbeEngine;
 import com.webkillerai.core.util.SeverityWeights;
 
@@ -12,14 +14,14 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Matcher;
+import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
 
 /** 시그니처 기반 간단 징후 스캐너 + 경량 Anomaly 레이어 */
 public class SignatureScanner implements IScanner {
 
+    // 아래 정규식은 BodySignatures의 *_RX 앵커 위치에서만 실행(대안을 바꾸면 앵커도 함께)
+
     // --- SQLi 오류 패턴(대표적 DB 에러 문구) ---
     private static final Pattern SQLI_ERROR = Pattern.compile(
             "(?i)(you have an error in your sql syntax|warning:\\s*mysql|ora-\\d{5}|sqlstate|syntax error at or near|unclosed quotation mark after the character string)",
@@ -33,22 +35,35 @@ public class SignatureScanner implements IScanner {
             "(?is)(\\bException\\b|\\bTraceback\\b|\\bat\\s+(?:com|org)\\.[A-Za-z0-9_.$]+\\()"
     );
 
-    // --- Anomaly: 응답 크기 변동(±25%) ---
-    private static final double SIZE_DELTA_THRESHOLD = 0.25;
+    // --- Anomaly: 응답 크기 변동(z-score, 키별 Welford 평균/분산) ---
+    private static final double SIZE_Z_THRESHOLD = 2.5;
+    private static final double SIZE_REL_SD_FLOOR = 0.10;   // 분산이 없을 때 σ 하한(평균의 10% → ±25%에서 z=2.5)
     private static final int SIZE_MIN_BASELINE = 16;
 
-    private static final class SizeStat {
-        long count;
-        long avgLen;
+    private final SizeBaselines sizeStats;
+
+    public SignatureScanner() {
+        this(SizeBaselines.DEFAULT_CAPACITY);
+    }
+
+    /** @param baselineCapacity 응답 크기 기준선 host|path 키 수 상한(넘으면 CLOCK 교체) */
+    public SignatureScanner(int baselineCapacity) {
+        this.sizeStats = new SizeBaselines(baselineCapacity);
+    }
+
+    /** 기준선 테이블 메모리/교체 수를 ScanStats에 기록 */
+    public void setStats(ScanStats stats) {
+        sizeStats.setStats(stats);
     }
-    private final ConcurrentHashMap<String, SizeStat> sizeStats = new ConcurrentHashMap<>();
 
     @Override
     public List<VulnResult> scan(HttpResponseData resp) {
         List<VulnResult> out = new ArrayList<>();
         URI url = resp.getUrl();
-        Map<String, List<String>> headers = resp.getHeaders();
         String body = resp.getBody() == null ? "" : resp.getBody();
+        // 본문 1회 순회로 모든 앵커 수집 → 정규식은 후보 위치에서만 확정
+        BodySignatures.Hits hits = BodySignatures.scan(body,
+                BodySignatures.Group.SQLI_ERROR_RX, BodySignatures.Group.XSS_ECHO_RX, BodySignatures.Group.STACKTRACE_RX);
 
         // 1) 서버 오류 5xx
         if (resp.getStatusCode() >= 500 && resp.getStatusCode() <= 599) {
@@ -66,7 +81,7 @@ public class SignatureScanner implements IScanner {
         }
 
         // 2) SQLi 의심(오류 페이지 내 DB에러 문구)
-        if (SQLI_ERROR.matcher(body).find()) {
+        if (hits.confirm(BodySignatures.Group.SQLI_ERROR_RX, SQLI_ERROR) != null) {
             out.add(VulnResult.builder()
                     .url(url)
                     .issueType(IssueType.SQLI_PATTERN)
@@ -81,7 +96,7 @@ public class SignatureScanner implements IScanner {
         }
 
         // 3) XSS 흔적(아주 단순한 alert(1) 스크립트)
-        if (XSS_ECHO.matcher(body).find()) {
+        if (hits.confirm(BodySignatures.Group.XSS_ECHO_RX, XSS_ECHO) != null) {
             out.add(VulnResult.builder()
                     .url(url)
                     .issueType(IssueType.XSS_PATTERN)
@@ -96,11 +111,11 @@ public class SignatureScanner implements IScanner {
         }
 
         // 4) 보안 헤더 점검
-        boolean hasXcto = hasHeader(headers, "x-content-type-options");
-        boolean hasXfo  = hasHeader(headers, "x-frame-options");
-        boolean hasCsp  = hasHeader(headers, "content-security-policy");
-        boolean hasHsts = hasHeader(headers, "strict-transport-security");
-        boolean hasRefp = hasHeader(headers, "referrer-policy");
+        boolean hasXcto = resp.hasHeader("x-content-type-options");
+        boolean hasXfo  = resp.hasHeader("x-frame-options");
+        boolean hasCsp  = resp.hasHeader("content-security-policy");
+        boolean hasHsts = resp.hasHeader("strict-transport-security");
+        boolean hasRefp = resp.hasHeader("referrer-policy");
 
         if (!hasXcto) out.add(missingHeader(url, "X-Content-Type-Options"));
 
@@ -134,7 +149,7 @@ public class SignatureScanner implements IScanner {
         }
 
         // CSP 약함(unsafe-inline / unsafe-eval)
-        String cspValue = firstHeaderValue(headers, "content-security-policy");
+        String cspValue = resp.header("Content-Security-Policy");
         if (cspValue != null) {
             String lc = cspValue.toLowerCase(Locale.ROOT);
             if (lc.contains("'unsafe-inline'") || lc.contains("'unsafe-eval'")) {
@@ -163,7 +178,7 @@ public class SignatureScanner implements IScanner {
         }
 
         // 5) 쿠키 속성(HttpOnly/Secure) 점검 — 대소문자 무시로 모든 Set-Cookie 수집
-        for (String setCookie : getAllHeaderValues(headers, "set-cookie")) {
+        for (String setCookie : resp.headers("Set-Cookie")) {
             String lc = setCookie.toLowerCase(Locale.ROOT);
             if (!lc.contains("httponly")) {
                 out.add(VulnResult.builder()
@@ -195,14 +210,13 @@ public class SignatureScanner implements IScanner {
 
         // 6) [Anomaly] Content-Type 불일치 (INFO)
         {
-            String ct = firstHeaderValue(headers, "content-type");
-            String b  = body.trim();
+            String ct = resp.header("Content-Type");
+            HttpResponseData.ContentClass cc = resp.contentClass();
+            String head = resp.bodyHead(); // 앞 공백 제거 + 소문자(응답 단위 캐시)
             if (ct != null) {
-                String ctLc = ct.toLowerCase(Locale.ROOT);
-
                 // JSON인데 HTML처럼 보임
-                if (ctLc.contains("application/json")) {
-                    boolean looksHtml = b.startsWith("<!doctype") || b.startsWith("<html") || b.contains("</html>");
+                if (cc == HttpResponseData.ContentClass.JSON) {
+                    boolean looksHtml = head.startsWith("<!doctype") || head.startsWith("<html") || body.contains("</html>");
                     if (looksHtml) {
                         out.add(VulnResult.builder()
                                 .url(url)
@@ -219,8 +233,8 @@ public class SignatureScanner implements IScanner {
                 }
 
                 // HTML인데 JSON처럼 보임
-                if (ctLc.contains("text/html")) {
-                    boolean looksJson = (b.startsWith("{") || b.startsWith("[")) && b.contains(":");
+                if (cc == HttpResponseData.ContentClass.HTML) {
+                    boolean looksJson = (head.startsWith("{") || head.startsWith("[")) && body.contains(":");
                     if (looksJson) {
                         out.add(VulnResult.builder()
                                 .url(url)
@@ -240,8 +254,8 @@ public class SignatureScanner implements IScanner {
 
         // 7) [Anomaly] 스택트레이스/예외 토큰 (INFO)
         {
-            Matcher m = P_STACKTRACE.matcher(body);
-            if (m.find()) {
+            MatchResult m = hits.confirm(BodySignatures.Group.STACKTRACE_RX, P_STACKTRACE);
+            if (m != null) {
                 String hit = m.group(1);
                 out.add(VulnResult.builder()
                         .url(url)
@@ -257,82 +271,55 @@ public class SignatureScanner implements IScanner {
             }
         }
 
-        // 8) [Anomaly] 응답 크기 변동(±25%) — 텍스트류 Content-Type만
-        {
-            String ct = firstHeaderValue(headers, "content-type");
-            if (isTextLike(ct)) {
-                int len = body.length();
-                if (len >= SIZE_MIN_BASELINE) {
-                    String key = normKey(url);
-                    SizeStat stat = sizeStats.computeIfAbsent(key, k -> new SizeStat());
-                    boolean alert = false;
-                    double delta = 0.0;
-                    long baseline;
-
-                    synchronized (stat) {
-                        if (stat.count >= 1) {
-                            baseline = Math.max(SIZE_MIN_BASELINE, stat.avgLen);
-                            delta = Math.abs(len - baseline) / (double) baseline;
-                            alert = (delta >= SIZE_DELTA_THRESHOLD);
-                        }
-                        long newCount = stat.count + 1;
-                        long newAvg = (stat.count == 0) ? len
-                                : Math.round((stat.avgLen * (stat.count) + len) / (double) newCount);
-                        stat.count = newCount;
-                        stat.avgLen = newAvg;
-                    }
-
-                    if (alert) {
-                        Severity sev = (delta >= 0.50) ? Severity.LOW : Severity.INFO;
-                        String ev = String.format(Locale.ROOT, "len=%d, baseline≈%d, delta=%.0f%%",
-                                len, Math.max(SIZE_MIN_BASELINE, sizeStats.get(key).avgLen), delta * 100.0);
-                        out.add(VulnResult.builder()
-                                .url(url)
-                                .issueType(IssueType.ANOMALY_SIZE_DELTA)
-                                .severity(sev)
-                                .description("동일 경로 대비 응답 크기 변동이 큽니다(환경/AB테스트/에러/리다이렉트 등 확인 권장).")
-                                .evidence(ev)
-                                .confidence(0.55)
-                                .riskScore(SeverityWeights.toRisk(sev))
-                                .requestLine(ProbeEngine.requestLine("GET", url))
-                                .evidenceSnippet(snippet(body, null))
-                                .build());
-                    }
-                }
-            }
-        }
+        // 8) [Anomaly] 응답 크기 변동(z-score) — 텍스트류 Content-Type만
+        sizeDelta(resp, body, out);
 
         return out;
     }
 
-    // ----------------- helpers -----------------
-    private static boolean hasHeader(Map<String, List<String>> headers, String key) {
-        for (String k : headers.keySet()) {
-            if (k != null && k.equalsIgnoreCase(key)) return true;
-        }
-        return false;
+    /**
+     * 응답 크기 기준선만 갱신하고 크기 변동(ANOMALY_SIZE_DELTA) 결과를 돌려준다.
+     * 나머지 검사를 건너뛰는 경로(검증자 캐시 재생)도 이번 실행의 기준선을 계속 채우도록.
+     */
+    public List<VulnResult> observeSize(HttpResponseData resp) {
+        List<VulnResult> out = new ArrayList<>();
+        if (resp != null) sizeDelta(resp, resp.getBody() == null ? "" : resp.getBody(), out);
+        return out;
     }
 
-    private static String firstHeaderValue(Map<String, List<String>> headers, String key) {
-        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
-            if (e.getKey() != null && e.getKey().equalsIgnoreCase(key) && !e.getValue().isEmpty()) {
-                return e.getValue().get(0);
-            }
-        }
-        return null;
+    /** 실행 중 교차 페이지 기준선에 따라 달라지는 결과(캐시에 저장/재생하지 않고 매번 다시 계산) */
+    public static boolean isBaselineDependent(VulnResult v) {
+        return v != null && v.getIssueType() == IssueType.ANOMALY_SIZE_DELTA;
     }
 
-    /** 대소문자 무시로 특정 헤더의 모든 값을 수집(Set-Cookie 대응). */
-    private static List<String> getAllHeaderValues(Map<String, List<String>> headers, String key) {
-        List<String> out = new ArrayList<>();
-        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
-            if (e.getKey() != null && e.getKey().equalsIgnoreCase(key) && e.getValue() != null) {
-                out.addAll(e.getValue());
-            }
-        }
-        return out;
+    private void sizeDelta(HttpResponseData resp, String body, List<VulnResult> out) {
+        if (!resp.contentClass().isTextLike()) return;
+        int len = body.length();
+        if (len < SIZE_MIN_BASELINE) return;
+        URI url = resp.getUrl();
+        SizeBaselines.Observation prior = sizeStats.observe(normKey(url), len);
+        if (prior.count() < 1) return;
+        double mean = Math.max(SIZE_MIN_BASELINE, prior.mean());
+        double sigma = Math.max(prior.stddev(), SIZE_REL_SD_FLOOR * mean);
+        double z = (len - mean) / sigma;
+        if (Math.abs(z) < SIZE_Z_THRESHOLD) return;
+        Severity sev = (Math.abs(z) >= 2 * SIZE_Z_THRESHOLD) ? Severity.LOW : Severity.INFO;
+        String ev = String.format(Locale.ROOT, "len=%d, mean≈%.0f, sd≈%.0f, z=%.1f, n=%d",
+                len, mean, prior.stddev(), z, prior.count());
+        out.add(VulnResult.builder()
+                .url(url)
+                .issueType(IssueType.ANOMALY_SIZE_DELTA)
+                .severity(sev)
+                .description("동일 경로 대비 응답 크기 변동이 큽니다(환경/AB테스트/에러/리다이렉트 등 확인 권장).")
+                .evidence(ev)
+                .confidence(0.55)
+                .riskScore(SeverityWeights.toRisk(sev))
+                .requestLine(ProbeEngine.requestLine("GET", url))
+                .evidenceSnippet(snippet(body, null))
+                .build());
     }
 
+    // ----------------- helpers -----------------
     private static VulnResult missingHeader(URI url, String headerName) {
         return VulnResult.builder()
                 .url(url)
@@ -364,13 +351,6 @@ public class SignatureScanner implements IScanner {
         }
     }
 
-    private static boolean isTextLike(String contentType) {
-        if (contentType == null) return true;
-        String ct = contentType.toLowerCase(Locale.ROOT);
-        return ct.contains("text/") || ct.contains("json") || ct.contains("xml")
-                || ct.contains("javascript") || ct.contains("xhtml");
-    }
-
     private static String normKey(URI url) {
         if (url == null) return "unknown";
         String host = url.getAuthority() == null ? "" : url.getAuthority().toLowerCase(Locale.ROOT);
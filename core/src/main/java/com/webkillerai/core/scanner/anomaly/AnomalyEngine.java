@@ -2,25 +2,43 @@ package com.webkillerai.core.scanner.anomaly;
 
 import com.webkillerai.core.model.HttpResponseData;
 import com.webkillerai.core.model.IssueType;
+import com.webkillerai.core.model.ScanStats;
 import com.webkillerai.core.model.Severity;
 import com.webkillerai.core.model.VulnResult;
+import com.webkillerai.core.scanner.BodySignatures;
 import com.webkillerai.core.scanner.probe.ProbeEngine;
 
 import java.net.URI;
 import java.util.*;
 import java.util.regex.Pattern;
 
-/** 패시브 이상탐지: 응답 길이 델타, Content-Type 불일치, 스택트레이스 토큰 */
+/**
+ * 패시브 이상탐지: 응답 길이 델타, Content-Type 불일치, 스택트레이스 토큰.
+ * 상태는 크기 기준선 테이블(SizeBaselines, 잠금 없는 CLOCK)뿐이라 인스턴스 하나를 scan-worker 전체가 공유 가능.
+ * ScanService 스캔 경로에는 없음(SignatureScanner가 같은 세 가지 이상 징후를 이미 냄) → 용량/통계는 쓰는 쪽이 직접 지정.
+ */
 public final class AnomalyEngine {
 
     // === 사이즈 델타 설정 ===
     private static final int SIZE_DELTA_PCT = 25; // ±25%
-    private static final int LRU_CAP = 256;
+    private static final double EWMA_ALPHA = 0.3;
 
-    // path → 최근 크기(간단 EWMA)
-    private final Map<String, Integer> sizeBaseline = new LinkedHashMap<>(16, 0.75f, true) {
-        @Override protected boolean removeEldestEntry(Map.Entry<String, Integer> e) { return size() > LRU_CAP; }
-    };
+    // path → 최근 크기(간단 EWMA), 용량 초과 시 CLOCK 교체
+    private final SizeBaselines sizeBaseline;
+
+    public AnomalyEngine() {
+        this(SizeBaselines.DEFAULT_CAPACITY);
+    }
+
+    /** @param baselineCapacity path 기준선 키 수 상한 */
+    public AnomalyEngine(int baselineCapacity) {
+        this.sizeBaseline = new SizeBaselines(baselineCapacity);
+    }
+
+    /** 기준선 테이블 메모리/교체 수를 ScanStats에 기록(runtime.baselineBytes/baselineEvictions에 합산) */
+    public void setStats(ScanStats stats) {
+        sizeBaseline.setStats(stats);
+    }
 
     // === Stacktrace / Error 토큰(보수적) ===
     private static final Pattern STACKTRACE = Pattern.compile(
@@ -41,9 +59,10 @@ public final class AnomalyEngine {
         // 1) 응답 길이 델타
         String key = keyFor(uri);
         int len = body.length();
-        Integer base = sizeBaseline.get(key);
-        if (base != null && base > 0) {
-            int diff = Math.abs(len - base);
+        SizeBaselines.Observation prior = sizeBaseline.observeEwma(key, len, EWMA_ALPHA);
+        if (prior.count() > 0 && prior.mean() > 0) {
+            long base = Math.round(prior.mean());
+            long diff = Math.abs(len - base);
             int pct = (int) Math.round((diff * 100.0) / Math.max(1, base));
             if (pct >= SIZE_DELTA_PCT) {
                 String snippet = "prev≈" + base + "B → now=" + len + "B (Δ≈" + pct + "%)";
@@ -58,31 +77,26 @@ public final class AnomalyEngine {
                         .confidence(0.6)
                         .build());
             }
-            // EWMA 업데이트(보수적)
-            int ewma = (int) Math.round(0.7 * base + 0.3 * len);
-            sizeBaseline.put(key, ewma);
-        } else {
-            sizeBaseline.put(key, len);
         }
 
         // 2) Content-Type 불일치
-        String ct = firstHeader(resp, "Content-Type");
+        String ct = resp.header("Content-Type");
         if (ct == null) ct = "";
-        String trimmed = leadingNonWs(body, 64).toLowerCase(Locale.ROOT);
+        String trimmed = resp.bodyHead(); // 앞 공백 제거 + 소문자(응답 단위 캐시)
         boolean looksHtml = trimmed.contains("<html") || trimmed.startsWith("<!doctype");
         boolean looksJson = trimmed.startsWith("{") || trimmed.startsWith("[");
         boolean looksXml  = trimmed.startsWith("<?xml") || trimmed.startsWith("<rss") || trimmed.startsWith("<feed");
 
-        String ctLc = ct.toLowerCase(Locale.ROOT);
-        boolean isHtmlCT = ctLc.contains("text/html") || ctLc.contains("application/xhtml");
-        boolean isJsonCT = ctLc.contains("application/json");
-        boolean isXmlCT  = ctLc.contains("application/xml") || ctLc.contains("text/xml");
+        HttpResponseData.ContentClass cc = HttpResponseData.ContentClass.of(ct);
+        boolean isHtmlCT = cc == HttpResponseData.ContentClass.HTML;
+        boolean isJsonCT = cc == HttpResponseData.ContentClass.JSON;
+        boolean isXmlCT  = cc == HttpResponseData.ContentClass.XML;
 
         boolean mismatch =
                 (isHtmlCT && (looksJson || looksXml)) ||
                 (isJsonCT && (looksHtml || looksXml)) ||
                 (isXmlCT  && (looksHtml || looksJson)) ||
-                (ctLc.isBlank() && (looksJson || looksXml)); // 명시 CT 없음 + 본문이 구조화 포맷
+                (cc == HttpResponseData.ContentClass.NONE && (looksJson || looksXml)); // 명시 CT 없음 + 본문이 구조화 포맷
 
         if (mismatch) {
             String hit = looksJson ? "JSON-like body" : (looksXml ? "XML-like body" : "HTML-like body");
@@ -100,8 +114,10 @@ public final class AnomalyEngine {
         }
 
         // 3) 스택트레이스/에러 토큰
-        var m = STACKTRACE.matcher(body);
-        if (m.find()) {
+        // 앵커(BodySignatures.ANOMALY_STACKTRACE_RX) 위치에서만 정규식 확정
+        var m = BodySignatures.scan(body, BodySignatures.Group.ANOMALY_STACKTRACE_RX)
+                .confirm(BodySignatures.Group.ANOMALY_STACKTRACE_RX, STACKTRACE);
+        if (m != null) {
             String token = m.group();
             String snippet = ProbeEngine.snippetAround(body, token.substring(0, Math.min(32, token.length())), 80);
             out.add(VulnResult.builder()
@@ -124,24 +140,4 @@ public final class AnomalyEngine {
         String p = u.getPath();
         return (p == null || p.isBlank()) ? "/" : p;
     }
-
-    private static String firstHeader(HttpResponseData r, String name) {
-        List<String> v = r.getHeaders().get(name);
-        if (v != null && !v.isEmpty()) return v.get(0);
-        // case-insensitive fallback
-        for (Map.Entry<String, List<String>> e : r.getHeaders().entrySet()) {
-            if (e.getKey() != null && e.getKey().equalsIgnoreCase(name) && !e.getValue().isEmpty()) {
-                return e.getValue().get(0);
-            }
-        }
-        return null;
-    }
-
-    private static String leadingNonWs(String s, int max) {
-        if (s == null) return "";
-        int i = 0, n = s.length();
-        while (i < n && Character.isWhitespace(s.charAt(i))) i++;
-        int end = Math.min(n, i + Math.max(1, max));
-        return s.substring(i, end);
-    }
 }
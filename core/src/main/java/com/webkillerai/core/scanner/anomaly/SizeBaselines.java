@@ -0,0 +1,232 @@
+package com.webkillerai.core.scanner.anomaly;
+
+import com.webkillerai.core.model.ScanStats;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 용량 응답 크기 기준선 테이블(키당 count / mean / M2, Welford 온라인 분산).
+ * - 키(host|path 등)는 64비트 해시로만 보관(문자열 미보관) → 메모리는 용량에 비례해 고정
+ * - 8-way 집합 연관 구조: 해시로 집합을 고르고, 집합이 차면 집합별 CLOCK 핸드로 최근 미사용 슬롯을 교체
+ * - 슬롯 갱신은 버전 스탬프를 CAS로 홀수로 올려 잡고(seqlock) 통계를 쓴 뒤 짝수로 되돌림 → 키 단위 경합만 존재
+ * - 신규 키 삽입/교체만 집합 단위 CAS 잠금(같은 키의 중복 삽입 방지)
+ * - 해시 충돌(서로 다른 키가 같은 64비트 해시)은 같은 기준선을 공유하는 근사로 허용
+ * - observeEwma(): 평균 대신 지수 이동 평균으로 갱신(분산 미추적). 한 테이블에는 한 가지 방식만 쓸 것
+ */
+public final class SizeBaselines {
+
+    /** 관측 직전 기준선(count=0이면 기준 없음) */
+    public record Observation(long count, double mean, double variance) {
+        static final Observation NONE = new Observation(0, 0, 0);
+
+        public double stddev() { return Math.sqrt(variance); }
+    }
+
+    /** 기본 키 수 상한 */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final int WAYS = 8;
+    // 슬롯 레이아웃(long 6개): 키 해시, 버전(홀수=쓰는 중), count, mean 비트, M2 비트, 참조 비트
+    private static final int STRIDE = 6;
+    private static final int KEY = 0, VER = 1, COUNT = 2, MEAN = 3, M2 = 4, REF = 5;
+
+    private final int sets;                    // 2의 거듭제곱
+    private final AtomicLongArray slots;
+    private final AtomicIntegerArray setLocks; // 0=free, 1=held
+    private final int[] hands;                 // 집합별 CLOCK 핸드(setLocks 보호)
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private volatile ScanStats stats;
+
+    /** @param capacity 최대 키 수(WAYS 배수의 2의 거듭제곱으로 올림) */
+    public SizeBaselines(int capacity) {
+        int s = Math.max(1, (Math.max(capacity, WAYS) + WAYS - 1) / WAYS);
+        this.sets = Integer.highestOneBit(s) == s ? s : Integer.highestOneBit(s) << 1;
+        this.slots = new AtomicLongArray(sets * WAYS * STRIDE);
+        this.setLocks = new AtomicIntegerArray(sets);
+        this.hands = new int[sets];
+    }
+
+    /** 메모리 사용량 / 교체 수를 누적할 대상(붙이는 시점에 footprint 1회 반영) */
+    public void setStats(ScanStats stats) {
+        this.stats = stats;
+        if (stats != null) stats.addBaselineFootprint(footprintBytes());
+    }
+
+    public int capacity() { return sets * WAYS; }
+    public long size() { return entries.get(); }
+    public long evictions() { return evictions.get(); }
+
+    /** 고정 배열 기준 대략적 메모리(객체 헤더 포함 근사) */
+    public long footprintBytes() {
+        return 16L + (16L + 8L * slots.length()) + (16L + 4L * sets) + (16L + 4L * sets) + 64L;
+    }
+
+    /**
+     * x를 key 기준선에 반영하고, 반영 직전 기준선을 반환(이상 판정은 호출자가 z-score로).
+     */
+    public Observation observe(String key, double x) {
+        return observe(key, x, 0);
+    }
+
+    /**
+     * EWMA 갱신판: mean ← (1-alpha)·mean + alpha·x (기준이 0이면 x로 다시 시작). 반환은 갱신 직전 기준선.
+     */
+    public Observation observeEwma(String key, double x, double alpha) {
+        if (!(alpha > 0 && alpha <= 1)) throw new IllegalArgumentException("alpha must be in (0, 1]");
+        return observe(key, x, alpha);
+    }
+
+    /** alpha == 0 이면 Welford */
+    private Observation observe(String key, double x, double alpha) {
+        long h = hash(key);
+        int set = (int) ((h ^ (h >>> 29)) & (sets - 1));
+        int base = set * WAYS;
+        for (;;) {
+            int slot = find(base, h);
+            if (slot >= 0) {
+                Observation prior = update(slot, h, x, alpha);
+                if (prior != null) return prior;
+                continue; // 잡는 사이 교체됨 → 다시 찾기
+            }
+            lockSet(set);
+            try {
+                if (find(base, h) < 0) {
+                    insert(set, base, h, x);
+                    return Observation.NONE;
+                }
+            } finally {
+                setLocks.set(set, 0);
+            }
+        }
+    }
+
+    /** 기준선 조회(없으면 count=0) */
+    public Observation get(String key) {
+        long h = hash(key);
+        int slot = find((int) ((h ^ (h >>> 29)) & (sets - 1)) * WAYS, h);
+        if (slot < 0) return Observation.NONE;
+        int o = slot * STRIDE;
+        for (;;) {
+            long v = slots.get(o + VER);
+            if ((v & 1) != 0) { Thread.onSpinWait(); continue; }
+            long n = slots.get(o + COUNT);
+            double mean = Double.longBitsToDouble(slots.get(o + MEAN));
+            double m2 = Double.longBitsToDouble(slots.get(o + M2));
+            boolean same = slots.get(o + KEY) == h;
+            if (slots.get(o + VER) == v) return same ? of(n, mean, m2) : Observation.NONE;
+        }
+    }
+
+    // ============ 내부 ============
+
+    private int find(int base, long h) {
+        for (int w = 0; w < WAYS; w++) {
+            int slot = base + w;
+            if (slots.get(slot * STRIDE + KEY) == h) return slot;
+        }
+        return -1;
+    }
+
+    /** Welford(alpha=0) 또는 EWMA 갱신. 슬롯이 다른 키로 교체돼 있으면 null */
+    private Observation update(int slot, long h, double x, double alpha) {
+        int o = slot * STRIDE;
+        long v = lockSlot(o);
+        try {
+            if (slots.get(o + KEY) != h) return null;
+            long n = slots.get(o + COUNT);
+            double mean = Double.longBitsToDouble(slots.get(o + MEAN));
+            double m2 = Double.longBitsToDouble(slots.get(o + M2));
+            Observation prior = of(n, mean, m2);
+
+            long n1 = n + 1;
+            double mean1, m21;
+            if (alpha > 0) {
+                mean1 = (mean > 0) ? mean + alpha * (x - mean) : x;
+                m21 = 0.0;
+            } else {
+                double d = x - mean;
+                mean1 = mean + d / n1;
+                m21 = m2 + d * (x - mean1);
+            }
+            slots.set(o + COUNT, n1);
+            slots.set(o + MEAN, Double.doubleToRawLongBits(mean1));
+            slots.set(o + M2, Double.doubleToRawLongBits(m21));
+            slots.set(o + REF, 1);
+            return prior;
+        } finally {
+            slots.set(o + VER, v + 2);
+        }
+    }
+
+    /** 빈 슬롯 또는 CLOCK 희생 슬롯에 새 키 기록(집합 잠금 보유 상태) */
+    private void insert(int set, int base, long h, double x) {
+        int victim = -1;
+        for (int w = 0; w < WAYS; w++) {
+            if (slots.get((base + w) * STRIDE + KEY) == 0) { victim = base + w; break; }
+        }
+        if (victim < 0) {
+            int hand = hands[set];
+            for (;;) {
+                int o = (base + hand) * STRIDE;
+                if (slots.get(o + REF) != 0) {
+                    slots.set(o + REF, 0); // 두 번째 기회
+                    hand = (hand + 1) % WAYS;
+                } else {
+                    victim = base + hand;
+                    hands[set] = (hand + 1) % WAYS;
+                    break;
+                }
+            }
+        }
+        int o = victim * STRIDE;
+        long v = lockSlot(o);
+        boolean evicted = slots.get(o + KEY) != 0;
+        slots.set(o + KEY, h);
+        slots.set(o + COUNT, 1);
+        slots.set(o + MEAN, Double.doubleToRawLongBits(x));
+        slots.set(o + M2, Double.doubleToRawLongBits(0.0));
+        slots.set(o + REF, 1);
+        slots.set(o + VER, v + 2);
+        if (evicted) {
+            evictions.incrementAndGet();
+            ScanStats s = stats;
+            if (s != null) s.addBaselineEvictions(1);
+        } else {
+            entries.incrementAndGet();
+        }
+    }
+
+    /** 버전을 짝수 → 홀수로 CAS(잡은 시점 버전 반환) */
+    private long lockSlot(int o) {
+        for (;;) {
+            long v = slots.get(o + VER);
+            if ((v & 1) == 0 && slots.compareAndSet(o + VER, v, v + 1)) return v;
+            Thread.onSpinWait();
+        }
+    }
+
+    private void lockSet(int set) {
+        while (!setLocks.compareAndSet(set, 0, 1)) Thread.onSpinWait();
+    }
+
+    private static Observation of(long n, double mean, double m2) {
+        return new Observation(n, mean, n > 1 ? m2 / (n - 1) : 0.0);
+    }
+
+    /** FNV-1a 64 + 최종 혼합(0은 빈 슬롯 표시라 1로) */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        String k = (key == null) ? "" : key;
+        for (int i = 0; i < k.length(); i++) {
+            h ^= k.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (h == 0) ? 1 : h;
+    }
+}
@@ -3,12 +3,13 @@ package com.webkillerai.core.scanner.dedupe;
 import java.net.URI;
 
 /**
- * 중복 억제용 키: (url, paramKey, issueType, signal)
+ * 중복 억제용 키: (url, paramKey, issueType, signal, templateId)
  * signal은 탐지 내부 추가 구분자(옵션) — null이면 ""로 치환
+ * templateId는 url의 UrlTemplate(같은 엔드포인트 묶음, url에서 파생되므로 동등성에는 영향 없음)
  */
-public record DedupeKey(URI url, String paramKey, String issueType, String signal) {
+public record DedupeKey(URI url, String paramKey, String issueType, String signal, String templateId) {
     public static DedupeKey of(URI url, String paramKey, String issueType, String signal) {
         return new DedupeKey(url, paramKey == null ? "" : paramKey,
-                                  issueType, signal == null ? "" : signal);
+                                  issueType, signal == null ? "" : signal, UrlTemplate.of(url));
     }
 }
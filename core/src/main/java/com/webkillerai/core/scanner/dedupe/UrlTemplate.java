@@ -0,0 +1,91 @@
+package com.webkillerai.core.scanner.dedupe;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * URL 템플릿: 같은 엔드포인트로 보이는 URL을 하나의 문자열로 묶는다.
+ * - host[:port] + 경로 + "?" + 정렬된 쿼리 키 집합(값/순서/중복 무시)
+ * - 경로 세그먼트: 숫자만 → {n}, UUID → {uuid}, 16자 이상 16진수 → {hex},
+ *   숫자·문자가 섞인 20자 이상 토큰 → {id}, 그 외 세그먼트 안의 3자리 이상 숫자열 → {n}
+ *   예) /item/123?id=5&b=1 → ex.com/item/{n}?b&id, /p/product-12345 → ex.com/p/product-{n}
+ */
+public final class UrlTemplate {
+
+    private UrlTemplate() {}
+
+    public static String of(URI u) {
+        if (u == null) return "";
+        StringBuilder sb = new StringBuilder(64);
+        String host = u.getHost();
+        if (host != null) sb.append(host.toLowerCase(Locale.ROOT));
+        if (u.getPort() != -1) sb.append(':').append(u.getPort());
+
+        String path = u.getRawPath();
+        if (path == null || path.isEmpty()) path = "/";
+        int i = 0, n = path.length();
+        while (i < n) {
+            int j = path.indexOf('/', i);
+            if (j < 0) j = n;
+            if (j > i) collapse(path, i, j, sb);
+            if (j < n) sb.append('/');
+            i = j + 1;
+        }
+
+        String q = u.getRawQuery();
+        if (q != null && !q.isEmpty()) {
+            TreeSet<String> keys = new TreeSet<>();
+            for (String kv : q.split("&")) {
+                int eq = kv.indexOf('=');
+                String k = (eq < 0) ? kv : kv.substring(0, eq);
+                if (!k.isEmpty()) keys.add(k);
+            }
+            if (!keys.isEmpty()) sb.append('?').append(String.join("&", keys));
+        }
+        return sb.toString();
+    }
+
+    private static void collapse(String p, int from, int to, StringBuilder out) {
+        int len = to - from;
+        int digits = 0, hex = 0, alnum = 0;
+        for (int k = from; k < to; k++) {
+            char c = p.charAt(k);
+            if (c >= '0' && c <= '9') digits++;
+            if ((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')) hex++;
+            if (Character.isLetterOrDigit(c) || c == '-' || c == '_') alnum++;
+        }
+        if (digits == len) { out.append("{n}"); return; }
+        if (isUuid(p, from, to)) { out.append("{uuid}"); return; }
+        if (len >= 16 && hex == len && digits > 0) { out.append("{hex}"); return; }
+        if (len >= 20 && alnum == len && digits > 0 && digits < len) { out.append("{id}"); return; }
+
+        int k = from;
+        while (k < to) {
+            char c = p.charAt(k);
+            if (c >= '0' && c <= '9') {
+                int e = k;
+                while (e < to && p.charAt(e) >= '0' && p.charAt(e) <= '9') e++;
+                if (e - k >= 3) out.append("{n}");
+                else out.append(p, k, e);
+                k = e;
+            } else {
+                out.append(c);
+                k++;
+            }
+        }
+    }
+
+    private static boolean isUuid(String p, int from, int to) {
+        if (to - from != 36) return false;
+        for (int k = 0; k < 36; k++) {
+            char c = p.charAt(from + k);
+            if (k == 8 || k == 13 || k == 18 || k == 23) {
+                if (c != '-') return false;
+            } else if (Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
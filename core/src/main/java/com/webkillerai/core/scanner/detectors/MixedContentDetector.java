@@ -12,7 +12,6 @@ import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 
 import java.net.URI;
-import java.net.http.HttpResponse;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -37,12 +36,11 @@ public final class MixedContentDetector implements ActiveDetectorOrchestrator.De
         if (!"https".equalsIgnoreCase(url.getScheme())) return Optional.empty();
 
         try {
-            // 현재 엔진 시그니처: get(URI, Map<String,String>) → HttpResponse<String>
-            HttpResponse<String> rsp = engine.get(
+            // 공유 페이지 저장소에 있으면 재사용, 없으면 GET
+            String html = engine.pageBody(
                 url,
                 java.util.Map.of("Accept", "text/html,application/xhtml+xml")
             );
-            String html = rsp.body();
             if (html == null || html.isEmpty()) return Optional.empty();
 
             List<String> mixed = findMixedUrls(html, url);
@@ -26,6 +26,8 @@ public class PathTraversalDetector {
             "root:x:0:0:",
             "[fonts]", "[extensions]"
     };
+    /** 시그니처가 보이면 수신 중단(/etc/passwd·win.ini 전체를 받을 필요 없음) */
+    private static final List<String> STOP = List.of(SIGNS);
 
     public Optional<VulnResult> detect(ProbeEngine engine, ScanConfig cfg, URI base) {
         String param = pickParam(base).orElse("file");
@@ -65,16 +67,16 @@ public class PathTraversalDetector {
 
     /** 한 번 전송해서 시그니처 매칭되면 true */
     private boolean probeOnce(ProbeEngine engine, URI target) throws Exception {
-        HttpResponse<String> rsp = engine.get(target,
-                Map.of("Accept","text/plain,text/html,application/xhtml+xml"));
+        HttpResponse<String> rsp = engine.getUntil(target,
+                Map.of("Accept","text/plain,text/html,application/xhtml+xml"), STOP);
         String body = rsp.body();
         if (body == null || body.isEmpty()) return false;
         return match(body) != null;
     }
 
     private Optional<VulnResult> buildResult(ProbeEngine engine, URI target) throws Exception {
-        HttpResponse<String> rsp = engine.get(target,
-                Map.of("Accept","text/plain,text/html,application/xhtml+xml"));
+        HttpResponse<String> rsp = engine.getUntil(target,
+                Map.of("Accept","text/plain,text/html,application/xhtml+xml"), STOP);
         String body = rsp.body();
         String hit = match(body);
         if (hit == null) return Optional.empty();
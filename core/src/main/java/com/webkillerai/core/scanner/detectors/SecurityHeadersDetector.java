@@ -16,7 +16,7 @@ public final class SecurityHeadersDetector {
         List<VulnResult> out = new ArrayList<>();
         URI url = resp.getUri();
 
-        // --- 헤더 값 가져오기(프로젝트에 맞춰 아래 2개 메서드만 필요시 이름 조정) ---
+        // --- 헤더 값 가져오기(응답 단위 헤더 인덱스) ---
         String hsts = header(resp, "Strict-Transport-Security");
         String csp  = header(resp, "Content-Security-Policy");
         String xfo  = header(resp, "X-Frame-Options");
@@ -135,38 +135,11 @@ public final class SecurityHeadersDetector {
     }
 
     // === 아래 2개는 프로젝트 HttpResponseData에 맞춰 필요시 메서드명만 조정 ===
+    /** HttpResponseData의 대소문자 무시 헤더 인덱스 조회 */
     private static String header(HttpResponseData r, String name) {
-        // r.header(name) 또는 r.getHeaders().get(name) 등 프로젝트 형태에 맞게 구현
-        String v = null;
-        try { v = r.header(name); } catch (Throwable ignore) {}
-        if (v != null) return v;
-        try {
-            Map<String, List<String>> m = r.getHeaders();
-            if (m != null) {
-                for (var e : m.entrySet()) {
-                    if (e.getKey() != null && e.getKey().equalsIgnoreCase(name) && !e.getValue().isEmpty()) {
-                        return e.getValue().get(0);
-                    }
-                }
-            }
-        } catch (Throwable ignore) {}
-        return null;
+        return r.header(name);
     }
     private static List<String> headers(HttpResponseData r, String name) {
-        try {
-            List<String> v = r.headers(name);
-            if (v != null) return v;
-        } catch (Throwable ignore) {}
-        try {
-            Map<String, List<String>> m = r.getHeaders();
-            if (m != null) {
-                for (var e : m.entrySet()) {
-                    if (e.getKey() != null && e.getKey().equalsIgnoreCase(name) && e.getValue() != null) {
-                        return e.getValue();
-                    }
-                }
-            }
-        } catch (Throwable ignore) {}
-        return Collections.emptyList();
+        return r.headers(name);
     }
 }
@@ -4,6 +4,7 @@ import com.webkillerai.core.model.IssueType;
 import com.webkillerai.core.model.ScanConfig;
 import com.webkillerai.core.model.Severity;
 import com.webkillerai.core.model.VulnResult;
+import com.webkillerai.core.scanner.BodySignatures;
 import com.webkillerai.core.scanner.probe.ProbeEngine;
 import com.webkillerai.core.util.UrlParamUtil;
 import com.webkillerai.core.model.Mode;
@@ -17,22 +18,6 @@ public class SqliErrorDetector {
 
     private static final String INJECT = "'";
 
-    // 대표 에러 시그니처(보수적)
-    private static final String[] SIGNS = {
-            // 공통/프레임워크
-            "SQLSTATE[", "JDBCException", "HibernateException",
-            // MySQL/MariaDB
-            "You have an error in your SQL", "SQL syntax", "MariaDB server version",
-            // PostgreSQL
-            "ERROR: syntax error at or near", "PG::SyntaxError",
-            // Oracle
-            "ORA-00933", "ORA-00904", "ORA-01756", "ORA-00936",
-            // SQL Server
-            "Unclosed quotation mark", "Incorrect syntax near",
-            // SQLite
-            "SQLite3::SQLException", "unrecognized token"
-    };
-
     /** 힌트 기반(선택) */
     public Optional<VulnResult> detect(ProbeEngine engine, ScanConfig cfg, URI base) {
         String param = pickParam(base, cfg.getSqliParamHints()).orElse("id");
@@ -78,12 +63,10 @@ public class SqliErrorDetector {
 
     // ---------- 내부 헬퍼 ----------
 
+    /** 대표 에러 시그니처(보수적, BodySignatures.SQLI_ERROR_SIGNS) — 대소문자 무시, 본문 원문 반환 */
     private String match(String body) {
-        String l = body.toLowerCase(Locale.ROOT);
-        for (String s : SIGNS) {
-            if (l.contains(s.toLowerCase(Locale.ROOT))) return s;
-        }
-        return null;
+        return BodySignatures.scan(body, BodySignatures.Group.SQLI_ERROR_SIGNS)
+                .first(BodySignatures.Group.SQLI_ERROR_SIGNS);
     }
 
     private Optional<String> pickParam(URI uri, List<String> hints) {
@@ -57,7 +57,8 @@ public class SstiSimpleDetector {
                     ? UrlParamUtil.withAddedParams(base, Map.of(param, List.of(payload)))
                     : appendQueryManually(base, param, encodeCurlyAndDollarOnly(payload));
 
-            HttpResponse<String> rsp = engine.get(target, Map.of("Accept","text/html,application/xhtml+xml"));
+            // 평가 결과가 보이면 수신 중단(에러 토큰은 대소문자 무시 매칭이라 끝까지 읽음)
+            HttpResponse<String> rsp = engine.getUntil(target, Map.of("Accept","text/html,application/xhtml+xml"), List.of(EXPECT));
             String body = rsp.body();
             if (body == null || body.isEmpty()) return Optional.empty();
 
@@ -1,20 +1,24 @@
 // core/src/main/java/com/webkillerai/core/scanner/probe/ProbeEngine.java
 package com.webkillerai.core.scanner.probe;
 
+import com.webkillerai.core.http.HostBackoff;
+import com.webkillerai.core.http.HttpTransport;
+import com.webkillerai.core.http.PageStore;
+import com.webkillerai.core.model.HttpResponseData;
 import com.webkillerai.core.model.IssueType;
 import com.webkillerai.core.model.Severity;
 import com.webkillerai.core.model.ScanConfig;
 import com.webkillerai.core.model.VulnResult;
 import com.webkillerai.core.scanner.ActiveScanRunner;
+import com.webkillerai.core.scanner.BodySignatures;
 
 import java.net.URI;
 import java.net.URLEncoder;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -22,60 +26,72 @@ import java.util.Objects;
 import java.util.regex.Pattern;
 import java.util.HashSet;                    // ← added
 import java.util.Set;                        // ← added
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Read-only ProbeEngine:
  * - GET/HEAD/OPTIONS 전송 헬퍼
- * - 리다이렉트 추적용/비추적용 HttpClient를 분리 (getNoRedirect 등은 절대 따라가지 않음)
+ * - 리다이렉트 추적용/비추적용 클라이언트는 HttpTransport 것을 공유 (getNoRedirect 등은 절대 따라가지 않음)
  * - Evidence 유틸(requestLine/snippetAround/maskSensitive)
+ * - PageStore가 주입되면 페이지 단위 검사는 저장된 본문을 재사용(추가 GET 없음)
+ * - HostBackoff가 주입되면 호스트 정지 창이 끝날 때까지 기다렸다 보내고, 429/503은 창을 연장
+ * - 본문은 http.maxBodyBytes 상한으로 스트리밍 수신, getUntil은 시그니처가 보이면 그 자리에서 수신 중단
  */
 public final class ProbeEngine {
 
-    private final HttpClient client;            // cfg에 따라 follow 여부 결정
-    private final HttpClient clientNoRedirect;  // 항상 Redirect.NEVER
-    private final Duration timeout;
+    private final HttpTransport transport;      // client: cfg에 따라 follow / noRedirect: 항상 Redirect.NEVER
+    private final PageStore pages;              // null 허용
+    private final HostBackoff backoff;          // null 허용
 
     public ProbeEngine(ScanConfig cfg) {
-        Objects.requireNonNull(cfg, "cfg");
-        this.timeout = Duration.ofMillis(Math.max(1, cfg.getTimeoutMs()));
+        this(cfg, null);
+    }
+
+    public ProbeEngine(ScanConfig cfg, PageStore pages) {
+        this(cfg, pages, null);
+    }
 
-        this.client = HttpClient.newBuilder()
-                .followRedirects(cfg.isFollowRedirects()
-                        ? HttpClient.Redirect.NORMAL
-                        : HttpClient.Redirect.NEVER)
-                .connectTimeout(timeout)
-                .build();
+    public ProbeEngine(ScanConfig cfg, PageStore pages, HostBackoff backoff) {
+        this(cfg, pages, backoff, new HttpTransport(Objects.requireNonNull(cfg, "cfg")));
+    }
 
-        this.clientNoRedirect = HttpClient.newBuilder()
-                .followRedirects(HttpClient.Redirect.NEVER)
-                .connectTimeout(timeout)
-                .build();
+    /** 공용 전송 계층 주입(분석기/크롤러와 연결 풀 공유) */
+    public ProbeEngine(ScanConfig cfg, PageStore pages, HostBackoff backoff, HttpTransport transport) {
+        Objects.requireNonNull(cfg, "cfg");
+        this.pages = pages;
+        this.backoff = backoff;
+        this.transport = Objects.requireNonNull(transport, "transport");
     }
 
     // ============ 기본(설정 준수) 전송 ============
     public HttpResponse<String> get(URI url, Map<String, String> headers) throws Exception {
-        return send(client, "GET", url, safe(headers));
+        return send(true, "GET", url, safe(headers));
     }
 
     public HttpResponse<String> head(URI url, Map<String, String> headers) throws Exception {
-        return send(client, "HEAD", url, safe(headers));
+        return send(true, "HEAD", url, safe(headers));
     }
 
     public HttpResponse<String> options(URI url, Map<String, String> headers) throws Exception {
-        return send(client, "OPTIONS", url, safe(headers));
+        return send(true, "OPTIONS", url, safe(headers));
+    }
+
+    /** 시그니처(markers) 중 하나가 보이면 증거 스니펫 분량만 더 읽고 수신을 끊는 GET */
+    public HttpResponse<String> getUntil(URI url, Map<String, String> headers, Collection<String> markers) throws Exception {
+        return send(true, "GET", url, safe(headers), markers);
     }
 
     // ============ 리다이렉트 비추적 전송 ============
     public HttpResponse<String> getNoRedirect(URI url, Map<String, String> headers) throws Exception {
-        return send(clientNoRedirect, "GET", url, safe(headers));
+        return send(false, "GET", url, safe(headers));
     }
 
     public HttpResponse<String> headNoRedirect(URI url, Map<String, String> headers) throws Exception {
-        return send(clientNoRedirect, "HEAD", url, safe(headers));
+        return send(false, "HEAD", url, safe(headers));
     }
 
     public HttpResponse<String> optionsNoRedirect(URI url, Map<String, String> headers) throws Exception {
-        return send(clientNoRedirect, "OPTIONS", url, safe(headers));
+        return send(false, "OPTIONS", url, safe(headers));
     }
 
     // ============ CORS 프리플라이트 ============
@@ -87,24 +103,94 @@ public final class ProbeEngine {
         return options(url, h);
     }
 
+    // ============ 비동기 전송(sendAsync: 스레드 점유 없음) ============
+    public CompletableFuture<HttpResponse<String>> getAsync(URI url, Map<String, String> headers) {
+        return sendAsync(true, "GET", url, safe(headers));
+    }
+
+    public CompletableFuture<HttpResponse<String>> getNoRedirectAsync(URI url, Map<String, String> headers) {
+        return sendAsync(false, "GET", url, safe(headers));
+    }
+
+    public CompletableFuture<HttpResponse<String>> getUntilAsync(URI url, Map<String, String> headers, Collection<String> markers) {
+        return sendAsync(true, "GET", url, safe(headers), markers);
+    }
+
+    // ============ 페이지 본문(공유 저장소 우선) ============
+    /** 저장된 응답 본문이 있으면 재사용, 없으면 GET. 페이지 단위(PAGE/Mixed) 검사용 */
+    public String pageBody(URI url, Map<String, String> headers) throws Exception {
+        if (pages != null) {
+            HttpResponseData p = pages.get(url);
+            if (p != null) return p.getBody();
+        }
+        HttpResponse<String> r = get(url, headers);
+        return (r.body() == null ? "" : r.body());
+    }
+
+    /** pageBody의 비동기 버전 */
+    public CompletableFuture<String> pageBodyAsync(URI url, Map<String, String> headers) {
+        if (pages != null) {
+            HttpResponseData p = pages.get(url);
+            if (p != null) return CompletableFuture.completedFuture(p.getBody());
+        }
+        return getAsync(url, headers).thenApply(r -> (r.body() == null ? "" : r.body()));
+    }
+
     // ============ 내부 공통 ============
     private static Map<String, String> safe(Map<String, String> h) {
         return (h == null) ? Collections.emptyMap() : h;
     }
 
-    private HttpResponse<String> send(HttpClient hc, String method, URI url, Map<String, String> headers) throws Exception {
-        HttpRequest.Builder b = HttpRequest.newBuilder(url)
-                .timeout(timeout)
-                .method(method, HttpRequest.BodyPublishers.noBody());
+    private HttpResponse<String> send(boolean follow, String method, URI url, Map<String, String> headers) throws Exception {
+        return send(follow, method, url, headers, null);
+    }
+
+    private HttpResponse<String> send(boolean follow, String method, URI url, Map<String, String> headers,
+                                      Collection<String> markers) throws Exception {
+        if (backoff != null) backoff.await(url);
+        return throttled(url, transport.send(buildRequest(method, url, headers),
+                transport.bodyHandler(markers).asString(), follow));
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendAsync(boolean follow, String method, URI url, Map<String, String> headers) {
+        return sendAsync(follow, method, url, headers, null);
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendAsync(boolean follow, String method, URI url, Map<String, String> headers,
+                                                              Collection<String> markers) {
+        if (backoff != null && backoff.remainingNanos(url) > 0) {
+            return backoff.awaitAsync(url).thenCompose(v -> sendNowAsync(follow, method, url, headers, markers));
+        }
+        return sendNowAsync(follow, method, url, headers, markers);
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendNowAsync(boolean follow, String method, URI url, Map<String, String> headers,
+                                                                 Collection<String> markers) {
+        try {
+            return transport.sendAsync(buildRequest(method, url, headers),
+                            transport.bodyHandler(markers).asString(), follow)
+                    .thenApply(r -> throttled(url, r));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** 429/503이면 호스트 정지 창 연장 */
+    private HttpResponse<String> throttled(URI url, HttpResponse<String> r) {
+        if (backoff != null && r != null) backoff.onResponse(url, r.statusCode(), r.headers().map());
+        return r;
+    }
 
-        // 합리적 기본 Accept (케이스 무시)
-        boolean hasAccept = headers != null && headers.keySet().stream().anyMatch(k -> k.equalsIgnoreCase("Accept"));
+    private HttpRequest buildRequest(String method, URI url, Map<String, String> headers) {
+        // 합리적 기본 Accept (케이스 무시, scan.yml http.headers에 있으면 그 값)
+        boolean hasAccept = (headers != null && headers.keySet().stream().anyMatch(k -> k.equalsIgnoreCase("Accept")))
+                || transport.defaultHeaders().keySet().stream().anyMatch(k -> k.equalsIgnoreCase("Accept"));
+        HttpRequest.Builder b = transport.request(url, headers)
+                .method(method, HttpRequest.BodyPublishers.noBody());
         if (!hasAccept) {
             b.header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
         }
-        if (headers != null) headers.forEach(b::header);
-
-        return hc.send(b.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        return b.build();
     }
 
     // ============ Evidence helpers ============
@@ -173,18 +259,7 @@ public final class ProbeEngine {
                     case HEADER -> execHeader(url, p);
                     case PAGE  -> execPage(url, p);
                 };
-
-                if (p.kind == ActiveScanRunner.ProbePlan.Kind.HEADER) {
-                    // 현재는 CORS만 해당. 같은 IssueType은 한 번만 채택.
-                    for (VulnResult vr : r) {
-                        IssueType it = vr.getIssueType();
-                        if (headerTypesReported.add(it)) {
-                            out.add(vr);
-                        }
-                    }
-                } else {
-                    out.addAll(r);
-                }
+                merge(out, headerTypesReported, p, r);
             } catch (Throwable ignore) {
                 // plan 단위 실패는 무시
             }
@@ -192,15 +267,92 @@ public final class ProbeEngine {
         return out;
     }
 
+    /**
+     * executePlanned의 비동기 버전: 계획을 순서대로 sendAsync 체인으로 실행(스레드 점유 없음).
+     * URL 단위 요청 간격/중복 억제 규칙은 동기 버전과 동일.
+     */
+    public CompletableFuture<List<VulnResult>> executePlannedAsync(ScanConfig cfg, URI url,
+                                                                   List<ActiveScanRunner.ProbePlan> plans) {
+        if (plans == null || plans.isEmpty()) return CompletableFuture.completedFuture(List.of());
+        List<VulnResult> out = new ArrayList<>();
+        Set<IssueType> headerTypesReported = new HashSet<>();
+
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (ActiveScanRunner.ProbePlan p : plans) {
+            chain = chain.thenCompose(v -> {
+                // plan 단위 실패는 무시(요청 구성 중 동기 예외도 체인을 끊지 않게)
+                CompletableFuture<List<VulnResult>> step;
+                try {
+                    step = switch (p.kind) {
+                        case PARAM -> execParamAsync(url, p);
+                        case HEADER -> execHeaderAsync(url, p);
+                        case PAGE  -> execPageAsync(url, p);
+                    };
+                } catch (Throwable t) {
+                    step = CompletableFuture.completedFuture(null);
+                }
+                return step.handle((r, ex) -> {
+                    if (ex == null && r != null) merge(out, headerTypesReported, p, r);
+                    return null;
+                });
+            });
+        }
+        return chain.thenApply(v -> out);
+    }
+
+    private static void merge(List<VulnResult> out, Set<IssueType> headerTypesReported,
+                              ActiveScanRunner.ProbePlan p, List<VulnResult> r) {
+        if (p.kind == ActiveScanRunner.ProbePlan.Kind.HEADER) {
+            // 현재는 CORS만 해당. 같은 IssueType은 한 번만 채택.
+            for (VulnResult vr : r) {
+                IssueType it = vr.getIssueType();
+                if (headerTypesReported.add(it)) {
+                    out.add(vr);
+                }
+            }
+        } else {
+            out.addAll(r);
+        }
+    }
+
     // ----- PARAM probes ------------------------------------------------------
 
     private List<VulnResult> execParam(URI baseUrl, ActiveScanRunner.ProbePlan p) throws Exception {
-        List<VulnResult> out = new ArrayList<>();
+        URI u = paramTarget(baseUrl, p);
+        HttpResponse<String> r = "OPEN_REDIRECT".equals(p.issueKey)
+                ? getNoRedirect(u, Map.of())
+                : getUntil(u, Map.of(), stopMarkers(p.issueKey));
+        return evalParam(baseUrl, u, p, r);
+    }
+
+    private CompletableFuture<List<VulnResult>> execParamAsync(URI baseUrl, ActiveScanRunner.ProbePlan p) {
+        URI u = paramTarget(baseUrl, p);
+        var f = "OPEN_REDIRECT".equals(p.issueKey)
+                ? getNoRedirectAsync(u, Map.of())
+                : getUntilAsync(u, Map.of(), stopMarkers(p.issueKey));
+        return f.thenApply(r -> evalParam(baseUrl, u, p, r));
+    }
+
+    /** 판정 시그니처가 보이면 본문을 더 받을 필요가 없는 검사(SQLi는 대소문자 무시 매칭이라 제외) */
+    private static List<String> stopMarkers(String issueKey) {
+        if (issueKey == null) return null;
+        return switch (issueKey) {
+            case "PATH_TRAVERSAL" -> LFI_SIGNS;
+            case "SSTI_PATTERN", "SSTI" -> SSTI_SIGNS;
+            default -> null;
+        };
+    }
+
+    private static URI paramTarget(URI baseUrl, ActiveScanRunner.ProbePlan p) {
         String key = "-".equals(p.paramKey) ? "q" : p.paramKey; // 기본 키 보정
-        URI u = withParam(baseUrl, key, p.payload);
+        return withParam(baseUrl, key, p.payload);
+    }
+
+    /** PARAM 응답 판정(OR은 no-redirect 응답, 그 외는 본문) */
+    private static List<VulnResult> evalParam(URI baseUrl, URI u, ActiveScanRunner.ProbePlan p, HttpResponse<String> r) {
+        List<VulnResult> out = new ArrayList<>();
 
         if ("OPEN_REDIRECT".equals(p.issueKey)) {
-            HttpResponse<String> r = getNoRedirect(u, Map.of());
             int sc = r.statusCode();
             var locOpt = r.headers().firstValue("Location");
             if (sc / 100 == 3 && locOpt.isPresent()) {
@@ -227,7 +379,6 @@ public final class ProbeEngine {
             return out;
         }
 
-        HttpResponse<String> r = get(u, Map.of());
         String body = (r.body() == null ? "" : r.body());
 
         if ("XSS_REFLECTED".equals(p.issueKey)) {
@@ -311,14 +462,26 @@ public final class ProbeEngine {
     // ----- HEADER probes (CORS) ---------------------------------------------
 
     private List<VulnResult> execHeader(URI url, ActiveScanRunner.ProbePlan p) throws Exception {
+        Map<String,String> headers = headerPayload(p);
+        return evalHeader(url, headers, get(url, headers));
+    }
+
+    private CompletableFuture<List<VulnResult>> execHeaderAsync(URI url, ActiveScanRunner.ProbePlan p) {
+        Map<String,String> headers = headerPayload(p);
+        return getAsync(url, headers).thenApply(r -> evalHeader(url, headers, r));
+    }
+
+    private static Map<String,String> headerPayload(ActiveScanRunner.ProbePlan p) {
         Map<String,String> headers = new java.util.LinkedHashMap<>();
         // p.payload 예: "Origin:https://evil.example"
         String[] hv = p.payload.split(":", 2);
         if (hv.length == 2) {
             headers.put(hv[0].trim(), hv[1].trim());
         }
+        return headers;
+    }
 
-        HttpResponse<String> r = get(url, headers);
+    private static List<VulnResult> evalHeader(URI url, Map<String,String> headers, HttpResponse<String> r) {
         String acao = r.headers().firstValue("Access-Control-Allow-Origin").orElse(null);
         String acac = r.headers().firstValue("Access-Control-Allow-Credentials").orElse(null);
 
@@ -365,9 +528,15 @@ public final class ProbeEngine {
     private List<VulnResult> execPage(URI url, ActiveScanRunner.ProbePlan p) throws Exception {
         if (!"https".equalsIgnoreCase(url.getScheme())) return List.of();
 
-        HttpResponse<String> r = get(url, Map.of());
-        String body = (r.body() == null ? "" : r.body());
+        return evalPage(url, pageBody(url, Map.of()));
+    }
 
+    private CompletableFuture<List<VulnResult>> execPageAsync(URI url, ActiveScanRunner.ProbePlan p) {
+        if (!"https".equalsIgnoreCase(url.getScheme())) return CompletableFuture.completedFuture(List.of());
+        return pageBodyAsync(url, Map.of()).thenApply(body -> evalPage(url, body));
+    }
+
+    private static List<VulnResult> evalPage(URI url, String body) {
         int idx = indexOfHttpResource(body);
         if (idx >= 0) {
             String token = "http://";
@@ -399,43 +568,23 @@ public final class ProbeEngine {
         return -1;
     }
 
+    /** 시그니처 매칭은 BodySignatures 공용 자동자 1회 순회(소문자 사본 없음), 선언 순 우선 */
     private static String findSqlError(String body) {
         if (body == null) return null;
-        String[] sigs = {
-                "you have an error in your sql syntax",
-                "unclosed quotation mark after the character string",
-                "sqlstate",
-                "syntax error near",
-                "warning: mysql",
-                "ORA-0",
-                "SQLiteException",
-                "PG::SyntaxError",
-                "mysql_fetch_",
-                "System.Data.SqlClient",
-                "org.hibernate.exception",
-                "MySqlException"
-        };
-        String lower = body.toLowerCase();
-        for (String s : sigs) if (lower.contains(s)) return s;
-        return null;
+        return BodySignatures.scan(body, BodySignatures.Group.SQL_ERROR).first(BodySignatures.Group.SQL_ERROR);
     }
 
+    private static final List<String> LFI_SIGNS = BodySignatures.Group.LFI.literals();
+    private static final List<String> SSTI_SIGNS = BodySignatures.Group.SSTI.literals();
+
     private static String findLfiSignature(String body) {
         if (body == null) return null;
-        if (body.contains("root:x:")) return "root:x:";
-        if (body.contains("[fonts]")) return "[fonts]"; // win.ini 힌트
-        return null;
+        return BodySignatures.scan(body, BodySignatures.Group.LFI).first(BodySignatures.Group.LFI);
     }
 
     private static String findSstiSignal(String body) {
         if (body == null) return null;
-        if (body.contains("49WKAI")) return "49WKAI";
-        String[] errs = {
-                "TemplateSyntaxError", "Jinja2", "Thymeleaf", "Freemarker",
-                "VelocityException", "MustacheException", "PebbleException"
-        };
-        for (String e : errs) if (body.contains(e)) return e;
-        return null;
+        return BodySignatures.scan(body, BodySignatures.Group.SSTI).first(BodySignatures.Group.SSTI);
     }
 
     private static URI withParam(URI url, String key, String value) {
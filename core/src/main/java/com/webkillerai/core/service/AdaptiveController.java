@@ -0,0 +1,143 @@
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.util.RateLimiter;
+import com.webkillerai.core.util.StructuredLog;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 호스트 1개의 AIMD(가산 증가/승산 감소) 제어기.
+ * - 입력: 시도별 결과(status, 지연). -1/5xx 비율, 429 여부, 지연 EWMA를 windowMs 주기로 집계
+ * - 건강: rps/동시성 +1 (상한까지) / 스트레스: decreaseFactor배 (하한까지)
+ * - 스트레스 판정: 429가 하나라도 있음 → "429", 오류율 ≥ errorRate → "errors",
+ *   지연 EWMA ≥ 기준 × latencyFactor → "latency" (기준 = 건강했던 주기의 최저 EWMA)
+ * - 값이 바뀐 결정만 StructuredLog("adaptive")로 남기고 sink(보고서 runtime.adaptive)로 넘김
+ */
+public final class AdaptiveController {
+
+    /** 제어 결정 1건(보고서 runtime.adaptive 배열 원소) */
+    public record Decision(String at, String host, String action, String reason,
+                           int rps, int concurrency, int samples, double errorRate, long latencyEwmaMs) {}
+
+    private static final StructuredLog SLOG = StructuredLog.get(AdaptiveController.class);
+
+    /** 지연 EWMA 가중치(최근 표본 비중) */
+    private static final double ALPHA = 0.2;
+
+    private final String host;
+    private final ScanConfig.AdaptiveCfg cfg;
+    private final RateLimiter limiter;
+    private final HostScheduler.HostSlots slots;
+    private final Consumer<Decision> sink;
+    private final LongSupplier clockMs;
+
+    private final int minRps, maxRps, minCc, maxCc;
+
+    // ---- 아래는 this 모니터 보호 ----
+    private int rps;
+    private int cc;
+    private long windowStart;
+    private int samples, errors, throttled;
+    private double ewmaMs = -1;
+    private double baselineMs = -1;
+
+    /**
+     * @param startRps 호스트 시작 rps(전역 또는 hosts.<host>.rps)
+     * @param startCc  호스트 시작 동시성(concurrency 또는 http.maxInFlight)
+     */
+    AdaptiveController(String host, ScanConfig.AdaptiveCfg cfg, RateLimiter limiter, HostScheduler.HostSlots slots,
+                       int startRps, int startCc, Consumer<Decision> sink, LongSupplier clockMs) {
+        this.host = host;
+        this.cfg = cfg;
+        this.limiter = limiter;
+        this.slots = slots;
+        this.sink = sink;
+        this.clockMs = clockMs;
+
+        this.minRps = cfg.getMinRps();
+        this.maxRps = Math.max(minRps, cfg.getMaxRps() > 0 ? cfg.getMaxRps() : startRps * 2);
+        this.minCc = cfg.getMinConcurrency();
+        this.maxCc = Math.max(minCc, cfg.getMaxConcurrency() > 0 ? cfg.getMaxConcurrency() : startCc);
+
+        this.rps = clamp(startRps, minRps, maxRps);
+        this.cc = clamp(startCc, minCc, maxCc);
+        this.windowStart = clockMs.getAsLong();
+        limiter.setRate(rps, rps);
+        slots.resize(cc);
+    }
+
+    public synchronized int rps() { return rps; }
+    public synchronized int concurrency() { return cc; }
+
+    /**
+     * 시도 1건 반영. 주기가 끝났으면 판단해 값이 바뀐 경우 그 결정을, 아니면 null.
+     * (429는 최소 표본 수를 기다리지 않고 주기 끝에서 바로 감속)
+     */
+    public synchronized Decision observe(int status, long latencyMs) {
+        samples++;
+        if (status == 429) throttled++;
+        else if (status < 0 || status >= 500) errors++;
+        if (latencyMs >= 0) ewmaMs = (ewmaMs < 0) ? latencyMs : ALPHA * latencyMs + (1 - ALPHA) * ewmaMs;
+
+        long now = clockMs.getAsLong();
+        if (now - windowStart < cfg.getWindowMs()) return null;
+        if (samples < cfg.getMinSamples() && throttled == 0) return null;
+        return decide(now);
+    }
+
+    private Decision decide(long now) {
+        int n = samples;
+        double errRate = (double) errors / n;
+
+        String reason = null;
+        if (throttled > 0) reason = "429";
+        else if (errRate >= cfg.getErrorRate()) reason = "errors";
+        else if (baselineMs > 0 && ewmaMs >= baselineMs * cfg.getLatencyFactor()) reason = "latency";
+
+        int nextRps, nextCc;
+        String action;
+        if (reason != null) {
+            action = "decrease";
+            nextRps = Math.max(minRps, (int) Math.floor(rps * cfg.getDecreaseFactor()));
+            nextCc = Math.max(minCc, (int) Math.floor(cc * cfg.getDecreaseFactor()));
+        } else {
+            action = "increase";
+            reason = "healthy";
+            baselineMs = (baselineMs < 0) ? ewmaMs : Math.min(baselineMs, ewmaMs);
+            nextRps = Math.min(maxRps, rps + 1);
+            nextCc = Math.min(maxCc, cc + 1);
+        }
+
+        // 다음 주기
+        windowStart = now;
+        samples = errors = throttled = 0;
+
+        if (nextRps == rps && nextCc == cc) return null; // 경계에 붙어 있으면 유지(기록 안 함)
+        rps = nextRps;
+        cc = nextCc;
+        limiter.setRate(rps, rps);
+        slots.resize(cc);
+
+        long ewma = Math.round(Math.max(0, ewmaMs));
+        Decision d = new Decision(Instant.ofEpochMilli(System.currentTimeMillis()).toString(),
+                host, action, reason, rps, cc, n, errRate, ewma);
+        SLOG.info("adaptive",
+                "host", host,
+                "action", action,
+                "reason", reason,
+                "rps", rps,
+                "concurrency", cc,
+                "samples", n,
+                "errorRate", errRate,
+                "latencyEwmaMs", ewma);
+        if (sink != null) sink.accept(d);
+        return d;
+    }
+
+    private static int clamp(int v, int lo, int hi) {
+        return Math.max(lo, Math.min(hi, v));
+    }
+}
@@ -0,0 +1,339 @@
+// core/src/main/java/com/webkillerai/core/service/HostScheduler.java
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.http.HostBackoff;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.util.RateLimiter;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 호스트 단위 스케줄러:
+ * - 호스트마다 패시브/액티브 토큰버킷(기본: rps / 액티브 게이트 rps, scan.yml hosts.<host>로 오버라이드)
+ * - 액티브 프로브 동시 진행 수도 호스트별 상한(activeConcurrency)
+ * - offer()로 받은 URL을 호스트별 FIFO에 두고, take()는 "지금 허가 가능한" 호스트를 라운드로빈으로 고른다
+ *   → 느리거나 빡빡한 호스트가 큐를 채워도 다른 호스트의 차례를 막지 않음
+ * - adaptive.enabled면 호스트마다 AdaptiveController가 패시브 rps와 패시브 동시성 슬롯을 조절
+ * - HostBackoff 정지 창(429/503) 안의 호스트는 take()가 건너뛴다(토큰도 쓰지 않음)
+ * - 비동기 경로는 호스트마다 한 URL씩 차례로 허가를 예약 → 대기 URL이 많아도 미리 잡힌 허가/타이머가 쌓이지 않음
+ */
+final class HostScheduler {
+
+    /** 허가 가능한 호스트가 없을 때 한 번에 자는 최대 시간(새 offer/취소 반영 주기) */
+    private static final long MAX_PARK_NS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /** 적응형 결정 이력 보관 상한(오래된 것부터 버림) */
+    private static final int MAX_HISTORY = 512;
+
+    private final ScanConfig config;
+    private final int activeRps;
+    private final int activeConcurrency;
+    private final HostBackoff backoff;   // null이면 정지 창 무시
+
+    private final ConcurrentHashMap<String, Host> hosts = new ConcurrentHashMap<>();
+    private final ArrayDeque<Host> ring = new ArrayDeque<>();   // 대기 URL이 있는 호스트(라운드로빈 순서)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition offered = lock.newCondition();
+    private final ArrayDeque<AdaptiveController.Decision> history = new ArrayDeque<>(); // synchronized(history)
+
+    /**
+     * @param activeRps         호스트별 액티브 RPS 기본값(0이면 액티브 리미터 없음)
+     * @param activeConcurrency 호스트별 액티브 동시 진행 기본값(>=1)
+     */
+    HostScheduler(ScanConfig config, int activeRps, int activeConcurrency) {
+        this(config, activeRps, activeConcurrency, null);
+    }
+
+    /** @param backoff 호스트 정지 창(null이면 무시) */
+    HostScheduler(ScanConfig config, int activeRps, int activeConcurrency, HostBackoff backoff) {
+        this.config = config;
+        this.activeRps = Math.max(0, activeRps);
+        this.activeConcurrency = Math.max(1, activeConcurrency);
+        this.backoff = backoff;
+    }
+
+    /** 호스트별 상태(리미터/액티브 슬롯/대기열/적응형 제어) */
+    static final class Host {
+        final String name;
+        final RateLimiter passive;
+        final RateLimiter active;      // null이면 액티브 RPS 제한 없음
+        final HostSlots activeSlots;
+        final HostSlots passiveSlots;  // null이면 패시브 동시성은 워커 수에만 의존(적응형 꺼짐)
+        final HostSlots turn = new HostSlots(1); // 비동기 경로의 허가 예약 차례(호스트당 1건, FIFO)
+        final AdaptiveController adaptive;
+        final ArrayDeque<URI> queue = new ArrayDeque<>();  // lock 보호
+
+        Host(String name, int rps, int activeRps, int activeConcurrency,
+             ScanConfig.AdaptiveCfg ac, int startCc, Consumer<AdaptiveController.Decision> sink) {
+            this.name = name;
+            this.passive = new RateLimiter(rps, rps);
+            this.active = activeRps > 0 ? new RateLimiter(activeRps, activeRps) : null;
+            this.activeSlots = new HostSlots(activeConcurrency);
+            if (ac != null && ac.isEnabled()) {
+                this.passiveSlots = new HostSlots(startCc);
+                this.adaptive = new AdaptiveController(name, ac, passive, passiveSlots, rps, startCc,
+                        sink, System::currentTimeMillis);
+            } else {
+                this.passiveSlots = null;
+                this.adaptive = null;
+            }
+        }
+    }
+
+    static String hostOf(URI u) {
+        return (u == null || u.getHost() == null) ? "" : u.getHost().toLowerCase(Locale.ROOT);
+    }
+
+    Host host(URI u) {
+        return hosts.computeIfAbsent(hostOf(u), this::newHost);
+    }
+
+    private Host newHost(String name) {
+        ScanConfig.HostCfg hc = config.hostCfg(name);
+        int rps  = (hc != null && hc.getRps() > 0) ? hc.getRps() : config.getRps();
+        int arps = (hc != null && hc.getActiveRps() > 0) ? hc.getActiveRps() : activeRps;
+        int acc  = (hc != null && hc.getActiveConcurrency() > 0) ? hc.getActiveConcurrency() : activeConcurrency;
+        int startCc = config.getHttp().isAsync() ? config.getHttp().getMaxInFlight() : config.getConcurrency();
+        return new Host(name, Math.max(1, rps), arps, acc, config.getAdaptive(), startCc, this::record);
+    }
+
+    int hostCount() { return hosts.size(); }
+
+    /* =========================
+       적응형 제어(AIMD)
+       ========================= */
+
+    /** 시도 1건의 결과를 해당 호스트 제어기에 반영(적응형 꺼져 있으면 무시) */
+    void observe(URI u, int status, long latencyMs) {
+        AdaptiveController c = host(u).adaptive;
+        if (c != null) c.observe(status, latencyMs);
+    }
+
+    private void record(AdaptiveController.Decision d) {
+        synchronized (history) {
+            if (history.size() >= MAX_HISTORY) history.pollFirst();
+            history.addLast(d);
+        }
+    }
+
+    /** 지금까지의 적응형 결정(시간순, 최근 MAX_HISTORY건) */
+    List<AdaptiveController.Decision> adaptiveHistory() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    /* =========================
+       패시브: 라운드로빈 디스패치
+       ========================= */
+
+    /** URL을 해당 호스트 대기열에 추가 */
+    void offer(URI u) {
+        Host h = host(u);
+        lock.lock();
+        try {
+            if (h.queue.isEmpty()) ring.addLast(h);
+            h.queue.addLast(u);
+            offered.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다음 URL: 라운드로빈으로 호스트를 돌며 허가 가능한 첫 호스트의 맨 앞 URL을 꺼낸다.
+     * - free(u)가 true면(이미 받은 페이지 등) 허가 없이 바로 내준다
+     * - 적응형 패시브 슬롯이 가득 찬 호스트, 정지 창(429/503) 안의 호스트는 건너뛴다
+     * - 모든 호스트가 대기 중이면 가장 빠른 허가 시각까지(최대 50ms씩) 잠든다
+     * - 대기 URL이 하나도 없으면 offer될 때까지 대기, timeoutNs 경과 시 null(<0이면 무기한)
+     */
+    URI take(Predicate<URI> free, long timeoutNs) throws InterruptedException {
+        final boolean bounded = timeoutNs >= 0;
+        final long deadline = bounded ? System.nanoTime() + timeoutNs : 0L;
+        lock.lockInterruptibly();
+        try {
+            for (;;) {
+                long minWait = Long.MAX_VALUE;
+                for (int i = 0, n = ring.size(); i < n; i++) {
+                    Host h = ring.pollFirst();
+                    URI head = h.queue.peekFirst();
+                    if (head == null) continue;                        // 빈 호스트는 링에서 제외
+                    boolean isFree = free != null && free.test(head);
+                    if (!isFree && h.passiveSlots != null && h.passiveSlots.available() <= 0) {
+                        ring.addLast(h);
+                        minWait = Math.min(minWait, MAX_PARK_NS);
+                        continue;
+                    }
+                    long paused = (!isFree && backoff != null) ? backoff.remainingNanos(head) : 0L;
+                    if (paused > 0) {
+                        ring.addLast(h);
+                        minWait = Math.min(minWait, paused);
+                        continue;
+                    }
+                    if (isFree || h.passive.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                        h.queue.pollFirst();
+                        if (!h.queue.isEmpty()) ring.addLast(h);       // 다음 차례는 뒤로
+                        return head;
+                    }
+                    ring.addLast(h);
+                    minWait = Math.min(minWait, h.passive.nanosUntilPermit());
+                }
+                long left = bounded ? deadline - System.nanoTime() : Long.MAX_VALUE;
+                if (left <= 0) return null;
+                long park = (minWait == Long.MAX_VALUE) ? left : Math.max(1L, Math.min(minWait, MAX_PARK_NS));
+                offered.awaitNanos(Math.min(park, left));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 호스트별 패시브 리미터 */
+    RateLimiter passive(URI u) { return host(u).passive; }
+
+    /** 적응형 패시브 슬롯(블로킹, take() 이후 실제 요청 직전). 반환 후 반드시 releasePassive */
+    void acquirePassive(URI u) throws InterruptedException {
+        HostSlots s = host(u).passiveSlots;
+        if (s != null) s.acquire();
+    }
+
+    /**
+     * 비동기 경로: 호스트 차례 → (적응형이면) 패시브 슬롯 → 정지 창 대기 → 패시브 RPS 타이머 → dispatch 슬롯 → 차례 반납.
+     * 허가는 차례가 온 URL 하나만 예약하므로 TAT가 미리 밀리지 않고 setRate/정지 창이 다음 URL부터 바로 반영된다.
+     * 차례는 dispatch(전역 in-flight) 슬롯까지 잡은 뒤 넘김 → 창이 찬 동안 허가가 쌓였다 한꺼번에 나가지 않음.
+     * 완료 후 반드시 releasePassive + dispatch.release
+     */
+    CompletableFuture<Void> acquirePassiveAsync(URI u, HostSlots dispatch) {
+        Host h = host(u);
+        CompletableFuture<Void> f = h.turn.acquireAsync();
+        if (h.passiveSlots != null) f = f.thenCompose(v -> h.passiveSlots.acquireAsync());
+        return f.thenCompose(v -> awaitBackoff(u))
+                .thenCompose(v -> h.passive.acquireAsync())
+                .thenCompose(v -> dispatch.acquireAsync())
+                .whenComplete((v, ex) -> h.turn.release());
+    }
+
+    /** 정지 창(429/503)이 끝날 때까지 타이머로 대기(연장되면 다시 대기). 스레드 점유 없음 */
+    private CompletableFuture<Void> awaitBackoff(URI u) {
+        long left = (backoff != null) ? backoff.remainingNanos(u) : 0L;
+        if (left <= 0) return CompletableFuture.completedFuture(null);
+        CompletableFuture<Void> f = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(left, TimeUnit.NANOSECONDS, Runnable::run).execute(() -> f.complete(null));
+        return f.thenCompose(v -> awaitBackoff(u));
+    }
+
+    void releasePassive(URI u) {
+        HostSlots s = host(u).passiveSlots;
+        if (s == null) return;
+        s.release();
+        lock.lock();
+        try {
+            offered.signalAll(); // 슬롯 때문에 건너뛴 호스트를 다시 보도록
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* =========================
+       액티브: 호스트별 RPS + 동시성
+       ========================= */
+
+    /** 액티브 슬롯 + 액티브 RPS(블로킹). 반환 후 반드시 releaseActive */
+    void acquireActive(URI u) throws InterruptedException {
+        Host h = host(u);
+        h.activeSlots.acquire();
+        try {
+            if (h.active != null) h.active.acquire();
+        } catch (InterruptedException ie) {
+            h.activeSlots.release();
+            throw ie;
+        }
+    }
+
+    /** 비동기 버전: 슬롯이 나면 → 액티브 RPS 타이머 → 완료 */
+    CompletableFuture<Void> acquireActiveAsync(URI u) {
+        Host h = host(u);
+        return h.activeSlots.acquireAsync()
+                .thenCompose(v -> h.active != null ? h.active.acquireAsync() : CompletableFuture.completedFuture(null));
+    }
+
+    void releaseActive(URI u) {
+        host(u).activeSlots.release();
+    }
+
+    /**
+     * 호스트별 동시성 슬롯(블로킹/비동기 겸용).
+     * 비동기 대기자는 FIFO로 쌓였다가 release()한 스레드에서 완료된다.
+     * resize()로 상한을 바꿀 수 있으며, 줄인 경우 진행 중인 작업이 반납될 때까지 free가 음수일 수 있다.
+     */
+    static final class HostSlots {
+        private int permits;
+        private int free;
+        private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+
+        HostSlots(int permits) {
+            this.permits = Math.max(1, permits);
+            this.free = this.permits;
+        }
+
+        synchronized void acquire() throws InterruptedException {
+            while (free <= 0 || !waiters.isEmpty()) wait();
+            free--;
+        }
+
+        CompletableFuture<Void> acquireAsync() {
+            synchronized (this) {
+                if (free > 0 && waiters.isEmpty()) {
+                    free--;
+                    return CompletableFuture.completedFuture(null);
+                }
+                CompletableFuture<Void> f = new CompletableFuture<>();
+                waiters.addLast(f);
+                return f;
+            }
+        }
+
+        void release() {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                if (free < 0 || waiters.isEmpty()) {
+                    free++;
+                    notifyAll();
+                    return;
+                }
+                next = waiters.pollFirst();
+            }
+            next.complete(null); // 슬롯을 그대로 넘김(free 변화 없음)
+        }
+
+        /** 상한 변경: 늘어난 만큼 대기자를 깨우고, 줄어든 만큼은 반납 시 흡수 */
+        void resize(int newPermits) {
+            List<CompletableFuture<Void>> wake = new ArrayList<>();
+            synchronized (this) {
+                int n = Math.max(1, newPermits);
+                free += n - permits;
+                permits = n;
+                while (free > 0 && !waiters.isEmpty()) {
+                    free--;
+                    wake.add(waiters.pollFirst());
+                }
+                notifyAll();
+            }
+            for (CompletableFuture<Void> f : wake) f.complete(null);
+        }
+
+        synchronized int available() { return free; }
+        synchronized int permits() { return permits; }
+    }
+}
@@ -0,0 +1,128 @@
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.util.SimHash;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SimHash 지문 근사 중복 인덱스(다중 인덱스 해싱).
+ * - 64비트를 maxDistance+1개 블록으로 나눠 블록별 해시 테이블에 대표 지문을 등록
+ *   → 해밍 거리 ≤ maxDistance면 비둘기집 원리로 최소 한 블록이 같으므로 후보 조회가 완전함
+ * - 처음 본 지문이 클러스터 대표(전체 스캔), 이후 거리 이내 페이지는 그 클러스터 소속(근사 중복)
+ * - 클러스터별 액티브 프로브 할당량(대표 포함)
+ * - 클러스터 수 상한을 넘으면 새 지문은 등록하지 않음(중복 아님으로 처리)
+ * - assign()은 짧은 임계 구역(synchronized) — 지문 계산은 호출 스레드에서 미리
+ */
+public final class NearDupIndex {
+
+    /** 같은 템플릿으로 보이는 페이지 묶음 */
+    public static final class Cluster {
+        private final long fingerprint;
+        private final URI representative;
+        private final AtomicInteger pages = new AtomicInteger(1);
+        private final AtomicInteger activeUsed = new AtomicInteger();
+
+        Cluster(long fingerprint, URI representative) {
+            this.fingerprint = fingerprint;
+            this.representative = representative;
+        }
+
+        public long fingerprint() { return fingerprint; }
+        public URI representative() { return representative; }
+        public int pages() { return pages.get(); }
+        public int activeUsed() { return activeUsed.get(); }
+
+        /** 액티브 할당량 1건 확보(quota ≤ 0이면 무제한) */
+        public boolean tryAcquireActive(int quota) {
+            if (quota <= 0) {
+                activeUsed.incrementAndGet();
+                return true;
+            }
+            for (;;) {
+                int cur = activeUsed.get();
+                if (cur >= quota) return false;
+                if (activeUsed.compareAndSet(cur, cur + 1)) return true;
+            }
+        }
+
+        /** 확보 후 다른 예산에서 막혔을 때 되돌림 */
+        public void releaseActive() {
+            activeUsed.decrementAndGet();
+        }
+    }
+
+    /** assign 결과(cluster가 null이면 지문 없음/등록 불가) */
+    public record Match(Cluster cluster, boolean nearDuplicate, int distance) {
+        static final Match NONE = new Match(null, false, -1);
+    }
+
+    private final int maxDistance;
+    private final int maxClusters;
+    private final int[] shifts;
+    private final long[] masks;
+    private final List<Map<Long, List<Cluster>>> tables;
+    private int clusters;
+
+    /**
+     * @param maxDistance 근사 중복 해밍 거리(0..15)
+     * @param maxClusters 대표 지문 수 상한
+     */
+    public NearDupIndex(int maxDistance, int maxClusters) {
+        this.maxDistance = Math.max(0, Math.min(15, maxDistance));
+        this.maxClusters = Math.max(1, maxClusters);
+        int blocks = this.maxDistance + 1;
+        this.shifts = new int[blocks];
+        this.masks = new long[blocks];
+        this.tables = new ArrayList<>(blocks);
+        int bit = 0;
+        for (int b = 0; b < blocks; b++) {
+            int width = 64 / blocks + (b < 64 % blocks ? 1 : 0);
+            shifts[b] = bit;
+            masks[b] = (width == 64) ? -1L : (1L << width) - 1;
+            bit += width;
+            tables.add(new HashMap<>());
+        }
+    }
+
+    public int maxDistance() { return maxDistance; }
+
+    public synchronized int clusters() { return clusters; }
+
+    /** 가장 가까운 대표(거리 이내)에 배정하거나, 없으면 새 클러스터 대표로 등록 */
+    public synchronized Match assign(long fingerprint, URI url) {
+        if (fingerprint == SimHash.NONE) return Match.NONE;
+        Cluster best = null;
+        int bestD = Integer.MAX_VALUE;
+        for (int b = 0; b < shifts.length; b++) {
+            List<Cluster> bucket = tables.get(b).get(block(fingerprint, b));
+            if (bucket == null) continue;
+            for (Cluster c : bucket) {
+                int d = SimHash.distance(fingerprint, c.fingerprint);
+                if (d <= maxDistance && d < bestD) {
+                    best = c;
+                    bestD = d;
+                }
+            }
+        }
+        if (best != null) {
+            best.pages.incrementAndGet();
+            return new Match(best, true, bestD);
+        }
+        if (clusters >= maxClusters) return Match.NONE;
+        Cluster c = new Cluster(fingerprint, url);
+        for (int b = 0; b < shifts.length; b++) {
+            tables.get(b).computeIfAbsent(block(fingerprint, b), k -> new ArrayList<>(1)).add(c);
+        }
+        clusters++;
+        return new Match(c, false, 0);
+    }
+
+    private long block(long fp, int b) {
+        return (fp >>> shifts[b]) & masks[b];
+    }
+}
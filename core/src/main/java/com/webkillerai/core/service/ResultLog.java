@@ -0,0 +1,268 @@
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.model.IssueType;
+import com.webkillerai.core.model.Severity;
+import com.webkillerai.core.model.VulnResult;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 스캔 결과 NDJSON 로그(resultLog.enabled): VulnResult 1건 = 1줄, 추가 전용.
+ * - append()는 버퍼에만 쓰고 flushMs마다(및 close 시) 디스크로 → 비정상 종료 시 마지막 flush 이후만 유실
+ * - read()는 한 줄씩 파싱하는 스트림(호출마다 새로 열림, 닫아야 함) — 잘린 마지막 줄/손상 줄은 건너뜀
+ * - 필드: url, issueType, severity, confidence, riskScore, detectedAt, description, evidence, requestLine, evidenceSnippet
+ *   (null 필드는 생략)
+ */
+public final class ResultLog implements AutoCloseable {
+
+    private final Path file;
+    private final Object lock = new Object();
+    private final AtomicLong count = new AtomicLong();
+    private final ScheduledExecutorService flusher;
+    private BufferedWriter writer;
+
+    private ResultLog(Path file, BufferedWriter writer, long flushMs) {
+        this.file = file;
+        this.writer = writer;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "result-log-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** 새 로그(같은 이름이 있으면 비움) */
+    public static ResultLog open(Path file, long flushMs) throws IOException {
+        Objects.requireNonNull(file, "file");
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new ResultLog(file, w, Math.max(50L, flushMs));
+    }
+
+    /** 기존 로그를 keepBytes까지만 남기고 이어 씀(체크포인트 재개: 확정 길이 뒤의 미확정 줄은 버림) */
+    public static ResultLog reopen(Path file, long keepBytes, long flushMs) throws IOException {
+        Objects.requireNonNull(file, "file");
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (ch.size() > keepBytes) ch.truncate(Math.max(0L, keepBytes));
+        }
+        BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return new ResultLog(file, w, Math.max(50L, flushMs));
+    }
+
+    public Path path() { return file; }
+
+    /** 지금까지 추가한 건수 */
+    public long count() { return count.get(); }
+
+    public void append(VulnResult v) {
+        if (v == null) return;
+        String line = toLine(v);
+        synchronized (lock) {
+            if (writer == null) return;
+            try {
+                writer.write(line);
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException("result log write failed: " + file, e);
+            }
+        }
+        count.incrementAndGet();
+    }
+
+    public void flush() throws IOException {
+        synchronized (lock) {
+            if (writer != null) writer.flush();
+        }
+    }
+
+    /** 버퍼를 비운 뒤의 파일 길이(항상 줄 경계). 닫혔으면 현재 길이 */
+    public long flushedLength() throws IOException {
+        synchronized (lock) {
+            if (writer != null) writer.flush();
+            return Files.size(file);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException ignore) {
+            // 다음 주기/close에서 재시도
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+        synchronized (lock) {
+            if (writer == null) return;
+            try { writer.flush(); } catch (IOException ignore) {}
+            try { writer.close(); } catch (IOException ignore) {}
+            writer = null;
+        }
+    }
+
+    // ============ 읽기 ============
+
+    /** 로그를 한 줄씩 VulnResult로(지연 파싱). 사용 후 close */
+    public static Stream<VulnResult> read(Path file) throws IOException {
+        BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        return r.lines()
+                .map(ResultLog::parseLine)
+                .filter(Objects::nonNull)
+                .onClose(() -> {
+                    try { r.close(); } catch (IOException ignore) {}
+                });
+    }
+
+    // ============ 직렬화 ============
+
+    static String toLine(VulnResult v) {
+        StringBuilder b = new StringBuilder(256);
+        b.append('{');
+        str(b, "url", String.valueOf(v.getUrl()));
+        str(b, "issueType", v.getIssueType().name());
+        str(b, "severity", v.getSeverity().name());
+        b.append("\"confidence\":").append(v.getConfidence()).append(',');
+        if (v.getRiskScore() != null) b.append("\"riskScore\":").append(v.getRiskScore()).append(',');
+        str(b, "detectedAt", v.getDetectedAt().toString());
+        str(b, "description", v.getDescription());
+        str(b, "evidence", v.getEvidence());
+        str(b, "requestLine", v.getRequestLine());
+        str(b, "evidenceSnippet", v.getEvidenceSnippet());
+        b.setLength(b.length() - 1); // 마지막 콤마
+        b.append('}');
+        return b.toString();
+    }
+
+    /** 한 줄 → VulnResult(형식이 깨졌으면 null) */
+    static VulnResult parseLine(String line) {
+        if (line == null || line.isBlank()) return null;
+        try {
+            Map<String, String> m = parseFlat(line);
+            String rs = m.get("riskScore");
+            String conf = m.get("confidence");
+            return VulnResult.builder()
+                    .url(URI.create(m.get("url")))
+                    .issueType(IssueType.valueOf(m.get("issueType")))
+                    .severity(Severity.valueOf(m.get("severity")))
+                    .confidence(conf == null ? 0.7 : Double.parseDouble(conf))
+                    .riskScore(rs == null ? null : Integer.valueOf(rs))
+                    .detectedAt(Instant.parse(m.get("detectedAt")))
+                    .description(m.get("description"))
+                    .evidence(m.get("evidence"))
+                    .requestLine(m.get("requestLine"))
+                    .evidenceSnippet(m.get("evidenceSnippet"))
+                    .build();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void str(StringBuilder b, String k, String v) {
+        if (v == null) return;
+        b.append('"').append(k).append("\":\"");
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            switch (c) {
+                case '"'  -> b.append("\\\"");
+                case '\\' -> b.append("\\\\");
+                case '\n' -> b.append("\\n");
+                case '\r' -> b.append("\\r");
+                case '\t' -> b.append("\\t");
+                default -> {
+                    if (c < 0x20) b.append(String.format("\\u%04x", (int) c));
+                    else b.append(c);
+                }
+            }
+        }
+        b.append("\",");
+    }
+
+    /** 평평한 객체 {"k":"문자열"|숫자|null,...}만 해석(toLine 출력 전용) */
+    private static Map<String, String> parseFlat(String s) {
+        Map<String, String> m = new HashMap<>();
+        int[] pos = {skipWs(s, 0)};
+        expect(s, pos, '{');
+        if (peek(s, pos) == '}') return m;
+        while (true) {
+            String key = readString(s, pos);
+            expect(s, pos, ':');
+            char c = peek(s, pos);
+            String val;
+            if (c == '"') {
+                val = readString(s, pos);
+            } else {
+                int start = pos[0];
+                while (pos[0] < s.length() && ",} \t".indexOf(s.charAt(pos[0])) < 0) pos[0]++;
+                String raw = s.substring(start, pos[0]);
+                val = raw.equals("null") ? null : raw;
+            }
+            m.put(key, val);
+            c = peek(s, pos);
+            pos[0]++;
+            if (c == '}') return m;
+            if (c != ',') throw new IllegalArgumentException("bad json at " + pos[0]);
+        }
+    }
+
+    private static String readString(String s, int[] pos) {
+        expect(s, pos, '"');
+        StringBuilder b = new StringBuilder();
+        int i = pos[0];
+        while (true) {
+            char c = s.charAt(i++);
+            if (c == '"') break;
+            if (c != '\\') { b.append(c); continue; }
+            char e = s.charAt(i++);
+            switch (e) {
+                case 'n' -> b.append('\n');
+                case 'r' -> b.append('\r');
+                case 't' -> b.append('\t');
+                case 'b' -> b.append('\b');
+                case 'f' -> b.append('\f');
+                case 'u' -> { b.append((char) Integer.parseInt(s.substring(i, i + 4), 16)); i += 4; }
+                default  -> b.append(e); // \" \\ \/
+            }
+        }
+        pos[0] = i;
+        return b.toString();
+    }
+
+    private static char peek(String s, int[] pos) {
+        pos[0] = skipWs(s, pos[0]);
+        return s.charAt(pos[0]);
+    }
+
+    private static void expect(String s, int[] pos, char c) {
+        if (peek(s, pos) != c) throw new IllegalArgumentException("expected " + c + " at " + pos[0]);
+        pos[0]++;
+    }
+
+    private static int skipWs(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
+    }
+}
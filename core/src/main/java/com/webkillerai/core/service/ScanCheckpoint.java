@@ -0,0 +1,515 @@
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.crawler.CrawlState;
+import com.webkillerai.core.crawler.frontier.Frontier;
+import com.webkillerai.core.model.VulnResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 스캔 체크포인트(checkpoint.enabled, 기본 위치 out/state/&lt;host&gt;/).
+ * - 추가 전용 로그(힙에 쌓지 않고 발생 즉시 씀): 내보낸 URL(emitted.txt), 분석 완료 URL(done.txt),
+ *   결과(results.ndjson, ResultLog 형식). 한 페이지의 결과와 완료 줄은 같은 잠금 안에서 결과 → 완료 순으로 추가
+ * - 크롤 부분 crawl-N/: 안전 지점의 프론티어(pending.txt) + 발견 해시(seen.bin)
+ *   → 크롤 스레드가 Crawler 안전 지점(CrawlState.Sink)에서 직접 기록(이때 emitted.txt 확정 길이도 잡음), 크롤이 끝나면 완료 표시만
+ * - checkpoint.properties: 현재 crawl-N + 각 로그의 확정 바이트 길이 + 액티브 예산. 주기 타이머/취소 시
+ *   임시 파일 → 원자적 이동으로 교체(로그 전체를 다시 쓰지 않음), 이전 crawl-N은 삭제
+ * - 재개: 각 로그를 확정 길이로 잘라 이어 쓰고, 내보냈지만 완료되지 않은 URL을 먼저 다시 넣고,
+ *   크롤러는 저장된 프론티어부터(크롤 완료면 크롤 생략)
+ */
+public final class ScanCheckpoint implements CrawlState.Sink, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScanCheckpoint.class);
+    private static final String POINTER = "checkpoint.properties";
+    private static final String EMITTED = "emitted.txt";
+    private static final String DONE = "done.txt";
+    private static final String RESULTS = "results.ndjson";
+
+    /** 액티브 프로브 예산 카운터 */
+    public record Budget(int total, Map<String, Integer> perHost, Map<String, Integer> perTemplate) {
+        public static final Budget NONE = new Budget(0, Map.of(), Map.of());
+    }
+
+    /** 불러온 상태 */
+    public record Saved(String startedIso,
+                        boolean crawlComplete,
+                        CrawlState crawl,          // null이면 크롤을 처음부터(완료 URL은 건너뜀)
+                        List<URI> emitted,
+                        Set<URI> done,
+                        Path resultsLog,           // 확정 길이로 잘린 결과 로그(스캔 시작 전에 읽을 것)
+                        Budget budget) {
+
+        /** 저장된 결과를 한 줄씩(메모리에 모으지 않음) */
+        public void forEachResult(Consumer<? super VulnResult> action) {
+            try (Stream<VulnResult> s = ResultLog.read(resultsLog)) {
+                s.forEach(action);
+            } catch (IOException e) {
+                throw new UncheckedIOException("checkpoint results unreadable: " + resultsLog, e);
+            }
+        }
+
+        /** 내보냈지만 분석이 끝나지 않은 URL(내보낸 순서) */
+        public List<URI> requeue() {
+            List<URI> out = new ArrayList<>();
+            for (URI u : emitted) if (!done.contains(u)) out.add(u);
+            return out;
+        }
+
+        /** 재개 중 크롤러가 다시 내보내도 건너뛸 URL */
+        public Set<URI> known() {
+            Set<URI> s = new LinkedHashSet<>(emitted);
+            s.addAll(done);
+            return s;
+        }
+    }
+
+    private final Path dir;
+    private final String target;
+    private volatile String startedIso;
+    private long seq;
+
+    // 추가 전용 로그(start에서 열림). emitted는 크롤 스레드, done/results는 스캔 워커(lock)
+    private volatile LineFile emitted;
+    private volatile LineFile done;
+    private volatile ResultLog results;
+    private volatile boolean logBroken = false;  // 쓰기 실패 → 포인터를 더 진행하지 않음
+    private long keepEmitted, keepDone, keepResults; // 재개 시 이어 쓸 확정 길이(새 스캔이면 0)
+    private final Object lock = new Object();
+
+    private final AtomicBoolean crawlWanted = new AtomicBoolean(false);
+    private volatile String crawlPart = "";      // 현재 크롤 부분 디렉터리(없으면 "")
+    private volatile long emittedBytes = 0;      // 크롤 부분과 짝이 맞는 emitted.txt 길이
+    private volatile boolean crawlComplete = false;
+    private volatile boolean crawlEnded = false;
+    private volatile Supplier<Budget> budget = () -> Budget.NONE;
+    private ScheduledExecutorService timer;
+
+    public ScanCheckpoint(Path dir, String target, String startedIso) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.target = String.valueOf(target);
+        this.startedIso = startedIso;
+        this.seq = maxSeq(this.dir);
+    }
+
+    public Path dir() { return dir; }
+
+    public String startedIso() { return startedIso; }
+
+    // ============ 재개 ============
+
+    /**
+     * 저장된 상태를 읽어 이 체크포인트에 이어 붙인다(이후 저장도 누적).
+     * 상태가 없거나 대상이 다르거나 손상됐으면 null.
+     */
+    public Saved resume() {
+        Path ptr = dir.resolve(POINTER);
+        if (!Files.isRegularFile(ptr)) return null;
+        try {
+            Properties pp = readProps(ptr);
+            if (!target.equals(pp.getProperty("target"))) {
+                LOG.warn("Checkpoint target mismatch, starting fresh: {} != {}", pp.getProperty("target"), target);
+                return null;
+            }
+            if (pp.getProperty("done.bytes") == null) {
+                LOG.warn("Checkpoint format not supported, starting fresh: {}", dir);
+                return null;
+            }
+            String crawlDir = pp.getProperty("crawl", "");
+            boolean complete = Boolean.parseBoolean(pp.getProperty("crawlComplete", "false"));
+            long emB = Long.parseLong(pp.getProperty("emitted.bytes", "0"));
+            long dnB = Long.parseLong(pp.getProperty("done.bytes", "0"));
+            long rsB = Long.parseLong(pp.getProperty("results.bytes", "0"));
+            CrawlState crawl = null;
+            if (!crawlDir.isEmpty() && !complete) {
+                Path c = dir.resolve(crawlDir);
+                crawl = new CrawlState(readPending(c.resolve("pending.txt")), readSeen(c.resolve("seen.bin")));
+            }
+            // 확정 길이 뒤(마지막 저장 이후 추가분/잘린 줄)는 버림 → 읽기 전에 잘라 둠
+            truncate(dir.resolve(EMITTED), emB);
+            truncate(dir.resolve(DONE), dnB);
+            truncate(dir.resolve(RESULTS), rsB);
+            List<URI> em = readUris(dir.resolve(EMITTED));
+            Set<URI> dn = new LinkedHashSet<>(readUris(dir.resolve(DONE)));
+            Budget b = new Budget(Integer.parseInt(pp.getProperty("active.total", "0")),
+                    readCounts(pp, "active.host."), readCounts(pp, "active.template."));
+
+            String started = pp.getProperty("startedIso", startedIso);
+            Saved saved = new Saved(started, complete, crawl, List.copyOf(em), dn, dir.resolve(RESULTS), b);
+
+            this.startedIso = started;
+            this.crawlPart = crawlDir;
+            this.crawlComplete = complete;
+            this.emittedBytes = emB;
+            this.keepEmitted = emB;
+            this.keepDone = dnB;
+            this.keepResults = rsB;
+            LOG.info("Resuming scan from {}: emitted={}, done={}, resultsBytes={}, crawlComplete={}",
+                    dir, em.size(), dn.size(), rsB, complete);
+            return saved;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Checkpoint unreadable, starting fresh: {}", e.toString());
+            return null;
+        }
+    }
+
+    // ============ 기록 ============
+
+    /**
+     * 로그를 열고(재개면 확정 길이에서 이어 씀, 아니면 비움) 주기 저장 시작.
+     * 크롤/스캔이 시작되기 전에 호출. 크롤러가 안전 지점 상태를 줄 수 있으면 crawlerSaves
+     */
+    public void start(long intervalMs, Supplier<Budget> budget, boolean crawlerSaves) throws IOException {
+        this.budget = budget;
+        this.emitted = new LineFile(dir.resolve(EMITTED), keepEmitted);
+        this.done = new LineFile(dir.resolve(DONE), keepDone);
+        this.results = ResultLog.reopen(dir.resolve(RESULTS), keepResults, Math.max(1_000L, intervalMs));
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "scan-checkpoint");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleWithFixedDelay(() -> tick(crawlerSaves), intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void tick(boolean crawlerSaves) {
+        // 크롤 중이면 크롤 스레드가 다음 안전 지점에서 전체를 기록, 지난 요청이 아직 밀려 있으면 스캔 부분만이라도
+        if (crawlerSaves && !crawlEnded && !crawlWanted.getAndSet(true)) return;
+        saveNow();
+    }
+
+    /** 크롤 스레드: 시드 1건을 내보냄 */
+    void emitted(URI u) {
+        LineFile f = emitted;
+        if (f != null && !f.append(String.valueOf(u))) logBroken = true;
+    }
+
+    /** 크롤 스레드: 크롤이 끝까지 돌았음 → 재개 시 크롤 생략 */
+    void crawlFinished() {
+        crawlEnded = true;
+        try {
+            writeCrawl(null);
+        } catch (IOException e) {
+            LOG.warn("Checkpoint write failed: {}", e.toString());
+            return;
+        }
+        saveNow();
+    }
+
+    /** 크롤 스레드: 중단/실패로 끝남(이후 크롤 부분은 마지막 안전 지점 그대로) */
+    void crawlEnded() {
+        crawlEnded = true;
+    }
+
+    /** 스캔 워커: URL 1건 분석 완료(결과 먼저, 완료 줄은 뒤에 → 확정 길이 안의 완료 URL은 결과도 확정) */
+    void completed(URI u, List<VulnResult> found) {
+        ResultLog rl = results;
+        LineFile dn = done;
+        if (rl == null || dn == null) return;
+        synchronized (lock) {
+            try {
+                if (found != null) found.forEach(rl::append);
+            } catch (UncheckedIOException e) {
+                logBroken = true;
+                return;
+            }
+            if (!dn.append(String.valueOf(u))) logBroken = true;
+        }
+    }
+
+    @Override
+    public boolean wanted() {
+        return crawlWanted.get();
+    }
+
+    /** 크롤 스레드 안전 지점: 크롤 부분 + 스캔 부분을 함께 기록 */
+    @Override
+    public void save(CrawlState state) {
+        crawlWanted.set(false);
+        try {
+            writeCrawl(state);
+        } catch (IOException e) {
+            LOG.warn("Checkpoint write failed: {}", e.toString());
+            return;
+        }
+        saveNow();
+    }
+
+    /** 스캔 부분을 지금 기록(크롤 부분은 마지막 것 유지) */
+    public void saveNow() {
+        try {
+            writeScan();
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Checkpoint write failed: {}", e.toString());
+        }
+    }
+
+    /** 스캔이 끝까지 완료됨 → 재개할 것이 없으므로 상태 삭제 */
+    public void clear() {
+        close();
+        deleteTree(dir);
+    }
+
+    @Override
+    public void close() {
+        if (timer != null) timer.shutdownNow();
+        synchronized (lock) {
+            if (emitted != null) emitted.close();
+            if (done != null) done.close();
+            if (results != null) results.close();
+        }
+    }
+
+    // ============ 내부 ============
+
+    private void writeCrawl(CrawlState state) throws IOException {
+        if (logBroken) throw new IOException("checkpoint log write failed");
+        LineFile em = emitted;
+        long emB = (em != null) ? em.flushedLength() : 0L; // 크롤 스레드가 부르므로 이 시점까지 내보낸 전부
+        Path c = newPart("crawl");
+        if (state != null) {
+            List<String> lines = new ArrayList<>(state.pending().size());
+            for (Frontier.Entry e : state.pending()) lines.add(e.depth() + "\t" + e.uri());
+            writeLines(c.resolve("pending.txt"), lines);
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(c.resolve("seen.bin")))) {
+                out.writeInt(state.seen().length);
+                for (long h : state.seen()) out.writeLong(h);
+            }
+        }
+        synchronized (lock) {
+            this.crawlPart = c.getFileName().toString();
+            this.emittedBytes = emB;
+            if (state == null) this.crawlComplete = true;
+        }
+    }
+
+    // 포인터 기록은 한 번에 하나(뒤로 가지 않게). 로그는 비우고 길이만 적음
+    private synchronized void writeScan() throws IOException {
+        if (logBroken) throw new IOException("checkpoint log write failed");
+        ResultLog rl = results;
+        LineFile dn = done;
+        if (rl == null || dn == null) return; // start 전
+        Properties pp = new Properties();
+        String crawl;
+        synchronized (lock) {
+            // 같은 잠금 안에서 두 길이를 잡아야 완료 줄과 그 결과가 짝이 맞음
+            pp.setProperty("results.bytes", String.valueOf(rl.flushedLength()));
+            pp.setProperty("done.bytes", String.valueOf(dn.flushedLength()));
+            crawl = crawlPart;
+            pp.setProperty("crawl", crawl);
+            pp.setProperty("emitted.bytes", String.valueOf(emittedBytes));
+            pp.setProperty("crawlComplete", String.valueOf(crawlComplete));
+        }
+        pp.setProperty("target", target);
+        pp.setProperty("startedIso", startedIso);
+        pp.setProperty("savedAt", Instant.now().toString());
+        Budget b = budget.get();
+        pp.setProperty("active.total", String.valueOf(b.total()));
+        b.perHost().forEach((k, v) -> pp.setProperty("active.host." + k, String.valueOf(v)));
+        b.perTemplate().forEach((k, v) -> pp.setProperty("active.template." + k, String.valueOf(v)));
+        writeProps(dir.resolve(POINTER), pp);
+        prune(crawl);
+    }
+
+    private Path newPart(String kind) throws IOException {
+        long n;
+        synchronized (lock) { n = ++seq; }
+        Path p = dir.resolve(String.format("%s-%06d", kind, n));
+        deleteTree(p);
+        return Files.createDirectories(p);
+    }
+
+    /** 포인터가 가리키지 않는 이전 crawl-N 삭제(가리키는 것보다 새 것은 작성 중일 수 있어 둠) */
+    private void prune(String keepCrawl) {
+        long crawlN = partSeq(keepCrawl);
+        try (Stream<Path> s = Files.list(dir)) {
+            s.filter(Files::isDirectory).forEach(p -> {
+                String name = p.getFileName().toString();
+                long n = partSeq(name);
+                if (n >= 0 && name.startsWith("crawl-") && n < crawlN) deleteTree(p);
+            });
+        } catch (IOException ignore) {
+            // 다음 저장 때 다시 정리
+        }
+    }
+
+    private static long partSeq(String name) {
+        int i = (name == null) ? -1 : name.indexOf('-');
+        if (i < 0) return -1;
+        try {
+            return Long.parseLong(name.substring(i + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long maxSeq(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.mapToLong(p -> partSeq(p.getFileName().toString())).max().orElse(0L);
+        }
+    }
+
+    private static Map<String, Integer> readCounts(Properties pr, String prefix) {
+        Map<String, Integer> m = new LinkedHashMap<>();
+        for (String k : pr.stringPropertyNames()) {
+            if (k.startsWith(prefix)) m.put(k.substring(prefix.length()), Integer.parseInt(pr.getProperty(k)));
+        }
+        return m;
+    }
+
+    private static List<Frontier.Entry> readPending(Path p) throws IOException {
+        List<Frontier.Entry> out = new ArrayList<>();
+        if (!Files.isRegularFile(p)) return out;
+        try (BufferedReader r = Files.newBufferedReader(p, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                int tab = line.indexOf('\t');
+                if (tab <= 0) continue;
+                out.add(new Frontier.Entry(URI.create(line.substring(tab + 1)), Integer.parseInt(line.substring(0, tab))));
+            }
+        }
+        return out;
+    }
+
+    private static long[] readSeen(Path p) throws IOException {
+        if (!Files.isRegularFile(p)) return new long[0];
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(p))) {
+            long[] out = new long[in.readInt()];
+            for (int i = 0; i < out.length; i++) out[i] = in.readLong();
+            return out;
+        }
+    }
+
+    private static List<URI> readUris(Path p) throws IOException {
+        List<URI> out = new ArrayList<>();
+        if (!Files.isRegularFile(p)) return out;
+        try (BufferedReader r = Files.newBufferedReader(p, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = r.readLine()) != null) {
+                if (!line.isEmpty()) out.add(URI.create(line));
+            }
+        }
+        return out;
+    }
+
+    /** 파일을 keep 바이트까지만 남김(없으면 빈 파일) */
+    private static void truncate(Path p, long keep) throws IOException {
+        try (FileChannel ch = FileChannel.open(p, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (ch.size() < keep) throw new IOException("checkpoint log shorter than saved length: " + p);
+            ch.truncate(keep);
+        }
+    }
+
+    private static void writeLines(Path p, List<String> lines) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(p, StandardCharsets.UTF_8)) {
+            for (String l : lines) {
+                w.write(l);
+                w.newLine();
+            }
+        }
+    }
+
+    private static Properties readProps(Path p) throws IOException {
+        Properties pr = new Properties();
+        try (Reader r = Files.newBufferedReader(p, StandardCharsets.UTF_8)) {
+            pr.load(r);
+        }
+        return pr;
+    }
+
+    private void writeProps(Path target, Properties pr) throws IOException {
+        Path tmp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+        try (Writer w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            pr.store(w, null);
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** 추가 전용 줄 파일(keepBytes 뒤는 잘라 내고 이어 씀). 쓰기 실패는 false로만 알림 */
+    private static final class LineFile {
+        private final Path path;
+        private BufferedWriter writer;
+
+        LineFile(Path path, long keepBytes) throws IOException {
+            this.path = path;
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                if (ch.size() > keepBytes) ch.truncate(keepBytes);
+            }
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        synchronized boolean append(String line) {
+            if (writer == null) return true; // 닫힌 뒤 늦게 끝난 작업
+            try {
+                writer.write(line);
+                writer.newLine();
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        /** 버퍼를 비운 뒤의 길이(항상 줄 경계) */
+        synchronized long flushedLength() throws IOException {
+            if (writer != null) writer.flush();
+            return Files.size(path);
+        }
+
+        synchronized void close() {
+            if (writer == null) return;
+            try { writer.close(); } catch (IOException ignore) {}
+            writer = null;
+        }
+    }
+
+    private static void deleteTree(Path p) {
+        if (!Files.exists(p)) return;
+        try (Stream<Path> s = Files.walk(p)) {
+            s.sorted(Comparator.reverseOrder()).forEach(x -> {
+                try {
+                    Files.deleteIfExists(x);
+                } catch (IOException ignore) {
+                    // 남은 파일은 다음 저장/정리 때
+                }
+            });
+        } catch (IOException ignore) {
+            // 이미 없음
+        }
+    }
+}
@@ -5,28 +5,42 @@ import com.webkillerai.core.api.ICrawler;
 import com.webkillerai.core.api.IHttpAnalyzer;
 import com.webkillerai.core.api.IScanner;
 import com.webkillerai.core.crawler.Crawler;
+import com.webkillerai.core.crawler.JsoupLinkExtractor;
 import com.webkillerai.core.http.CountingRetryPolicy;
 import com.webkillerai.core.http.DefaultRetryPolicy;
+import com.webkillerai.core.http.HostBackoff;
 import com.webkillerai.core.http.HttpAnalyzer;
+import com.webkillerai.core.http.HttpTransport;
+import com.webkillerai.core.http.PageStore;
+import com.webkillerai.core.http.ValidatorCache;
 import com.webkillerai.core.model.HttpResponseData;
 import com.webkillerai.core.model.ScanConfig;
 import com.webkillerai.core.model.ScanStats;
 import com.webkillerai.core.model.VulnResult;
 import com.webkillerai.core.scanner.SignatureScanner;
+import com.webkillerai.core.scanner.dedupe.UrlTemplate;
 import com.webkillerai.core.scanner.ActiveScanRunner;            // ← 유지
 import com.webkillerai.core.scanner.probe.ProbeEngine;          // ← 유지
+import com.webkillerai.core.service.exec.ExecutorStrategies;
+import com.webkillerai.core.service.exec.ExecutorStrategy;
+import com.webkillerai.core.service.exec.NamedThreadFactory;
+import com.webkillerai.core.service.export.ReportNaming;
 import com.webkillerai.core.util.DefaultSleeper;
 import com.webkillerai.core.util.ProgressListener;
-import com.webkillerai.core.util.RateLimiter;
+import com.webkillerai.core.util.SimHash;
 import com.webkillerai.core.util.StructuredLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 // ▼ 유지
 import com.webkillerai.core.model.Mode;
@@ -38,10 +52,28 @@ import com.webkillerai.core.config.FeatureMatrix;
  *  - crawl → http → scan → 결과 집계
  *  - 기본 구현체(Crawler/HttpAnalyzer/SignatureScanner)
  *  - DI 생성자는 테스트/플러그인 주입용
- *  - 전역 RateLimiter + 고정 스레드풀(동시성=concurrency)로 안전 제어
+ *  - 호스트별 RateLimiter(HostScheduler, 기본 rps / hosts.<host> 오버라이드) + 워커 실행기(동시성=concurrency)로 안전 제어
+ *    동기 워커는 호스트 라운드로빈으로 다음 URL을 골라 한 호스트가 큐를 독점하지 못하게 함
+ *    (scan.yml executor: fixed | forkjoin | virtual — service.exec.ExecutorStrategy)
+ *  - 페이지 공유: 크롤러가 받은 응답을 PageStore에 두고 분석/액티브 페이지 검사가 재사용
+ *  - 전송 공유: 스캔당 HttpTransport 1개(HTTP/2 연결 풀, UA/기본 헤더)를 분석기·크롤러·robots·링크 추출·프로브가 공유
+ *  - 크롤/스캔 스트리밍: 크롤러가 찾은 URL을 bounded 큐로 받아 즉시 분석 시작
+ *    (-Dwk.crawl.streaming=false 면 기존처럼 크롤 완료 후 일괄 제출)
+ *  - http.async=true: sendAsync + CompletableFuture 체인(분석 → 스캔 → 액티브), in-flight 상한은 http.maxInFlight
+ *  - adaptive.enabled: 호스트별 AIMD 제어(AdaptiveController)가 응답 상태/지연으로 rps·동시성을 조절
+ *  - 429/503은 호스트 전체를 Retry-After만큼 정지(HostBackoff): 패시브/액티브/크롤 요청 모두 대기, 정지 시간은 ScanStats
+ *  - http.headTriage: 분석기가 HEAD로 선별(바이너리/대용량은 헤더 검사만, 액티브 프로브도 건너뜀)
+ *  - cache.enabled: 검증자 캐시(ValidatorCache)로 조건부 GET, 바뀌지 않은 페이지는 지난 패시브 결과를 재생(크기 변동은 매번 다시 계산)
+ *  - dedup.enabled: 받은 응답의 SimHash로 근사 중복 템플릿 페이지를 묶어(NearDupIndex) 헤더만 검사 + 클러스터별 액티브 할당량
+ *  - checkpoint.enabled: 주기적으로 크롤 프론티어/완료 URL/액티브 예산/결과를 out/state/&lt;host&gt;에 저장(ScanCheckpoint),
+ *    checkpoint.resume이면 그 지점부터 재개(완료 URL 재분석 없음, 보고서 시작 시각 유지). 끝까지 완료되면 상태 삭제
+ *  - resultLog.enabled: 페이지가 끝날 때마다 결과를 NDJSON 로그(ResultLog)에 추가(주기 flush),
+ *    keepInMemory=false면 결과를 메모리에 모으지 않고 run()은 빈 목록 → 보고서는 ResultSource.ofLog(getResultLogPath())
  *
  * 최적화:
  *  - 액티브(능동) 프로브는 FeatureMatrix 기반으로 전역 스위칭
+ *  - 액티브 대상은 URL 템플릿(UrlTemplate) 단위로 분산: 처음 보는 템플릿 우선, 템플릿당 wk.active.perTemplate회(기본 2)
+ *    (0이면 기존 초반 wk.active.firstPages 페이지 + 샘플링)
  *  - 액티브 전용 RPS/게이트/예산 분리
  */
 public final class ScanService {
@@ -51,15 +83,21 @@ public final class ScanService {
 
     private final ScanStats stats = new ScanStats();
     private final ScanConfig config;
-    private final RateLimiter rateLimiter;         // 패시브(HTTP 분석)용
+    private final HostScheduler hosts;             // 호스트별 패시브/액티브 리미터 + 라운드로빈 디스패치
+    private final HostBackoff backoff;             // 호스트 공용 정지 창(429/503 + Retry-After)
+    private final boolean adaptive;                // adaptive.enabled: 호스트별 AIMD rps/동시성
     private final ICrawler crawler;
     private final IHttpAnalyzer http;
     private final IScanner scanner;
+    private final PageStore pages;                 // null이면 공유 안 함(DI 기본)
+    private final HttpTransport transport;         // 스캔 공용 연결 풀(프로브 엔진용, 기본 구현은 전 컴포넌트 공유)
+    private final ValidatorCache cache;            // null이면 캐시 끔(cache.enabled=false 또는 디렉터리 생성 실패)
+    private final NearDupIndex dedup;              // null이면 근사 중복 판정 끔(dedup.enabled=false)
 
-    // 액티브 프로브 리미터 + 예산
-    private final RateLimiter activeLimiter;       // null이면 액티브 비활성
+    // 액티브 프로브 예산(리미터/동시성은 HostScheduler가 호스트별로)
     private final AtomicInteger activeTotal = new AtomicInteger(0);
     private final ConcurrentHashMap<String, AtomicInteger> activePerHost = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> activePerTemplate = new ConcurrentHashMap<>(); // UrlTemplate → 프로브 수
 
     // Active runner/engine
     private final ProbeEngine probeEngine;         // 액티브 러너용 엔진
@@ -69,22 +107,51 @@ public final class ScanService {
     private final Gate gate;
 
     private volatile int lastVisitedPages = 0; // 실제 시드(스캔 대상) 개수
+    private volatile String startedIso = Instant.now().toString(); // 재개 시 원래 시작 시각(보고서 이름)
+    private volatile ScanCheckpoint checkpoint;  // run 중에만(체크포인트 꺼짐이면 null)
+    private volatile ResultLog resultLog;        // run 중에만(resultLog 꺼짐이면 null)
+    private volatile Path resultLogPath;         // 마지막 run의 결과 로그(보고서 입력)
+    private volatile boolean keepResults = true; // false면 작업 결과를 메모리 목록에 모으지 않음
 
-    /** 기본 구현(현재 동작 유지) */
+    /** 기본 구현: 페이지는 한 번만 받아 크롤러/분석기/액티브 검사가 공유 */
     public ScanService(ScanConfig config) {
-        this(config, new Crawler(config), new HttpAnalyzer(config), new SignatureScanner());
+        this(config, new HttpTransport(config), new PageStore());
+    }
+
+    private ScanService(ScanConfig config, HttpTransport transport, PageStore pages) {
+        this(config, new HttpAnalyzer(config, transport), transport, pages);
+    }
+
+    // 크롤러도 같은 분석기로 받으므로 정지 창(setHostBackoff)이 크롤 요청에도 적용됨
+    // 이상 징후는 SignatureScanner가 담당(AnomalyEngine은 스캔 경로에 없음) → anomaly.baselineCapacity도 여기에만 적용
+    private ScanService(ScanConfig config, HttpAnalyzer http, HttpTransport transport, PageStore pages) {
+        this(config,
+                new Crawler(config, new JsoupLinkExtractor(transport), transport, http, pages),
+                http, new SignatureScanner(config.getAnomaly().getBaselineCapacity()), pages, transport);
     }
 
     /** DI/테스트/플러그인용 */
     public ScanService(ScanConfig config, ICrawler crawler, IHttpAnalyzer http, IScanner scanner) {
+        this(config, crawler, http, scanner, null);
+    }
+
+    /** DI + 공유 페이지 저장소(크롤러에도 같은 저장소를 주입해야 재사용됨) */
+    public ScanService(ScanConfig config, ICrawler crawler, IHttpAnalyzer http, IScanner scanner, PageStore pages) {
+        this(config, crawler, http, scanner, pages, null);
+    }
+
+    /** DI + 공유 페이지 저장소 + 공용 전송 계층(null이면 프로브 엔진용으로 새로 만듦) */
+    public ScanService(ScanConfig config, ICrawler crawler, IHttpAnalyzer http, IScanner scanner, PageStore pages,
+                       HttpTransport transport) {
         this.config = Objects.requireNonNull(config, "config");
         this.config.validate();
         this.crawler = Objects.requireNonNull(crawler, "crawler");
         this.http = Objects.requireNonNull(http, "http");
         this.scanner = Objects.requireNonNull(scanner, "scanner");
-
-        // 패시브(HTTP) 리미터
-        this.rateLimiter = new RateLimiter(config.getRps(), config.getRps());
+        this.pages = pages;
+        this.transport = (transport != null) ? transport : new HttpTransport(config);
+        this.transport.setStats(stats); // 본문 전송/해제 바이트 → runtime.wireBytes/decodedBytes
+        if (scanner instanceof SignatureScanner ss) ss.setStats(stats); // 기준선 메모리/교체 → runtime.baseline*
 
         // ===== 액티브(능동) 전용 RPS 및 러너 생성 =====
         Mode mode = config.getMode();
@@ -93,13 +160,35 @@ public final class ScanService {
         // 모드/시스템 프로퍼티 해석(한 번만)
         this.gate = resolveGate(config, mode);
 
-        // 액티브 전용 RPS 리미터
-        this.activeLimiter = anyActive
-                ? new RateLimiter(Math.max(1, gate.activeRps), Math.max(1, gate.activeRps))
-                : null;
+        // 호스트 정지 창: 429/503(Retry-After)이면 그 호스트의 모든 요청이 함께 쉰다
+        this.backoff = HostBackoff.from(config, stats);
+        if (http instanceof HttpAnalyzer ha) ha.setHostBackoff(backoff);
+
+        // 호스트별 리미터: 패시브 = rps, 액티브 = 게이트 rps / 동시성(scan.yml hosts.<host>로 오버라이드)
+        this.hosts = new HostScheduler(config,
+                anyActive ? Math.max(1, gate.activeRps) : 0,
+                gate.activeConcurrencyPerHost,
+                backoff);
+        // HEAD 선별: 뒤따르는 GET도 같은 호스트 리미터에서 허가 1개 더, HEAD는 시도 수에 포함
+        if (http instanceof HttpAnalyzer ha) {
+            ha.setFollowUpLimiter(hosts::passive);
+            ha.setStats(stats);
+        }
+
+        // 재스캔 검증자 캐시: 분석기가 조건부 GET, 스캔 단계가 패시브 결과 재생/저장
+        this.cache = openCache(config);
+        if (cache != null && http instanceof HttpAnalyzer ha) ha.setValidatorCache(cache);
+
+        // 근사 중복 템플릿 페이지: 대표만 전체 검사
+        var dd = config.getDedup();
+        this.dedup = dd.isEnabled() ? new NearDupIndex(dd.getMaxDistance(), dd.getMaxClusters()) : null;
+
+        // 적응형(AIMD): 재시도 경로의 시도별 결과를 호스트 제어기로(그 외 분석기는 최종 결과만 반영)
+        this.adaptive = config.getAdaptive().isEnabled();
+        if (adaptive && http instanceof HttpAnalyzer ha) ha.setAttemptObserver(hosts::observe);
 
         // ActiveScanRunner는 ProbeEngine 필요
-        this.probeEngine = anyActive ? new ProbeEngine(config) : null;
+        this.probeEngine = anyActive ? new ProbeEngine(config, pages, backoff, this.transport) : null;
         this.activeRunner = anyActive ? new ActiveScanRunner(this.probeEngine) : null;
     }
 
@@ -132,153 +221,163 @@ public final class ScanService {
                 "cc", cc,
                 "mode", String.valueOf(config.getMode()));
 
-        // ---- 0) 크롤 시드 수집 (crawl phase) + 예산 컷 ----
+        // ---- 0) 크롤 시드 스트리밍 (crawl phase) + 예산 컷 ----
         pl.onProgress(0.0, "crawl", 0, -1);
 
-        final List<URI> seeds = new ArrayList<>();
         final int maxSeeds  = sysInt("wk.crawl.maxSeeds", -1);       // 전체 시드 상한 (기본 꺼짐)
         final int perHost   = sysInt("wk.crawl.maxPerHost", -1);     // 호스트별 시드 상한 (기본 꺼짐)
+        final boolean streaming = sysBool("wk.crawl.streaming", true); // 크롤/스캔 겹치기 (기본 켜짐)
         final Map<String, Integer> perHostCount = new HashMap<>();
 
-        for (URI u : crawler.crawlSeeds()) {
-            checkCancel(cancel);
-
-            if (maxSeeds > 0 && seeds.size() >= maxSeeds) break;
-
-            String host = (u.getHost() == null ? "" : u.getHost().toLowerCase(Locale.ROOT));
-            if (perHost > 0 && perHostCount.getOrDefault(host, 0) >= perHost) continue;
-
-            if (isStatic(u)) continue; // 정적 리소스는 시드에서 제외
-
-            seeds.add(u);
-            perHostCount.merge(host, 1, Integer::sum);
+        // 체크포인트/재개: 저장된 예산·결과를 되살리고 크롤러는 저장된 프론티어부터(크롤이 끝났었으면 생략)
+        final ScanCheckpoint opened = openCheckpoint(config, startedIso);
+        final ScanCheckpoint.Saved saved = (opened != null && config.getCheckpoint().isResume()) ? opened.resume() : null;
+        ICrawler source = crawler;
+        if (saved != null) {
+            startedIso = saved.startedIso();
+            restoreBudget(saved.budget());
+            if (saved.crawlComplete()) source = List::of;
+            else if (saved.crawl() != null && crawler instanceof Crawler c) c.restore(saved.crawl());
         }
-        lastVisitedPages = seeds.size();
-
-        final int total = seeds.size();
-        if (total == 0) {
-            pl.onProgress(1.0, "export", 0, 0);
-            LOG.info("Scan done. totalPages=0, totalIssues=0, maxObservedCC=0");
-            SLOG.info("scan-done", "totalPages", 0, "totalIssues", 0, "maxObservedCC", 0);
-            return List.of();
-        }
-
-        pl.onProgress(0.0, "scan", 0, total);
-
-        // ---- 1) 고정 스레드풀(+역압) 구성 ----
-        ExecutorService exec = new ThreadPoolExecutor(
-                cc, cc,
-                0L, TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(cc * 2),
-                new NamedThreadFactory("scan-worker"),
-                (r, e) -> {
-                    try { e.getQueue().put(r); }
-                    catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RejectedExecutionException("Interrupted while enqueueing", ie);
-                    }
-                }
-        );
-
-        final List<Future<List<VulnResult>>> futures = new ArrayList<>(seeds.size());
+        // 체크포인트 로그는 크롤/스캔보다 먼저 열어야 첫 시드부터 기록됨
+        final ScanCheckpoint ckpt = (opened != null) ? startCheckpoint(opened, source instanceof Crawler) : null;
+        if (crawler instanceof Crawler c) c.setCheckpoint(ckpt);
+        this.checkpoint = ckpt;
+
+        // 결과 로그: 시작 시각이 정해진 뒤 열어야 보고서와 같은 이름(재개면 저장된 결과부터 다시 씀)
+        final ResultLog log = openResultLog(config, startedIso);
+        if (log != null && saved != null) saved.forEachResult(log::append);
+        this.resultLog = log;
+        this.resultLogPath = (log != null) ? log.path() : null;
+        this.keepResults = (log == null) || config.getResultLog().isKeepInMemory();
+        final boolean keep = keepResults;
+        final Iterator<URI> replay = (saved != null) ? saved.requeue().iterator() : Collections.emptyIterator();
+        final Set<URI> known = (saved != null) ? saved.known() : Set.of();
+
+        // 크롤러는 별도 스레드에서 bounded 큐로 흘려보냄(비스트리밍이면 무제한 큐 + 완료 대기)
+        final SeedFeed feed = new SeedFeed(source, streaming ? Math.max(16, cc * 4) : 0).checkpoint(ckpt).start();
+
+        final AtomicInteger estTotal    = new AtomicInteger(0);     // 진행률 총량(추정 → 확정)
+        final List<Future<List<VulnResult>>> futures = new ArrayList<>();
         final AtomicInteger pageCount   = new AtomicInteger(0);
         final AtomicInteger inFlight    = new AtomicInteger(0);
         final AtomicInteger maxObserved = new AtomicInteger(0);
         final AtomicInteger donePages   = new AtomicInteger(0); // 진행률
 
-        // ---- 2) 작업 제출 ----
-        for (URI url : seeds) {
-            checkCancel(cancel);
-            futures.add(exec.submit(() -> {
+        // 비동기 모드: sendAsync 파이프라인(소수 스레드 + in-flight 상한)
+        final boolean async = config.getHttp().isAsync();
+        AsyncLane lane = null;
+
+        // 동기 모드 워커 실행기(fixed/forkjoin/virtual): 어느 쪽이든 동시 실행 상한 = cc
+        final ExecutorStrategy executor = ExecutorStrategies.forName(config.getExecutor());
+
+        ExecutorService exec = null;
+        int accepted = 0;
+        List<VulnResult> results = new ArrayList<>();
+        if (saved != null) {
+            // 완료분은 결과/수락 수/진행률에 그대로 포함
+            if (keep) saved.forEachResult(results::add);
+            for (URI d : saved.done()) perHostCount.merge(hostOf(d), 1, Integer::sum);
+            accepted = saved.done().size();
+            pageCount.set(accepted);
+            donePages.set(accepted);
+        }
+        try {
+            if (!streaming) {
+                try { feed.awaitCrawl(); }
+                catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Interrupted while crawling");
+                }
+            }
+
+            // ---- 1~2) 시드 도착 즉시 필터 → 작업 제출 ----
+            while (true) {
                 checkCancel(cancel);
 
+                URI u;
+                boolean replayed = replay.hasNext(); // 재개: 내보냈지만 끝나지 않은 URL부터
                 try {
-                    rateLimiter.acquire(); // 패시브(HTTP) 리미터 - interruptible
+                    u = replayed ? replay.next() : feed.next();
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
-                    throw new CancellationException("Interrupted while rate-limiting");
+                    throw new CancellationException("Interrupted while waiting for seeds");
                 }
+                if (u == null) break; // 크롤 종료
+                if (!replayed && known.contains(u)) { release(u); continue; } // 저장 지점 이전에 이미 받은 URL
 
-                int cur = inFlight.incrementAndGet();
-                maxObserved.accumulateAndGet(cur, Math::max);
-                stats.observeConcurrency(cur);
+                if (maxSeeds > 0 && accepted >= maxSeeds) {
+                    feed.stop(); // 더 이상 받을 필요 없음 → 크롤 조기 종료
+                    break;
+                }
 
-                long t0 = System.nanoTime();
-                int retriesThisCall = 0;
+                String host = hostOf(u);
+                if (perHost > 0 && perHostCount.getOrDefault(host, 0) >= perHost) { release(u); continue; }
 
-                try {
-                    LOG.debug("HTTP analyze: {}", url);
+                if (isStatic(u)) { release(u); continue; } // 정적 리소스는 시드에서 제외
 
-                    checkCancel(cancel);
+                perHostCount.merge(host, 1, Integer::sum);
+                accepted++;
+                lastVisitedPages = accepted;
+                estTotal.set(estimateTotal(accepted, feed, maxSeeds));
 
-                    HttpResponseData resp;
-                    if (http instanceof HttpAnalyzer ha) {
-                        var counting = new CountingRetryPolicy(new DefaultRetryPolicy());
-                        resp = ha.analyzeWithRetry(url, counting, new DefaultSleeper());
-                        retriesThisCall = counting.getRetryCount();
+                if (exec == null) {
+                    if (async) {
+                        lane = AsyncLane.open(cc, config.getHttp().getMaxInFlight());
+                        exec = lane.exec;
                     } else {
-                        resp = http.analyze(url);
+                        exec = executor.create(cc, "scan-worker");
                     }
-
-                    checkCancel(cancel);
-
-                    // 2-1) 시그니처 기반 스캔(기존)
-                    List<VulnResult> found = scanner.scan(resp);
-
-                    // 2-2) 액티브 프로브 (게이트 + 예산 + 전용 RPS)
-                    if (activeRunner != null && shouldActiveProbe(url, config, pageCount)) {
-                        try {
-                            if (activeLimiter != null) activeLimiter.acquire(); // 액티브 전용 RPS
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            throw new CancellationException("Interrupted while active rate-limiting");
-                        }
-                        List<VulnResult> active = activeRunner.run(config, url);
-                        if (!active.isEmpty()) {
-                            found.addAll(active);
-                            SLOG.info("active-probe",
-                                    "url", String.valueOf(url),
-                                    "hits", active.size());
-                        }
+                    pl.onProgress(0.0, "scan", 0, estTotal.get());
+                }
+                if (async) {
+                    // 제출 역압: 대기+진행 URL이 상한이면 자리가 날 때까지 대기 → SeedFeed를 통해 크롤러도 멈춤
+                    try {
+                        lane.admit(cancel);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new CancellationException("Interrupted while waiting for scan slot");
                     }
-
-                    int n = pageCount.incrementAndGet();
-                    LOG.info("Scanned {} (page #{}) -> issues={}", url, n, found.size());
-                    SLOG.info("page-scanned",
-                            "url", String.valueOf(url),
-                            "pageNo", n,
-                            "issues", found.size());
-
-                    int done = donePages.incrementAndGet();
-                    double p = (double) done / (double) total;
+                    CompletableFuture<List<VulnResult>> f;
                     try {
-                        pl.onProgress(Math.max(0.0, Math.min(1.0, p)), "scan", done, total);
-                    } catch (Throwable ignore) {}
-                    return found;
-
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new CancellationException("Interrupted during analyze/scan");
-
-                } finally {
-                    long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
-                    stats.addAttempts(1L + retriesThisCall);
-                    stats.addRetries(retriesThisCall);
-                    stats.addWallTimeMs(wallMs);
-
-                    int left = inFlight.decrementAndGet();
-                    stats.observeConcurrency(left);
+                        f = scanAsync(u, lane, pl, cancel, estTotal, pageCount, inFlight, maxObserved, donePages);
+                    } catch (RuntimeException e) {
+                        lane.pending.release();
+                        throw e;
+                    }
+                    final AsyncLane l = lane;
+                    f.whenComplete((r, ex) -> l.pending.release());
+                    futures.add(f);
+                } else {
+                    hosts.offer(u); // 워커는 실행 시점에 호스트 라운드로빈으로 URL을 고름
+                    futures.add(exec.submit(scanTask(pl, cancel, estTotal, pageCount, inFlight, maxObserved, donePages)));
                 }
-            }));
-        }
+            }
 
-        // ---- 3) 결과 수집 ----
-        List<VulnResult> results = new ArrayList<>();
-        try {
+            // 크롤 종료 → 총량 확정
+            estTotal.set(accepted);
+            lastVisitedPages = accepted;
+            SLOG.info("crawl-done",
+                    "seeds", accepted,
+                    "emitted", feed.emittedCount(),
+                    "streaming", streaming,
+                    "async", async,
+                    "executor", async ? "async" : executor.name());
+
+            if (accepted == 0) {
+                if (ckpt != null) ckpt.clear();
+                pl.onProgress(1.0, "export", 0, 0);
+                LOG.info("Scan done. totalPages=0, totalIssues=0, maxObservedCC=0");
+                SLOG.info("scan-done", "totalPages", 0, "totalIssues", 0, "maxObservedCC", 0);
+                return List.of();
+            }
+
+            // ---- 3) 결과 수집 ----
             for (Future<List<VulnResult>> f : futures) {
                 checkCancel(cancel);
                 try {
-                    results.addAll(f.get()); // 각 요청은 HttpClient timeout으로 보호됨
+                    List<VulnResult> found = f.get(); // 각 요청은 HttpClient timeout으로 보호됨
+                    if (keep) results.addAll(found);
                 } catch (CancellationException ce) {
                     throw ce;
                 } catch (ExecutionException e) {
@@ -290,27 +389,394 @@ public final class ScanService {
                     throw new CancellationException("Interrupted while collecting results");
                 }
             }
+        } catch (RuntimeException e) {
+            // 취소/실패: 지금까지를 저장해 두고 resume으로 이어서
+            if (ckpt != null) {
+                ckpt.saveNow();
+                LOG.info("Scan interrupted, checkpoint saved: {}", ckpt.dir());
+            }
+            throw e;
         } finally {
             // ---- 4) 종료 ----
-            exec.shutdownNow();
-            try {
-                exec.awaitTermination(30, TimeUnit.SECONDS);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
+            feed.close();
+            if (ckpt != null) ckpt.close();
+            this.checkpoint = null;
+            if (log != null) log.close();
+            this.resultLog = null;
+            if (crawler instanceof Crawler c) c.setCheckpoint(null);
+            if (pages != null) pages.clear();
+            if (exec != null) {
+                exec.shutdownNow();
+                try {
+                    exec.awaitTermination(30, TimeUnit.SECONDS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
             }
         }
 
+        if (ckpt != null) ckpt.clear(); // 끝까지 완료 → 재개할 것 없음
+
+        final int total = accepted;
         pl.onProgress(1.0, "export", donePages.get(), total);
 
+        final long issues = keep ? results.size() : log.count();
         LOG.info("Scan done. totalPages={}, totalIssues={}, maxObservedCC={}",
-                pageCount.get(), results.size(), maxObserved.get());
+                pageCount.get(), issues, maxObserved.get());
         SLOG.info("scan-done",
                 "totalPages", pageCount.get(),
-                "totalIssues", results.size(),
-                "maxObservedCC", maxObserved.get());
+                "totalIssues", issues,
+                "maxObservedCC", maxObserved.get(),
+                "pageReuse", pages != null ? pages.hits() : 0);
         return results;
     }
 
+    private void release(URI u) {
+        if (pages != null) pages.release(u);
+    }
+
+    private static String hostOf(URI u) {
+        return (u.getHost() == null ? "" : u.getHost().toLowerCase(Locale.ROOT));
+    }
+
+    /** checkpoint.enabled(또는 resume)면 state 디렉터리의 체크포인트, 열 수 없으면 null(스캔은 계속) */
+    private static ScanCheckpoint openCheckpoint(ScanConfig config, String startedIso) {
+        var cc = config.getCheckpoint();
+        if (!cc.isEnabled() && !cc.isResume()) return null;
+        try {
+            return new ScanCheckpoint(config.stateDir(), config.getTarget(), startedIso);
+        } catch (IOException e) {
+            LOG.warn("Checkpoint disabled: {}", e.toString());
+            return null;
+        }
+    }
+
+    /** 체크포인트 로그 열기 + 주기 저장 시작, 실패하면 null(체크포인트 없이 계속) */
+    private ScanCheckpoint startCheckpoint(ScanCheckpoint cp, boolean crawlerSaves) {
+        try {
+            cp.start(TimeUnit.SECONDS.toMillis(config.getCheckpoint().getIntervalSec()), this::budgetSnapshot, crawlerSaves);
+            return cp;
+        } catch (IOException e) {
+            LOG.warn("Checkpoint disabled: {}", e.toString());
+            cp.close();
+            return null;
+        }
+    }
+
+    /** resultLog.enabled면 reports/&lt;host&gt;/scan-&lt;slug&gt;-&lt;ts&gt;.ndjson(새로 씀), 열 수 없으면 null(메모리 목록만) */
+    private static ResultLog openResultLog(ScanConfig config, String startedIso) {
+        var rc = config.getResultLog();
+        if (!rc.isEnabled()) return null;
+        Path file = ReportNaming.ndjsonPath(ReportNaming.context(config.getOutputDir(), config.getTarget(), startedIso));
+        try {
+            return ResultLog.open(file, rc.getFlushMs());
+        } catch (IOException e) {
+            LOG.warn("Result log disabled: {}", e.toString());
+            return null;
+        }
+    }
+
+    /** 액티브 예산 카운터 사본(체크포인트 저장용) */
+    private ScanCheckpoint.Budget budgetSnapshot() {
+        return new ScanCheckpoint.Budget(activeTotal.get(), counts(activePerHost), counts(activePerTemplate));
+    }
+
+    private static Map<String, Integer> counts(Map<String, AtomicInteger> m) {
+        Map<String, Integer> out = new LinkedHashMap<>();
+        m.forEach((k, v) -> out.put(k, v.get()));
+        return out;
+    }
+
+    private void restoreBudget(ScanCheckpoint.Budget b) {
+        activeTotal.set(b.total());
+        b.perHost().forEach((k, v) -> activePerHost.put(k, new AtomicInteger(v)));
+        b.perTemplate().forEach((k, v) -> activePerTemplate.put(k, new AtomicInteger(v)));
+    }
+
+    /**
+     * 분석 완료 1건 → 결과 로그에 추가 + 체크포인트(재개 시 건너뜀).
+     * 작업의 반환값: keepInMemory=false면 빈 목록(Future에 결과를 붙잡아 두지 않음)
+     */
+    private List<VulnResult> pageDone(URI url, List<VulnResult> found) {
+        ResultLog log = resultLog;
+        if (log != null) found.forEach(log::append);
+        ScanCheckpoint cp = checkpoint;
+        if (cp != null) cp.completed(url, List.copyOf(found));
+        return keepResults ? found : List.of();
+    }
+
+    /** 진행률 총량 추정: 수락분 + 남은 프론티어(크롤 완료 전까지), maxSeeds로 상한 */
+    private static int estimateTotal(int accepted, SeedFeed feed, int maxSeeds) {
+        long est = (long) accepted + (feed.isCrawlDone() ? 0 : feed.pendingEstimate());
+        if (maxSeeds > 0) est = Math.min(est, maxSeeds);
+        return (int) Math.max(accepted, Math.min(Integer.MAX_VALUE, est));
+    }
+
+    /**
+     * 비동기 실행 자원: CPU 단계(스캔/폴백) 풀 + in-flight 상한 + 제출 상한.
+     * 리미터 대기는 RateLimiter.acquireAsync(타이머 완료)라 대기 중 점유하는 스레드가 없다.
+     * in-flight 슬롯은 호스트 허가가 난 뒤에 잡는다 → 느린/정지된 호스트의 대기 URL이 슬롯을 붙잡지 않음.
+     * 제출 상한(maxInFlight + cc*2, fixed 풀의 큐와 같은 여유)이 차면 제출 스레드가 대기 → 미완료 URL 수가 사이트 크기와 무관
+     */
+    private static final class AsyncLane {
+        final ExecutorService exec;          // scan-worker: scanner.scan / OR 폴백
+        final HostScheduler.HostSlots window; // 동시 진행 요청 상한(비동기 대기, FIFO)
+        final Semaphore pending;             // 제출됐지만 끝나지 않은 URL 상한
+
+        private AsyncLane(ExecutorService exec, HostScheduler.HostSlots window, int maxPending) {
+            this.exec = exec;
+            this.window = window;
+            this.pending = new Semaphore(maxPending);
+        }
+
+        static AsyncLane open(int cc, int maxInFlight) {
+            int window = Math.max(1, maxInFlight);
+            return new AsyncLane(
+                    Executors.newFixedThreadPool(cc, new NamedThreadFactory("scan-worker")),
+                    new HostScheduler.HostSlots(window),
+                    window + Math.max(1, cc) * 2);
+        }
+
+        /** 제출 자리 1개(취소를 보며 대기). 받은 자리는 해당 URL 완료 시 pending.release() */
+        void admit(AtomicBoolean cancel) throws InterruptedException {
+            while (!pending.tryAcquire(50, TimeUnit.MILLISECONDS)) checkCancel(cancel);
+        }
+    }
+
+    /**
+     * 페이지 1건 비동기 파이프라인: 패시브 RPS → sendAsync 분석 → (scan-worker) 시그니처 스캔 → 액티브 계획.
+     * 요청 대기 중에는 어떤 스레드도 점유하지 않으며, 동시 진행 수는 http.maxInFlight로 제한.
+     */
+    private CompletableFuture<List<VulnResult>> scanAsync(URI url,
+                                                          AsyncLane lane,
+                                                          ProgressListener pl,
+                                                          AtomicBoolean cancel,
+                                                          AtomicInteger estTotal,
+                                                          AtomicInteger pageCount,
+                                                          AtomicInteger inFlight,
+                                                          AtomicInteger maxObserved,
+                                                          AtomicInteger donePages) {
+        checkCancel(cancel);
+
+        // 크롤러가 이미 받은 페이지면 재사용(요청 없음 → 리미터도 건너뜀)
+        final HttpResponseData stored = (pages != null) ? pages.get(url) : null;
+
+        // 호스트 허가(차례/정지 창/패시브 RPS/적응형 슬롯) → 그다음 전역 in-flight 슬롯: 호스트 대기 중엔 슬롯을 잡지 않음
+        final AtomicBoolean slot = new AtomicBoolean(false);
+        CompletableFuture<HttpResponseData> respF;
+        if (stored != null) {
+            respF = lane.window.acquireAsync().thenApply(v -> {
+                slot.set(true);
+                return stored;
+            });
+        } else {
+            respF = hosts.acquirePassiveAsync(url, lane.window).thenCompose(v -> {
+                slot.set(true);
+                try {
+                    checkCancel(cancel);
+                } catch (CancellationException ce) {
+                    hosts.releasePassive(url);
+                    throw ce;
+                }
+                int cur = inFlight.incrementAndGet();
+                maxObserved.accumulateAndGet(cur, Math::max);
+                stats.observeConcurrency(cur);
+
+                final long t0 = System.nanoTime();
+                final CountingRetryPolicy counting = new CountingRetryPolicy(new DefaultRetryPolicy());
+                LOG.debug("HTTP analyze (async): {}", url);
+
+                CompletableFuture<HttpResponseData> f = (http instanceof HttpAnalyzer ha)
+                        ? ha.analyzeWithRetryAsync(url, counting)
+                        : CompletableFuture.supplyAsync(() -> http.analyze(url), lane.exec);
+                return f.whenComplete((r, ex) -> {
+                    hosts.releasePassive(url);
+                    if (!(http instanceof HttpAnalyzer)) observeFallback(url, r);
+                    int retries = (http instanceof HttpAnalyzer) ? counting.getRetryCount() : 0;
+                    stats.addAttempts(1L + retries);
+                    stats.addRetries(retries);
+                    stats.addWallTimeMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0));
+                    int left = inFlight.decrementAndGet();
+                    stats.observeConcurrency(left);
+                });
+            });
+        }
+
+        final AtomicBoolean headOnly = new AtomicBoolean(false); // HEAD 선별로 본문 없이 끝난 페이지(액티브 제외)
+        final AtomicReference<NearDupIndex.Cluster> cluster = new AtomicReference<>();
+        return respF
+                // 2-1) 시그니처 기반 스캔(CPU) → scan-worker
+                .thenApplyAsync(resp -> {
+                    checkCancel(cancel);
+                    if (resp != null && resp.isHeadOnly()) headOnly.set(true);
+                    // 액티브 페이지 검사(PAGE/Mixed)가 같은 응답을 쓰도록 저장
+                    if (stored == null && pages != null && resp != null) pages.put(resp);
+                    NearDupIndex.Match dup = classify(resp);
+                    cluster.set(dup.cluster());
+                    return dup.nearDuplicate() ? scanHeadersOnly(resp) : scanPassive(resp);
+                }, lane.exec)
+                // 2-2) 액티브 프로브 (게이트 + 예산 + 전용 RPS) — sendAsync 체인
+                .thenCompose(found -> {
+                    if (activeRunner == null || headOnly.get() || !shouldActiveProbe(url, config, pageCount, cluster.get())) {
+                        return CompletableFuture.completedFuture(found);
+                    }
+                    return hosts.acquireActiveAsync(url)
+                            .thenCompose(v -> activeRunner.runAsync(config, url, lane.exec)
+                                    .whenComplete((r, ex) -> hosts.releaseActive(url)))
+                            .thenApply(active -> {
+                                if (!active.isEmpty()) {
+                                    found.addAll(active);
+                                    SLOG.info("active-probe",
+                                            "url", String.valueOf(url),
+                                            "hits", active.size());
+                                }
+                                return found;
+                            });
+                })
+                .thenApply(found -> {
+                    List<VulnResult> kept = pageDone(url, found);
+                    int n = pageCount.incrementAndGet();
+                    LOG.info("Scanned {} (page #{}) -> issues={}", url, n, found.size());
+                    SLOG.info("page-scanned",
+                            "url", String.valueOf(url),
+                            "pageNo", n,
+                            "issues", found.size());
+
+                    int done = donePages.incrementAndGet();
+                    int total = Math.max(done, estTotal.get());
+                    double p = (double) done / (double) total;
+                    try {
+                        pl.onProgress(Math.max(0.0, Math.min(1.0, p)), "scan", done, total);
+                    } catch (Throwable ignore) {}
+                    return kept;
+                })
+                .whenComplete((r, ex) -> {
+                    release(url);
+                    if (slot.get()) lane.window.release();
+                });
+    }
+
+    /**
+     * 페이지 1건 분석 작업: (호스트 라운드로빈 + 호스트 RPS) → HTTP 분석 → 시그니처 스캔 → (게이트 통과 시) 액티브 프로브.
+     * 어떤 URL을 처리할지는 실행 시점에 HostScheduler가 정한다(제출 1건 = offer 1건).
+     */
+    private Callable<List<VulnResult>> scanTask(ProgressListener pl,
+                                                AtomicBoolean cancel,
+                                                AtomicInteger estTotal,
+                                                AtomicInteger pageCount,
+                                                AtomicInteger inFlight,
+                                                AtomicInteger maxObserved,
+                                                AtomicInteger donePages) {
+        return () -> {
+            checkCancel(cancel);
+
+            // 허가 가능한 호스트의 다음 URL(이미 받은 페이지는 요청이 없으므로 허가 없이)
+            final URI url;
+            try {
+                url = hosts.take(u -> pages != null && pages.contains(u), -1L);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while rate-limiting");
+            }
+            if (url == null) return new ArrayList<>();
+
+            // 크롤러가 이미 받은 페이지면 재사용
+            HttpResponseData stored = (pages != null) ? pages.get(url) : null;
+
+            int cur = inFlight.incrementAndGet();
+            maxObserved.accumulateAndGet(cur, Math::max);
+            stats.observeConcurrency(cur);
+
+            long t0 = System.nanoTime();
+            int retriesThisCall = 0;
+
+            try {
+                LOG.debug("HTTP analyze: {}", url);
+
+                checkCancel(cancel);
+
+                HttpResponseData resp;
+                if (stored != null) {
+                    resp = stored;
+                } else {
+                    hosts.acquirePassive(url); // 적응형 호스트 동시성(꺼져 있으면 즉시)
+                    try {
+                        if (http instanceof HttpAnalyzer ha) {
+                            var counting = new CountingRetryPolicy(new DefaultRetryPolicy());
+                            resp = ha.analyzeWithRetry(url, counting, new DefaultSleeper());
+                            retriesThisCall = counting.getRetryCount();
+                        } else {
+                            resp = http.analyze(url);
+                            observeFallback(url, resp);
+                        }
+                    } finally {
+                        hosts.releasePassive(url);
+                    }
+                }
+                // 액티브 페이지 검사(PAGE/Mixed)가 같은 응답을 쓰도록 저장
+                if (stored == null && pages != null && resp != null) pages.put(resp);
+
+                checkCancel(cancel);
+
+                // 2-1) 시그니처 기반 스캔(기존, 캐시 적중이면 재생 / 근사 중복이면 헤더만)
+                NearDupIndex.Match dup = classify(resp);
+                List<VulnResult> found = dup.nearDuplicate() ? scanHeadersOnly(resp) : scanPassive(resp);
+
+                // 2-2) 액티브 프로브 (게이트 + 예산 + 전용 RPS) — HEAD 선별로 헤더만 본 페이지(바이너리/대용량)는 제외
+                if (activeRunner != null && !(resp != null && resp.isHeadOnly()) && shouldActiveProbe(url, config, pageCount, dup.cluster())) {
+                    try {
+                        hosts.acquireActive(url); // 호스트별 액티브 동시성 + RPS
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new CancellationException("Interrupted while active rate-limiting");
+                    }
+                    List<VulnResult> active;
+                    try {
+                        active = activeRunner.run(config, url);
+                    } finally {
+                        hosts.releaseActive(url);
+                    }
+                    if (!active.isEmpty()) {
+                        found.addAll(active);
+                        SLOG.info("active-probe",
+                                "url", String.valueOf(url),
+                                "hits", active.size());
+                    }
+                }
+
+                List<VulnResult> kept = pageDone(url, found);
+                int n = pageCount.incrementAndGet();
+                LOG.info("Scanned {} (page #{}) -> issues={}", url, n, found.size());
+                SLOG.info("page-scanned",
+                        "url", String.valueOf(url),
+                        "pageNo", n,
+                        "issues", found.size());
+
+                int done = donePages.incrementAndGet();
+                int total = Math.max(done, estTotal.get()); // 스트리밍 중엔 추정치(점점 정밀해짐)
+                double p = (double) done / (double) total;
+                try {
+                    pl.onProgress(Math.max(0.0, Math.min(1.0, p)), "scan", done, total);
+                } catch (Throwable ignore) {}
+                return kept;
+
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted during analyze/scan");
+
+            } finally {
+                release(url);
+                long wallMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+                if (stored == null) stats.addAttempts(1L + retriesThisCall);
+                stats.addRetries(retriesThisCall);
+                stats.addWallTimeMs(wallMs);
+
+                int left = inFlight.decrementAndGet();
+                stats.observeConcurrency(left);
+            }
+        };
+    }
+
     /* =========================
        공용 유틸 / 게터
        ========================= */
@@ -321,15 +787,79 @@ public final class ScanService {
         }
     }
 
-    static final class NamedThreadFactory implements ThreadFactory {
-        private final String prefix;
-        private final AtomicInteger seq = new AtomicInteger(1);
-        NamedThreadFactory(String prefix) { this.prefix = prefix; }
-        @Override public Thread newThread(Runnable r) {
-            Thread t = new Thread(r, prefix + "-" + seq.getAndIncrement());
-            t.setDaemon(true);
-            return t;
+    private static ValidatorCache openCache(ScanConfig config) {
+        if (!config.getCache().isEnabled()) return null;
+        try {
+            return new ValidatorCache(config.cacheDir());
+        } catch (java.io.IOException e) {
+            LOG.warn("Validator cache disabled: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 시그니처 스캔: 지난 실행과 같은 페이지(304/본문 해시 동일)면 저장된 결과 재생, 아니면 스캔 후 저장.
+     * 크기 기준선에 의존하는 결과는 저장/재생하지 않고, 재생할 때도 크기를 관측해 이번 실행 기준선으로 다시 계산
+     */
+    private List<VulnResult> scanPassive(HttpResponseData resp) {
+        if (cache == null || resp == null) return scanner.scan(resp);
+        List<VulnResult> replay = cache.replay(resp);
+        if (replay != null) {
+            replay.removeIf(SignatureScanner::isBaselineDependent); // 이전 버전이 저장한 항목 대비
+            if (scanner instanceof SignatureScanner ss) replay.addAll(ss.observeSize(resp));
+            return replay;
         }
+        List<VulnResult> found = scanner.scan(resp);
+        List<VulnResult> stable = new ArrayList<>(found);
+        stable.removeIf(SignatureScanner::isBaselineDependent);
+        cache.store(resp, stable);
+        return found;
+    }
+
+    /** 근사 중복 판정(끔/바이너리/HEAD만/지문 없음이면 Match.NONE) */
+    private NearDupIndex.Match classify(HttpResponseData resp) {
+        if (dedup == null || resp == null || resp.isHeadOnly() || !resp.contentClass().isTextLike()) {
+            return NearDupIndex.Match.NONE;
+        }
+        NearDupIndex.Match m = dedup.assign(SimHash.of(resp.getBody()), resp.getUrl());
+        if (m.nearDuplicate()) {
+            stats.addNearDuplicates(1);
+            LOG.debug("Near-duplicate of {} (d={}): {}", m.cluster().representative(), m.distance(), resp.getUrl());
+        }
+        return m;
+    }
+
+    /** 근사 중복 페이지: 본문 시그니처는 대표 페이지에서 봤으므로 헤더/상태만 검사(캐시 저장 안 함) */
+    private List<VulnResult> scanHeadersOnly(HttpResponseData resp) {
+        return scanner.scan(HttpResponseData.builder()
+                .url(resp.getUrl())
+                .statusCode(resp.getStatusCode())
+                .headers(resp.getHeaders())
+                .contentType(resp.getContentType())
+                .responseTimeMs(resp.getResponseTimeMs())
+                .build());
+    }
+
+    /** HttpAnalyzer 외 경로: 최종 응답 1건을 정지 창/제어기에 반영 */
+    private void observeFallback(URI url, HttpResponseData resp) {
+        if (resp == null) return;
+        backoff.onResponse(url, resp.getStatusCode(), resp.getHeaders());
+        if (adaptive) hosts.observe(url, resp.getStatusCode(), resp.getResponseTimeMs());
+    }
+
+    /** 적응형(AIMD) 결정 이력(보고서 runtime.adaptive). 꺼져 있으면 빈 목록 */
+    public List<AdaptiveController.Decision> getAdaptiveHistory() {
+        return hosts.adaptiveHistory();
+    }
+
+    /** 공용 전송 계층의 연결 재사용 근사 통계(보고서 runtime.transport) */
+    public HttpTransport.Stats getTransportStats() {
+        return transport.stats();
+    }
+
+    /** 검증자 캐시 적중/미스 통계(보고서 runtime.cache). 캐시가 꺼져 있으면 null */
+    public ValidatorCache.Stats getCacheStats() {
+        return (cache != null) ? cache.stats() : null;
     }
 
     public ScanStats.Snapshot getRuntimeSnapshot() {
@@ -340,6 +870,16 @@ public final class ScanService {
         return lastVisitedPages;
     }
 
+    /** 마지막 run()의 NDJSON 결과 로그(resultLog 꺼짐/열기 실패면 null) → ResultSource.ofLog(...) */
+    public Path getResultLogPath() {
+        return resultLogPath;
+    }
+
+    /** 스캔 시작 시각(ISO-8601). 체크포인트에서 재개했으면 원래 실행의 시작 시각 → 보고서 이름 유지 */
+    public String getStartedIso() {
+        return startedIso;
+    }
+
     /* =========================
        최적화 헬퍼들
        ========================= */
@@ -357,8 +897,8 @@ public final class ScanService {
         ).contains(ext);
     }
 
-    /** 액티브 프로브 수행 여부 결정 (게이트 + 예산 + 샘플링) */
-    private boolean shouldActiveProbe(URI url, ScanConfig cfg, AtomicInteger pageCount){
+    /** 액티브 프로브 수행 여부 결정 (게이트 + 예산 + 샘플링 + 근사 중복 클러스터 할당량) */
+    private boolean shouldActiveProbe(URI url, ScanConfig cfg, AtomicInteger pageCount, NearDupIndex.Cluster cluster){
         // 1) 정적 리소스 컷
         if (isStatic(url)) return false;
 
@@ -407,15 +947,51 @@ public final class ScanService {
 
         if (!allow) return false;
 
-        // 4) 초반 N 페이지만
-        int ordinal = pageCount.get() + 1;
-        if (ordinal > gate.firstPages) return false;
+        AtomicInteger tplCtr = null;
+        if (gate.perTemplate > 0) {
+            // 4') URL 템플릿 분산: 템플릿당 K회, 처음 보는 템플릿은 샘플링/예비분 없이 우선
+            tplCtr = activePerTemplate.computeIfAbsent(UrlTemplate.of(url), t -> new AtomicInteger());
+            int prior = tryAcquire(tplCtr, gate.perTemplate);
+            if (prior < 0) return false;
+            if (prior > 0) {
+                boolean sampledOut = gate.sample < 1.0 && ThreadLocalRandom.current().nextDouble() > gate.sample;
+                // 이미 프로브한 템플릿은 총 예산의 newTemplateReserve 몫을 새 템플릿용으로 남김
+                boolean reserved = gate.maxActive > 0
+                        && activeTotal.get() >= (int) Math.ceil(gate.maxActive * (1.0 - gate.newTemplateReserve));
+                if (sampledOut || reserved) {
+                    tplCtr.decrementAndGet();
+                    return false;
+                }
+            }
+        } else {
+            // 4) 초반 N 페이지만
+            int ordinal = pageCount.get() + 1;
+            if (ordinal > gate.firstPages) return false;
+
+            // 5) 샘플링
+            if (gate.sample < 1.0 && ThreadLocalRandom.current().nextDouble() > gate.sample) return false;
+        }
 
-        // 5) 샘플링
-        if (gate.sample < 1.0 && ThreadLocalRandom.current().nextDouble() > gate.sample) return false;
+        // 6) 근사 중복 클러스터 할당량(대표 포함)
+        if (cluster != null && !cluster.tryAcquireActive(cfg.getDedup().getActivePerCluster())) {
+            if (tplCtr != null) tplCtr.decrementAndGet();
+            return false;
+        }
 
-        // 6) 총/호스트별 예산
-        return reserveActiveBudget(url);
+        // 7) 총/호스트별 예산
+        if (reserveActiveBudget(url)) return true;
+        if (cluster != null) cluster.releaseActive();
+        if (tplCtr != null) tplCtr.decrementAndGet();
+        return false;
+    }
+
+    /** ctr < max면 1 증가 후 이전 값, 아니면 -1 */
+    private static int tryAcquire(AtomicInteger ctr, int max) {
+        for (;;) {
+            int cur = ctr.get();
+            if (cur >= max) return -1;
+            if (ctr.compareAndSet(cur, cur + 1)) return cur;
+        }
     }
 
     /** 액티브 예산 확보 (총/호스트별 상한) */
@@ -444,7 +1020,10 @@ public final class ScanService {
             double sample,
             int activeRps,
             int maxActive,
-            int maxActivePerHost
+            int maxActivePerHost,
+            int activeConcurrencyPerHost,
+            int perTemplate,            // 0이면 템플릿 분산 끔(초반 N 페이지 + 샘플링)
+            double newTemplateReserve   // 총 예산 중 처음 보는 템플릿용 예비 비율
     ) {}
 
     private static Gate resolveGate(ScanConfig cfg, Mode mode) {
@@ -493,13 +1072,33 @@ public final class ScanService {
                 sysInt("wk." + profile + ".maxActivePerHost", hostMaxDefault)
         );
 
+        // 호스트별 액티브 동시 진행 상한(scan.yml hosts.<host>.activeConcurrency가 우선)
+        final int hostConcurrencyDefault = (mode == Mode.AGGRESSIVE) ? 4 : 2;
+        final int activeConcurrencyPerHost = sysInt(
+                "wk.active.concurrencyPerHost",
+                sysInt("wk." + profile + ".activeConcurrencyPerHost", hostConcurrencyDefault)
+        );
+
+        // URL 템플릿 분산: 템플릿당 프로브 수(기본 2, 0=기존 firstPages 방식), 새 템플릿 예비 비율
+        final int perTemplate = sysInt(
+                "wk.active.perTemplate",
+                sysInt("wk." + profile + ".activePerTemplate", 2)
+        );
+        final double newTemplateReserve = sysDouble(
+                "wk.active.newTemplateReserve",
+                sysDouble("wk." + profile + ".newTemplateReserve", 0.25)
+        );
+
         return new Gate(
                 Math.max(1, firstPages),
                 onQueryOnly,
                 sample,
                 Math.max(0, activeRps),
                 Math.max(0, maxActive),
-                Math.max(0, maxActivePerHost)
+                Math.max(0, maxActivePerHost),
+                Math.max(1, activeConcurrencyPerHost),
+                Math.max(0, perTemplate),
+                clamp01(newTemplateReserve)
         );
     }
 
@@ -0,0 +1,147 @@
+// core/src/main/java/com/webkillerai/core/service/SeedFeed.java
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.api.ICrawler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 크롤러 → 스캔 워커 스트리밍 브리지.
+ * - 전용 스레드(scan-crawler)에서 ICrawler.crawlSeeds(sink)를 돌려 발견 URL을 bounded 큐에 적재
+ * - 큐가 가득 차면 크롤러가 대기(역압) → 메모리 상한 보장
+ * - 소비자는 next()로 하나씩 꺼내며, 크롤 종료/중단 시 null을 받는다. 크롤이 예외로 끝났으면 END 도착 시 next()가 그 예외를 던짐
+ * - pendingEstimate()는 (크롤러 프론티어 + 큐 적재분)으로 진행률 총량 추정에 사용
+ * - 체크포인트가 있으면 내보낸 URL/크롤 종료를 크롤 스레드에서 그대로 알림(안전 지점 상태와 순서 일치)
+ */
+final class SeedFeed implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SeedFeed.class);
+    private static final URI END = URI.create("wkai:end");   // 종료 마커(큐 전용)
+
+    private final ICrawler crawler;
+    private final BlockingQueue<URI> queue;
+    private final AtomicBoolean stop = new AtomicBoolean(false);
+    private final AtomicInteger frontier = new AtomicInteger(0);
+    private final AtomicInteger emitted = new AtomicInteger(0);
+    private volatile boolean done = false;
+    private volatile boolean ended = false;    // 소비자가 END를 받았는지
+    private volatile Throwable failure;        // 크롤 예외(END 전에 기록)
+    private Thread worker;
+    private ScanCheckpoint checkpoint;        // null 허용
+
+    /** @param capacity 큐 용량(<=0 이면 무제한: 비스트리밍 모드) */
+    SeedFeed(ICrawler crawler, int capacity) {
+        this.crawler = crawler;
+        this.queue = (capacity > 0) ? new LinkedBlockingQueue<>(capacity) : new LinkedBlockingQueue<>();
+    }
+
+    /** 체크포인트 연결(start 전) */
+    SeedFeed checkpoint(ScanCheckpoint cp) {
+        this.checkpoint = cp;
+        return this;
+    }
+
+    /** 크롤 스레드 시작 */
+    SeedFeed start() {
+        Thread t = new Thread(this::crawlLoop, "scan-crawler");
+        t.setDaemon(true);
+        this.worker = t;
+        t.start();
+        return this;
+    }
+
+    private void crawlLoop() {
+        final ScanCheckpoint cp = checkpoint;
+        boolean finished = false;
+        try {
+            crawler.crawlSeeds((u, pending) -> {
+                if (stop.get()) return false;
+                frontier.set(Math.max(0, pending));
+                queue.put(u);                       // 가득 차면 대기(역압)
+                emitted.incrementAndGet();
+                if (cp != null) cp.emitted(u);
+                return !stop.get();
+            });
+            finished = !stop.get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            LOG.warn("Crawl failed: {}", t.toString());
+            if (!stop.get()) failure = t;          // 중단 중 예외는 소비자가 이미 떠났으므로 무시
+        } finally {
+            if (cp != null) {
+                if (finished) cp.crawlFinished();
+                else cp.crawlEnded();
+            }
+            frontier.set(0);
+            deliverEnd();
+            done = true;
+        }
+    }
+
+    /** END는 용량과 무관하게 반드시 전달: 자리가 날 때까지 짧게 대기, 중단되면 큐를 비우고 넣음 */
+    private void deliverEnd() {
+        boolean interrupted = false;
+        while (true) {
+            if (stop.get()) queue.clear();
+            try {
+                if (queue.offer(END, 100, TimeUnit.MILLISECONDS)) break;
+            } catch (InterruptedException ie) {
+                interrupted = true;                 // stop()의 인터럽트 → 다음 바퀴에서 큐 비움
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /** 다음 시드(없으면 크롤 종료까지 대기). 크롤이 끝났으면 null, 크롤이 예외로 끝났으면 그 예외 */
+    URI next() throws InterruptedException {
+        if (ended) return end();
+        URI u = queue.take();
+        if (u == END) { ended = true; return end(); }
+        return u;
+    }
+
+    private URI end() {
+        Throwable t = failure;
+        if (t == null) return null;
+        if (t instanceof RuntimeException re) throw re;
+        if (t instanceof Error e) throw e;
+        throw new IllegalStateException("Crawl failed", t);
+    }
+
+    /** 크롤 완료까지 대기(비스트리밍 모드: 전체 수집 후 제출) */
+    void awaitCrawl() throws InterruptedException {
+        if (worker != null) worker.join();
+    }
+
+    /** 아직 소비되지 않은 URL 추정치(큐 + 크롤러 프론티어) */
+    int pendingEstimate() {
+        int q = queue.size();
+        if (done && q > 0 && !ended) q -= 1;       // END 마커 제외(done은 END 적재 후 켜짐)
+        return Math.max(0, q) + frontier.get();
+    }
+
+    boolean isCrawlDone() { return done; }
+
+    int emittedCount() { return emitted.get(); }
+
+    /** 크롤 중단 요청(maxSeeds 도달/취소) */
+    void stop() {
+        stop.set(true);
+        queue.clear();                              // 대기 중인 put 해제
+        Thread t = worker;
+        if (t != null && !done) t.interrupt();
+    }
+
+    @Override
+    public void close() {
+        if (!done) stop();
+    }
+}
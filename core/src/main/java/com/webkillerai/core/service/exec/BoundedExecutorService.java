@@ -0,0 +1,52 @@
+package com.webkillerai.core.service.exec;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시 실행 상한 래퍼: 실행 중 작업이 permits개면 execute()가 제출 스레드를 대기시킨다.
+ * - 큐가 무제한인 실행기(ForkJoin/가상 스레드)에 고정풀과 같은 역압/동시성 상한을 부여
+ */
+final class BoundedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+
+    BoundedExecutorService(ExecutorService delegate, int permits) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(Math.max(1, permits));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a worker slot", ie);
+        }
+        try {
+            delegate.execute(() -> {
+                try { command.run(); }
+                finally { permits.release(); }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override public void shutdown() { delegate.shutdown(); }
+    @Override public List<Runnable> shutdownNow() { return delegate.shutdownNow(); }
+    @Override public boolean isShutdown() { return delegate.isShutdown(); }
+    @Override public boolean isTerminated() { return delegate.isTerminated(); }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
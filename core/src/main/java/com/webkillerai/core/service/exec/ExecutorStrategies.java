@@ -0,0 +1,33 @@
+package com.webkillerai.core.service.exec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+
+/** scan.yml executor 값 → 전략 선택 */
+public final class ExecutorStrategies {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutorStrategies.class);
+
+    private ExecutorStrategies() {}
+
+    /** 이름으로 전략 선택(미지정/알 수 없는 값은 fixed, virtual 미지원 런타임도 fixed) */
+    public static ExecutorStrategy forName(String name) {
+        String n = (name == null) ? "" : name.trim().toLowerCase(Locale.ROOT);
+        switch (n) {
+            case "", "fixed", "platform":
+                return FixedPoolStrategy.INSTANCE;
+            case "forkjoin", "fork-join", "workstealing":
+                return ForkJoinStrategy.INSTANCE;
+            case "virtual", "loom":
+                if (VirtualThreadStrategy.isAvailable()) return VirtualThreadStrategy.INSTANCE;
+                LOG.info("Virtual threads need Java 21+ (running {}), falling back to fixed executor",
+                        System.getProperty("java.version"));
+                return FixedPoolStrategy.INSTANCE;
+            default:
+                LOG.warn("Unknown executor '{}', using fixed", name);
+                return FixedPoolStrategy.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.webkillerai.core.service.exec;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 스캔 워커 실행기 전략(SPI).
+ * - fixed    : 고정 플랫폼 스레드풀 + bounded 큐(가득 차면 제출 스레드 대기) — 기본값
+ * - forkjoin : work-stealing ForkJoinPool(asyncMode)
+ * - virtual  : 작업당 가상 스레드(Java 21+), 미지원 런타임이면 fixed로 대체
+ *
+ * 어떤 전략이든 동시에 실행되는 작업 수는 concurrency를 넘지 않으며,
+ * 상한에 도달하면 submit()이 제출 스레드를 대기시킨다(역압).
+ * 이름 → 전략 선택은 ExecutorStrategies.forName.
+ */
+public interface ExecutorStrategy {
+
+    /** scan.yml의 executor 값(소문자) */
+    String name();
+
+    /**
+     * @param concurrency 동시 실행 상한(>=1)
+     * @param threadPrefix 워커 스레드 이름 접두사(예: "scan-worker")
+     */
+    ExecutorService create(int concurrency, String threadPrefix);
+}
@@ -0,0 +1,35 @@
+package com.webkillerai.core.service.exec;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/** 고정 스레드풀(+역압): 큐(cc*2)가 차면 제출 스레드가 대기 — 기존 ScanService 동작 */
+public final class FixedPoolStrategy implements ExecutorStrategy {
+
+    public static final FixedPoolStrategy INSTANCE = new FixedPoolStrategy();
+
+    private FixedPoolStrategy() {}
+
+    @Override public String name() { return "fixed"; }
+
+    @Override
+    public ExecutorService create(int concurrency, String threadPrefix) {
+        int cc = Math.max(1, concurrency);
+        return new ThreadPoolExecutor(
+                cc, cc,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(cc * 2),
+                new NamedThreadFactory(threadPrefix),
+                (r, e) -> {
+                    try { e.getQueue().put(r); }
+                    catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while enqueueing", ie);
+                    }
+                }
+        );
+    }
+}
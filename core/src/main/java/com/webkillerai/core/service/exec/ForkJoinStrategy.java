@@ -0,0 +1,32 @@
+package com.webkillerai.core.service.exec;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * work-stealing ForkJoinPool(parallelism=cc, asyncMode=FIFO).
+ * 블로킹 I/O 중 풀이 보상 스레드를 늘릴 수 있으므로 동시 실행 수는 BoundedExecutorService로 cc에 고정.
+ */
+public final class ForkJoinStrategy implements ExecutorStrategy {
+
+    public static final ForkJoinStrategy INSTANCE = new ForkJoinStrategy();
+
+    private ForkJoinStrategy() {}
+
+    @Override public String name() { return "forkjoin"; }
+
+    @Override
+    public ExecutorService create(int concurrency, String threadPrefix) {
+        int cc = Math.max(1, concurrency);
+        AtomicInteger seq = new AtomicInteger(1);
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            t.setName(threadPrefix + "-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+        return new BoundedExecutorService(new ForkJoinPool(cc, factory, null, true), cc);
+    }
+}
@@ -0,0 +1,18 @@
+package com.webkillerai.core.service.exec;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** prefix-N 이름의 데몬 플랫폼 스레드 */
+public final class NamedThreadFactory implements ThreadFactory {
+    private final String prefix;
+    private final AtomicInteger seq = new AtomicInteger(1);
+
+    public NamedThreadFactory(String prefix) { this.prefix = (prefix == null || prefix.isBlank()) ? "worker" : prefix; }
+
+    @Override public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, prefix + "-" + seq.getAndIncrement());
+        t.setDaemon(true);
+        return t;
+    }
+}
@@ -0,0 +1,66 @@
+package com.webkillerai.core.service.exec;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 작업당 가상 스레드(Java 21+). 빌드 타깃이 17이므로 API는 리플렉션으로 호출한다.
+ * - 스레드 이름: prefix-N (Thread.ofVirtual().name(prefix-, 1))
+ * - 동시 실행 수는 BoundedExecutorService로 cc에 고정(가상 스레드 자체는 무제한)
+ * - Java 21 미만이거나 생성에 실패하면 fixed 풀로 대체
+ */
+public final class VirtualThreadStrategy implements ExecutorStrategy {
+
+    public static final VirtualThreadStrategy INSTANCE = new VirtualThreadStrategy();
+
+    private static final Method OF_VIRTUAL;           // Thread.ofVirtual()
+    private static final Method BUILDER_NAME;         // Thread.Builder.name(String, long)
+    private static final Method BUILDER_FACTORY;      // Thread.Builder.factory()
+    private static final Method PER_TASK_EXECUTOR;    // Executors.newThreadPerTaskExecutor(ThreadFactory)
+
+    static {
+        Method ofVirtual = null, name = null, factory = null, perTask = null;
+        // 19/20에도 메서드는 있지만 preview API라 --enable-preview 없이는 호출이 실패 → 버전으로 판정
+        if (Runtime.version().feature() >= 21) {
+            try {
+                Class<?> builder = Class.forName("java.lang.Thread$Builder");
+                ofVirtual = Thread.class.getMethod("ofVirtual");
+                name = builder.getMethod("name", String.class, long.class);
+                factory = builder.getMethod("factory");
+                perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            } catch (Throwable t) {
+                ofVirtual = null; // API 조회 실패 → 미지원 취급
+            }
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_FACTORY = factory;
+        PER_TASK_EXECUTOR = perTask;
+    }
+
+    private VirtualThreadStrategy() {}
+
+    /** 런타임이 가상 스레드를 지원하는지(Java 21+) */
+    public static boolean isAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    @Override public String name() { return "virtual"; }
+
+    @Override
+    public ExecutorService create(int concurrency, String threadPrefix) {
+        int cc = Math.max(1, concurrency);
+        if (!isAvailable()) return FixedPoolStrategy.INSTANCE.create(cc, threadPrefix);
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, threadPrefix + "-", 1L);
+            ThreadFactory tf = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            ExecutorService perTask = (ExecutorService) PER_TASK_EXECUTOR.invoke(null, tf);
+            return new BoundedExecutorService(perTask, cc);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return FixedPoolStrategy.INSTANCE.create(cc, threadPrefix); // 생성 실패(제한된 런타임 등) → fixed
+        }
+    }
+}
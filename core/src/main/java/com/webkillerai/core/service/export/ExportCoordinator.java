@@ -43,6 +43,15 @@ public final class ExportCoordinator {
                           java.util.List<VulnResult> results,
                           String startedIso,
                           Set<String> formats) throws Exception {
+        return exportAll(baseDir, cfg, ResultSource.of(results), startedIso, formats);
+    }
+
+    /** 결과 원천(예: ResultSource.ofLog(스캔 NDJSON 로그))에서 내보내기 */
+    public Path exportAll(Path baseDir,
+                          ScanConfig cfg,
+                          ResultSource results,
+                          String startedIso,
+                          Set<String> formats) throws Exception {
         Objects.requireNonNull(cfg, "cfg");
         var ctx = ReportNaming.context(baseDir, cfg.getTarget(), startedIso);
         Files.createDirectories(reportsDir(ctx));
@@ -142,7 +151,7 @@ public final class ExportCoordinator {
     private Path ensureHtml(Path htmlPath,
                             Path baseDir,
                             ScanConfig cfg,
-                            java.util.List<VulnResult> results,
+                            ResultSource results,
                             String startedIso) throws Exception {
         if (htmlPath != null) return htmlPath;
         return html.export(baseDir, cfg, results, startedIso);
@@ -151,7 +160,7 @@ public final class ExportCoordinator {
     /** PdfReportExporter 폴백 시도 + 결과 PDF 유효성 검증 */
     private Path tryPdfFallbackValidated(Path baseDir,
                                          ScanConfig cfg,
-                                         java.util.List<VulnResult> results,
+                                         ResultSource results,
                                          String startedIso) {
         try {
             if (!PdfReportExporter.isAvailable()) return null;
@@ -182,7 +191,7 @@ public final class ExportCoordinator {
     private Path ensureAtLeastJson(Path last,
                                    Path baseDir,
                                    ScanConfig cfg,
-                                   java.util.List<VulnResult> results,
+                                   ResultSource results,
                                    String startedIso) {
         if (last != null) return last;
         try {
@@ -16,6 +16,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.Year;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class HtmlReportExporter implements ReportExporter {
 
@@ -29,6 +30,12 @@ public class HtmlReportExporter implements ReportExporter {
 
     @Override
     public Path export(Path baseDir, ScanConfig cfg, List<VulnResult> results, String startedIso) {
+        return export(baseDir, cfg, ResultSource.of(results), startedIso);
+    }
+
+    /** 결과 원천을 세 번 읽음: 분포/리스크 집계 → TOC → Findings(목록을 힙에 모으지 않음) */
+    @Override
+    public Path export(Path baseDir, ScanConfig cfg, ResultSource source, String startedIso) {
         Objects.requireNonNull(cfg, "cfg");
         final Path outRoot = (baseDir != null) ? baseDir : Paths.get("out");
 
@@ -44,8 +51,8 @@ public class HtmlReportExporter implements ReportExporter {
         }
 
         final Path html = dir.resolve("scan-" + slug + "-" + ts + ".html");
-        final String content = buildHtml(cfg, results, startedIso);
         try {
+            final String content = buildHtml(cfg, source, startedIso);
             Files.writeString(html, content, StandardCharsets.UTF_8,
                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
         } catch (IOException e) {
@@ -67,20 +74,26 @@ public class HtmlReportExporter implements ReportExporter {
 
     // ---------------- render ----------------
 
-    private String buildHtml(ScanConfig cfg, List<VulnResult> issuesIn, String startedIso) {
+    private String buildHtml(ScanConfig cfg, ResultSource source, String startedIso) throws IOException {
         // Evidence 표시 길이/줄수는 시스템 프로퍼티로 조절 가능
         int evMaxChars   = sysInt("wk.html.evi.maxChars", 512); // 기본 512
         int evClampLines = sysInt("wk.html.evi.clampLines", 2); // 기본 2
         boolean showFullEvidence = showEvidenceDetails(cfg);    // ← 토글
 
-        List<VulnResult> issues = (issuesIn == null) ? List.of() : issuesIn;
-
-        // severity 분포(모든 레벨 포함)
+        // severity 분포(모든 레벨 포함) + Risk 요약 누적 — 첫 패스
         Map<Severity, Long> dist = new LinkedHashMap<>();
         for (Severity s : Severity.values()) dist.put(s, 0L);
-        for (VulnResult v : issues) dist.computeIfPresent(v.getSeverity(), (k, old) -> old + 1);
+        RiskUtil.Accumulator risk = new RiskUtil.Accumulator();
+        long[] count = {0};
+        try (Stream<VulnResult> st = source.stream()) {
+            st.forEachOrdered(v -> {
+                dist.computeIfPresent(v.getSeverity(), (k, old) -> old + 1);
+                risk.add(v);
+                count[0]++;
+            });
+        }
 
-        long totalIssues = issues.size();
+        long totalIssues = count[0];
         String topSeverity = dist.entrySet().stream()
                 .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
                 .map(e -> e.getKey().name() + "(" + e.getValue() + ")")
@@ -102,7 +115,7 @@ public class HtmlReportExporter implements ReportExporter {
         String overCls = riskClass(overallRisk);
 
         // ★ Risk 요약 (Avg / 95p / Max) — null riskScore는 severity→risk 맵으로 대체
-        RiskSummary rs = RiskUtil.summarize(issues);
+        RiskSummary rs = risk.summary();
 
         // Excludes count (config 버전별 대응: 리플렉션)
         int excludesCount = excludeCountFromConfig(cfg);
@@ -174,19 +187,21 @@ public class HtmlReportExporter implements ReportExporter {
 
         // Issues TOC
         sb.append("<div class='card'><h2>Issues (TOC)</h2>");
-        if (issues.isEmpty()) {
+        if (totalIssues == 0) {
             sb.append("<div class='sub'>No issues.</div>");
         } else {
-            int idx = 1;
-            for (VulnResult v : issues) {
-                String anchorId = "issue-" + idx + "-" + makeSlug(v.getIssueType().name());
-                sb.append("<a href='#").append(anchorId).append("'>#")
-                  .append(idx).append(" · [").append(esc(v.getSeverity().name())).append("] ")
-                  .append(esc(v.getIssueType().name())).append(" — ")
-                  .append(linkifyTrim(v.getUrl(), 80))
-                  .append("</a>");
-                if (idx < issues.size()) sb.append("<br/>");
-                idx++;
+            int[] idx = {1};
+            try (Stream<VulnResult> st = source.stream()) {
+                st.forEachOrdered(v -> {
+                    String anchorId = "issue-" + idx[0] + "-" + makeSlug(v.getIssueType().name());
+                    sb.append("<a href='#").append(anchorId).append("'>#")
+                      .append(idx[0]).append(" · [").append(esc(v.getSeverity().name())).append("] ")
+                      .append(esc(v.getIssueType().name())).append(" — ")
+                      .append(linkifyTrim(v.getUrl(), 80))
+                      .append("</a>");
+                    if (idx[0] < totalIssues) sb.append("<br/>");
+                    idx[0]++;
+                });
             }
         }
         sb.append("</div>");
@@ -211,38 +226,40 @@ public class HtmlReportExporter implements ReportExporter {
           .append("<th><input type='search' placeholder='Evidence' data-filter='evi'></th>")
           .append("<th><input type='search' placeholder='Time' data-filter='time'></th>")
           .append("</tr></thead><tbody>");
-        int i = 1;
-        for (VulnResult v : issues) {
-            String anchorId = "issue-" + i + "-" + makeSlug(v.getIssueType().name());
-            String urlStr   = v.getUrl() == null ? "" : v.getUrl().toString();
-            String safeUrl  = esc(urlStr);
-            String urlA     = linkify(urlStr);
-
-            // Risk 배지 (null → severity 매핑으로 대체)
-            Integer riskScore = v.getRiskScore();
-            int rsVal = (riskScore != null) ? riskScore.intValue() : toRisk(v.getSeverity());
-            String badgeCls = riskClass(rsVal);
-            String riskHtml = "<span class='badge-risk " + badgeCls + "'>" + rsVal + "</span>";
-
-            // Evidence 블럭: 토글 규칙으로 생성
-            String evCombined = buildEvidenceBlock(v, evMaxChars, showFullEvidence);
-            String evEsc      = esc(evCombined);
-
-            sb.append("<tr id='").append(anchorId).append(">") // keep id semantic
-              .append("<td>").append(i++).append("</td>")
-              .append("<td class='url' data-col='url'>").append(urlA)
-              .append(" <button type='button' class='btn-copy' data-copy='").append(safeUrl).append("'>Copy</button>")
-              .append("</td>")
-              .append("<td data-col='type'>").append(esc(v.getIssueType().name())).append("</td>")
-              .append("<td class='sev-").append(v.getSeverity().name()).append("' data-col='sev'>").append(v.getSeverity().name()).append("</td>")
-              .append("<td class='col-risk' data-col='risk' data-val='").append(rsVal).append("'>").append(riskHtml).append("</td>")
-              .append("<td data-col='evi'>").append("<div class='ev'><code>").append(evEsc).append("</code></div>")
-              .append(" <button class='btn-copy toggle-ev' type='button'>More</button>")
-              .append("</td>")
-              .append("<td data-col='time'>").append(esc(String.valueOf(v.getDetectedAt()))).append("</td>")
-              .append("</tr>");
+        int[] i = {1};
+        try (Stream<VulnResult> st = source.stream()) {
+            st.forEachOrdered(v -> {
+                String anchorId = "issue-" + i[0] + "-" + makeSlug(v.getIssueType().name());
+                String urlStr   = v.getUrl() == null ? "" : v.getUrl().toString();
+                String safeUrl  = esc(urlStr);
+                String urlA     = linkify(urlStr);
+
+                // Risk 배지 (null → severity 매핑으로 대체)
+                Integer riskScore = v.getRiskScore();
+                int rsVal = (riskScore != null) ? riskScore.intValue() : toRisk(v.getSeverity());
+                String badgeCls = riskClass(rsVal);
+                String riskHtml = "<span class='badge-risk " + badgeCls + "'>" + rsVal + "</span>";
+
+                // Evidence 블럭: 토글 규칙으로 생성
+                String evCombined = buildEvidenceBlock(v, evMaxChars, showFullEvidence);
+                String evEsc      = esc(evCombined);
+
+                sb.append("<tr id='").append(anchorId).append(">") // keep id semantic
+                  .append("<td>").append(i[0]++).append("</td>")
+                  .append("<td class='url' data-col='url'>").append(urlA)
+                  .append(" <button type='button' class='btn-copy' data-copy='").append(safeUrl).append("'>Copy</button>")
+                  .append("</td>")
+                  .append("<td data-col='type'>").append(esc(v.getIssueType().name())).append("</td>")
+                  .append("<td class='sev-").append(v.getSeverity().name()).append("' data-col='sev'>").append(v.getSeverity().name()).append("</td>")
+                  .append("<td class='col-risk' data-col='risk' data-val='").append(rsVal).append("'>").append(riskHtml).append("</td>")
+                  .append("<td data-col='evi'>").append("<div class='ev'><code>").append(evEsc).append("</code></div>")
+                  .append(" <button class='btn-copy toggle-ev' type='button'>More</button>")
+                  .append("</td>")
+                  .append("<td data-col='time'>").append(esc(String.valueOf(v.getDetectedAt()))).append("</td>")
+                  .append("</tr>");
+            });
         }
-        if (issues.isEmpty()) {
+        if (totalIssues == 0) {
             sb.append("<tr><td colspan='7' class='sub'>No issues detected.</td></tr>");
         }
         sb.append("</tbody></table></div>");
@@ -7,13 +7,20 @@ import com.webkillerai.core.model.ScanConfig;
 import com.webkillerai.core.model.Severity;
 import com.webkillerai.core.model.VulnResult;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 // ▼ 모드 표기를 위해
 import com.webkillerai.core.model.Mode;
@@ -23,9 +30,12 @@ import com.webkillerai.core.model.Mode;
  * - 사람/AI가 바로 렌더 가능한 구조(meta/summary/issues/rootCause/sections/limitations/appendix).
  * - Evidence 세부 노출은 시스템 프로퍼티(-Dwk.json.showEvidenceDetails) 우선,
  *   없으면 FeatureMatrix.isAnyActive(mode) 기반으로 ON/OFF.
+ * - 스트리밍 출력: 요약 집계 패스 후 issues를 파일 채널에 한 건씩 씀(보고서 전체 문자열을 만들지 않음).
  */
 public class JsonReportExporter implements ReportExporter {
 
+    private static final int WRITE_BUFFER = 64 * 1024;
+
     // 런타임 텔레메트리/페이지 수를 가져오기 위한 선택적 소스
     private com.webkillerai.core.service.ScanService runtimeSource;
 
@@ -37,31 +47,41 @@ public class JsonReportExporter implements ReportExporter {
 
     @Override
     public Path export(Path baseDir, ScanConfig cfg, List<VulnResult> results, String startedIso) throws Exception {
+        return export(baseDir, cfg, ResultSource.of(results), startedIso);
+    }
+
+    /**
+     * 결과 원천을 두 번 읽음: 요약 집계 패스 → issues 패스.
+     * 보고서는 버퍼드 채널 Writer로 바로 씀 → 이슈 수와 무관하게 힙에는 이슈 1건 분량만
+     */
+    @Override
+    public Path export(Path baseDir, ScanConfig cfg, ResultSource source, String startedIso) throws Exception {
         var ctx = context(baseDir, cfg.getTarget(), startedIso);
         Files.createDirectories(reportsDir(ctx));
         Path outFile = jsonPath(ctx);
 
-        String json = buildJsonV13(cfg, results, startedIso);
-        Files.writeString(outFile, json, StandardCharsets.UTF_8,
-                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        // newEncoder()는 잘못된 문자에서 예외(REPORT) → Files.writeString과 같은 바이트/같은 실패
+        try (FileChannel ch = FileChannel.open(outFile,
+                     StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             Writer w = new BufferedWriter(Channels.newWriter(ch, StandardCharsets.UTF_8.newEncoder(), -1), WRITE_BUFFER)) {
+            writeJsonV13(new JsonOut(w), cfg, source, startedIso);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
         return outFile;
     }
 
     // ================= JSON v1.3 빌더 =================
-    private String buildJsonV13(ScanConfig cfg, List<VulnResult> results, String startedIso) {
-        int high=0, med=0, low=0;
-        for (var v : results) {
-            Severity s = v.getSeverity();
-            if (s == Severity.HIGH || s == Severity.CRITICAL) high++;
-            else if (s == Severity.MEDIUM) med++;
-            else if (s == Severity.LOW || s == Severity.INFO) low++; // INFO도 LOW로 합산
+    private void writeJsonV13(JsonOut out, ScanConfig cfg, ResultSource source, String startedIso) throws IOException {
+        Tally t = new Tally();
+        try (Stream<VulnResult> s = source.stream()) {
+            s.forEachOrdered(t::add);
         }
-        int total = results.size();
+        int high = t.high, med = t.med, low = t.low;
+        int total = t.total;
         int riskScore = calcRiskScore(high, med, low, total);
 
-        List<String> highlights = results.stream()
-                .sorted(Comparator.comparing(VulnResult::getSeverity).reversed())
-                .limit(3)
+        List<String> highlights = t.top.stream()
                 .map(v -> safeOr(v.getDescription(), v.getIssueType().name()))
                 .collect(Collectors.toList());
 
@@ -81,17 +101,40 @@ public class JsonReportExporter implements ReportExporter {
             runtimeJson.append(", \"requestsTotal\": ").append(rt.requestsTotal)
                        .append(", \"retriesTotal\": ").append(rt.retriesTotal)
                        .append(", \"maxObservedConcurrency\": ").append(rt.maxObservedConcurrency)
-                       .append(", \"avgLatencyMs\": ").append(rt.avgLatencyMs);
+                       .append(", \"avgLatencyMs\": ").append(rt.avgLatencyMs)
+                       .append(", \"pausesTotal\": ").append(rt.pausesTotal)
+                       .append(", \"pausedMs\": ").append(rt.pausedMs)
+                       .append(", \"wireBytes\": ").append(rt.wireBytes)
+                       .append(", \"decodedBytes\": ").append(rt.decodedBytes)
+                       .append(", \"baselineBytes\": ").append(rt.baselineBytes)
+                       .append(", \"baselineEvictions\": ").append(rt.baselineEvictions)
+                       .append(", \"nearDuplicates\": ").append(rt.nearDuplicates);
+            var tr = runtimeSource.getTransportStats();
+            runtimeJson.append(", \"transport\": { \"requests\": ").append(tr.requests())
+                       .append(", \"failures\": ").append(tr.failures())
+                       .append(", \"http2Responses\": ").append(tr.http2Responses())
+                       .append(", \"originsSeen\": ").append(tr.originsSeen())
+                       .append(", \"reuseRatioEstimate\": ").append(String.format(java.util.Locale.ROOT, "%.3f", tr.reuseRatioEstimate()))
+                       .append(" }");
+            var cs = runtimeSource.getCacheStats();
+            if (cs != null) {
+                runtimeJson.append(", \"cache\": { \"hits\": ").append(cs.hits())
+                           .append(", \"misses\": ").append(cs.misses())
+                           .append(", \"notModified\": ").append(cs.notModified())
+                           .append(" }");
+            }
+            if (cfg.getAdaptive().isEnabled()) {
+                runtimeJson.append(", \"adaptive\": ").append(adaptiveJson(runtimeSource.getAdaptiveHistory()));
+            }
         }
         runtimeJson.append(" }");
 
         boolean showEviDetails = showEvidenceDetails(cfg); // FeatureMatrix + 시스템 프로퍼티 기반
 
-        StringBuilder sb = new StringBuilder(4096);
-        sb.append("{\n");
+        out.append("{\n");
 
         // meta
-        sb.append("  \"meta\": {\n")
+        out.append("  \"meta\": {\n")
           .append("    \"reportVersion\": \"1.3\",\n")
           .append("    \"generatedAt\": ").append(q(Instant.now().toString())).append(",\n")
           .append("    \"startedAt\": ").append(q(startedIso)).append(",\n")
@@ -114,7 +157,7 @@ public class JsonReportExporter implements ReportExporter {
           .append("  },\n");
 
         // summary
-        sb.append("  \"summary\": {\n")
+        out.append("  \"summary\": {\n")
           .append("    \"riskScore\": ").append(riskScore).append(",\n")
           .append("    \"severityTop\": ").append(q(topSeverity(high, med, low))).append(",\n")
           .append("    \"distribution\": { \"HIGH\": ").append(high).append(", \"MEDIUM\": ").append(med).append(", \"LOW\": ").append(low).append(" },\n")
@@ -122,19 +165,23 @@ public class JsonReportExporter implements ReportExporter {
           .append("  },\n");
 
         // findingsOverview
-        sb.append("  \"findingsOverview\": ").append(groupByType(results)).append(",\n");
-
-        // issues
-        sb.append("  \"issues\": [\n");
-        for (int i = 0; i < results.size(); i++) {
-            sb.append(buildIssue(cfg, results.get(i), showEviDetails));
-            if (i < results.size() - 1) sb.append(",");
-            sb.append("\n");
+        out.append("  \"findingsOverview\": ").append(groupByType(t.byType)).append(",\n");
+
+        // issues (두 번째 패스)
+        out.append("  \"issues\": [\n");
+        try (Stream<VulnResult> s = source.stream()) {
+            boolean[] first = {true};
+            s.forEachOrdered(v -> {
+                if (!first[0]) out.append(",\n");
+                writeIssue(out, cfg, v, showEviDetails);
+                first[0] = false;
+            });
+            if (!first[0]) out.append("\n");
         }
-        sb.append("  ],\n");
+        out.append("  ],\n");
 
         // sections
-        sb.append("  \"sections\": {\n")
+        out.append("  \"sections\": {\n")
           .append("    \"executiveSummary\": ").append(q(execSummary)).append(",\n")
           .append("    \"technicalNotes\": ").append(q("헤더/콘텐츠 기반 시그니처 매칭 + (모드에 따라) 경량 액티브 프로브.")).append(",\n")
           .append("    \"nextSteps\": [")
@@ -144,7 +191,7 @@ public class JsonReportExporter implements ReportExporter {
           .append("  },\n");
 
         // limitations
-        sb.append("  \"limitations\": {\n")
+        out.append("  \"limitations\": {\n")
           .append("    \"assessedGaps\": ").append(toArray(List.of(
               "GET/HEAD 중심(POST·상태변경 기반 취약점 미탐 가능)",
               "CSR/로그인 이후 렌더 콘텐츠 일부 누락 가능",
@@ -158,7 +205,7 @@ public class JsonReportExporter implements ReportExporter {
           .append("  },\n");
 
         // appendix
-        sb.append("  \"appendix\": {\n")
+        out.append("  \"appendix\": {\n")
           .append("    \"signaturesUsed\": ").append(toArray(List.of(
               "CSP_MISSING","XCTO_MISSING","XFO_MISSING","XSS_SINK_REGEX","SQL_ERROR_REGEX"
           ))).append(",\n")
@@ -168,11 +215,10 @@ public class JsonReportExporter implements ReportExporter {
           .append(" }\n")
           .append("  }\n");
 
-        sb.append("}\n");
-        return sb.toString();
+        out.append("}\n");
     }
 
-    private String buildIssue(ScanConfig cfg, VulnResult v, boolean showEviDetails) {
+    private void writeIssue(JsonOut out, ScanConfig cfg, VulnResult v, boolean showEviDetails) {
         var root = inferRootCause(v); // 경량 원인 규칙(내장)
 
         // evidence 필드 구성
@@ -180,8 +226,7 @@ public class JsonReportExporter implements ReportExporter {
         String snippet = showEviDetails ? safeOr(firstNonBlank(v.getEvidenceSnippet(), v.getEvidence()), null) : null;
         String summary = safeTrim(v.getEvidence(), 140); // 하위호환(간단 요약)
 
-        StringBuilder sb = new StringBuilder(512);
-        sb.append("    {")
+        out.append("    {")
           .append("\"id\": ").append(q(makeId(v))).append(", ")
           .append("\"url\": ").append(q(v.getUrl() != null ? v.getUrl().toString() : "")).append(", ")
           .append("\"issueType\": ").append(q(v.getIssueType().name())).append(", ")
@@ -223,8 +268,63 @@ public class JsonReportExporter implements ReportExporter {
           .append("\"tags\": ").append(toArray(List.of(
                 (cfg.getMode() == Mode.SAFE_PLUS ? "SAFE_PLUS" : "SAFE"),
                 "passive"))).append("}");
+    }
+
+    /**
+     * 요약 집계(한 패스): H/M/L 분포, 총건수, 유형별 건수, keyFindings 후보(심각도 내림차순 상위 3, 동순위는 먼저 온 것).
+     * byType은 groupingBy와 같은 HashMap·같은 삽입 순서 → findingsOverview 순서 동일.
+     */
+    private static final class Tally {
+        int high, med, low, total;
+        final Map<String, Long> byType = new HashMap<>();
+        final List<VulnResult> top = new ArrayList<>(4);
+
+        void add(VulnResult v) {
+            Severity s = v.getSeverity();
+            if (s == Severity.HIGH || s == Severity.CRITICAL) high++;
+            else if (s == Severity.MEDIUM) med++;
+            else if (s == Severity.LOW || s == Severity.INFO) low++; // INFO도 LOW로 합산
+            total++;
+            byType.merge(v.getIssueType().name(), 1L, Long::sum);
+
+            int at = top.size();
+            while (at > 0 && top.get(at - 1).getSeverity().compareTo(s) < 0) at--;
+            if (at < 3) {
+                top.add(at, v);
+                if (top.size() > 3) top.remove(3);
+            }
+        }
+    }
+
+    /**
+     * StringBuilder와 같은 append 체인으로 Writer에 바로 씀.
+     * IOException은 UncheckedIOException으로(스트림 람다 안에서 쓰기 위함) → export()에서 풀어 던짐
+     */
+    private static final class JsonOut {
+        private final Writer w;
+
+        JsonOut(Writer w) { this.w = w; }
 
-        return sb.toString();
+        JsonOut append(CharSequence s) {
+            try {
+                w.append(s);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+
+        JsonOut append(char c) {
+            try {
+                w.write(c);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+
+        JsonOut append(long v) { return append(Long.toString(v)); }
+        JsonOut append(boolean v) { return append(v ? "true" : "false"); }
     }
 
     // ================= 경량 RootCause 규칙 =================
@@ -282,9 +382,7 @@ public class JsonReportExporter implements ReportExporter {
         if (t.contains("HEADER")) return List.of("CSP/XCTO/XFO/Referrer-Policy 구성");
         return List.of("보안 구성 점검");
     }
-    private static String groupByType(List<VulnResult> results){
-        Map<String, Long> g = results.stream()
-                .collect(Collectors.groupingBy(v -> v.getIssueType().name(), Collectors.counting()));
+    private static String groupByType(Map<String, Long> g){
         String items = g.entrySet().stream()
                 .map(e -> String.format("{\"issueType\":%s,\"count\":%d}", q(e.getKey()), e.getValue()))
                 .collect(Collectors.joining(","));
@@ -303,6 +401,20 @@ public class JsonReportExporter implements ReportExporter {
         if (h>0) return "HIGH"; if (m>0) return "MEDIUM"; if (l>0) return "LOW"; return "NONE";
     }
 
+    /** 적응형(AIMD) 결정 이력 → [{at,host,action,reason,rps,concurrency,samples,errorRate,latencyEwmaMs}, ...] */
+    private static String adaptiveJson(List<com.webkillerai.core.service.AdaptiveController.Decision> history){
+        return history.stream()
+                .map(d -> "{ \"at\": " + q(d.at())
+                        + ", \"host\": " + q(d.host())
+                        + ", \"action\": " + q(d.action())
+                        + ", \"reason\": " + q(d.reason())
+                        + ", \"rps\": " + d.rps()
+                        + ", \"concurrency\": " + d.concurrency()
+                        + ", \"samples\": " + d.samples()
+                        + ", \"errorRate\": " + String.format(Locale.ROOT, "%.3f", d.errorRate())
+                        + ", \"latencyEwmaMs\": " + d.latencyEwmaMs() + " }")
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
     private static String q(String s){ return s == null ? "null" : "\"" + s.replace("\\","\\\\").replace("\"","\\\"") + "\""; }
     private static String toArray(List<String> list){ return "[" + list.stream().map(JsonReportExporter::q).collect(Collectors.joining(",")) + "]"; }
     private static String toObject(Map<String,String> m){ return "{" + m.entrySet().stream().map(e -> q(e.getKey())+":"+q(e.getValue())).collect(Collectors.joining(",")) + "}"; }
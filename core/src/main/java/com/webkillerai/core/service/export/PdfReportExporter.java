@@ -32,6 +32,11 @@ public class PdfReportExporter implements ReportExporter {
 
     @Override
     public Path export(Path baseDir, ScanConfig cfg, List<VulnResult> results, String startedIso) throws Exception {
+        return export(baseDir, cfg, ResultSource.of(results), startedIso);
+    }
+
+    @Override
+    public Path export(Path baseDir, ScanConfig cfg, ResultSource source, String startedIso) throws Exception {
         if (!isAvailable()) {
             throw new IllegalStateException("""
                 PDF exporter requires OpenHTMLtoPDF on classpath.
@@ -45,7 +50,7 @@ public class PdfReportExporter implements ReportExporter {
         final Path outRoot = (baseDir != null) ? baseDir : Paths.get("out");
 
         // 1) HTML 먼저 생성 (HTML 내 evidence 표시 여부는 HtmlReportExporter가 시스템 프로퍼티로 제어)
-        Path htmlPath = new HtmlReportExporter().export(outRoot, cfg, results, startedIso);
+        Path htmlPath = new HtmlReportExporter().export(outRoot, cfg, source, startedIso);
         String html = Files.readString(htmlPath, StandardCharsets.UTF_8);
 
         // 2) ReportNaming으로 PDF 경로 산출(HTML/JSON과 동일한 host/slug/timestamp)
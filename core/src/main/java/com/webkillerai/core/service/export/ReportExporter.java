@@ -5,6 +5,8 @@ import com.webkillerai.core.model.VulnResult;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /** 스캔 결과를 보고서 형태로 내보내는 책임 (확장: JSON/HTML/PDF 등) */
 public interface ReportExporter {
@@ -16,4 +18,14 @@ public interface ReportExporter {
      * @return 생성된 파일의 경로
      */
     Path export(Path baseDir, ScanConfig cfg, List<VulnResult> results, String startedIso) throws Exception;
+
+    /**
+     * 결과 원천(예: NDJSON 결과 로그)에서 내보내기.
+     * 기본 구현은 목록으로 모아 위 메서드에 위임 — 스트리밍이 가능한 Exporter는 재정의.
+     */
+    default Path export(Path baseDir, ScanConfig cfg, ResultSource source, String startedIso) throws Exception {
+        try (Stream<VulnResult> s = source.stream()) {
+            return export(baseDir, cfg, s.collect(Collectors.toList()), startedIso);
+        }
+    }
 }
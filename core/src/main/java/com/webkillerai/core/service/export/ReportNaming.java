@@ -25,6 +25,7 @@ public final class ReportNaming {
     public static Path jsonPath(ReportContext ctx) { return reportsDir(ctx).resolve(filePrefix(ctx) + ".json"); }
     public static Path htmlPath(ReportContext ctx) { return reportsDir(ctx).resolve(filePrefix(ctx) + ".html"); }
     public static Path pdfPath (ReportContext ctx) { return reportsDir(ctx).resolve(filePrefix(ctx) + ".pdf"); }
+    public static Path ndjsonPath(ReportContext ctx) { return reportsDir(ctx).resolve(filePrefix(ctx) + ".ndjson"); }
 
     public static String filePrefix(ReportContext ctx) {
         return "scan-" + ctx.slug() + "-" + timestamp(ctx);
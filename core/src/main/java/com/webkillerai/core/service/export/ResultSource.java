@@ -0,0 +1,31 @@
+package com.webkillerai.core.service.export;
+
+import com.webkillerai.core.model.VulnResult;
+import com.webkillerai.core.service.ResultLog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * 보고서 입력: 결과를 여러 번 다시 읽을 수 있는 원천.
+ * - stream()은 호출마다 처음부터 새 스트림(사용 후 close) → Exporter는 집계/본문을 여러 패스로 읽음
+ * - of(list): 메모리 목록, ofLog(path): ScanService가 쓴 NDJSON 결과 로그
+ */
+@FunctionalInterface
+public interface ResultSource {
+
+    Stream<VulnResult> stream() throws IOException;
+
+    static ResultSource of(List<VulnResult> results) {
+        List<VulnResult> list = (results == null) ? List.of() : results;
+        return list::stream;
+    }
+
+    static ResultSource ofLog(Path ndjson) {
+        Objects.requireNonNull(ndjson, "ndjson");
+        return () -> ResultLog.read(ndjson);
+    }
+}
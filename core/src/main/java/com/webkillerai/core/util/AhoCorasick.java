@@ -0,0 +1,152 @@
+package com.webkillerai.core.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ASCII 대소문자 무시 다중 리터럴 매처(Aho–Corasick).
+ * - 패턴 전체로 DFA 하나를 만들어(실패 링크를 전이표에 미리 반영) 본문을 한 번만 훑는다
+ * - 소문자 사본을 만들지 않고 문자마다 'A'~'Z'만 접는다 → 정규식 (?i)(UNICODE_CASE 없음)와 같은 의미
+ * - 패턴은 비어 있지 않은 ASCII여야 함. 본문의 비ASCII 문자는 어떤 패턴에도 못 들어가므로 루트로 리셋
+ * - 불변 객체라 스레드 간 공유 가능
+ */
+public final class AhoCorasick {
+
+    /** 히트 콜백: false를 반환하면 스캔 중단 */
+    @FunctionalInterface
+    public interface HitSink {
+        boolean hit(int patternId, int start);
+    }
+
+    private static final int ALPHA = 128;
+    private static final int SHIFT = 7;
+
+    private final String[] patterns;
+    private final int[] lengths;
+    private final int[] next;   // (state << 7) | c → 다음 상태
+    private final int[][] out;  // state → 여기서 끝나는 패턴 id(실패 링크 출력 포함), 없으면 null
+    private final int maxLength;
+
+    private AhoCorasick(String[] patterns, int[] lengths, int[] next, int[][] out) {
+        this.patterns = patterns;
+        this.lengths = lengths;
+        this.next = next;
+        this.out = out;
+        int m = 0;
+        for (int l : lengths) m = Math.max(m, l);
+        this.maxLength = m;
+    }
+
+    /** 패턴 id = 컬렉션 순서(0부터). 같은 문자열이 여러 번 있어도 각각 id를 받는다 */
+    public static AhoCorasick of(Collection<String> patterns) {
+        String[] ps = patterns.toArray(new String[0]);
+        int[] lens = new int[ps.length];
+
+        // 1) 트라이
+        int cap = 1;
+        for (int i = 0; i < ps.length; i++) {
+            String p = ps[i];
+            if (p == null || p.isEmpty()) throw new IllegalArgumentException("empty pattern at " + i);
+            for (int k = 0; k < p.length(); k++) {
+                if (p.charAt(k) >= ALPHA) throw new IllegalArgumentException("non-ASCII pattern: " + p);
+            }
+            lens[i] = p.length();
+            cap += p.length();
+        }
+        int[] next = new int[cap << SHIFT];
+        Arrays.fill(next, -1);
+        int[][] outs = new int[cap][];
+        int states = 1;
+        for (int i = 0; i < ps.length; i++) {
+            int s = 0;
+            String p = ps[i];
+            for (int k = 0; k < p.length(); k++) {
+                int c = fold(p.charAt(k));
+                int idx = (s << SHIFT) | c;
+                if (next[idx] < 0) next[idx] = states++;
+                s = next[idx];
+            }
+            outs[s] = append(outs[s], i);
+        }
+
+        // 2) BFS로 실패 링크 계산 + 빈 전이를 실패 상태의 전이로 채워 DFA화
+        int[] fail = new int[states];
+        ArrayDeque<Integer> q = new ArrayDeque<>();
+        for (int c = 0; c < ALPHA; c++) {
+            int t = next[c];
+            if (t < 0) next[c] = 0;
+            else { fail[t] = 0; q.add(t); }
+        }
+        while (!q.isEmpty()) {
+            int s = q.poll();
+            int f = fail[s];
+            if (outs[f] != null) outs[s] = concat(outs[s], outs[f]);
+            for (int c = 0; c < ALPHA; c++) {
+                int idx = (s << SHIFT) | c;
+                int t = next[idx];
+                if (t < 0) {
+                    next[idx] = next[(f << SHIFT) | c];
+                } else {
+                    fail[t] = next[(f << SHIFT) | c];
+                    q.add(t);
+                }
+            }
+        }
+        return new AhoCorasick(ps, lens, Arrays.copyOf(next, states << SHIFT), Arrays.copyOf(outs, states));
+    }
+
+    public static AhoCorasick of(String... patterns) {
+        return of(List.of(patterns));
+    }
+
+    public int size() { return patterns.length; }
+    public String pattern(int id) { return patterns[id]; }
+    public int length(int id) { return lengths[id]; }
+    public int maxLength() { return maxLength; }
+
+    /** 본문 1회 순회. 히트는 끝 위치 순으로 전달(start = 본문 내 시작 오프셋) */
+    public void scan(CharSequence text, HitSink sink) {
+        if (text == null) return;
+        final int[] nx = next;
+        final int[][] o = out;
+        int s = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char ch = text.charAt(i);
+            if (ch >= ALPHA) { s = 0; continue; }
+            s = nx[(s << SHIFT) | fold(ch)];
+            int[] ids = o[s];
+            if (ids != null) {
+                for (int id : ids) {
+                    if (!sink.hit(id, i - lengths[id] + 1)) return;
+                }
+            }
+        }
+    }
+
+    /** 하나라도 있으면 true(첫 히트에서 중단) */
+    public boolean containsAny(CharSequence text) {
+        boolean[] found = {false};
+        scan(text, (id, start) -> { found[0] = true; return false; });
+        return found[0];
+    }
+
+    private static int fold(char c) {
+        return (c >= 'A' && c <= 'Z') ? c + 32 : c;
+    }
+
+    private static int[] append(int[] a, int v) {
+        if (a == null) return new int[]{v};
+        int[] r = Arrays.copyOf(a, a.length + 1);
+        r[a.length] = v;
+        return r;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        if (a == null) return b;
+        int[] r = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, r, a.length, b.length);
+        return r;
+    }
+}
@@ -0,0 +1,68 @@
+package com.webkillerai.core.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 64비트 해시 입력 Bloom 필터(이중 해싱으로 k개 비트 위치).
+ * - mightContain이 false면 확실히 없음, true면 있을 수도 있음
+ * - 예상 개수를 넘겨 넣어도 동작은 하되 오탐률만 올라감
+ * - put/mightContain 모두 스레드 세이프(비트 OR은 CAS)
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int hashes;
+    private final long mask;
+
+    /**
+     * @param expected 예상 원소 수
+     * @param fpp      목표 오탐률(예: 0.01)
+     */
+    public static BloomFilter forExpected(long expected, double fpp) {
+        long n = Math.max(1, expected);
+        double p = Math.min(0.5, Math.max(1e-9, fpp));
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int k = (int) Math.max(1, Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(m, k);
+    }
+
+    BloomFilter(long bitCount, int hashes) {
+        long m = Math.max(64, Math.min(1L << 36, bitCount));
+        m = (Long.bitCount(m) == 1) ? m : Long.highestOneBit(m) << 1;
+        this.bits = new AtomicLongArray((int) (m >>> 6));
+        this.mask = m - 1;
+        this.hashes = Math.max(1, Math.min(16, hashes));
+    }
+
+    public void put(long h) {
+        long h1 = h, h2 = second(h);
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mask;
+            int w = (int) (bit >>> 6);
+            long b = 1L << (bit & 63);
+            if ((bits.get(w) & b) == 0) bits.accumulateAndGet(w, b, (x, y) -> x | y);
+        }
+    }
+
+    public boolean mightContain(long h) {
+        long h1 = h, h2 = second(h);
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mask;
+            if ((bits.get((int) (bit >>> 6)) & (1L << (bit & 63))) == 0) return false;
+        }
+        return true;
+    }
+
+    public int hashes() { return hashes; }
+
+    public long footprintBytes() {
+        return 16L + 8L * bits.length() + 32L;
+    }
+
+    private static long second(long h) {
+        h ^= h >>> 31;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 29;
+        return h | 1L;
+    }
+}
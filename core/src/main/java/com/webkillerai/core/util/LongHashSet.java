@@ -0,0 +1,113 @@
+package com.webkillerai.core.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long 키 오픈 어드레싱 해시 집합(선형 탐사, 삭제 없음).
+ * - 키당 8바이트 × (1 / 적재율) — 박싱/엔트리 객체 없음
+ * - 쓰기(add)는 한 스레드, 읽기(contains/size)는 여러 스레드 동시 가능
+ *   슬롯은 AtomicLongArray(long 찢김 없음), 확장은 새 배열을 채운 뒤 volatile 교체
+ *   → 읽기 쪽은 방금 추가된 키를 못 볼 수는 있어도 없는 키를 있다고 하지는 않음
+ * - 0은 빈 슬롯 표시라 별도 플래그로 보관
+ */
+public final class LongHashSet {
+
+    private static final float LOAD = 0.66f;
+
+    private volatile AtomicLongArray table;
+    private volatile boolean hasZero;
+    private volatile int size;
+    private int mask;
+    private int limit;
+
+    public LongHashSet(int expected) {
+        int cap = Integer.highestOneBit(Math.max(16, (int) Math.min(1 << 30, (long) (expected / LOAD) + 1)) - 1) << 1;
+        alloc(cap);
+    }
+
+    /** @return 새로 추가됐으면 true (단일 쓰기 스레드 전용) */
+    public boolean add(long key) {
+        if (key == 0) {
+            if (hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        AtomicLongArray t = table;
+        int i = slot(key, mask);
+        for (;;) {
+            long k = t.get(i);
+            if (k == key) return false;
+            if (k == 0) break;
+            i = (i + 1) & mask;
+        }
+        t.set(i, key);
+        size++;
+        if (size > limit) grow();
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) return hasZero;
+        AtomicLongArray t = table;
+        int m = t.length() - 1;
+        int i = slot(key, m);
+        for (;;) {
+            long k = t.get(i);
+            if (k == key) return true;
+            if (k == 0) return false;
+            i = (i + 1) & m;
+        }
+    }
+
+    public int size() { return size; }
+
+    public int capacity() { return table.length(); }
+
+    /** 현재 키 전체(순서 없음) — 체크포인트 저장용 */
+    public long[] toArray() {
+        AtomicLongArray t = table;
+        long[] out = new long[size];
+        int n = 0;
+        if (hasZero && n < out.length) out[n++] = 0L;
+        for (int j = 0; j < t.length() && n < out.length; j++) {
+            long k = t.get(j);
+            if (k != 0) out[n++] = k;
+        }
+        return (n == out.length) ? out : Arrays.copyOf(out, n);
+    }
+
+    /** 슬롯 배열 기준 대략적 메모리 */
+    public long footprintBytes() {
+        return 16L + 8L * table.length() + 48L;
+    }
+
+    private void grow() {
+        AtomicLongArray old = table;
+        int cap = old.length() << 1;
+        AtomicLongArray t = new AtomicLongArray(cap);
+        int m = cap - 1;
+        for (int j = 0; j < old.length(); j++) {
+            long k = old.get(j);
+            if (k == 0) continue;
+            int i = slot(k, m);
+            while (t.get(i) != 0) i = (i + 1) & m;
+            t.set(i, k);
+        }
+        this.mask = m;
+        this.limit = (int) (cap * LOAD);
+        this.table = t;
+    }
+
+    private void alloc(int cap) {
+        this.mask = cap - 1;
+        this.limit = (int) (cap * LOAD);
+        this.table = new AtomicLongArray(cap);
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
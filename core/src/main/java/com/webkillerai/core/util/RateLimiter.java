@@ -1,32 +1,105 @@
 package com.webkillerai.core.util;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 GCRA(Generic Cell Rate Algorithm) 리미터.
+ * - 상태는 TAT(theoretical arrival time, nanoTime 기준) 하나뿐이며 CAS로만 갱신
+ * - 간격 T = 1s / refillPerSecond, 버스트 허용 τ = (capacity-1)·T → 토큰버킷(capacity, refill)과 동일한 허용량
+ * - 허가는 "예약" 방식: 예약 즉시 TAT가 전진하고, 호출자는 계산된 시각까지만 대기(폴링/모니터 없음)
+ * - setRate()로 실행 중 속도 변경 가능(적응형 컨트롤러용). 이미 예약된 허가는 그대로 유지
+ */
 public final class RateLimiter {
-    private final long capacity;
-    private final long refillPerSecond;
-    private double tokens;
-    private long lastNs;
+
+    /** 타이머 만료 시 대기 중인 비동기 허가를 완료(타이머 스레드에서 바로 complete) */
+    private static final Executor DIRECT = Runnable::run;
+
+    /** 간격 T와 버스트 τ를 한 번에 교체하기 위한 불변 묶음 */
+    private record Rate(long perSecond, long intervalNs, long burstNs) {
+        static Rate of(long capacity, long refillPerSecond) {
+            long cap = Math.max(1, capacity);
+            long rps = Math.max(1, refillPerSecond);
+            long interval = Math.max(1L, 1_000_000_000L / rps);
+            return new Rate(rps, interval, (cap - 1) * interval);
+        }
+    }
+
+    private volatile Rate rate;
+    private final AtomicLong tat;
 
     public RateLimiter(long capacity, long refillPerSecond) {
-        this.capacity = capacity;
-        this.refillPerSecond = refillPerSecond;
-        this.tokens = capacity;
-        this.lastNs = System.nanoTime();
+        this.rate = Rate.of(capacity, refillPerSecond);
+        // 시작 시 버스트 전량 사용 가능(기존 토큰버킷의 초기 tokens=capacity와 동일)
+        this.tat = new AtomicLong(System.nanoTime() - rate.burstNs);
+    }
+
+    /** 속도 변경(다음 예약부터 적용) */
+    public void setRate(long capacity, long refillPerSecond) {
+        this.rate = Rate.of(capacity, refillPerSecond);
     }
 
-    public synchronized void acquire() throws InterruptedException {
+    /** 현재 초당 허가 수 */
+    public long getRate() {
+        return rate.perSecond;
+    }
+
+    /** 허가 1개(필요하면 대기). 인터럽트되면 InterruptedException */
+    public void acquire() throws InterruptedException {
+        long waitNs = reserve();
+        if (waitNs > 0) TimeUnit.NANOSECONDS.sleep(waitNs);
+    }
+
+    /**
+     * timeout 안에 허가를 받을 수 있으면 예약 후 그 시각까지 대기하고 true.
+     * 받을 수 없으면 상태를 바꾸지 않고 즉시 false(timeout=0 → 논블로킹 시도).
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long limitNs = Math.max(0L, unit.toNanos(timeout));
         for (;;) {
-            refill();
-            if (tokens >= 1.0) { tokens -= 1.0; return; }
-            this.wait(5);
+            Rate r = rate;
+            long now = System.nanoTime();
+            long cur = tat.get();
+            long base = Math.max(cur, now - r.burstNs);
+            long waitNs = base - now;
+            if (waitNs > limitNs) return false;
+            if (tat.compareAndSet(cur, base + r.intervalNs)) {
+                if (waitNs > 0) TimeUnit.NANOSECONDS.sleep(waitNs);
+                return true;
+            }
         }
     }
 
-    private void refill() {
+    /**
+     * 비동기 허가: 예약 시각에 타이머가 완료시키는 future(대기 중 스레드 점유 없음).
+     * 완료는 공용 타이머 스레드에서 일어나므로 무거운 후속 작업은 *Async 단계로 넘길 것.
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        long waitNs = reserve();
+        if (waitNs <= 0) return CompletableFuture.completedFuture(null);
+        CompletableFuture<Void> f = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(waitNs, TimeUnit.NANOSECONDS, DIRECT).execute(() -> f.complete(null));
+        return f;
+    }
+
+    /** 지금 허가를 요청하면 기다려야 하는 시간(ns, 0이면 즉시). 상태는 바꾸지 않음 */
+    public long nanosUntilPermit() {
         long now = System.nanoTime();
-        double add = (now - lastNs) / 1_000_000_000.0 * refillPerSecond;
-        if (add > 0) {
-            tokens = Math.min(capacity, tokens + add);
-            lastNs = now;
+        return Math.max(0L, tat.get() - now);
+    }
+
+    /** 허가 예약: TAT를 T만큼 전진시키고, 허가 시각까지 남은 대기(ns, 0이면 즉시) 반환 */
+    private long reserve() {
+        for (;;) {
+            Rate r = rate;
+            long now = System.nanoTime();
+            long cur = tat.get();
+            long base = Math.max(cur, now - r.burstNs);  // 유휴 구간은 버스트 한도까지만 적립
+            if (tat.compareAndSet(cur, base + r.intervalNs)) {
+                return Math.max(0L, base - now);
+            }
         }
     }
 }
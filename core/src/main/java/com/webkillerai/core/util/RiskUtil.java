@@ -53,6 +53,40 @@ public final class RiskUtil {
         return new RiskSummary(avg, p95, max, n);
     }
 
+    /**
+     * 점수를 하나씩 받아 summarize()와 같은 요약을 내는 누적기(0..100 히스토그램, 목록 보관 없음).
+     * 결과를 스트림으로 읽는 보고서용.
+     */
+    public static final class Accumulator {
+        private final long[] hist = new long[101];
+        private long n;
+        private long sum;
+
+        /** riskScore(없으면 severity 대체값) 1건 반영 */
+        public void add(VulnResult v) {
+            Integer rs = (v == null) ? null : v.getRiskScore();
+            if (rs == null) rs = severityToRisk(v != null ? v.getSeverity() : null);
+            int x = clamp(rs, 0, 100);
+            hist[x]++;
+            n++;
+            sum += x;
+        }
+
+        public RiskSummary summary() {
+            if (n == 0) return new RiskSummary(0, 0, 0, 0);
+            int max = 100;
+            while (hist[max] == 0) max--;
+            int avg = (int) Math.round(sum / (double) n);
+            long idx = (long) Math.floor(0.95 * (n - 1));
+            int p95 = 0;
+            for (long seen = 0; p95 <= 100; p95++) {
+                seen += hist[p95];
+                if (seen > idx) break;
+            }
+            return new RiskSummary(avg, p95, max, (int) n);
+        }
+    }
+
     private static int clamp(int v, int lo, int hi) {
         return Math.min(hi, Math.max(lo, v));
     }
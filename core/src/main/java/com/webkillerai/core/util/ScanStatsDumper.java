@@ -13,7 +13,8 @@ import java.util.function.Supplier;
 
 /**
  * ScanStats 스냅샷을 주기적으로 NDJSON으로 기록한다.
- * - Snapshot은 public final 필드 사용(requestsTotal, retriesTotal, avgLatencyMs, maxObservedConcurrency)
+ * - Snapshot은 public final 필드 사용(requestsTotal, retriesTotal, avgLatencyMs, maxObservedConcurrency, pausesTotal, pausedMs,
+ *   wireBytes, decodedBytes, baselineBytes, baselineEvictions, nearDuplicates)
  * - 단일 writer 유지(Append), 윈도우 락/성능 문제 완화
  * - NDJSON: 라인당 순수 JSON만 기록
  */
@@ -83,7 +84,7 @@ public final class ScanStatsDumper implements AutoCloseable {
     }
 
     private static String toNdjson(ScanStats.Snapshot s) {
-        // {"ts": "...", "requestsTotal": N, "retriesTotal": N, "avgLatencyMs": N, "maxObservedConcurrency": N}
+        // {"ts": "...", "requestsTotal": N, "retriesTotal": N, "avgLatencyMs": N, "maxObservedConcurrency": N, "pausesTotal": N, "pausedMs": N, "wireBytes": N, "decodedBytes": N, "baselineBytes": N, "baselineEvictions": N, "nearDuplicates": N}
         StringBuilder b = new StringBuilder(200);
         b.append('{');
         kv(b, "ts", Instant.now().toString());
@@ -91,6 +92,13 @@ public final class ScanStatsDumper implements AutoCloseable {
         kv(b, "retriesTotal",  s.retriesTotal);
         kv(b, "avgLatencyMs",  s.avgLatencyMs);
         kv(b, "maxObservedConcurrency", s.maxObservedConcurrency);
+        kv(b, "pausesTotal", s.pausesTotal);
+        kv(b, "pausedMs", s.pausedMs);
+        kv(b, "wireBytes", s.wireBytes);
+        kv(b, "decodedBytes", s.decodedBytes);
+        kv(b, "baselineBytes", s.baselineBytes);
+        kv(b, "baselineEvictions", s.baselineEvictions);
+        kv(b, "nearDuplicates", s.nearDuplicates);
         // 마지막 콤마 제거
         if (b.charAt(b.length() - 1) == ',') b.setLength(b.length() - 1);
         b.append('}');
@@ -0,0 +1,103 @@
+package com.webkillerai.core.util;
+
+/**
+ * 64비트 SimHash 페이지 지문(템플릿이 같은 페이지 근사 중복 판정용).
+ * - 특징: 태그 이름, 연속 태그 쌍(구조, 가중치 TAG_WEIGHT), 소문자 단어(텍스트, 1). 속성/숫자만으로 된 단어(id, 가격 등)는 제외
+ * - 특징마다 64비트 해시를 한 번만 계산(부분 문자열 생성 없음), 비트별 가중 합의 부호로 지문 결정
+ * - 앞 MAX_CHARS 문자만 사용(대형 본문 비용 상한)
+ * - 특징이 MIN_FEATURES 미만이면 NONE(빈/짧은 응답은 비교하지 않음)
+ */
+public final class SimHash {
+
+    /** 지문 없음 */
+    public static final long NONE = 0L;
+    public static final int MAX_CHARS = 256 * 1024;
+    public static final int MIN_FEATURES = 16;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long TAG_SALT = 0x9e3779b97f4a7c15L;
+    private static final long PAIR_SALT = 0xc2b2ae3d27d4eb4fL;
+    private static final int TAG_WEIGHT = 5;   // 템플릿 판정이므로 구조 특징을 텍스트보다 무겁게
+
+    private SimHash() {}
+
+    public static long of(CharSequence s) {
+        if (s == null) return NONE;
+        int[] v = new int[64];
+        int features = 0;
+        long prevTag = 0;
+        int n = Math.min(s.length(), MAX_CHARS);
+        int i = 0;
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c == '<') {
+                int j = i + 1;
+                boolean close = j < n && s.charAt(j) == '/';
+                if (close) j++;
+                int start = j;
+                long h = FNV_OFFSET;
+                while (j < n && isNameChar(s.charAt(j))) {
+                    h = (h ^ Character.toLowerCase(s.charAt(j))) * FNV_PRIME;
+                    j++;
+                }
+                if (j > start) {
+                    if (close) h = (h ^ '/') * FNV_PRIME;
+                    add(v, mix(h ^ TAG_SALT), TAG_WEIGHT);
+                    add(v, mix((prevTag * 31 + h) ^ PAIR_SALT), TAG_WEIGHT);
+                    features += 2;
+                    prevTag = h;
+                    while (j < n && s.charAt(j) != '>') j++; // 속성은 건너뜀
+                    i = j + 1;
+                    continue;
+                }
+                i++;
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                int j = i;
+                boolean digitsOnly = true;
+                long h = FNV_OFFSET;
+                while (j < n && Character.isLetterOrDigit(s.charAt(j))) {
+                    char d = s.charAt(j);
+                    if (!Character.isDigit(d)) digitsOnly = false;
+                    h = (h ^ Character.toLowerCase(d)) * FNV_PRIME;
+                    j++;
+                }
+                if (!digitsOnly && j - i >= 2) {
+                    add(v, mix(h), 1);
+                    features++;
+                }
+                i = j;
+                continue;
+            }
+            i++;
+        }
+        if (features < MIN_FEATURES) return NONE;
+        long fp = 0;
+        for (int b = 0; b < 64; b++) if (v[b] > 0) fp |= 1L << b;
+        return (fp == NONE) ? 1L : fp;
+    }
+
+    /** 해밍 거리 */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static void add(int[] v, long h, int w) {
+        for (int b = 0; b < 64; b++) v[b] += ((h >>> b) & 1L) != 0 ? w : -w;
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == ':';
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
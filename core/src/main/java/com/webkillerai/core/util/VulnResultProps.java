@@ -0,0 +1,45 @@
+package com.webkillerai.core.util;
+
+import com.webkillerai.core.model.IssueType;
+import com.webkillerai.core.model.Severity;
+import com.webkillerai.core.model.VulnResult;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Properties;
+
+/** VulnResult ↔ Properties(접두사.필드) 변환 — 검증자 캐시용 */
+public final class VulnResultProps {
+    private VulnResultProps() {}
+
+    public static void write(Properties pr, String p, VulnResult v) {
+        pr.setProperty(p + "url", String.valueOf(v.getUrl()));
+        pr.setProperty(p + "issueType", v.getIssueType().name());
+        pr.setProperty(p + "severity", v.getSeverity().name());
+        pr.setProperty(p + "confidence", String.valueOf(v.getConfidence()));
+        pr.setProperty(p + "detectedAt", v.getDetectedAt().toString());
+        if (v.getDescription() != null) pr.setProperty(p + "description", v.getDescription());
+        if (v.getEvidence() != null) pr.setProperty(p + "evidence", v.getEvidence());
+        if (v.getRiskScore() != null) pr.setProperty(p + "riskScore", String.valueOf(v.getRiskScore()));
+        if (v.getRequestLine() != null) pr.setProperty(p + "requestLine", v.getRequestLine());
+        if (v.getEvidenceSnippet() != null) pr.setProperty(p + "evidenceSnippet", v.getEvidenceSnippet());
+    }
+
+    /** @param fallbackUrl url 키가 없을 때 쓸 URL */
+    public static VulnResult read(Properties pr, String p, URI fallbackUrl) {
+        String u = pr.getProperty(p + "url");
+        String rs = pr.getProperty(p + "riskScore");
+        return VulnResult.builder()
+                .url(u != null ? URI.create(u) : fallbackUrl)
+                .issueType(IssueType.valueOf(pr.getProperty(p + "issueType")))
+                .severity(Severity.valueOf(pr.getProperty(p + "severity")))
+                .confidence(Double.parseDouble(pr.getProperty(p + "confidence", "0.7")))
+                .detectedAt(Instant.parse(pr.getProperty(p + "detectedAt")))
+                .description(pr.getProperty(p + "description"))
+                .evidence(pr.getProperty(p + "evidence"))
+                .riskScore(rs == null ? null : Integer.valueOf(rs))
+                .requestLine(pr.getProperty(p + "requestLine"))
+                .evidenceSnippet(pr.getProperty(p + "evidenceSnippet"))
+                .build();
+    }
+}
@@ -14,6 +14,7 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
 import java.util.function.IntConsumer;
 
 /**
@@ -32,6 +33,7 @@ import java.util.function.IntConsumer;
  *   dir: "out"
  *   format: "json"
  * rps: 10
+ * executor: fixed       # 스캔 워커 실행기: fixed | forkjoin | virtual(Java 21+, 미지원 시 fixed)
  *
  * # SAFE_PLUS 튜닝(옵션)
  * maxParamsPerUrl: 3
@@ -42,6 +44,80 @@ import java.util.function.IntConsumer;
  * crawler:
  *   respectRobots: true
  *   cacheTtlMinutes: 30
+ *   workers: 8            # 크롤 워커 수(생략/0이면 concurrency)
+ *   bloomExpectedUrls: 0  # 발견 URL 집합 앞단 Bloom 필터 크기(예상 URL 수, 0이면 끔)
+ *   frontier: memory      # memory | disk(고정 크기 세그먼트 파일, 머리/꼬리만 메모리)
+ *   frontierDir: "out/frontier" # 없으면 output.dir/frontier
+ *
+ * # HTTP 실행 엔진(옵션)
+ * http:
+ *   async: false          # true면 sendAsync 파이프라인(소수 스레드로 다수 요청)
+ *   maxInFlight: 256      # 비동기 모드 동시 진행 요청 상한
+ *   maxRetryAfterMs: 30000 # Retry-After(초/HTTP-date) 상한
+ *   defaultPauseMs: 1000  # 429/503에 Retry-After가 없을 때 호스트 정지 시간
+ *   http2: true           # HTTP/2 우선 협상(모든 컴포넌트가 같은 HttpTransport 연결 풀 공유)
+ *   userAgent: "WebKillerAI/0.3"
+ *   headers:              # 모든 요청의 기본 헤더
+ *     Accept-Language: "en"
+ *   maxBodyBytes: 2097152 # 응답당 본문 상한(0이면 무제한), 넘으면 잘림 표시
+ *   skipBinary: true      # 이미지/octet-stream 등 바이너리 본문은 읽지 않음
+ *   rangeRequests: false  # 페이지 GET에 Range 헤더로 상한만큼만 요청
+ *   compression: false    # Accept-Encoding: gzip, deflate + 스트리밍 해제
+ *   maxDecodedBytes: 16777216 # 압축 해제 후 상한(압축 폭탄 방어)
+ *   headTriage: false     # HEAD 먼저: HTML → GET, JSON → apiMaxBytes 상한 GET, 바이너리/초과 → 헤더만
+ *   triageMaxBytes: 8388608
+ *   apiMaxBytes: 262144
+ *
+ * # 적응형 AIMD 제어(옵션) — 호스트별로 건강하면 +1, 429/오류/지연 급증이면 decreaseFactor배
+ * adaptive:
+ *   enabled: true
+ *   minRps: 1
+ *   maxRps: 0             # 0이면 시작 rps의 2배
+ *   minConcurrency: 1
+ *   maxConcurrency: 0     # 0이면 concurrency(async면 http.maxInFlight)
+ *   windowMs: 2000
+ *   minSamples: 5
+ *   decreaseFactor: 0.5
+ *   errorRate: 0.1
+ *   latencyFactor: 2.0
+ *
+ * # 재스캔 검증자 캐시(옵션) — 조건부 GET, 바뀌지 않은 페이지는 저장된 패시브 결과 재생
+ * cache:
+ *   enabled: true
+ *   dir: "out/cache"      # 없으면 output.dir/cache
+ *
+ * # 패시브 이상탐지(옵션)
+ * anomaly:
+ *   baselineCapacity: 65536 # SignatureScanner 응답 크기 기준선 키 수 상한(넘으면 CLOCK 교체)
+ *
+ * # 근사 중복 페이지 묶기(옵션) — SimHash 거리 이내면 헤더만 검사, 액티브는 클러스터 할당량까지
+ * dedup:
+ *   enabled: true
+ *   maxDistance: 3
+ *   activePerCluster: 2
+ *   maxClusters: 100000
+ *
+ * # 중단/재개(옵션) — 주기적으로 프론티어·완료 URL·결과를 저장, resume이면 이어서 스캔
+ * checkpoint:
+ *   enabled: true
+ *   intervalSec: 30
+ *   resume: false
+ *   dir: "out/state/example.com" # 없으면 output.dir/state/<host>
+ *
+ * # 결과 NDJSON 로그(옵션) — 찾는 즉시 reports/<host>/scan-<slug>-<ts>.ndjson에 추가, 보고서는 로그에서 스트리밍
+ * resultLog:
+ *   enabled: true
+ *   flushMs: 1000
+ *   keepInMemory: false   # run()이 결과 목록을 모으지 않음(이슈 수와 무관한 메모리)
+ *
+ * # 호스트별 한도(옵션) — rps는 호스트마다 따로 적용되며, 여기 없는 호스트는 전역 rps/액티브 기본값
+ * hosts:
+ *   "api.example.com":
+ *     rps: 5
+ *     activeRps: 1
+ *     activeConcurrency: 1
+ *   "*.cdn.example.com":
+ *     rps: 20
  *
  * # AGGRESSIVE_LITE(옵션)
  * aggressive:
@@ -86,6 +162,7 @@ public final class YamlConfigLoader {
             setInt(map, "concurrency", cfg::setConcurrency);
             setBoolean(map, "followRedirects", cfg::setFollowRedirects);
             setInt(map, "rps", cfg::setRps);
+            setString(map, "executor", cfg::setExecutor);
 
             // SAFE_PLUS 튜닝 키(옵션)
             setInt(map, "maxParamsPerUrl", cfg::setMaxParamsPerUrl);
@@ -111,6 +188,108 @@ public final class YamlConfigLoader {
                 var c = cfg.getCrawler();
                 setBoolean(crawler, "respectRobots", c::setRespectRobots);
                 setInt(crawler, "cacheTtlMinutes", c::setCacheTtlMinutes);
+                setInt(crawler, "workers", c::setWorkers);
+                setInt(crawler, "bloomExpectedUrls", c::setBloomExpectedUrls);
+                setString(crawler, "frontier", c::setFrontier);
+                setPath(crawler, "frontierDir", c::setFrontierDir);
+            }
+
+            // 4-1) http.*
+            Map<String, Object> http = getMap(map, "http");
+            if (http != null) {
+                var h = cfg.getHttp();
+                setBoolean(http, "async", h::setAsync);
+                setInt(http, "maxInFlight", h::setMaxInFlight);
+                setInt(http, "maxRetryAfterMs", h::setMaxRetryAfterMs);
+                setInt(http, "defaultPauseMs", h::setDefaultPauseMs);
+                setBoolean(http, "http2", h::setHttp2);
+                setString(http, "userAgent", h::setUserAgent);
+                setInt(http, "maxBodyBytes", h::setMaxBodyBytes);
+                setBoolean(http, "skipBinary", h::setSkipBinary);
+                setBoolean(http, "rangeRequests", h::setRangeRequests);
+                setBoolean(http, "compression", h::setCompression);
+                setInt(http, "maxDecodedBytes", h::setMaxDecodedBytes);
+                setBoolean(http, "headTriage", h::setHeadTriage);
+                setInt(http, "triageMaxBytes", h::setTriageMaxBytes);
+                setInt(http, "apiMaxBytes", h::setApiMaxBytes);
+                Map<String, Object> headers = getMap(http, "headers");
+                if (headers != null) {
+                    Map<String, String> hs = new LinkedHashMap<>();
+                    headers.forEach((k, v) -> { if (k != null && v != null) hs.put(k, String.valueOf(v)); });
+                    h.setHeaders(hs);
+                }
+            }
+
+            // 4-2) adaptive.*
+            Map<String, Object> adaptive = getMap(map, "adaptive");
+            if (adaptive != null) {
+                var a = cfg.getAdaptive();
+                setBoolean(adaptive, "enabled", a::setEnabled);
+                setInt(adaptive, "minRps", a::setMinRps);
+                setInt(adaptive, "maxRps", a::setMaxRps);
+                setInt(adaptive, "minConcurrency", a::setMinConcurrency);
+                setInt(adaptive, "maxConcurrency", a::setMaxConcurrency);
+                setInt(adaptive, "windowMs", a::setWindowMs);
+                setInt(adaptive, "minSamples", a::setMinSamples);
+                setDouble(adaptive, "decreaseFactor", a::setDecreaseFactor);
+                setDouble(adaptive, "errorRate", a::setErrorRate);
+                setDouble(adaptive, "latencyFactor", a::setLatencyFactor);
+            }
+
+            // 4-3) cache.*
+            Map<String, Object> cache = getMap(map, "cache");
+            if (cache != null) {
+                var c = cfg.getCache();
+                setBoolean(cache, "enabled", c::setEnabled);
+                setPath(cache, "dir", c::setDir);
+            }
+
+            // 4-4) anomaly.*
+            Map<String, Object> anomaly = getMap(map, "anomaly");
+            if (anomaly != null) {
+                setInt(anomaly, "baselineCapacity", cfg.getAnomaly()::setBaselineCapacity);
+            }
+
+            // 4-5) dedup.*
+            Map<String, Object> dedup = getMap(map, "dedup");
+            if (dedup != null) {
+                var d = cfg.getDedup();
+                setBoolean(dedup, "enabled", d::setEnabled);
+                setInt(dedup, "maxDistance", d::setMaxDistance);
+                setInt(dedup, "activePerCluster", d::setActivePerCluster);
+                setInt(dedup, "maxClusters", d::setMaxClusters);
+            }
+
+            // 4-6) checkpoint.*
+            Map<String, Object> checkpoint = getMap(map, "checkpoint");
+            if (checkpoint != null) {
+                var c = cfg.getCheckpoint();
+                setBoolean(checkpoint, "enabled", c::setEnabled);
+                setInt(checkpoint, "intervalSec", c::setIntervalSec);
+                setBoolean(checkpoint, "resume", c::setResume);
+                setPath(checkpoint, "dir", c::setDir);
+            }
+
+            // 4-7) resultLog.*
+            Map<String, Object> resultLog = getMap(map, "resultLog");
+            if (resultLog != null) {
+                var r = cfg.getResultLog();
+                setBoolean(resultLog, "enabled", r::setEnabled);
+                setInt(resultLog, "flushMs", r::setFlushMs);
+                setBoolean(resultLog, "keepInMemory", r::setKeepInMemory);
+            }
+
+            // 4-8) hosts.<host>.*
+            Map<String, Object> hosts = getMap(map, "hosts");
+            if (hosts != null) {
+                for (Map.Entry<String, Object> e : hosts.entrySet()) {
+                    if (!(e.getValue() instanceof Map<?, ?> hm)) continue;
+                    var hc = new ScanConfig.HostCfg();
+                    setInt(hm, "rps", hc::setRps);
+                    setInt(hm, "activeRps", hc::setActiveRps);
+                    setInt(hm, "activeConcurrency", hc::setActiveConcurrency);
+                    cfg.putHost(String.valueOf(e.getKey()), hc);
+                }
             }
 
             // 5) aggressive.* (AGGRESSIVE_LITE 선반영)
@@ -174,6 +353,12 @@ public final class YamlConfigLoader {
         else if (v != null) setter.accept(Integer.parseInt(String.valueOf(v)));
     }
 
+    private static void setDouble(Map<?, ?> map, String key, DoubleConsumer setter) {
+        Object v = map.get(key);
+        if (v instanceof Number n) setter.accept(n.doubleValue());
+        else if (v != null) setter.accept(Double.parseDouble(String.valueOf(v)));
+    }
+
     private static void setIntAsDurationMs(Map<?, ?> map, String key, Consumer<Duration> setter) {
         Object v = map.get(key);
         if (v == null) return;
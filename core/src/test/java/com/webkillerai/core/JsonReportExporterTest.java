@@ -1,16 +1,22 @@
 package com.webkillerai.core;
 
+import com.webkillerai.core.model.IssueType;
 import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.Severity;
 import com.webkillerai.core.model.VulnResult;
 import com.webkillerai.core.service.export.JsonReportExporter;
 import com.webkillerai.core.service.export.ReportExporter;
+import com.webkillerai.core.service.export.ResultSource;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -53,4 +59,34 @@ public class JsonReportExporterTest {
             "sections.executiveSummary should mention '7 RPS'"
         );
     }
+
+    @Test
+    void export_streamsLazySource_inTwoPasses_withoutMaterializing() throws Exception {
+        ScanConfig cfg = new ScanConfig();
+        cfg.setTarget("https://example.com");
+        int n = 20_000;
+        Instant at = Instant.parse("2026-01-01T00:00:00Z");
+        AtomicInteger passes = new AtomicInteger();
+        // 호출마다 새로 생성되는 지연 스트림(목록 없음)
+        ResultSource lazy = () -> {
+            passes.incrementAndGet();
+            return IntStream.range(0, n).mapToObj(i -> VulnResult.builder()
+                    .url(URI.create("https://example.com/p?q=" + i))
+                    .issueType(i % 2 == 0 ? IssueType.XSS_REFLECTED : IssueType.SQLI_PATTERN)
+                    .severity(i == 7 ? Severity.CRITICAL : Severity.LOW)
+                    .description("d" + i)
+                    .detectedAt(at)
+                    .build());
+        };
+
+        Path out = new JsonReportExporter().export(tmp, cfg, lazy, at.toString());
+
+        assertEquals(2, passes.get(), "summary pass + issues pass");
+        List<String> lines = Files.readAllLines(out);
+        assertEquals(n, lines.stream().filter(l -> l.startsWith("    {\"id\"")).count());
+        String json = String.join("\n", lines);
+        assertTrue(json.contains("\"counts\": { \"pages\": " + n + ", \"issues\": " + n + " }"));
+        assertTrue(json.contains("\"keyFindings\": [\"d7\",\"d0\",\"d1\"]"), "severity-desc top 3, stable");
+        assertTrue(json.endsWith("}"));
+    }
 }
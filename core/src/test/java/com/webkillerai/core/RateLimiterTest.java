@@ -4,7 +4,13 @@ import com.webkillerai.core.util.RateLimiter;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class RateLimiterTest {
 
@@ -18,4 +24,51 @@ public class RateLimiterTest {
         long ms = (System.nanoTime() - t0) / 1_000_000;
         assertTrue(ms >= 150, "second acquire should wait at least ~150ms (5 tps)");
     }
+
+    @Test
+    void burst_is_capacity_then_tryAcquire_fails_without_waiting() throws Exception {
+        RateLimiter rl = new RateLimiter(3, 1); // 버스트 3, 이후 초당 1
+        for (int i = 0; i < 3; i++) assertTrue(rl.tryAcquire(0, TimeUnit.MILLISECONDS), "burst #" + i);
+        long t0 = System.nanoTime();
+        assertFalse(rl.tryAcquire(0, TimeUnit.MILLISECONDS));
+        assertFalse(rl.tryAcquire(100, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - t0 < TimeUnit.MILLISECONDS.toNanos(500), "failed tryAcquire must not wait");
+    }
+
+    @Test
+    void concurrent_tryAcquire_never_over_grants() throws Exception {
+        RateLimiter rl = new RateLimiter(100, 1);
+        AtomicInteger granted = new AtomicInteger();
+        List<Thread> ts = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread th = new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    try { if (rl.tryAcquire(0, TimeUnit.NANOSECONDS)) granted.incrementAndGet(); }
+                    catch (InterruptedException ie) { return; }
+                }
+            });
+            ts.add(th);
+            th.start();
+        }
+        for (Thread th : ts) th.join();
+        // 버스트 100 + 실행 중 재충전 최대 1~2개
+        assertTrue(granted.get() >= 100 && granted.get() <= 102, "granted=" + granted.get());
+    }
+
+    @Test
+    void acquireAsync_completes_by_timer_without_blocking_caller() throws Exception {
+        RateLimiter rl = new RateLimiter(1, 20); // 50ms 간격
+        assertTrue(rl.acquireAsync().isDone(), "first permit is immediate");
+
+        long t0 = System.nanoTime();
+        CompletableFuture<Void> second = rl.acquireAsync();
+        CompletableFuture<Void> third = rl.acquireAsync();
+        assertTrue(System.nanoTime() - t0 < TimeUnit.MILLISECONDS.toNanos(30), "acquireAsync must not block");
+        assertFalse(third.isDone());
+
+        third.get(2, TimeUnit.SECONDS);
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        assertTrue(second.isDone());
+        assertTrue(ms >= 80, "third permit should be ~100ms out, was " + ms + "ms");
+    }
 }
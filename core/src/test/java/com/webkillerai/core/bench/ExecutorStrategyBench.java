@@ -0,0 +1,103 @@
+package com.webkillerai.core.bench;
+
+import com.webkillerai.core.api.ICrawler;
+import com.webkillerai.core.api.IHttpAnalyzer;
+import com.webkillerai.core.api.IScanner;
+import com.webkillerai.core.http.HttpAnalyzer;
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.Mode;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.service.ScanService;
+import com.webkillerai.core.service.exec.ExecutorStrategies;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실행기 전략 처리량 벤치마크(수동 실행용, 테스트 아님).
+ *
+ * 1) ./gradlew :smoke-target:run            (http://localhost:8080)
+ * 2) ./gradlew :core:bench                  (기본: ExecutorStrategyBench)
+ *    ./gradlew :core:bench -PbenchJava=21     (virtual 포함 측정)
+ *    ./gradlew :core:bench -PbenchArgs="http://localhost:8080/ 4000 4,64,512 fixed,virtual"
+ *
+ * 인자: [target] [requests] [concurrency 목록] [executor 목록]
+ * 각 (executor, concurrency) 조합마다 ScanService(SAFE, 패시브만)로 requests개 URL을 스캔해 req/s를 출력.
+ * virtual은 Java 21+ 런타임에서만 의미가 있다(미지원이면 fixed로 대체되어 표시됨).
+ */
+public final class ExecutorStrategyBench {
+
+    public static void main(String[] args) {
+        String target   = arg(args, 0, "http://localhost:8080/");
+        int requests    = Integer.parseInt(arg(args, 1, "2000"));
+        int[] ccs       = parseInts(arg(args, 2, "4,64,512"));
+        String[] execs  = arg(args, 3, "fixed,forkjoin,virtual").split(",");
+
+        System.out.printf(Locale.ROOT, "target=%s requests=%d java=%s%n",
+                target, requests, System.getProperty("java.version"));
+        System.out.printf(Locale.ROOT, "%-9s %5s %10s %10s %8s %8s%n",
+                "executor", "cc", "elapsedMs", "req/s", "avgMs", "errors");
+
+        for (String ex : execs) {
+            String effective = ExecutorStrategies.forName(ex).name();
+            for (int cc : ccs) {
+                run(target, cc, ex, effective, Math.max(1, requests / 10)); // 워밍업(결과 버림)
+                Result r = run(target, cc, ex, effective, requests);
+                System.out.printf(Locale.ROOT, "%-9s %5d %10d %10.1f %8d %8d%n",
+                        effective, cc, r.elapsedMs, r.rps(), r.avgLatencyMs, r.errors);
+            }
+        }
+    }
+
+    private record Result(int requests, long elapsedMs, long avgLatencyMs, int errors) {
+        double rps() { return elapsedMs == 0 ? 0 : requests * 1000.0 / elapsedMs; }
+    }
+
+    private static Result run(String target, int cc, String executor, String label, int n) {
+        ScanConfig cfg = ScanConfig.defaults()
+                .setTarget(target)
+                .setMaxDepth(0)
+                .setMode(Mode.SAFE)
+                .setConcurrency(cc)
+                .setTimeout(Duration.ofSeconds(10))
+                .setExecutor(executor);
+        cfg.setRps(1_000_000); // 리미터 영향 제거
+
+        URI base = URI.create(target);
+        ICrawler crawler = () -> {
+            List<URI> seeds = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) seeds.add(base.resolve("/?bench=" + label + "-" + cc + "-" + i));
+            return seeds;
+        };
+        HttpAnalyzer analyzer = new HttpAnalyzer(cfg);
+        AtomicInteger errors = new AtomicInteger();
+        IHttpAnalyzer http = url -> {
+            HttpResponseData r = analyzer.analyze(url);
+            if (r == null || r.getStatusCode() < 0) errors.incrementAndGet();
+            return r;
+        };
+        IScanner scanner = resp -> Collections.emptyList();
+
+        ScanService svc = new ScanService(cfg, crawler, http, scanner);
+        long t0 = System.nanoTime();
+        svc.run();
+        long ms = (System.nanoTime() - t0) / 1_000_000L;
+        return new Result(n, ms, svc.getRuntimeSnapshot().avgLatencyMs, errors.get());
+    }
+
+    private static String arg(String[] a, int i, String def) {
+        return (a.length > i && !a[i].isBlank()) ? a[i] : def;
+    }
+
+    private static int[] parseInts(String csv) {
+        String[] p = csv.split(",");
+        int[] out = new int[p.length];
+        for (int i = 0; i < p.length; i++) out[i] = Integer.parseInt(p[i].trim());
+        return out;
+    }
+}
@@ -0,0 +1,106 @@
+package com.webkillerai.core.bench;
+
+import com.webkillerai.core.util.RateLimiter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RateLimiter 경합 벤치마크(수동 실행용, 테스트 아님).
+ *
+ *   ./gradlew :core:bench -PbenchMain=com.webkillerai.core.bench.RateLimiterBench
+ *   ./gradlew :core:bench -PbenchMain=com.webkillerai.core.bench.RateLimiterBench -PbenchArgs="1,8,64,256 2000"
+ *
+ * 인자: [스레드 수 목록] [제한 rps]
+ * 1) overhead: 사실상 무제한 rps에서 N스레드가 acquire()를 두드릴 때 초당 허가 수(경합 비용)
+ * 2) jitter  : 제한 rps에서 연속 허가 간격이 이론 간격(1/rps)보다 얼마나 길었는지(p50/p99/max)
+ */
+public final class RateLimiterBench {
+
+    public static void main(String[] args) throws Exception {
+        int[] threads = Arrays.stream((args.length > 0 ? args[0] : "1,8,64,256").split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+        int rps = Integer.parseInt(args.length > 1 ? args[1] : "2000");
+
+        System.out.printf(Locale.ROOT, "java=%s cpus=%d%n",
+                System.getProperty("java.version"), Runtime.getRuntime().availableProcessors());
+        System.out.printf(Locale.ROOT, "%8s %16s | %8s %10s %10s %10s%n",
+                "threads", "overhead ops/s", "rps", "p50 us", "p99 us", "max us");
+
+        for (int n : threads) {
+            double ops = overhead(n, 1000);
+            long[] lat = jitter(n, rps, Math.max(rps, 1000));
+            System.out.printf(Locale.ROOT, "%8d %16.0f | %8d %10d %10d %10d%n",
+                    n, ops, rps, pct(lat, 50), pct(lat, 99), lat[lat.length - 1]);
+        }
+    }
+
+    /** 무제한에 가까운 rps에서 acquire() 처리량 */
+    private static double overhead(int threads, long ms) throws Exception {
+        RateLimiter rl = new RateLimiter(1_000_000_000L, 1_000_000_000L);
+        AtomicLong count = new AtomicLong();
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms);
+        runAll(threads, () -> {
+            long local = 0;
+            while (System.nanoTime() < end) {
+                try { rl.acquire(); } catch (InterruptedException ie) { return; }
+                local++;
+            }
+            count.addAndGet(local);
+        });
+        return count.get() * 1000.0 / ms;
+    }
+
+    /** 제한 rps에서 허가 간격 초과분(실제 간격 - 1/rps), 마이크로초 정렬 배열 */
+    private static long[] jitter(int threads, int rps, int permits) throws Exception {
+        RateLimiter rl = new RateLimiter(1, rps);
+        long intervalNs = 1_000_000_000L / rps;
+        long[] grantedAt = new long[permits];
+        AtomicLong next = new AtomicLong();
+        rl.acquire(); // 초기 버스트 소진
+        runAll(threads, () -> {
+            for (;;) {
+                int i = (int) next.getAndIncrement();
+                if (i >= permits) return;
+                try { rl.acquire(); } catch (InterruptedException ie) { return; }
+                grantedAt[i] = System.nanoTime();
+            }
+        });
+        // 허가 시각을 정렬해 인접 간격과 이론 간격 T의 차이(=대기 초과분)를 본다
+        long[] sorted = grantedAt.clone();
+        Arrays.sort(sorted);
+        long[] late = new long[permits - 1];
+        for (int k = 1; k < permits; k++) {
+            late[k - 1] = Math.max(0, (sorted[k] - sorted[k - 1]) - intervalNs) / 1_000L;
+        }
+        Arrays.sort(late);
+        return late;
+    }
+
+    private static void runAll(int threads, Runnable body) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> ts = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(() -> {
+                try { start.await(); } catch (InterruptedException ie) { return; }
+                body.run();
+            }, "bench-" + i);
+            t.setDaemon(true);
+            ts.add(t);
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : ts) t.join();
+    }
+
+    private static long pct(long[] sorted, int p) {
+        if (sorted.length == 0) return 0;
+        int idx = (int) Math.min(sorted.length - 1, Math.round(sorted.length * p / 100.0));
+        return sorted[idx];
+    }
+}
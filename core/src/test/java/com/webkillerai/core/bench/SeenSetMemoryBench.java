@@ -0,0 +1,93 @@
+package com.webkillerai.core.bench;
+
+import com.webkillerai.core.crawler.SeenUrlSet;
+import com.webkillerai.core.util.UrlUtils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 크롤러 발견 URL 집합 메모리/속도 벤치마크(수동 실행용, 테스트 아님).
+ *
+ *   ./gradlew :core:bench -PbenchMain=com.webkillerai.core.bench.SeenSetMemoryBench
+ *   ./gradlew :core:bench -PbenchMain=com.webkillerai.core.bench.SeenSetMemoryBench -PbenchArgs="2000000"
+ *
+ * 인자: [URL 수]
+ * before: LinkedHashSet&lt;URI&gt; + 방문 List&lt;URI&gt;, ConcurrentHashMap 키 집합(예전 Crawler)
+ * after : SeenUrlSet(64비트 해시 오픈 어드레싱), SeenUrlSet + Bloom 앞단
+ * 잔존 힙은 GC 후 사용량 차이(근사). 정규화 URL은 매번 새로 만들어 넣음(URI 공유 없음).
+ */
+public final class SeenSetMemoryBench {
+
+    public static void main(String[] args) {
+        int n = Integer.parseInt(args.length > 0 ? args[0] : "1000000");
+        System.out.printf(Locale.ROOT, "java=%s urls=%d maxHeap=%dMB%n",
+                System.getProperty("java.version"), n, Runtime.getRuntime().maxMemory() >> 20);
+        System.out.printf(Locale.ROOT, "%-30s %12s %10s %12s%n", "structure", "heap MB", "B/url", "adds/s");
+
+        run("LinkedHashSet<URI> + List<URI>", n, () -> new Sink() {
+            final Set<URI> seen = new LinkedHashSet<>();
+            final List<URI> fetched = new ArrayList<>();
+            @Override public boolean add(URI u) {
+                if (!seen.add(u)) return false;
+                fetched.add(u);
+                return true;
+            }
+        });
+        run("ConcurrentHashMap.newKeySet", n, () -> new Sink() {
+            final Set<URI> seen = ConcurrentHashMap.newKeySet();
+            @Override public boolean add(URI u) { return seen.add(u); }
+        });
+        run("SeenUrlSet", n, () -> new Sink() {
+            final SeenUrlSet seen = new SeenUrlSet(1024, 0);
+            @Override public boolean add(URI u) { return seen.add(u); }
+        });
+        run("SeenUrlSet + Bloom", n, () -> new Sink() {
+            final SeenUrlSet seen = new SeenUrlSet(1024, n);
+            @Override public boolean add(URI u) { return seen.add(u); }
+        });
+    }
+
+    private interface Sink { boolean add(URI u); }
+
+    private interface Factory { Sink create(); }
+
+    private static void run(String name, int n, Factory f) {
+        long before = usedAfterGc();
+        Sink s = f.create();
+        long t0 = System.nanoTime();
+        int added = 0;
+        for (int i = 0; i < n; i++) {
+            if (s.add(url(i))) added++;
+            if ((i & 3) == 0) s.add(url(i >> 1)); // 재발견(중복) 섞기
+        }
+        double sec = (System.nanoTime() - t0) / 1e9;
+        long after = usedAfterGc();
+        if (added != n) throw new IllegalStateException(name + ": added=" + added);
+        double mb = (after - before) / (1024.0 * 1024.0);
+        System.out.printf(Locale.ROOT, "%-30s %12.1f %10.1f %12.0f%n",
+                name, mb, (after - before) / (double) n, n / sec);
+        if (s.hashCode() == 42) System.out.print(""); // 도달성 유지
+    }
+
+    private static URI url(int i) {
+        return UrlUtils.normalize(URI.create("https://shop.example.com/category/" + (i % 997)
+                + "/item/" + i + "?ref=list&page=" + (i % 50)));
+    }
+
+    private static long usedAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try { Thread.sleep(50); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+        }
+        return used;
+    }
+}
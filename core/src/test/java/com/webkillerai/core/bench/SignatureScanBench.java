@@ -0,0 +1,107 @@
+package com.webkillerai.core.bench;
+
+import com.webkillerai.core.scanner.BodySignatures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * 본문 시그니처 매칭 처리량 벤치마크(수동 실행용, 테스트 아님).
+ *
+ *   ./gradlew :core:bench -PbenchMain=com.webkillerai.core.bench.SignatureScanBench
+ *   ./gradlew :core:bench -PbenchMain=com.webkillerai.core.bench.SignatureScanBench -PbenchArgs="256 3000"
+ *
+ * 인자: [본문 KB] [측정 ms]
+ * before: 예전 방식(소문자 사본 + contains 반복, 정규식 3+1개를 본문마다 find)
+ * after : BodySignatures 1회 순회 + 후보 위치에서만 정규식 확정
+ * 본문은 평범한 HTML(히트 없음)과 스택트레이스/SQL 오류가 섞인 HTML 두 종류.
+ */
+public final class SignatureScanBench {
+
+    private static final String[] SQL_SIGS = {
+            "you have an error in your sql syntax", "unclosed quotation mark after the character string",
+            "sqlstate", "syntax error near", "warning: mysql", "ORA-0", "SQLiteException", "PG::SyntaxError",
+            "mysql_fetch_", "System.Data.SqlClient", "org.hibernate.exception", "MySqlException"};
+    private static final Pattern SQLI_ERROR = Pattern.compile(
+            "(?i)(you have an error in your sql syntax|warning:\\s*mysql|ora-\\d{5}|sqlstate|syntax error at or near|unclosed quotation mark after the character string)",
+            Pattern.DOTALL);
+    private static final Pattern XSS_ECHO = Pattern.compile("(?i)<script[^>]*>[^<]*\\balert\\s*\\(\\s*1\\s*\\)", Pattern.DOTALL);
+    private static final Pattern P_STACKTRACE = Pattern.compile(
+            "(?is)(\\bException\\b|\\bTraceback\\b|\\bat\\s+(?:com|org)\\.[A-Za-z0-9_.$]+\\()");
+    private static final Pattern ANOMALY = Pattern.compile(
+            "(?is)(Traceback\\s*\\(most recent call last\\)|" +
+            "Exception\\b|NullPointerException\\b|IndexOutOfBoundsException\\b|" +
+            "at\\s+[a-zA-Z0-9_$.]+\\([a-zA-Z0-9_$.]+:\\d+\\)|" +
+            "TypeError\\b|ReferenceError\\b|SyntaxError\\b|" +
+            "System\\.[A-Za-z0-9_.]+Exception\\b|" +
+            "org\\.springframework\\.|org\\.hibernate\\.|javax\\.servlet\\.)");
+
+    public static void main(String[] args) {
+        int kb = Integer.parseInt(args.length > 0 ? args[0] : "256");
+        long ms = Long.parseLong(args.length > 1 ? args[1] : "3000");
+
+        System.out.printf(Locale.ROOT, "java=%s body=%dKB%n", System.getProperty("java.version"), kb);
+        System.out.printf(Locale.ROOT, "%-8s %14s %14s %8s%n", "body", "before MB/s", "after MB/s", "x");
+        for (boolean dirty : new boolean[]{false, true}) {
+            String body = body(kb * 1024, dirty);
+            // 두 방식이 같은 결론을 내는지 먼저 확인
+            if (before(body) != after(body)) throw new IllegalStateException("result mismatch");
+            double b = mbps(body, ms, true);
+            double a = mbps(body, ms, false);
+            System.out.printf(Locale.ROOT, "%-8s %14.1f %14.1f %8.2f%n", dirty ? "dirty" : "clean", b, a, a / b);
+        }
+    }
+
+    private static double mbps(String body, long ms, boolean legacy) {
+        long warm = System.nanoTime() + ms * 1_000_000L / 3;
+        int sink = 0;
+        while (System.nanoTime() < warm) sink += legacy ? before(body) : after(body);
+        long n = 0;
+        long t0 = System.nanoTime();
+        long end = t0 + ms * 1_000_000L;
+        while (System.nanoTime() < end) {
+            sink += legacy ? before(body) : after(body);
+            n++;
+        }
+        double sec = (System.nanoTime() - t0) / 1e9;
+        if (sink == 42) System.out.print(""); // DCE 방지
+        return n * (double) body.length() / (1024 * 1024) / sec;
+    }
+
+    /** 히트 비트마스크(비교용) */
+    private static int before(String body) {
+        int r = 0;
+        String lower = body.toLowerCase();
+        for (String s : SQL_SIGS) if (lower.contains(s.toLowerCase(Locale.ROOT))) { r |= 1; break; }
+        if (SQLI_ERROR.matcher(body).find()) r |= 2;
+        if (XSS_ECHO.matcher(body).find()) r |= 4;
+        if (P_STACKTRACE.matcher(body).find()) r |= 8;
+        if (ANOMALY.matcher(body).find()) r |= 16;
+        return r;
+    }
+
+    private static int after(String body) {
+        int r = 0;
+        BodySignatures.Hits h = BodySignatures.scan(body);
+        if (h.first(BodySignatures.Group.SQL_ERROR) != null) r |= 1;
+        if (h.confirm(BodySignatures.Group.SQLI_ERROR_RX, SQLI_ERROR) != null) r |= 2;
+        if (h.confirm(BodySignatures.Group.XSS_ECHO_RX, XSS_ECHO) != null) r |= 4;
+        if (h.confirm(BodySignatures.Group.STACKTRACE_RX, P_STACKTRACE) != null) r |= 8;
+        if (h.confirm(BodySignatures.Group.ANOMALY_STACKTRACE_RX, ANOMALY) != null) r |= 16;
+        return r;
+    }
+
+    private static String body(int size, boolean dirty) {
+        List<String> words = new ArrayList<>(List.of(
+                "<div class=\"item\">", "<a href=\"/p?id=3\">", "Lorem", "ipsum", "dolor", "sit", "amet",
+                "</a>", "</div>", "상품", "설명", "<span>", "</span>", "data-state=\"open\"", "that", "at"));
+        if (dirty) words.addAll(List.of("Exception", "\tat org.demo.Svc.run(Svc.java:42)", "SQLSTATE[HY000]"));
+        Random r = new Random(7);
+        StringBuilder sb = new StringBuilder(size + 64).append("<!doctype html><html><body>");
+        while (sb.length() < size) sb.append(words.get(r.nextInt(words.size()))).append(' ');
+        return sb.append("</body></html>").toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.webkillerai.core.crawler;
+
+import com.webkillerai.core.model.ScanConfig;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlerParallelTest {
+
+    /** 트리형 그래프(팬아웃 4, 깊이 3) + 교차 링크 — 추출마다 지연 */
+    static final class SlowTreeExtractor implements LinkExtractor {
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public Set<URI> extract(URI base) throws Exception {
+            int cur = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(cur, Math::max);
+            try {
+                Thread.sleep(20);
+                String p = base.getPath();
+                Set<URI> out = new LinkedHashSet<>();
+                for (int i = 0; i < 4; i++) {
+                    out.add(URI.create("http://example.com" + (p.endsWith("/") ? p : p + "/") + i));
+                }
+                out.add(URI.create("http://example.com/0")); // 레벨 간 중복
+                return out;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private static List<URI> crawl(int workers, SlowTreeExtractor ex) {
+        ScanConfig cfg = ScanConfig.defaults()
+                .setTarget("http://example.com/")
+                .setMaxDepth(3)
+                .setSameDomainOnly(true);
+        cfg.getCrawler().setRespectRobots(false);
+        cfg.getCrawler().setWorkers(workers);
+        return new Crawler(cfg, ex, HttpClient.newHttpClient()).crawlSeeds();
+    }
+
+    @Test
+    void parallel_output_matches_sequential_order() {
+        List<URI> seq = crawl(1, new SlowTreeExtractor());
+        SlowTreeExtractor par = new SlowTreeExtractor();
+        List<URI> parallel = crawl(8, par);
+
+        assertEquals(seq, parallel, "parallel BFS must keep level order");
+        assertEquals(1 + 4 + 16 + 64, parallel.size());
+        assertTrue(par.maxInFlight.get() > 1, "extractions should overlap");
+        assertTrue(par.maxInFlight.get() <= 8, "worker cap exceeded: " + par.maxInFlight.get());
+    }
+
+    @Test
+    void workers_default_to_concurrency() {
+        ScanConfig cfg = ScanConfig.defaults()
+                .setTarget("http://example.com/")
+                .setMaxDepth(2)
+                .setConcurrency(3);
+        cfg.getCrawler().setRespectRobots(false);
+        SlowTreeExtractor ex = new SlowTreeExtractor();
+        List<URI> out = new Crawler(cfg, ex, HttpClient.newHttpClient()).crawlSeeds();
+
+        assertEquals(1 + 4 + 16, out.size());
+        assertTrue(ex.maxInFlight.get() <= 3, "max=" + ex.maxInFlight.get());
+    }
+}
@@ -0,0 +1,28 @@
+package com.webkillerai.core.crawler;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeenUrlSetTest {
+
+    @Test
+    void add_and_contains_with_and_without_bloom() {
+        for (long bloom : new long[]{0, 1_000}) {
+            SeenUrlSet s = new SeenUrlSet(16, bloom);
+            for (int i = 0; i < 5_000; i++) {
+                assertTrue(s.add(URI.create("https://ex.com/p/" + i)), "new " + i);
+            }
+            for (int i = 0; i < 5_000; i++) {
+                URI u = URI.create("https://ex.com/p/" + i);
+                assertTrue(s.contains(u));
+                assertFalse(s.add(u));
+            }
+            assertFalse(s.contains(URI.create("https://ex.com/p/x")));
+            assertEquals(5_000, s.size());
+            assertTrue(s.footprintBytes() < 5_000L * 40, "compact: " + s.footprintBytes());
+        }
+    }
+}
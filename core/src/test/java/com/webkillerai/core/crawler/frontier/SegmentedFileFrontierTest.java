@@ -0,0 +1,98 @@
+package com.webkillerai.core.crawler.frontier;
+
+import com.webkillerai.core.crawler.Crawler;
+import com.webkillerai.core.crawler.LinkExtractor;
+import com.webkillerai.core.model.ScanConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedFileFrontierTest {
+
+    @TempDir Path tmp;
+
+    private static URI u(int i) { return URI.create("http://example.com/p/" + i + "?q=" + "x".repeat(i % 50)); }
+
+    @Test
+    void fifo_across_many_segments_and_cleanup() throws Exception {
+        SegmentedFileFrontier f = SegmentedFileFrontier.open(tmp, 4096);
+        Path dir = f.dir();
+        int n = 20_000, polled = 0;
+        for (int i = 0; i < n; i++) {
+            f.push(u(i), i / 1000);
+            if (i % 3 == 0) { // 넣는 도중 소비(머리 세그먼트/꼬리 혼합)
+                Frontier.Entry e = f.poll();
+                assertEquals(u(polled), e.uri());
+                assertEquals(polled / 1000, e.depth());
+                polled++;
+            }
+        }
+        assertEquals(n - polled, f.size());
+        assertTrue(f.segmentsWritten() > 10, "segments=" + f.segmentsWritten());
+        assertEquals(4096, f.heapBytes());
+
+        while (!f.isEmpty()) {
+            Frontier.Entry e = f.poll();
+            assertEquals(u(polled), e.uri());
+            polled++;
+        }
+        assertEquals(n, polled);
+        assertNull(f.poll());
+
+        f.close();
+        assertFalse(Files.exists(dir), "segment dir should be removed");
+    }
+
+    @Test
+    void oversized_url_gets_own_segment() throws Exception {
+        try (SegmentedFileFrontier f = SegmentedFileFrontier.open(tmp, 4096)) {
+            URI big = URI.create("http://example.com/" + "a".repeat(10_000));
+            f.push(u(1), 0);
+            f.push(big, 1);
+            f.push(u(2), 1);
+            assertEquals(u(1), f.poll().uri());
+            assertEquals(big, f.poll().uri());
+            assertEquals(u(2), f.poll().uri());
+            assertNull(f.poll());
+        }
+    }
+
+    /** 팬아웃 5, 깊이 3 트리 + 중복 링크 */
+    private static final LinkExtractor TREE = base -> {
+        String p = base.getPath();
+        Set<URI> out = new LinkedHashSet<>();
+        for (int i = 0; i < 5; i++) out.add(URI.create("http://example.com" + (p.endsWith("/") ? p : p + "/") + i));
+        out.add(URI.create("http://example.com/1"));
+        return out;
+    };
+
+    private List<URI> crawl(String frontier, int workers) {
+        ScanConfig cfg = ScanConfig.defaults()
+                .setTarget("http://example.com/")
+                .setMaxDepth(3)
+                .setSameDomainOnly(true);
+        cfg.getCrawler().setRespectRobots(false);
+        cfg.getCrawler().setWorkers(workers);
+        cfg.getCrawler().setFrontier(frontier);
+        cfg.getCrawler().setFrontierDir(tmp.resolve("frontier"));
+        return new Crawler(cfg, TREE, HttpClient.newHttpClient()).crawlSeeds();
+    }
+
+    @Test
+    void crawler_disk_frontier_matches_memory_order() throws Exception {
+        List<URI> mem = crawl("memory", 1);
+        assertEquals(1 + 5 + 25 + 125, mem.size());
+        assertEquals(mem, crawl("disk", 1));
+        assertEquals(mem, crawl("disk", 4));
+        try (var s = Files.list(tmp.resolve("frontier"))) {
+            assertEquals(0, s.count(), "frontier temp dirs should be removed");
+        }
+    }
+}
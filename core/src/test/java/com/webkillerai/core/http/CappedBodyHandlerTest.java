@@ -0,0 +1,221 @@
+package com.webkillerai.core.http;
+
+import com.sun.net.httpserver.HttpServer;
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.ScanStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CappedBodyHandlerTest {
+
+    private HttpServer server;
+    private URI base;
+
+    @BeforeEach
+    void start() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/big", ex -> {
+            ex.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            ex.sendResponseHeaders(200, 0); // chunked
+            try (OutputStream os = ex.getResponseBody()) {
+                byte[] line = "0123456789".repeat(100).getBytes(StandardCharsets.UTF_8);
+                for (int i = 0; i < 100; i++) os.write(line); // 100 KB
+            } catch (Exception ignore) {
+                // 클라이언트가 상한에서 끊으면 쓰기 실패가 정상
+            }
+        });
+        server.createContext("/img", ex -> {
+            byte[] b = new byte[4096];
+            ex.getResponseHeaders().add("Content-Type", "image/png");
+            ex.sendResponseHeaders(200, b.length);
+            ex.getResponseBody().write(b);
+            ex.close();
+        });
+        server.createContext("/marker", ex -> {
+            ex.getResponseHeaders().add("Content-Type", "text/plain");
+            ex.sendResponseHeaders(200, 0);
+            try (OutputStream os = ex.getResponseBody()) {
+                os.write("head root:x:0:0:root".getBytes(StandardCharsets.UTF_8));
+                os.flush();
+                byte[] filler = "y".repeat(1024).getBytes(StandardCharsets.UTF_8);
+                for (int i = 0; i < 200; i++) os.write(filler);
+            } catch (Exception ignore) {
+            }
+        });
+        server.createContext("/gz", ex -> {
+            String ae = String.valueOf(ex.getRequestHeaders().getFirst("Accept-Encoding"));
+            byte[] plain = "<html>압축 본문 ".repeat(500).getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            if (ae.contains("gzip")) {
+                ex.getResponseHeaders().add("Content-Encoding", "gzip");
+                ex.sendResponseHeaders(200, 0);
+                try (OutputStream os = new GZIPOutputStream(ex.getResponseBody())) { os.write(plain); }
+            } else {
+                ex.sendResponseHeaders(200, plain.length);
+                try (OutputStream os = ex.getResponseBody()) { os.write(plain); }
+            }
+        });
+        server.createContext("/zlib", ex -> {
+            ex.getResponseHeaders().add("Content-Type", "text/plain");
+            ex.getResponseHeaders().add("Content-Encoding", "deflate");
+            ex.sendResponseHeaders(200, 0);
+            try (OutputStream os = new DeflaterOutputStream(ex.getResponseBody())) {
+                os.write("zlib-wrapped deflate body".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.createContext("/bomb", ex -> {
+            ex.getResponseHeaders().add("Content-Type", "text/plain");
+            ex.getResponseHeaders().add("Content-Encoding", "gzip");
+            ex.sendResponseHeaders(200, 0);
+            try (OutputStream os = new GZIPOutputStream(ex.getResponseBody())) {
+                byte[] zeros = new byte[64 * 1024];
+                for (int i = 0; i < 1024; i++) os.write(zeros); // 64 MiB 풀림
+            } catch (Exception ignore) {
+            }
+        });
+        server.start();
+        base = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void stops_at_byte_cap_and_marks_response_truncated() {
+        ScanConfig cfg = new ScanConfig();
+        cfg.getHttp().setMaxBodyBytes(4096);
+        HttpResponseData d = new HttpAnalyzer(cfg, new HttpTransport(cfg)).analyze(base.resolve("/big"));
+
+        assertEquals(200, d.getStatusCode());
+        assertEquals(4096, d.getBody().length());
+        assertTrue(d.isBodyTruncated());
+
+        cfg.getHttp().setMaxBodyBytes(0); // 무제한
+        HttpResponseData full = new HttpAnalyzer(cfg, new HttpTransport(cfg)).analyze(base.resolve("/big"));
+        assertEquals(100_000, full.getBody().length());
+        assertFalse(full.isBodyTruncated());
+    }
+
+    @Test
+    void binary_content_type_is_not_read() throws Exception {
+        ScanConfig cfg = new ScanConfig();
+        HttpTransport t = new HttpTransport(cfg);
+        var r = t.send(t.request(base.resolve("/img")).GET().build(), t.bodyHandler(), true);
+
+        assertEquals("", r.body().text());
+        assertEquals(0, r.body().bytes());
+        assertEquals("binary", r.body().reason());
+    }
+
+    @Test
+    void marker_stops_reading_after_evidence_tail() throws Exception {
+        ScanConfig cfg = new ScanConfig();
+        HttpTransport t = new HttpTransport(cfg);
+        var r = t.send(t.request(base.resolve("/marker")).GET().build(),
+                t.bodyHandler(List.of("root:x:0:0:")), true);
+
+        CappedBodyHandler.Body b = r.body();
+        assertEquals("marker", b.reason());
+        assertTrue(b.text().startsWith("head root:x:0:0:root"));
+        assertEquals("head root:x:0:0:".length() + CappedBodyHandler.TAIL_CHARS, b.text().length());
+        assertTrue(b.bytes() < 200 * 1024, "bytes=" + b.bytes());
+    }
+
+    @Test
+    void multibyte_chars_split_across_chunks_decode_intact() throws Exception {
+        byte[] all = "가나다WKAI라".getBytes(StandardCharsets.UTF_8);
+        CappedBodyHandler.Sub sub = new CappedBodyHandler.Sub(StandardCharsets.UTF_8, Long.MAX_VALUE, List.of());
+        sub.onSubscribe(new Flow.Subscription() {
+            @Override public void request(long n) { }
+            @Override public void cancel() { }
+        });
+        for (int i = 0; i < all.length; i += 2) { // 2바이트씩 → 3바이트 한글이 매번 경계에 걸림
+            sub.onNext(List.of(ByteBuffer.wrap(all, i, Math.min(2, all.length - i)).slice()));
+        }
+        sub.onComplete();
+
+        CappedBodyHandler.Body b = sub.getBody().toCompletableFuture().get(1, TimeUnit.SECONDS);
+        assertEquals("가나다WKAI라", b.text());
+        assertEquals(all.length, b.bytes());
+        assertFalse(b.truncated());
+    }
+
+    @Test
+    void gzip_and_deflate_are_decoded_and_bytes_recorded() throws Exception {
+        ScanConfig cfg = new ScanConfig();
+        cfg.getHttp().setCompression(true);
+        ScanStats stats = new ScanStats();
+        HttpTransport t = new HttpTransport(cfg);
+        t.setStats(stats);
+
+        var gz = t.send(t.request(base.resolve("/gz")).GET().build(), t.bodyHandler(), true).body();
+        assertEquals("<html>압축 본문 ".repeat(500), gz.text());
+        assertFalse(gz.truncated());
+        assertTrue(gz.wireBytes() < gz.bytes() / 10, "wire=" + gz.wireBytes() + " decoded=" + gz.bytes());
+
+        var zl = t.send(t.request(base.resolve("/zlib")).GET().build(), t.bodyHandler(), true).body();
+        assertEquals("zlib-wrapped deflate body", zl.text());
+
+        ScanStats.Snapshot s = stats.snapshot();
+        assertEquals(gz.wireBytes() + zl.wireBytes(), s.wireBytes);
+        assertEquals(gz.bytes() + zl.bytes(), s.decodedBytes);
+
+        cfg.getHttp().setCompression(false); // 요청하지 않으면 서버도 평문
+        HttpTransport plain = new HttpTransport(cfg);
+        var p = plain.send(plain.request(base.resolve("/gz")).GET().build(), plain.bodyHandler(), true).body();
+        assertEquals(p.bytes(), p.wireBytes());
+    }
+
+    @Test
+    void decompressed_size_is_capped() throws Exception {
+        ScanConfig cfg = new ScanConfig();
+        cfg.getHttp().setCompression(true);
+        cfg.getHttp().setMaxBodyBytes(0);
+        cfg.getHttp().setMaxDecodedBytes(1024 * 1024);
+        HttpTransport t = new HttpTransport(cfg);
+
+        var b = t.send(t.request(base.resolve("/bomb")).GET().build(), t.bodyHandler(), true).body();
+        assertEquals("cap", b.reason());
+        assertEquals(1024 * 1024, b.bytes());
+        assertTrue(b.wireBytes() < 1024 * 1024);
+    }
+
+    @Test
+    void gzip_header_parsing_waits_for_optional_fields() throws Exception {
+        byte[] h = {0x1f, (byte) 0x8b, 8, 0x08, 0, 0, 0, 0, 0, 3, 'a', '.', 't', 'x', 't'};
+        assertEquals(-1, CappedBodyHandler.gzipHeaderLength(h), "FNAME not terminated yet");
+        byte[] done = Arrays.copyOf(h, h.length + 1);
+        assertEquals(done.length, CappedBodyHandler.gzipHeaderLength(done));
+        assertTrue(CappedBodyHandler.isZlibHeader((byte) 0x78, (byte) 0x9c));
+        assertFalse(CappedBodyHandler.isZlibHeader((byte) 0xcb, (byte) 0x48));
+    }
+
+    @Test
+    void binary_detection_keeps_text_like_types() {
+        assertTrue(CappedBodyHandler.isBinary("image/png"));
+        assertTrue(CappedBodyHandler.isBinary("application/octet-stream"));
+        assertTrue(CappedBodyHandler.isBinary("application/pdf"));
+        assertFalse(CappedBodyHandler.isBinary("text/html; charset=utf-8"));
+        assertFalse(CappedBodyHandler.isBinary("application/json"));
+        assertFalse(CappedBodyHandler.isBinary("application/xhtml+xml"));
+        assertFalse(CappedBodyHandler.isBinary(null));
+    }
+}
@@ -0,0 +1,69 @@
+package com.webkillerai.core.http;
+
+import com.webkillerai.core.model.ScanStats;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostBackoffTest {
+
+    static final Duration CAP = Duration.ofSeconds(30);
+    static final Instant NOW = Instant.parse("2015-10-21T07:28:00Z");
+
+    @Test
+    void retryAfter_parses_seconds_and_all_http_date_forms() {
+        assertEquals(Duration.ofSeconds(5), RetryAfter.parse(" 5 ", CAP, NOW));
+        assertEquals(Duration.ofSeconds(10), RetryAfter.parse("Wed, 21 Oct 2015 07:28:10 GMT", CAP, NOW));
+        assertEquals(Duration.ofSeconds(10), RetryAfter.parse("Wednesday, 21-Oct-15 07:28:10 GMT", CAP, NOW));
+        assertEquals(Duration.ofSeconds(10), RetryAfter.parse("Wed Oct 21 07:28:10 2015", CAP, NOW));
+    }
+
+    @Test
+    void retryAfter_caps_clamps_past_and_rejects_garbage() {
+        assertEquals(CAP, RetryAfter.parse("3600", CAP, NOW));
+        assertEquals(CAP, RetryAfter.parse("99999999999999999999", CAP, NOW));
+        assertEquals(CAP, RetryAfter.parse("Thu, 22 Oct 2015 07:28:00 GMT", CAP, NOW));
+        assertEquals(Duration.ZERO, RetryAfter.parse("Wed, 21 Oct 2015 07:00:00 GMT", CAP, NOW));
+        assertNull(RetryAfter.parse("soon", CAP, NOW));
+        assertNull(RetryAfter.parse("-5", CAP, NOW));
+        assertEquals(Duration.ofSeconds(2),
+                RetryAfter.from(Map.of("retry-after", List.of("2")), CAP, NOW), "header name is case-insensitive");
+    }
+
+    @Test
+    void throttle_pauses_whole_host_and_records_paused_time() throws Exception {
+        ScanStats stats = new ScanStats();
+        HostBackoff b = new HostBackoff(CAP, Duration.ofMillis(150), stats);
+        URI a1 = URI.create("https://a.example/x");
+        URI a2 = URI.create("https://A.example/y?q=1");
+        URI other = URI.create("https://b.example/");
+
+        assertNull(b.onResponse(a1, 200, Map.of()));
+        assertEquals(0, b.remainingNanos(a1));
+
+        long t0 = System.nanoTime();
+        assertEquals(Duration.ofMillis(150), b.onResponse(a1, 503, Map.of()));
+        assertTrue(b.remainingNanos(a2) > 0, "same host, other path is paused too");
+        assertEquals(0, b.remainingNanos(other));
+
+        b.awaitAsync(a2).get(5, TimeUnit.SECONDS);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0) >= 140);
+        assertEquals(0, b.remainingNanos(a1));
+
+        // 겹치는 더 짧은 창은 연장하지 않음
+        b.onResponse(a1, 429, Map.of("Retry-After", List.of("1")));
+        b.onResponse(a1, 429, Map.of("Retry-After", List.of("0")));
+        assertTrue(b.remainingNanos(a1) > TimeUnit.MILLISECONDS.toNanos(500));
+
+        ScanStats.Snapshot s = stats.snapshot();
+        assertEquals(2, s.pausesTotal);
+        assertTrue(s.pausedMs >= 1100 && s.pausedMs <= 1200, "pausedMs=" + s.pausedMs);
+    }
+}
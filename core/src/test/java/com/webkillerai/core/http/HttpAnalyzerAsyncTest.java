@@ -0,0 +1,68 @@
+package com.webkillerai.core.http;
+
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.ScanConfig;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpAnalyzerAsyncTest {
+
+    static HttpResponse<String> resp(int code) {
+        return new HttpResponse<>() {
+            @Override public int statusCode() { return code; }
+            @Override public HttpRequest request() { return null; }
+            @Override public Optional<HttpResponse<String>> previousResponse() { return Optional.empty(); }
+            @Override public HttpHeaders headers() { return HttpHeaders.of(Map.of(), (a, b) -> true); }
+            @Override public String body() { return "b" + code; }
+            @Override public Optional<javax.net.ssl.SSLSession> sslSession() { return Optional.empty(); }
+            @Override public URI uri() { return URI.create("https://example.com"); }
+            @Override public HttpClient.Version version() { return HttpClient.Version.HTTP_1_1; }
+        };
+    }
+
+    @Test
+    void async_retry_waits_on_timer_and_counts_retries() throws Exception {
+        ScanConfig cfg = new ScanConfig();
+        AtomicInteger calls = new AtomicInteger();
+        HttpAnalyzer analyzer = new HttpAnalyzer(cfg, req -> calls.incrementAndGet() == 1 ? resp(503) : resp(200));
+
+        RetryPolicy policy = new RetryPolicy() {
+            @Override public boolean shouldRetry(int status, int attempt) { return status >= 500 && attempt < 3; }
+            @Override public Duration nextDelay(int attempt) { return Duration.ofMillis(120); }
+            @Override public int maxAttempts() { return 3; }
+        };
+        CountingRetryPolicy counting = new CountingRetryPolicy(policy);
+
+        long t0 = System.nanoTime();
+        HttpResponseData data = analyzer.analyzeWithRetryAsync(URI.create("https://example.com/"), counting)
+                .get(5, TimeUnit.SECONDS);
+        long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+
+        assertEquals(200, data.getStatusCode());
+        assertEquals("b200", data.getBody());
+        assertEquals(2, calls.get());
+        assertEquals(1, counting.getRetryCount());
+        assertTrue(ms >= 100, "delay should be honored, took " + ms + "ms");
+    }
+
+    @Test
+    void async_failure_maps_to_status_minus_one() throws Exception {
+        ScanConfig cfg = new ScanConfig();
+        HttpAnalyzer analyzer = new HttpAnalyzer(cfg, req -> { throw new java.io.IOException("boom"); });
+        HttpResponseData data = analyzer.analyzeAsync(URI.create("https://example.com/")).get(5, TimeUnit.SECONDS);
+        assertEquals(-1, data.getStatusCode());
+    }
+}
@@ -0,0 +1,165 @@
+package com.webkillerai.core.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.ScanStats;
+import com.webkillerai.core.util.RateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpAnalyzerTriageTest {
+
+    private HttpServer server;
+    private URI base;
+    private final List<String> log = new CopyOnWriteArrayList<>(); // "METHOD /path"
+
+    @BeforeEach
+    void start() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/page", ex -> respond(ex, "text/html", "<html>hi</html>".getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/file.bin", ex -> respond(ex, "application/octet-stream", new byte[1000]));
+        server.createContext("/export", ex -> respond(ex, "application/json",
+                ("[" + "1,".repeat(100_000) + "1]").getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/huge", ex -> respond(ex, "text/html", new byte[64 * 1024]));
+        server.createContext("/nohead", ex -> {
+            if ("HEAD".equals(ex.getRequestMethod())) {
+                log.add("HEAD /nohead");
+                ex.sendResponseHeaders(405, -1);
+                ex.close();
+                return;
+            }
+            respond(ex, "text/html", "<html>get only</html>".getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/headdrop", ex -> {
+            if ("HEAD".equals(ex.getRequestMethod())) {
+                log.add("HEAD /headdrop");
+                throw new IOException("drop HEAD"); // 응답 없이 연결 종료
+            }
+            respond(ex, "text/html", "<html>after drop</html>".getBytes(StandardCharsets.UTF_8));
+        });
+        server.start();
+        base = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    private void respond(HttpExchange ex, String ct, byte[] body) throws IOException {
+        log.add(ex.getRequestMethod() + " " + ex.getRequestURI().getPath());
+        ex.getResponseHeaders().add("Content-Type", ct);
+        ex.getResponseHeaders().add("X-Frame-Options", "DENY");
+        if ("HEAD".equals(ex.getRequestMethod())) {
+            ex.getResponseHeaders().add("Content-Length", String.valueOf(body.length));
+            ex.sendResponseHeaders(200, -1);
+        } else {
+            ex.sendResponseHeaders(200, body.length);
+            try (OutputStream os = ex.getResponseBody()) {
+                os.write(body);
+            } catch (IOException ignore) {
+                // 상한 GET이 중간에 끊는 경우
+            }
+        }
+        ex.close();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    private HttpAnalyzer analyzer() {
+        ScanConfig cfg = new ScanConfig();
+        cfg.getHttp().setHeadTriage(true);
+        cfg.getHttp().setTriageMaxBytes(32 * 1024);
+        cfg.getHttp().setApiMaxBytes(1024);
+        return new HttpAnalyzer(cfg, new HttpTransport(cfg));
+    }
+
+    @Test
+    void html_gets_full_get_binary_and_oversized_stay_header_only() {
+        HttpAnalyzer a = analyzer();
+
+        HttpResponseData page = a.analyze(base.resolve("/page"));
+        assertEquals("<html>hi</html>", page.getBody());
+        assertFalse(page.isHeadOnly());
+
+        HttpResponseData bin = a.analyze(base.resolve("/file.bin"));
+        assertTrue(bin.isHeadOnly());
+        assertEquals(200, bin.getStatusCode());
+        assertEquals("", bin.getBody());
+        assertEquals("DENY", bin.header("X-Frame-Options"), "HEAD headers kept for header checks");
+
+        HttpResponseData huge = a.analyze(base.resolve("/huge"));
+        assertTrue(huge.isHeadOnly());
+
+        assertEquals(List.of("HEAD /page", "GET /page", "HEAD /file.bin", "HEAD /huge"), log);
+    }
+
+    @Test
+    void json_gets_bounded_get_and_head_failure_falls_back_to_get() throws Exception {
+        HttpAnalyzer a = analyzer();
+
+        HttpResponseData api = a.analyzeAsync(base.resolve("/export")).get();
+        assertFalse(api.isHeadOnly());
+        assertTrue(api.isBodyTruncated());
+        assertEquals(1024, api.getBody().length());
+
+        HttpResponseData nohead = a.analyze(base.resolve("/nohead"));
+        assertEquals(200, nohead.getStatusCode());
+        assertEquals("<html>get only</html>", nohead.getBody());
+
+        assertEquals(List.of("HEAD /export", "GET /export", "HEAD /nohead", "GET /nohead"), log);
+    }
+
+    @Test
+    void head_connection_drop_falls_back_to_get_in_both_paths() throws Exception {
+        HttpAnalyzer a = analyzer();
+
+        HttpResponseData sync = a.analyze(base.resolve("/headdrop"));
+        assertEquals(200, sync.getStatusCode());
+        assertEquals("<html>after drop</html>", sync.getBody());
+
+        HttpResponseData async = a.analyzeAsync(base.resolve("/headdrop")).get();
+        assertEquals(200, async.getStatusCode());
+        assertEquals("<html>after drop</html>", async.getBody());
+
+        assertEquals(2, log.stream().filter("GET /headdrop"::equals).count(), "GET still sent after HEAD failure: " + log);
+    }
+
+    @Test
+    void get_after_head_takes_its_own_host_permit_and_head_is_counted() throws Exception {
+        HttpAnalyzer a = analyzer();
+        RateLimiter host = new RateLimiter(1, 2);   // 2 rps, 버스트 1
+        ScanStats stats = new ScanStats();
+        a.setFollowUpLimiter(u -> host);
+        a.setStats(stats);
+
+        host.acquire();                              // 호출자(스캔)가 받은 첫 허가 → HEAD
+        long t0 = System.nanoTime();
+        assertEquals("<html>hi</html>", a.analyze(base.resolve("/page")).getBody());
+        assertTrue(System.nanoTime() - t0 >= 400_000_000L, "GET after HEAD did not wait for a host permit");
+
+        host.acquire();
+        t0 = System.nanoTime();
+        assertEquals("<html>hi</html>", a.analyzeAsync(base.resolve("/page")).get().getBody());
+        assertTrue(System.nanoTime() - t0 >= 400_000_000L, "async GET after HEAD did not wait for a host permit");
+
+        // 헤더만으로 끝난 페이지는 추가 허가 없음
+        host.acquire();
+        t0 = System.nanoTime();
+        assertTrue(a.analyze(base.resolve("/file.bin")).isHeadOnly());
+        assertTrue(System.nanoTime() - t0 < 400_000_000L);
+
+        assertEquals(3, stats.snapshot().requestsTotal, "each HEAD counted as an attempt");
+    }
+}
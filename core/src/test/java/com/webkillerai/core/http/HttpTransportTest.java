@@ -0,0 +1,75 @@
+package com.webkillerai.core.http;
+
+import com.sun.net.httpserver.HttpServer;
+import com.webkillerai.core.crawler.JsoupLinkExtractor;
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.scanner.probe.ProbeEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpTransportTest {
+
+    private HttpServer server;
+    private URI base;
+    private final List<String> userAgents = new CopyOnWriteArrayList<>();
+    private final List<String> tenants = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void start() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", ex -> {
+            userAgents.add(ex.getRequestHeaders().getFirst("User-Agent"));
+            tenants.add(String.valueOf(ex.getRequestHeaders().getFirst("X-Tenant")));
+            byte[] b = "<html><a href=\"/next\">n</a></html>".getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().add("Content-Type", "text/html");
+            ex.sendResponseHeaders(200, b.length);
+            ex.getResponseBody().write(b);
+            ex.close();
+        });
+        server.start();
+        base = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void components_share_one_transport_with_default_headers_and_reuse_stats() throws Exception {
+        ScanConfig cfg = new ScanConfig();
+        cfg.setTarget(base.toString());
+        cfg.getHttp().setUserAgent("WK-Test/1");
+        cfg.getHttp().setHeaders(Map.of("X-Tenant", "acme"));
+        HttpTransport t = new HttpTransport(cfg);
+
+        HttpResponseData page = new HttpAnalyzer(cfg, t).analyze(base);
+        Set<URI> links = new JsoupLinkExtractor(t).extract(base);
+        ProbeEngine probe = new ProbeEngine(cfg, null, null, t);
+        probe.get(base, Map.of("X-Tenant", "override"));
+        probe.getNoRedirect(base, Map.of());
+
+        assertEquals(200, page.getStatusCode());
+        assertTrue(links.contains(base.resolve("/next")));
+        assertEquals(List.of("WK-Test/1", "WK-Test/1", "WK-Test/1", "WK-Test/1"), userAgents);
+        assertEquals(List.of("acme", "acme", "override", "acme"), tenants, "per-request header wins");
+
+        HttpTransport.Stats s = t.stats();
+        assertEquals(4, s.requests());
+        assertEquals(0, s.failures());
+        assertEquals(2, s.originsSeen(), "one pool for redirect-following, one for no-redirect");
+        assertEquals(0.5, s.reuseRatioEstimate(), 1e-9);
+    }
+}
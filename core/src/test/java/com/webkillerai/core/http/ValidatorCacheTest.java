@@ -0,0 +1,196 @@
+package com.webkillerai.core.http;
+
+import com.sun.net.httpserver.HttpServer;
+import com.webkillerai.core.api.ICrawler;
+import com.webkillerai.core.api.IHttpAnalyzer;
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.IssueType;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.Severity;
+import com.webkillerai.core.model.VulnResult;
+import com.webkillerai.core.scanner.SignatureScanner;
+import com.webkillerai.core.service.ScanService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidatorCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private URI page;
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void start() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/page", ex -> {
+            String inm = ex.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(String.valueOf(inm));
+            ex.getResponseHeaders().add("ETag", "\"v1\"");
+            if ("\"v1\"".equals(inm)) {
+                ex.sendResponseHeaders(304, -1);
+                ex.close();
+                return;
+            }
+            byte[] b = "<html>unchanged page</html>".getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().add("Content-Type", "text/html");
+            ex.sendResponseHeaders(200, b.length);
+            ex.getResponseBody().write(b);
+            ex.close();
+        });
+        server.start();
+        page = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/page");
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void second_run_sends_validators_restores_304_and_replays_findings() throws Exception {
+        ScanConfig cfg = new ScanConfig();
+        VulnResult finding = VulnResult.builder()
+                .url(page).issueType(IssueType.XSS_REFLECTED).severity(Severity.LOW)
+                .description("d").evidence("e=1\nline").riskScore(12).build();
+
+        // 1회차: 캐시 비어 있음 → 일반 GET, 스캔 후 저장
+        ValidatorCache first = new ValidatorCache(dir);
+        HttpAnalyzer a1 = new HttpAnalyzer(cfg, new HttpTransport(cfg));
+        a1.setValidatorCache(first);
+        HttpResponseData r1 = a1.analyze(page);
+        assertNull(first.replay(r1));
+        first.store(r1, List.of(finding));
+
+        // 2회차(새 프로세스 가정): 디스크에서 읽어 조건부 GET → 304 → 저장 본문 복원
+        ValidatorCache second = new ValidatorCache(dir);
+        HttpAnalyzer a2 = new HttpAnalyzer(cfg, new HttpTransport(cfg));
+        a2.setValidatorCache(second);
+        HttpResponseData r2 = a2.analyze(page);
+
+        assertEquals(List.of("null", "\"v1\""), ifNoneMatch);
+        assertTrue(r2.isNotModified());
+        assertEquals(200, r2.getStatusCode());
+        assertEquals("<html>unchanged page</html>", r2.getBody());
+        assertEquals("text/html", r2.getContentType());
+
+        List<VulnResult> replay = second.replay(r2);
+        assertNotNull(replay);
+        assertEquals(1, replay.size());
+        VulnResult v = replay.get(0);
+        assertEquals(IssueType.XSS_REFLECTED, v.getIssueType());
+        assertEquals("e=1\nline", v.getEvidence());
+        assertEquals(12, v.getRiskScore());
+        assertEquals(finding.getDetectedAt(), v.getDetectedAt());
+
+        ValidatorCache.Stats s = second.stats();
+        assertEquals(1, s.hits());
+        assertEquals(0, s.misses());
+        assertEquals(1, s.notModified());
+    }
+
+    @Test
+    void unchanged_body_hash_replays_without_validators_and_changed_body_misses() throws Exception {
+        ValidatorCache c = new ValidatorCache(dir);
+        URI u = URI.create("https://ex.com/a#frag");
+        c.store(data(u, "same"), List.of());
+
+        assertEquals(Map.of(), c.conditionalHeaders(u), "no validators stored");
+        assertEquals(List.of(), c.replay(data(URI.create("https://EX.com:443/a"), "same")), "normalized key");
+        assertNull(c.replay(data(u, "changed")));
+        assertEquals(1, c.stats().hits());
+        assertEquals(1, c.stats().misses());
+    }
+
+    @Test
+    void changed_security_header_misses_but_rotating_cookie_value_replays() throws Exception {
+        ValidatorCache c = new ValidatorCache(dir);
+        URI u = URI.create("https://ex.com/h");
+        c.store(data(u, "same", Map.of(
+                "Content-Security-Policy", List.of("default-src 'self'"),
+                "Set-Cookie", List.of("sid=aaa; Path=/; Expires=Wed, 01 Jan 2031 00:00:00 GMT; HttpOnly"))), List.of());
+
+        assertNotNull(c.replay(data(u, "same", Map.of(
+                "content-security-policy", List.of("default-src 'self'"),
+                "set-cookie", List.of("sid=bbb; path=/; expires=Thu, 02 Jan 2031 00:00:00 GMT; httponly")))),
+                "new session value, same cookie shape");
+        assertNull(c.replay(data(u, "same", Map.of(
+                "Content-Security-Policy", List.of("default-src 'self' 'unsafe-inline'"),
+                "Set-Cookie", List.of("sid=aaa; Path=/; HttpOnly")))), "CSP changed");
+        assertNull(c.replay(data(u, "same", Map.of(
+                "Content-Security-Policy", List.of("default-src 'self'"),
+                "Set-Cookie", List.of("sid=aaa; Path=/")))), "HttpOnly dropped");
+        assertNull(c.replay(data(u, "same", Map.of(
+                "Set-Cookie", List.of("sid=aaa; Path=/; HttpOnly")))), "CSP removed");
+    }
+
+    @Test
+    void failed_write_leaves_no_temp_file() throws Exception {
+        ValidatorCache c = new ValidatorCache(dir);
+        URI u = URI.create("https://ex.com/blocked");
+        // 항목 자리에 비어 있지 않은 디렉터리 → 이동 실패
+        Path blocker = Files.createDirectories(dir.resolve(ValidatorCache.keyOf(u) + ".properties"));
+        Files.writeString(blocker.resolve("x"), "x");
+
+        c.store(data(u, "body"), List.of());
+
+        assertEquals(0, c.stats().stores());
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(), files.filter(p -> p.toString().endsWith(".tmp")).toList());
+        }
+    }
+
+    private static HttpResponseData data(URI u, String body) {
+        return data(u, body, Map.of());
+    }
+
+    private static HttpResponseData data(URI u, String body, Map<String, List<String>> headers) {
+        return HttpResponseData.builder().url(u).statusCode(200).headers(headers).body(body).build();
+    }
+
+    @Test
+    void replayed_pages_still_feed_the_size_baseline_and_size_findings_are_recomputed() {
+        ScanConfig cfg = ScanConfig.defaults().setTarget("http://size.test/").setMaxDepth(0).setConcurrency(1);
+        cfg.setRps(10_000);
+        cfg.getCache().setEnabled(true).setDir(dir);
+
+        List<URI> seeds = new ArrayList<>();
+        for (int i = 0; i <= 20; i++) seeds.add(URI.create("http://size.test/item?id=" + i));
+        ICrawler crawler = () -> seeds;
+        String normal = "<html>" + "x".repeat(100) + "</html>";
+
+        // 1회차: 모두 같은 크기 → 크기 변동 없음, 전부 캐시에 저장
+        List<VulnResult> run1 = new ScanService(cfg, crawler, url -> html(url, normal), new SignatureScanner()).run();
+        assertTrue(run1.stream().noneMatch(SignatureScanner::isBaselineDependent));
+
+        // 2회차: 20건은 그대로(재생), 마지막 1건만 크게 바뀜 → 재생분으로 쌓인 기준선 대비 변동으로 잡혀야 함
+        IHttpAnalyzer http2 = url -> html(url, url.getQuery().equals("id=20") ? "<html>" + "y".repeat(2000) + "</html>" : normal);
+        ScanService svc = new ScanService(cfg, crawler, http2, new SignatureScanner());
+        List<VulnResult> run2 = svc.run();
+
+        assertEquals(20, svc.getCacheStats().hits());
+        List<VulnResult> size = run2.stream().filter(SignatureScanner::isBaselineDependent).toList();
+        assertEquals(1, size.size(), "changed page not compared against the replayed pages");
+        assertEquals("id=20", size.get(0).getUrl().getQuery());
+    }
+
+    private static HttpResponseData html(URI u, String body) {
+        return HttpResponseData.builder().url(u).statusCode(200).contentType("text/html").body(body).build();
+    }
+}
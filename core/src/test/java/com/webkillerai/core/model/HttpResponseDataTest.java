@@ -0,0 +1,78 @@
+package com.webkillerai.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpResponseDataTest {
+
+    private static final URI U = URI.create("https://ex.com/a");
+
+    @Test
+    void header_index_ignores_case_and_merges_split_keys() {
+        Map<String, List<String>> h = new LinkedHashMap<>();
+        h.put("Set-Cookie", List.of("a=1"));
+        h.put("set-cookie", List.of("b=2; HttpOnly"));
+        h.put("X-Frame-Options", List.of());
+        h.put(null, List.of("HTTP/1.1 200 OK"));
+        HttpResponseData r = HttpResponseData.builder().url(U).statusCode(200).headers(h).build();
+
+        assertEquals(List.of("a=1", "b=2; HttpOnly"), r.headers("SET-COOKIE"));
+        assertEquals("a=1", r.header("set-Cookie"));
+        assertTrue(r.hasHeader("x-frame-options"));
+        assertNull(r.header("X-Frame-Options"), "key without values");
+        assertFalse(r.hasHeader("Content-Security-Policy"));
+        assertEquals(List.of(), r.headers(null));
+        assertEquals(h, r.getHeaders(), "original map kept as is");
+    }
+
+    @Test
+    void raw_body_is_decoded_lazily_with_its_charset() {
+        Charset cs = Charset.forName("EUC-KR");
+        HttpResponseData r = HttpResponseData.builder().url(U).statusCode(200)
+                .rawBody("  \n<!DOCTYPE html><p>한글</p>".getBytes(cs), cs).build();
+
+        assertSame(cs, r.getCharset());
+        assertEquals("  \n<!DOCTYPE html><p>한글</p>", r.getBody());
+        assertSame(r.getBody(), r.getBody(), "decoded once");
+        assertEquals("<!doctype html><p>한글</p>", r.bodyHead());
+
+        HttpResponseData s = HttpResponseData.builder().url(U).statusCode(200).body("é").build();
+        assertSame(StandardCharsets.UTF_8, s.getCharset());
+        assertEquals("é", s.getBody());
+        assertEquals("", HttpResponseData.builder().url(U).build().getBody());
+    }
+
+    @Test
+    void body_head_is_capped_and_content_class_prefers_header() {
+        HttpResponseData r = HttpResponseData.builder().url(U).statusCode(200)
+                .headers(Map.of("content-type", List.of("application/problem+json")))
+                .contentType("text/html")
+                .body("\t" + "X".repeat(200)).build();
+        assertEquals(HttpResponseData.HEAD_CHARS, r.bodyHead().length());
+        assertEquals("x".repeat(HttpResponseData.HEAD_CHARS), r.bodyHead());
+        assertEquals(HttpResponseData.ContentClass.JSON, r.contentClass());
+
+        HttpResponseData noHeader = HttpResponseData.builder().url(U).contentType("text/html").build();
+        assertEquals(HttpResponseData.ContentClass.HTML, noHeader.contentClass());
+    }
+
+    @Test
+    void content_class_of() {
+        assertEquals(HttpResponseData.ContentClass.HTML, HttpResponseData.ContentClass.of("application/xhtml+xml"));
+        assertEquals(HttpResponseData.ContentClass.XML, HttpResponseData.ContentClass.of("text/xml; charset=utf-8"));
+        assertEquals(HttpResponseData.ContentClass.SCRIPT, HttpResponseData.ContentClass.of("application/javascript"));
+        assertEquals(HttpResponseData.ContentClass.TEXT, HttpResponseData.ContentClass.of("text/plain"));
+        assertEquals(HttpResponseData.ContentClass.OTHER, HttpResponseData.ContentClass.of("image/png"));
+        assertEquals(HttpResponseData.ContentClass.NONE, HttpResponseData.ContentClass.of(" "));
+        assertTrue(HttpResponseData.ContentClass.NONE.isTextLike());
+        assertFalse(HttpResponseData.ContentClass.OTHER.isTextLike());
+    }
+}
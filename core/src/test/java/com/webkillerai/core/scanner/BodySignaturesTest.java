@@ -0,0 +1,90 @@
+package com.webkillerai.core.scanner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BodySignaturesTest {
+
+    // SignatureScanner / AnomalyEngine 정규식 사본(앵커 누락 검출용)
+    private static final Pattern SQLI_ERROR = Pattern.compile(
+            "(?i)(you have an error in your sql syntax|warning:\\s*mysql|ora-\\d{5}|sqlstate|syntax error at or near|unclosed quotation mark after the character string)",
+            Pattern.DOTALL);
+    private static final Pattern P_STACKTRACE = Pattern.compile(
+            "(?is)(\\bException\\b|\\bTraceback\\b|\\bat\\s+(?:com|org)\\.[A-Za-z0-9_.$]+\\()");
+    private static final Pattern ANOMALY = Pattern.compile(
+            "(?is)(Traceback\\s*\\(most recent call last\\)|" +
+            "Exception\\b|NullPointerException\\b|IndexOutOfBoundsException\\b|" +
+            "at\\s+[a-zA-Z0-9_$.]+\\([a-zA-Z0-9_$.]+:\\d+\\)|" +
+            "TypeError\\b|ReferenceError\\b|SyntaxError\\b|" +
+            "System\\.[A-Za-z0-9_.]+Exception\\b|" +
+            "org\\.springframework\\.|org\\.hibernate\\.|javax\\.servlet\\.)");
+
+    @Test
+    void literal_groups_keep_declaration_priority_and_return_body_text() {
+        String body = "<p>SQLSTATE[42000] ... You Have An Error In Your SQL Syntax</p>";
+        BodySignatures.Hits h = BodySignatures.scan(body);
+        // SQL_ERROR는 선언 순 우선: "you have an error..."가 "sqlstate"보다 앞
+        assertEquals("You Have An Error In Your SQL Syntax", h.first(BodySignatures.Group.SQL_ERROR));
+        assertEquals("SQLSTATE[", h.first(BodySignatures.Group.SQLI_ERROR_SIGNS));
+        assertNull(h.first(BodySignatures.Group.LFI));
+    }
+
+    @Test
+    void case_sensitive_groups_ignore_folded_matches() {
+        BodySignatures.Hits h = BodySignatures.scan("jinja2 ROOT:X: 49wkai Thymeleaf root:x:0");
+        assertEquals("Thymeleaf", h.first(BodySignatures.Group.SSTI));
+        assertEquals("root:x:", h.first(BodySignatures.Group.LFI));
+        assertNull(BodySignatures.scan("49wkai").first(BodySignatures.Group.SSTI));
+    }
+
+    @Test
+    void confirm_finds_same_leftmost_match_as_full_regex() {
+        List<String> samples = List.of(
+                "",
+                "plain page, nothing here",
+                "Warning:   MySQL said ORA-12345",
+                "ora-1234 only four digits",
+                "that data at com.example.Foo(Foo.java:12) and Exception",
+                "NullPointerException\n\tat com.x.Y.run(Y.java:3)",
+                "xException thrown; Traceback (most recent call last)",
+                "System.InvalidOperationException in org.hibernate.Session",
+                "<SCRIPT type=x>alert( 1 )</script> TypeErrorX");
+        for (String s : samples) assertEquivalent(s);
+
+        // 시그니처 조각을 섞은 무작위 본문
+        String[] parts = {"at ", "com.", "Exception", "ora-", "12345", "warning:", " mysql", "(", "Foo.java:", "1)",
+                "sqlstate", "Traceback", " ", "x", "가", "org.hibernate.", "syntaxerror", "<script>"};
+        Random r = new Random(42);
+        for (int k = 0; k < 500; k++) {
+            StringBuilder sb = new StringBuilder();
+            int n = r.nextInt(20);
+            for (int i = 0; i < n; i++) sb.append(parts[r.nextInt(parts.length)]);
+            assertEquivalent(sb.toString());
+        }
+    }
+
+    private static void assertEquivalent(String body) {
+        BodySignatures.Hits h = BodySignatures.scan(body);
+        check(body, h.confirm(BodySignatures.Group.SQLI_ERROR_RX, SQLI_ERROR), SQLI_ERROR);
+        check(body, h.confirm(BodySignatures.Group.STACKTRACE_RX, P_STACKTRACE), P_STACKTRACE);
+        check(body, h.confirm(BodySignatures.Group.ANOMALY_STACKTRACE_RX, ANOMALY), ANOMALY);
+    }
+
+    private static void check(String body, MatchResult got, Pattern p) {
+        Matcher m = p.matcher(body);
+        if (!m.find()) {
+            assertNull(got, "unexpected match in: " + body);
+            return;
+        }
+        assertNotNull(got, "missed " + m.group() + " in: " + body);
+        assertEquals(m.start(), got.start(), body);
+        assertEquals(m.group(), got.group(), body);
+    }
+}
@@ -0,0 +1,69 @@
+package com.webkillerai.core.scanner.anomaly;
+
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.IssueType;
+import com.webkillerai.core.model.ScanStats;
+import com.webkillerai.core.model.VulnResult;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnomalyEngineTest {
+
+    private static HttpResponseData resp(String path, int len) {
+        return HttpResponseData.builder().url(URI.create("https://ex.com" + path)).statusCode(200)
+                .contentType("text/plain").body("a".repeat(len)).build();
+    }
+
+    private static boolean sizeDelta(List<VulnResult> rs) {
+        return rs.stream().anyMatch(r -> r.getIssueType() == IssueType.ANOMALY_SIZE_DELTA);
+    }
+
+    @Test
+    void size_delta_against_ewma_baseline() {
+        AnomalyEngine e = new AnomalyEngine(64);
+        assertFalse(sizeDelta(e.detect(resp("/p", 1000))), "first sample only seeds");
+        assertFalse(sizeDelta(e.detect(resp("/p", 1100))));   // +10%, 기준 → 1030
+        assertTrue(sizeDelta(e.detect(resp("/p", 1400))));    // 1030 대비 +36%
+        assertFalse(sizeDelta(e.detect(resp("/q", 5000))), "per-path baseline");
+
+        // 빈 응답 뒤 첫 본문은 새 기준
+        assertFalse(sizeDelta(e.detect(resp("/empty", 0))));
+        assertFalse(sizeDelta(e.detect(resp("/empty", 800))));
+        assertFalse(sizeDelta(e.detect(resp("/empty", 820))));
+    }
+
+    @Test
+    void shared_instance_is_safe_across_workers_and_reports_evictions() throws Exception {
+        ScanStats stats = new ScanStats();
+        AnomalyEngine e = new AnomalyEngine(256);
+        e.setStats(stats);
+        AtomicInteger errors = new AtomicInteger();
+        List<Thread> ts = new ArrayList<>();
+        for (int k = 0; k < 8; k++) {
+            final int seed = k;
+            Thread th = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 2_000; i++) e.detect(resp("/p" + ((i * 7 + seed) % 1_000), 100 + (i % 3)));
+                } catch (RuntimeException ex) {
+                    errors.incrementAndGet();
+                }
+            });
+            ts.add(th);
+            th.start();
+        }
+        for (Thread th : ts) th.join();
+        assertEquals(0, errors.get());
+        ScanStats.Snapshot s = stats.snapshot();
+        assertTrue(s.baselineEvictions > 0, "1000 paths into 256 slots evict");
+        assertTrue(s.baselineBytes > 0);
+        // 교체가 일어난 뒤에도 새 키 기준선은 정상 동작
+        assertFalse(sizeDelta(e.detect(resp("/fresh", 1000))));
+        assertTrue(sizeDelta(e.detect(resp("/fresh", 2000))));
+    }
+}
@@ -0,0 +1,92 @@
+package com.webkillerai.core.scanner.anomaly;
+
+import com.webkillerai.core.model.ScanStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SizeBaselinesTest {
+
+    @Test
+    void welford_mean_and_variance_match_two_pass_and_return_prior() {
+        SizeBaselines t = new SizeBaselines(64);
+        double[] xs = {1000, 1010, 990, 1005, 995, 1_000_000_000.5, 1_000_000_001.5};
+        assertEquals(0, t.observe("h|/a", xs[0]).count());
+        for (int i = 1; i < 5; i++) {
+            SizeBaselines.Observation prior = t.observe("h|/a", xs[i]);
+            assertEquals(i, prior.count());
+        }
+        SizeBaselines.Observation o = t.get("h|/a");
+        assertEquals(5, o.count());
+        assertEquals(1000.0, o.mean(), 1e-9);
+        assertEquals(62.5, o.variance(), 1e-9); // 표본 분산(n-1)
+
+        // 큰 값에서도 정밀도 유지(단순 합/제곱합이면 상쇄 오차)
+        t.observe("big", xs[5]);
+        t.observe("big", xs[6]);
+        assertEquals(0.5, t.get("big").variance(), 1e-6);
+        assertEquals(0, t.get("unknown").count());
+    }
+
+    @Test
+    void ewma_update_restarts_from_zero_baseline() {
+        SizeBaselines t = new SizeBaselines(64);
+        assertEquals(0, t.observeEwma("p", 1000, 0.3).count());
+        assertEquals(1000.0, t.observeEwma("p", 2000, 0.3).mean(), 1e-9);
+        assertEquals(1300.0, t.get("p").mean(), 1e-9);
+        assertEquals(0.0, t.get("p").variance(), 1e-9);
+
+        t.observeEwma("z", 0, 0.3);
+        t.observeEwma("z", 500, 0.3);
+        assertEquals(500.0, t.get("z").mean(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> t.observeEwma("p", 1, 0));
+    }
+
+    @Test
+    void capacity_is_fixed_and_clock_keeps_recently_used_keys() {
+        ScanStats stats = new ScanStats();
+        SizeBaselines t = new SizeBaselines(8); // 집합 1개, 8-way
+        t.setStats(stats);
+        assertEquals(8, t.capacity());
+        for (int i = 0; i < 8; i++) t.observe("k" + i, i);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 8; i < 20; i++) {
+                t.observe("k0", 0);       // 계속 쓰이는 키는 두 번째 기회로 살아남음
+                t.observe("k" + i, i);
+            }
+        }
+        assertEquals(8, t.size());
+        assertTrue(t.evictions() > 0);
+        assertTrue(t.get("k0").count() > 1, "hot key survives");
+
+        ScanStats.Snapshot s = stats.snapshot();
+        assertEquals(t.footprintBytes(), s.baselineBytes);
+        assertEquals(t.evictions(), s.baselineEvictions);
+    }
+
+    @Test
+    void concurrent_updates_on_one_key_lose_nothing() throws Exception {
+        SizeBaselines t = new SizeBaselines(1024);
+        int threads = 8, per = 20_000;
+        List<Thread> ts = new ArrayList<>();
+        for (int k = 0; k < threads; k++) {
+            Thread th = new Thread(() -> {
+                for (int i = 0; i < per; i++) {
+                    t.observe("shared", 100);
+                    t.observe("own-" + (i % 500), i);
+                }
+            });
+            ts.add(th);
+            th.start();
+        }
+        for (Thread th : ts) th.join();
+        SizeBaselines.Observation o = t.get("shared");
+        assertEquals((long) threads * per, o.count());
+        assertEquals(100.0, o.mean(), 1e-9);
+        assertEquals(0.0, o.variance(), 1e-9);
+        assertTrue(t.size() <= t.capacity());
+    }
+}
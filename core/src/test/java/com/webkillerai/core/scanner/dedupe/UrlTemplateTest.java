@@ -0,0 +1,43 @@
+package com.webkillerai.core.scanner.dedupe;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlTemplateTest {
+
+    private static String t(String u) {
+        return UrlTemplate.of(URI.create(u));
+    }
+
+    @Test
+    void ids_in_path_collapse_and_query_keys_are_sorted_sets() {
+        assertEquals("ex.com/item/{n}?b&id", t("https://EX.com/item/123?id=5&b=1"));
+        assertEquals(t("https://ex.com/item/1?id=1&b=2"), t("https://ex.com/item/98765?b=&id=7&id=8"));
+        assertEquals("ex.com/u/{uuid}/edit", t("https://ex.com/u/3f2504e0-4f89-11d3-9a0c-0305e82c3301/edit"));
+        assertEquals("ex.com/blob/{hex}", t("https://ex.com/blob/9fceb02d0ae598e95dc970b74767f19372d61af8"));
+        assertEquals("ex.com/s/{id}", t("https://ex.com/s/AbC123xYz789QwE456rTy0"));
+        assertEquals("ex.com/p/product-{n}.html", t("https://ex.com/p/product-12345.html"));
+        assertEquals("ex.com:8080/api/v2/", t("http://ex.com:8080/api/v2/"));
+        assertEquals("ex.com/", t("https://ex.com"));
+    }
+
+    @Test
+    void different_endpoints_stay_apart() {
+        assertNotEquals(t("https://ex.com/item/1"), t("https://ex.com/user/1"));
+        assertNotEquals(t("https://ex.com/item?id=1"), t("https://ex.com/item?q=1"));
+        assertNotEquals(t("https://a.ex.com/item/1"), t("https://b.ex.com/item/1"));
+    }
+
+    @Test
+    void dedupe_key_carries_template_id() {
+        DedupeKey a = DedupeKey.of(URI.create("https://ex.com/item/1?id=1"), null, "XSS", null);
+        DedupeKey b = DedupeKey.of(URI.create("https://ex.com/item/2?id=9"), "id", "XSS", null);
+        assertEquals(a.templateId(), b.templateId());
+        assertEquals("", a.paramKey());
+        assertNotEquals(a, DedupeKey.of(URI.create("https://ex.com/item/2?id=9"), null, "XSS", null));
+        assertEquals(a, DedupeKey.of(URI.create("https://ex.com/item/1?id=1"), "", "XSS", ""));
+    }
+}
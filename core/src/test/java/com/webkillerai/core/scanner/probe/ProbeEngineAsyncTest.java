@@ -0,0 +1,64 @@
+package com.webkillerai.core.scanner.probe;
+
+import com.sun.net.httpserver.HttpServer;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.VulnResult;
+import com.webkillerai.core.scanner.ActiveScanRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProbeEngineAsyncTest {
+
+    private HttpServer server;
+    private URI page;
+    private final AtomicInteger hits = new AtomicInteger();
+
+    @BeforeEach
+    void start() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/page", ex -> {
+            hits.incrementAndGet();
+            byte[] b = "<html>ok</html>".getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().add("Content-Type", "text/html");
+            ex.sendResponseHeaders(200, b.length);
+            ex.getResponseBody().write(b);
+            ex.close();
+        });
+        server.start();
+        page = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/page");
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void plan_that_throws_while_building_request_does_not_break_the_chain() throws Exception {
+        ScanConfig cfg = ScanConfig.defaults().setTarget(page.toString());
+        cfg.setRps(10_000);
+        ProbeEngine engine = new ProbeEngine(cfg);
+
+        // payload null → 헤더 분해에서 동기 NPE(sendAsync 전에 터짐)
+        ActiveScanRunner.ProbePlan broken = new ActiveScanRunner.ProbePlan(
+                "CORS_MISCONFIG", "-", null, "broken", ActiveScanRunner.ProbePlan.Kind.HEADER);
+        ActiveScanRunner.ProbePlan next = new ActiveScanRunner.ProbePlan(
+                "XSS_REFLECTED", "q", "wkai", "xss", ActiveScanRunner.ProbePlan.Kind.PARAM);
+
+        List<VulnResult> out = engine.executePlannedAsync(cfg, page, List.of(broken, next))
+                .get(10, TimeUnit.SECONDS);
+
+        assertNotNull(out);
+        assertEquals(1, hits.get(), "plan after the failing one still runs");
+    }
+}
@@ -0,0 +1,119 @@
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.util.RateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveControllerTest {
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private final List<AdaptiveController.Decision> sink = new ArrayList<>();
+    private final RateLimiter limiter = new RateLimiter(10, 10);
+    private final HostScheduler.HostSlots slots = new HostScheduler.HostSlots(8);
+
+    private AdaptiveController controller(ScanConfig.AdaptiveCfg ac, int rps, int cc) {
+        return new AdaptiveController("a.example", ac, limiter, slots, rps, cc, sink::add, clock::get);
+    }
+
+    private static ScanConfig.AdaptiveCfg cfg() {
+        return new ScanConfig.AdaptiveCfg().setEnabled(true).setWindowMs(1000).setMinSamples(3);
+    }
+
+    /** 한 주기 동안 같은 결과를 n건 넣고 주기 끝에서 마지막 결정을 돌려줌 */
+    private AdaptiveController.Decision window(AdaptiveController c, int n, int status, long latencyMs) {
+        for (int i = 0; i < n - 1; i++) assertNull(c.observe(status, latencyMs));
+        clock.addAndGet(1000);
+        return c.observe(status, latencyMs);
+    }
+
+    @Test
+    void healthy_windows_increase_additively_up_to_max() {
+        AdaptiveController c = controller(cfg().setMaxRps(12).setMaxConcurrency(5), 10, 4);
+
+        var d = window(c, 5, 200, 20);
+        assertEquals("increase", d.action());
+        assertEquals(11, d.rps());
+        assertEquals(5, d.concurrency());
+        assertEquals(11, limiter.getRate());
+        assertEquals(5, slots.permits());
+
+        window(c, 5, 200, 20);
+        assertEquals(12, c.rps());
+        assertNull(window(c, 5, 200, 20), "상한에서는 결정 없음");
+        assertEquals(2, sink.size());
+    }
+
+    @Test
+    void throttling_cuts_multiplicatively_down_to_min() {
+        AdaptiveController c = controller(cfg().setMinRps(2).setMinConcurrency(1), 10, 8);
+
+        var d = window(c, 1, 429, 20);   // 429는 최소 표본 수와 무관
+        assertEquals("decrease", d.action());
+        assertEquals("429", d.reason());
+        assertEquals(5, d.rps());
+        assertEquals(4, d.concurrency());
+
+        window(c, 1, 429, 20);
+        window(c, 1, 429, 20);
+        assertEquals(2, c.rps());
+        assertEquals(1, c.concurrency());
+        assertEquals(2, limiter.getRate());
+    }
+
+    @Test
+    void error_rate_and_latency_spike_count_as_stress() {
+        AdaptiveController c = controller(cfg().setErrorRate(0.5).setLatencyFactor(2.0), 10, 4);
+
+        assertEquals("healthy", window(c, 5, 200, 100).reason());  // 기준 지연 ≈ 100ms
+        for (int i = 0; i < 3; i++) c.observe(503, 100);
+        clock.addAndGet(1000);
+        assertEquals("errors", c.observe(-1, 100).reason());
+
+        for (int i = 0; i < 20; i++) c.observe(200, 1000);
+        clock.addAndGet(1000);
+        assertEquals("latency", c.observe(200, 1000).reason());
+    }
+
+    @Test
+    void shrinking_slots_absorbs_releases_before_waking_waiters() {
+        HostScheduler.HostSlots s = new HostScheduler.HostSlots(2);
+        s.acquireAsync();
+        s.acquireAsync();
+        CompletableFuture<Void> waiter = s.acquireAsync();
+
+        s.resize(1);
+        s.release();                       // 상한 초과분 흡수
+        assertFalse(waiter.isDone());
+        s.release();
+        assertTrue(waiter.isDone());
+
+        s.resize(3);
+        assertEquals(2, s.available());
+    }
+
+    @Test
+    void scheduler_feeds_host_controller_and_keeps_history() throws Exception {
+        ScanConfig sc = ScanConfig.defaults().setTarget("http://a.example/").setConcurrency(4);
+        sc.setRps(10);
+        sc.getAdaptive().setEnabled(true).setWindowMs(100).setMinSamples(1);
+        HostScheduler s = new HostScheduler(sc, 0, 1);
+
+        URI a = URI.create("http://a.example/x");
+        s.observe(a, 429, 10);
+        Thread.sleep(150);
+        s.observe(a, 429, 10);
+
+        var h = s.adaptiveHistory();
+        assertEquals(1, h.size());
+        assertEquals("a.example", h.get(0).host());
+        assertEquals(5, s.passive(a).getRate());
+    }
+}
@@ -0,0 +1,165 @@
+package com.webkillerai.core.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.webkillerai.core.api.ICrawler;
+import com.webkillerai.core.api.IHttpAnalyzer;
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.http.HttpAnalyzer;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.VulnResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncPipelineTest {
+
+    private HttpServer server;
+    private ExecutorService serverPool;
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+    @BeforeEach
+    void start() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", ex -> {
+            int cur = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(cur, Math::max);
+            try {
+                Thread.sleep(150);
+                byte[] b = "<html>ok</html>".getBytes(StandardCharsets.UTF_8);
+                ex.getResponseHeaders().add("Content-Type", "text/html");
+                ex.sendResponseHeaders(200, b.length);
+                ex.getResponseBody().write(b);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+                ex.close();
+            }
+        });
+        serverPool = Executors.newCachedThreadPool();
+        server.setExecutor(serverPool);
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+        serverPool.shutdownNow();
+    }
+
+    /** 워커 2개로도 요청은 in-flight 상한까지 겹쳐 진행되어야 한다 */
+    @Test
+    void few_threads_keep_many_requests_in_flight() {
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        ScanConfig cfg = ScanConfig.defaults()
+                .setTarget(base + "/")
+                .setMaxDepth(0)
+                .setConcurrency(2);
+        cfg.setRps(10_000);
+        cfg.getHttp().setAsync(true);
+        cfg.getHttp().setMaxInFlight(16);
+
+        ICrawler crawler = () -> {
+            List<URI> seeds = new ArrayList<>();
+            for (int i = 0; i < 32; i++) seeds.add(URI.create(base + "/p" + i));
+            return seeds;
+        };
+        AtomicInteger scanned = new AtomicInteger();
+
+        ScanService svc = new ScanService(cfg, crawler, new HttpAnalyzer(cfg),
+                resp -> { scanned.incrementAndGet(); return new ArrayList<VulnResult>(); });
+        svc.run();
+
+        assertEquals(32, scanned.get());
+        assertEquals(32, svc.getVisitedPageCount());
+        assertTrue(maxConcurrent.get() > 2, "requests should overlap beyond worker count: " + maxConcurrent.get());
+        assertTrue(maxConcurrent.get() <= 16, "maxInFlight exceeded: " + maxConcurrent.get());
+
+        var rt = svc.getRuntimeSnapshot();
+        assertEquals(32, rt.requestsTotal);
+        assertTrue(rt.maxObservedConcurrency <= 16);
+        assertTrue(rt.avgLatencyMs >= 100, "latency counter should reflect request time: " + rt.avgLatencyMs);
+    }
+
+    /** 레이트 제한된 호스트의 대기 URL이 in-flight 슬롯을 붙잡아 다른 호스트를 굶기면 안 된다 */
+    @Test
+    void throttled_host_does_not_starve_other_hosts() {
+        ScanConfig cfg = ScanConfig.defaults().setTarget("http://fast.test/").setMaxDepth(0).setConcurrency(2);
+        cfg.setRps(10_000);
+        cfg.getHttp().setAsync(true);
+        cfg.getHttp().setMaxInFlight(2);
+        cfg.getHosts().put("slow.test", new ScanConfig.HostCfg().setRps(1));
+
+        List<URI> seeds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) seeds.add(URI.create("http://slow.test/p" + i)); // 먼저 제출 → 1 rps
+        for (int i = 0; i < 4; i++) seeds.add(URI.create("http://fast.test/p" + i));
+        ICrawler crawler = () -> seeds;
+
+        long t0 = System.nanoTime();
+        Map<URI, Long> at = new ConcurrentHashMap<>();
+        IHttpAnalyzer http = url -> {
+            at.put(url, (System.nanoTime() - t0) / 1_000_000);
+            return HttpResponseData.builder().url(url).statusCode(200).contentType("text/html").body("<p>x</p>").build();
+        };
+
+        new ScanService(cfg, crawler, http, resp -> new ArrayList<VulnResult>()).run();
+
+        assertEquals(8, at.size());
+        long lastFast = 0, lastSlow = 0;
+        for (var e : at.entrySet()) {
+            if (e.getKey().getHost().equals("fast.test")) lastFast = Math.max(lastFast, e.getValue());
+            else lastSlow = Math.max(lastSlow, e.getValue());
+        }
+        assertTrue(lastSlow >= 2_000, "slow host should be rate-limited: " + at);
+        assertTrue(lastFast < 1_000, "fast host waited behind slow host: " + at);
+    }
+
+    /** 분석이 느려도 제출 스레드가 막혀야 한다(크롤러가 스캔보다 멀리 앞서 나가지 않음) */
+    @Test
+    void slow_scan_backpressures_the_crawler() {
+        ScanConfig cfg = ScanConfig.defaults().setTarget("http://bp.test/").setMaxDepth(0).setConcurrency(2);
+        cfg.setRps(10_000);
+        cfg.getHttp().setAsync(true);
+        cfg.getHttp().setMaxInFlight(4);
+
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicInteger analyzed = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        ICrawler crawler = new ICrawler() {
+            @Override public List<URI> crawlSeeds() { return List.of(); }
+            @Override public void crawlSeeds(SeedSink sink) throws InterruptedException {
+                for (int i = 0; i < 300; i++) {
+                    if (!sink.accept(URI.create("http://bp.test/p" + i), 300 - i)) return;
+                    emitted.incrementAndGet();
+                }
+            }
+        };
+        IHttpAnalyzer http = url -> {
+            maxAhead.accumulateAndGet(emitted.get() - analyzed.get(), Math::max);
+            try { Thread.sleep(2); } catch (InterruptedException ie) { Thread.currentThread().interrupt(); }
+            analyzed.incrementAndGet();
+            return HttpResponseData.builder().url(url).statusCode(200).contentType("text/html").body("<p>x</p>").build();
+        };
+
+        ScanService svc = new ScanService(cfg, crawler, http, resp -> new ArrayList<VulnResult>());
+        svc.run();
+
+        assertEquals(300, svc.getVisitedPageCount());
+        // 제출 상한(4 + 2*2) + SeedFeed 큐(16) + 경계 여유
+        assertTrue(maxAhead.get() <= 40, "crawler ran ahead of the scan: " + maxAhead.get());
+    }
+}
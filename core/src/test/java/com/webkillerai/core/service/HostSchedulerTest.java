@@ -0,0 +1,154 @@
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.util.YamlConfigLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HostSchedulerTest {
+
+    private static ScanConfig cfg(int rps) {
+        ScanConfig cfg = ScanConfig.defaults().setTarget("http://a.example/");
+        cfg.setRps(rps);
+        return cfg;
+    }
+
+    @Test
+    void take_rotates_across_hosts() throws Exception {
+        HostScheduler s = new HostScheduler(cfg(10_000), 0, 1);
+        for (int i = 1; i <= 4; i++) s.offer(URI.create("http://a.example/" + i));
+        for (int i = 1; i <= 2; i++) s.offer(URI.create("http://b.example/" + i));
+
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            URI u = s.take(null, TimeUnit.SECONDS.toNanos(1));
+            order.add(u.getHost().charAt(0) + u.getPath());
+        }
+        assertEquals(List.of("a/1", "b/1", "a/2", "b/2", "a/3", "a/4"), order);
+        assertNull(s.take(null, 0), "nothing left");
+    }
+
+    @Test
+    void throttled_host_does_not_block_others() throws Exception {
+        ScanConfig cfg = cfg(10_000);
+        cfg.putHost("slow.example", new ScanConfig.HostCfg().setRps(1));
+        HostScheduler s = new HostScheduler(cfg, 0, 1);
+
+        s.offer(URI.create("http://slow.example/1"));
+        s.offer(URI.create("http://slow.example/2"));
+        s.offer(URI.create("http://fast.example/1"));
+        s.offer(URI.create("http://fast.example/2"));
+
+        List<String> got = new ArrayList<>();
+        for (int i = 0; i < 3; i++) got.add(s.take(null, TimeUnit.SECONDS.toNanos(1)).toString());
+        assertEquals(List.of("http://slow.example/1", "http://fast.example/1", "http://fast.example/2"), got);
+
+        // slow 호스트는 1 rps → 200ms 안에는 허가가 나지 않음
+        assertNull(s.take(null, TimeUnit.MILLISECONDS.toNanos(200)));
+        // 이미 받은 페이지(free)는 허가 없이 통과
+        assertEquals("http://slow.example/2", s.take(u -> true, 0).toString());
+    }
+
+    @Test
+    void active_concurrency_is_capped_per_host() throws Exception {
+        HostScheduler s = new HostScheduler(cfg(10_000), 10_000, 1);
+        URI a = URI.create("http://a.example/x");
+        URI b = URI.create("http://b.example/x");
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+        List<Thread> ts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    s.acquireActive(a);
+                    try {
+                        max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        Thread.sleep(20);
+                        running.decrementAndGet();
+                    } finally {
+                        s.releaseActive(a);
+                    }
+                } catch (InterruptedException ignored) { }
+            });
+            ts.add(t);
+            t.start();
+        }
+        for (Thread t : ts) t.join();
+        assertEquals(1, max.get());
+
+        // 비동기: 같은 호스트 두 번째는 release 전까지 대기, 다른 호스트는 즉시
+        CompletableFuture<Void> first = s.acquireActiveAsync(a);
+        CompletableFuture<Void> second = s.acquireActiveAsync(a);
+        CompletableFuture<Void> other = s.acquireActiveAsync(b);
+        first.get(1, TimeUnit.SECONDS);
+        other.get(1, TimeUnit.SECONDS);
+        assertFalse(second.isDone());
+        s.releaseActive(a);
+        second.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void async_permit_is_reserved_only_when_the_url_is_dispatched() throws Exception {
+        HostScheduler s = new HostScheduler(cfg(10), 0, 1);
+        URI u = URI.create("http://a.example/x");
+        HostScheduler.HostSlots window = new HostScheduler.HostSlots(1);
+
+        List<CompletableFuture<Void>> fs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) fs.add(s.acquirePassiveAsync(u, window));
+        fs.get(0).get(1, TimeUnit.SECONDS);
+        Thread.sleep(100);
+
+        // 창이 찬 동안에는 다음 차례 하나만 예약 → 50건을 제출해도 TAT가 몇 초씩 밀리지 않음
+        assertTrue(s.passive(u).nanosUntilPermit() < TimeUnit.MILLISECONDS.toNanos(200),
+                "permits reserved ahead: " + s.passive(u).nanosUntilPermit());
+        assertFalse(fs.get(1).isDone());
+
+        // 속도 변경은 아직 차례가 오지 않은 URL부터 바로 반영
+        s.passive(u).setRate(1, 1);
+        window.release();
+        fs.get(1).get(1, TimeUnit.SECONDS);   // 이미 예약된 허가
+        window.release();
+        fs.get(2).get(1, TimeUnit.SECONDS);   // 새 속도로 예약된 첫 허가(간격은 다음 예약부터)
+        window.release();
+        long t0 = System.nanoTime();
+        fs.get(3).get(3, TimeUnit.SECONDS);
+        assertTrue(System.nanoTime() - t0 >= TimeUnit.MILLISECONDS.toNanos(500), "new rate not applied");
+    }
+
+    @Test
+    void hosts_section_is_loaded_from_yaml(@TempDir Path dir) throws Exception {
+        Path yml = dir.resolve("scan.yml");
+        Files.writeString(yml, String.join("\n",
+                "target: \"https://example.com\"",
+                "rps: 8",
+                "hosts:",
+                "  \"API.example.com\":",
+                "    rps: 2",
+                "    activeRps: 1",
+                "    activeConcurrency: 3",
+                "  \"*.cdn.example.com\":",
+                "    rps: 20",
+                ""));
+        ScanConfig cfg = YamlConfigLoader.load(yml);
+
+        ScanConfig.HostCfg api = cfg.hostCfg("api.example.com");
+        assertNotNull(api);
+        assertEquals(2, api.getRps());
+        assertEquals(1, api.getActiveRps());
+        assertEquals(3, api.getActiveConcurrency());
+        assertEquals(20, cfg.hostCfg("img.cdn.example.com").getRps());
+        assertNull(cfg.hostCfg("other.example.com"));
+    }
+}
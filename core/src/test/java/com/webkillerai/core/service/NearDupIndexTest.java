@@ -0,0 +1,113 @@
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.api.ICrawler;
+import com.webkillerai.core.api.IHttpAnalyzer;
+import com.webkillerai.core.api.IScanner;
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.VulnResult;
+import com.webkillerai.core.util.SimHash;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearDupIndexTest {
+
+    private static final URI U = URI.create("https://ex.com/");
+
+    @Test
+    void multi_index_lookup_finds_every_representative_within_distance() {
+        Random r = new Random(3);
+        for (int k : new int[]{0, 3, 6}) {
+            NearDupIndex idx = new NearDupIndex(k, 10_000);
+            List<Long> reps = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                long fp = (i % 4 == 0 || reps.isEmpty()) ? r.nextLong() | 1 : flip(reps.get(r.nextInt(reps.size())), r.nextInt(k + 3), r);
+                int brute = Integer.MAX_VALUE;
+                for (long rep : reps) brute = Math.min(brute, SimHash.distance(fp, rep));
+
+                NearDupIndex.Match m = idx.assign(fp, U);
+                if (brute <= k) {
+                    assertTrue(m.nearDuplicate(), "missed d=" + brute + " k=" + k);
+                    assertEquals(brute, m.distance());
+                } else {
+                    assertFalse(m.nearDuplicate());
+                    reps.add(fp);
+                }
+            }
+            assertEquals(reps.size(), idx.clusters());
+        }
+    }
+
+    @Test
+    void cluster_quota_and_capacity() {
+        NearDupIndex idx = new NearDupIndex(3, 1);
+        NearDupIndex.Match first = idx.assign(0xF0F0L, U);
+        assertFalse(first.nearDuplicate());
+        NearDupIndex.Cluster c = idx.assign(0xF0F1L, URI.create("https://ex.com/b")).cluster();
+        assertSame(first.cluster(), c);
+        assertEquals(2, c.pages());
+        assertEquals(U, c.representative());
+
+        assertTrue(c.tryAcquireActive(2));
+        assertTrue(c.tryAcquireActive(2));
+        assertFalse(c.tryAcquireActive(2));
+        c.releaseActive();
+        assertTrue(c.tryAcquireActive(2));
+
+        assertNull(idx.assign(~0xF0F0L, U).cluster(), "over maxClusters → not indexed");
+        assertNull(idx.assign(SimHash.NONE, U).cluster());
+    }
+
+    @Test
+    void scan_service_checks_only_headers_of_near_duplicate_pages() {
+        ScanConfig cfg = ScanConfig.defaults().setTarget("http://shop.example/").setConcurrency(2);
+        cfg.setRps(10_000);
+        cfg.getDedup().setEnabled(true);
+
+        List<URI> seeds = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) seeds.add(URI.create("http://shop.example/item?id=" + i));
+        ICrawler crawler = () -> seeds;
+        String[] names = {"Blue Cotton Shirt", "Leather Wallet", "Running Shoes Pro", "Ceramic Mug Set", "Wireless Mouse"};
+        IHttpAnalyzer http = url -> {
+            int id = Integer.parseInt(url.getQuery().substring(3));
+            return HttpResponseData.builder().url(url).statusCode(200).contentType("text/html")
+                    .body(item(id, names[id % names.length])).build();
+        };
+        List<Integer> bodyLengths = Collections.synchronizedList(new ArrayList<>());
+        IScanner scanner = resp -> {
+            bodyLengths.add(resp.getBody().length());
+            return new ArrayList<VulnResult>();
+        };
+
+        ScanService svc = new ScanService(cfg, crawler, http, scanner);
+        svc.run();
+
+        assertEquals(10, bodyLengths.size());
+        assertEquals(1, bodyLengths.stream().filter(n -> n > 0).count(), bodyLengths.toString());
+        assertEquals(9, svc.getRuntimeSnapshot().nearDuplicates);
+    }
+
+    /** 같은 템플릿의 상품 페이지(id/이름만 다름) */
+    private static String item(int id, String name) {
+        return "<!doctype html><html><head><title>" + name + " - Shop</title></head><body>"
+                + "<header><nav><a href=/>Home</a><a href=/cart>Cart</a><a href=/login>Login</a></nav></header>"
+                + "<main><div class=product data-id=" + id + "><h1>" + name + "</h1><p class=price>" + id * 1000 + " KRW</p>"
+                + "<p>Free shipping on orders over 50000. Returns accepted within 30 days of delivery.</p>"
+                + "<form action=/cart method=post><input type=hidden name=id value=" + id + "><button>Add to cart</button></form>"
+                + "</div></main><footer><p>Copyright 2024 Example Shop. All rights reserved.</p>"
+                + "<a href=/terms>Terms</a><a href=/privacy>Privacy</a></footer></body></html>";
+    }
+
+    private static long flip(long fp, int bits, Random r) {
+        long out = fp;
+        for (int i = 0; i < bits; i++) out ^= 1L << r.nextInt(64);
+        return out;
+    }
+}
@@ -0,0 +1,96 @@
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.api.IHttpAnalyzer;
+import com.webkillerai.core.api.IScanner;
+import com.webkillerai.core.crawler.Crawler;
+import com.webkillerai.core.crawler.LinkExtractor;
+import com.webkillerai.core.http.PageStore;
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.VulnResult;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageSharingTest {
+
+    /** 페이지 본문 "a b c" → 같은 호스트의 /a, /b, /c 링크 */
+    private static final Map<String, String> SITE = Map.of(
+            "/", "a b",
+            "/a", "c",
+            "/b", "",
+            "/c", ""
+    );
+
+    @Test
+    void each_page_is_fetched_once_and_shared_with_scanner() {
+        ScanConfig cfg = ScanConfig.defaults()
+                .setTarget("http://example.com/")
+                .setMaxDepth(2)
+                .setConcurrency(2);
+        cfg.setRps(10_000);
+
+        Map<URI, AtomicInteger> requests = new ConcurrentHashMap<>();
+        IHttpAnalyzer http = url -> {
+            requests.computeIfAbsent(url, k -> new AtomicInteger()).incrementAndGet();
+            return HttpResponseData.builder()
+                    .url(url).statusCode(200)
+                    .body(SITE.getOrDefault(url.getPath(), ""))
+                    .contentType("text/html")
+                    .build();
+        };
+
+        // 본문 기반 추출만 허용(URL 기반 호출 = 재요청이므로 실패)
+        LinkExtractor extractor = new LinkExtractor() {
+            @Override public Set<URI> extract(URI base) { throw new AssertionError("network extract: " + base); }
+            @Override public Set<URI> extract(HttpResponseData page) {
+                Set<URI> out = new LinkedHashSet<>();
+                for (String p : page.getBody().split(" ")) {
+                    if (!p.isBlank()) out.add(page.getUrl().resolve("/" + p));
+                }
+                return out;
+            }
+        };
+
+        PageStore pages = new PageStore();
+        Crawler crawler = new Crawler(cfg, extractor, HttpClient.newHttpClient(), http, pages);
+
+        List<String> scannedBodies = Collections.synchronizedList(new ArrayList<>());
+        IScanner scanner = resp -> {
+            scannedBodies.add(resp.getUrl().getPath() + "=" + resp.getBody());
+            return new ArrayList<VulnResult>();
+        };
+
+        ScanService svc = new ScanService(cfg, crawler, http, scanner, pages);
+        svc.run();
+
+        assertEquals(4, svc.getVisitedPageCount());
+        for (var e : requests.entrySet()) {
+            assertEquals(1, e.getValue().get(), "fetched more than once: " + e.getKey());
+        }
+        assertEquals(4, requests.size());
+        assertTrue(scannedBodies.contains("/=a b"), scannedBodies.toString());
+        assertTrue(pages.hits() >= 2, "crawler pages should be reused, hits=" + pages.hits());
+        assertEquals(0, pages.size(), "store must be drained after scan");
+    }
+
+    @Test
+    void retryable_responses_are_not_reused() {
+        PageStore pages = new PageStore();
+        URI u = URI.create("http://example.com/x");
+        pages.put(HttpResponseData.builder().url(u).statusCode(503).build());
+        assertNull(pages.get(u));
+
+        pages.put(HttpResponseData.builder().url(u).statusCode(404).body("nf").build());
+        assertEquals("nf", pages.get(URI.create("http://EXAMPLE.com:80/x")).getBody());
+
+        pages.release(u);
+        assertNull(pages.get(u));
+    }
+}
@@ -0,0 +1,129 @@
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.api.ICrawler;
+import com.webkillerai.core.api.IHttpAnalyzer;
+import com.webkillerai.core.api.IScanner;
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.IssueType;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.Severity;
+import com.webkillerai.core.model.VulnResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultLogTest {
+
+    @TempDir Path tmp;
+
+    private static VulnResult full() {
+        return VulnResult.builder()
+                .url(URI.create("http://example.com/a?q=%22x%22&b=1"))
+                .issueType(IssueType.XSS_REFLECTED).severity(Severity.HIGH)
+                .description("따옴표 \" 역슬래시 \\ 탭\t줄\n바꿈\r끝 \u0001")
+                .evidence("<script>alert(1)</script>")
+                .confidence(0.83).riskScore(77)
+                .detectedAt(Instant.parse("2026-01-02T03:04:05.123Z"))
+                .requestLine("GET /a?q=%22x%22 HTTP/1.1").evidenceSnippet("snip")
+                .build();
+    }
+
+    private static VulnResult sparse() {
+        return VulnResult.builder()
+                .url(URI.create("http://example.com/b"))
+                .issueType(IssueType.SQLI_PATTERN).severity(Severity.LOW)
+                .detectedAt(Instant.parse("2026-01-02T03:04:06Z"))
+                .build();
+    }
+
+    private static List<VulnResult> readAll(Path p) throws Exception {
+        try (Stream<VulnResult> s = ResultLog.read(p)) {
+            return s.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    void round_trips_every_field_including_escapes_and_nulls() throws Exception {
+        Path p = tmp.resolve("r.ndjson");
+        try (ResultLog log = ResultLog.open(p, 60_000)) {
+            log.append(full());
+            log.append(sparse());
+            assertEquals(2, log.count());
+        }
+        List<String> lines = Files.readAllLines(p, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size(), "one result per line");
+
+        List<VulnResult> back = readAll(p);
+        assertEquals(2, back.size());
+        assertEquals(ResultLog.toLine(full()), ResultLog.toLine(back.get(0)));
+        assertEquals(ResultLog.toLine(sparse()), ResultLog.toLine(back.get(1)));
+        VulnResult b = back.get(1);
+        assertNull(b.getDescription());
+        assertNull(b.getRiskScore());
+        assertNull(b.getRequestLine());
+        assertEquals(full().getDescription(), back.get(0).getDescription());
+    }
+
+    @Test
+    void skips_partial_trailing_line_after_crash() throws Exception {
+        Path p = tmp.resolve("r.ndjson");
+        try (ResultLog log = ResultLog.open(p, 60_000)) {
+            log.append(full());
+        }
+        String half = ResultLog.toLine(sparse());
+        Files.writeString(p, half.substring(0, half.length() / 2), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<VulnResult> back = readAll(p);
+        assertEquals(1, back.size());
+        assertEquals(ResultLog.toLine(full()), ResultLog.toLine(back.get(0)));
+    }
+
+    @Test
+    void timer_flushes_without_close() throws Exception {
+        Path p = tmp.resolve("r.ndjson");
+        try (ResultLog log = ResultLog.open(p, 50)) {
+            log.append(sparse());
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (Files.size(p) == 0 && System.currentTimeMillis() < deadline) Thread.sleep(20);
+            assertEquals(1, readAll(p).size(), "flushed on timer while still open");
+        }
+    }
+
+    @Test
+    void scan_without_in_memory_results_writes_everything_to_log() throws Exception {
+        List<URI> seeds = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) seeds.add(URI.create("http://example.com/p" + i));
+        ICrawler crawler = () -> seeds;
+        IHttpAnalyzer http = url -> HttpResponseData.builder().url(url).statusCode(200)
+                .contentType("text/html").body("<p>x</p>").build();
+        IScanner scanner = resp -> new ArrayList<>(List.of(
+                VulnResult.builder().url(resp.getUrl()).issueType(IssueType.XSS_REFLECTED)
+                        .severity(Severity.MEDIUM).description("d").build()));
+
+        ScanConfig cfg = ScanConfig.defaults().setTarget("http://example.com/").setConcurrency(2).setOutputDir(tmp);
+        cfg.setRps(10_000);
+        cfg.getResultLog().setEnabled(true).setKeepInMemory(false);
+
+        ScanService svc = new ScanService(cfg, crawler, http, scanner);
+        List<VulnResult> results = svc.run();
+
+        assertTrue(results.isEmpty(), "keepInMemory=false → nothing accumulated");
+        Path log = svc.getResultLogPath();
+        assertNotNull(log);
+        assertTrue(log.getFileName().toString().endsWith(".ndjson"));
+        Set<URI> logged = new HashSet<>();
+        for (VulnResult v : readAll(log)) logged.add(v.getUrl());
+        assertEquals(new HashSet<>(seeds), logged);
+    }
+}
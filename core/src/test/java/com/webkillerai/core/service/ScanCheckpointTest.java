@@ -0,0 +1,204 @@
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.api.ICrawler;
+import com.webkillerai.core.api.IHttpAnalyzer;
+import com.webkillerai.core.api.IScanner;
+import com.webkillerai.core.crawler.CrawlState;
+import com.webkillerai.core.crawler.Crawler;
+import com.webkillerai.core.crawler.LinkExtractor;
+import com.webkillerai.core.crawler.frontier.Frontier;
+import com.webkillerai.core.model.HttpResponseData;
+import com.webkillerai.core.model.IssueType;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.Severity;
+import com.webkillerai.core.model.VulnResult;
+import com.webkillerai.core.util.ProgressListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanCheckpointTest {
+
+    @TempDir Path tmp;
+
+    private static final String TARGET = "http://example.com/";
+
+    private static URI u(String path) { return URI.create("http://example.com" + path); }
+
+    private static VulnResult finding(URI url) {
+        return VulnResult.builder().url(url).issueType(IssueType.XSS_REFLECTED).severity(Severity.MEDIUM)
+                .description("d").evidence("e").riskScore(40).build();
+    }
+
+    @Test
+    void saves_and_resumes_crawl_and_scan_parts() throws Exception {
+        Path dir = tmp.resolve("state");
+        ScanCheckpoint cp = new ScanCheckpoint(dir, TARGET, "2026-01-02T03:04:05Z");
+        cp.start(60_000, () -> new ScanCheckpoint.Budget(3, Map.of("example.com", 3), Map.of("example.com/item?id", 2)), true);
+        cp.emitted(u("/a"));
+        cp.emitted(u("/b"));
+        cp.emitted(u("/c"));
+        cp.save(new CrawlState(List.of(new Frontier.Entry(u("/d"), 2)), new long[]{0L, 42L, -7L}));
+        cp.completed(u("/a"), List.of(finding(u("/a"))));
+        cp.completed(u("/d"), List.of()); // 저장 지점 이후에 내보낸 URL도 완료로 기록 가능
+        cp.saveNow();
+        cp.close();
+
+        ScanCheckpoint again = new ScanCheckpoint(dir, TARGET, "2026-09-09T00:00:00Z");
+        ScanCheckpoint.Saved s = again.resume();
+        assertNotNull(s);
+        assertEquals("2026-01-02T03:04:05Z", s.startedIso());
+        assertEquals("2026-01-02T03:04:05Z", again.startedIso());
+        assertFalse(s.crawlComplete());
+        assertEquals(List.of(new Frontier.Entry(u("/d"), 2)), s.crawl().pending());
+        assertArrayEquals(new long[]{0L, 42L, -7L}, s.crawl().seen());
+        assertEquals(List.of(u("/b"), u("/c")), s.requeue());
+        assertTrue(s.known().containsAll(List.of(u("/a"), u("/b"), u("/c"), u("/d"))));
+        List<VulnResult> rs = results(s);
+        assertEquals(1, rs.size());
+        assertEquals(Integer.valueOf(40), rs.get(0).getRiskScore());
+        assertEquals(3, s.budget().total());
+        assertEquals(Map.of("example.com", 3), s.budget().perHost());
+        assertEquals(Map.of("example.com/item?id", 2), s.budget().perTemplate());
+
+        // 이전 크롤 부분은 정리되고 포인터 + 가리키는 crawl-N + 추가 전용 로그 3개만 남음
+        try (var files = Files.list(dir)) {
+            assertEquals(5, files.count(), "pointer + crawl-N + emitted/done/results");
+        }
+
+        assertNull(new ScanCheckpoint(dir, "http://other.example/", "x").resume(), "other target → fresh start");
+        again.clear();
+        assertFalse(Files.exists(dir));
+    }
+
+    @Test
+    void appends_logs_incrementally_and_drops_unsaved_tail_on_resume() throws Exception {
+        Path dir = tmp.resolve("state");
+        ScanCheckpoint cp = new ScanCheckpoint(dir, TARGET, "2026-01-02T03:04:05Z");
+        cp.start(60_000, () -> ScanCheckpoint.Budget.NONE, false);
+        cp.completed(u("/a"), List.of(finding(u("/a"))));
+        cp.saveNow();
+        long afterFirst = Files.size(dir.resolve("results.ndjson"));
+        cp.completed(u("/b"), List.of(finding(u("/b"))));
+        cp.saveNow();
+        assertTrue(Files.size(dir.resolve("results.ndjson")) > afterFirst);
+        assertEquals(List.of(u("/a").toString(), u("/b").toString()), Files.readAllLines(dir.resolve("done.txt")));
+
+        // 마지막 저장 이후 완료분은 포인터 밖 → 재개 때 버리고 다시 분석
+        cp.completed(u("/c"), List.of(finding(u("/c"))));
+        cp.close();
+
+        ScanCheckpoint again = new ScanCheckpoint(dir, TARGET, "x");
+        ScanCheckpoint.Saved s = again.resume();
+        assertNotNull(s);
+        assertEquals(Set.of(u("/a"), u("/b")), s.done());
+        assertEquals(List.of(u("/a"), u("/b")), results(s).stream().map(VulnResult::getUrl).toList());
+
+        // 이어 쓰기: 잘린 지점부터 추가
+        again.start(60_000, () -> ScanCheckpoint.Budget.NONE, false);
+        again.completed(u("/c"), List.of(finding(u("/c"))));
+        again.saveNow();
+        again.close();
+        ScanCheckpoint.Saved s2 = new ScanCheckpoint(dir, TARGET, "x").resume();
+        assertEquals(List.of(u("/a"), u("/b"), u("/c")), results(s2).stream().map(VulnResult::getUrl).toList());
+        assertEquals(3, s2.done().size());
+    }
+
+    private static List<VulnResult> results(ScanCheckpoint.Saved s) {
+        List<VulnResult> out = new ArrayList<>();
+        s.forEachResult(out::add);
+        return out;
+    }
+
+    /** 팬아웃 3, 깊이 3 트리 */
+    private static final LinkExtractor TREE = base -> {
+        String p = base.getPath();
+        Set<URI> out = new LinkedHashSet<>();
+        for (int i = 0; i < 3; i++) out.add(u((p.endsWith("/") ? p : p + "/") + i));
+        return out;
+    };
+
+    private static Crawler crawler(int workers) {
+        ScanConfig cfg = ScanConfig.defaults().setTarget(TARGET).setMaxDepth(3);
+        cfg.getCrawler().setRespectRobots(false);
+        cfg.getCrawler().setWorkers(workers);
+        return new Crawler(cfg, TREE, HttpClient.newHttpClient());
+    }
+
+    @Test
+    void crawler_resumes_from_safe_point_without_gaps_or_repeats() throws Exception {
+        List<URI> full = crawler(1).crawlSeeds();
+        assertEquals(1 + 3 + 9 + 27, full.size());
+
+        for (int workers : new int[]{1, 4}) {
+            List<URI> before = new ArrayList<>();
+            CrawlState[] cut = new CrawlState[1];
+            int[] emittedAtCut = new int[1];
+            Crawler c = crawler(workers);
+            c.setCheckpoint(new CrawlState.Sink() {
+                @Override public boolean wanted() { return cut[0] == null && before.size() >= 7; }
+                @Override public void save(CrawlState state) { cut[0] = state; emittedAtCut[0] = before.size(); }
+            });
+            c.crawlSeeds((seed, pending) -> before.add(seed) && before.size() < 15); // 15건에서 중단(취소)
+            assertNotNull(cut[0]);
+
+            Crawler resumed = crawler(workers);
+            resumed.restore(cut[0]);
+            List<URI> after = resumed.crawlSeeds();
+
+            List<URI> joined = new ArrayList<>(before.subList(0, emittedAtCut[0]));
+            joined.addAll(after);
+            assertEquals(full, joined, "workers=" + workers);
+        }
+    }
+
+    @Test
+    void scan_service_resumes_after_cancel_and_keeps_started_iso() {
+        List<URI> seeds = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) seeds.add(u("/p" + i));
+        ICrawler crawler = () -> seeds;
+        IScanner scanner = resp -> new ArrayList<>(List.of(finding(resp.getUrl())));
+
+        ScanConfig cfg = ScanConfig.defaults().setTarget(TARGET).setConcurrency(1).setOutputDir(tmp);
+        cfg.setRps(10_000);
+        cfg.getCheckpoint().setEnabled(true).setIntervalSec(3600).setResume(true);
+
+        // 1차: 8번째 페이지에서 취소
+        AtomicBoolean cancel = new AtomicBoolean(false);
+        Set<URI> first = Collections.synchronizedSet(new LinkedHashSet<>());
+        IHttpAnalyzer http1 = url -> {
+            first.add(url);
+            if (first.size() >= 8) cancel.set(true);
+            return HttpResponseData.builder().url(url).statusCode(200).contentType("text/html").body("<p>x</p>").build();
+        };
+        ScanService svc1 = new ScanService(cfg, crawler, http1, scanner);
+        assertThrows(CancellationException.class, () -> svc1.run(ProgressListener.NONE, cancel));
+        assertTrue(Files.isRegularFile(cfg.stateDir().resolve("checkpoint.properties")));
+
+        // 2차: 재개 → 완료된 URL은 다시 받지 않음
+        Set<URI> second = Collections.synchronizedSet(new LinkedHashSet<>());
+        IHttpAnalyzer http2 = url -> {
+            second.add(url);
+            return HttpResponseData.builder().url(url).statusCode(200).contentType("text/html").body("<p>x</p>").build();
+        };
+        ScanService svc2 = new ScanService(cfg, crawler, http2, scanner);
+        List<VulnResult> results = svc2.run();
+
+        Set<URI> reported = new HashSet<>();
+        for (VulnResult r : results) reported.add(r.getUrl());
+        assertEquals(new HashSet<>(seeds), reported, "every page reported once");
+        assertEquals(20, results.size());
+        assertTrue(second.size() < 20, "resumed run re-fetched everything: " + second.size());
+        assertEquals(svc1.getStartedIso(), svc2.getStartedIso());
+        assertFalse(Files.exists(cfg.stateDir()), "completed scan clears its state");
+    }
+}
@@ -0,0 +1,137 @@
+package com.webkillerai.core.service;
+
+import com.webkillerai.core.api.ICrawler;
+import com.webkillerai.core.api.IHttpAnalyzer;
+import com.webkillerai.core.api.IScanner;
+import com.webkillerai.core.model.ScanConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingPipelineTest {
+
+    @AfterEach
+    void clearProps() {
+        System.clearProperty("wk.crawl.maxSeeds");
+        System.clearProperty("wk.crawl.streaming");
+    }
+
+    private static ScanConfig cfg() {
+        ScanConfig cfg = ScanConfig.defaults()
+                .setTarget("http://example.com/")
+                .setMaxDepth(0)
+                .setConcurrency(2);
+        cfg.setRps(10_000);
+        return cfg;
+    }
+
+    /** 크롤 도중(마지막 시드 방출 전)에 분석이 시작되어야 한다 */
+    @Test
+    void scan_starts_before_crawl_finishes() {
+        AtomicBoolean crawlFinished = new AtomicBoolean(false);
+        AtomicBoolean analyzedDuringCrawl = new AtomicBoolean(false);
+
+        ICrawler crawler = new ICrawler() {
+            @Override public List<URI> crawlSeeds() { throw new UnsupportedOperationException(); }
+            @Override public void crawlSeeds(SeedSink sink) throws InterruptedException {
+                for (int i = 0; i < 10; i++) {
+                    if (!sink.accept(URI.create("http://example.com/p" + i), 10 - i - 1)) return;
+                    Thread.sleep(30);
+                }
+                crawlFinished.set(true);
+            }
+        };
+        IHttpAnalyzer http = url -> {
+            if (!crawlFinished.get()) analyzedDuringCrawl.set(true);
+            return null;
+        };
+        IScanner scanner = resp -> Collections.emptyList();
+
+        List<Long> totals = Collections.synchronizedList(new ArrayList<>());
+        ScanService svc = new ScanService(cfg(), crawler, http, scanner);
+        svc.run((p, phase, done, total) -> { if ("scan".equals(phase)) totals.add(total); }, null);
+
+        assertTrue(analyzedDuringCrawl.get(), "analysis should overlap the crawl");
+        assertEquals(10, svc.getVisitedPageCount());
+        assertFalse(totals.isEmpty());
+        assertTrue(totals.stream().allMatch(t -> t > 0), "estimated totals must be positive: " + totals);
+    }
+
+    /** maxSeeds 도달 시 크롤을 조기 중단한다 */
+    @Test
+    void max_seeds_stops_crawler_early() {
+        System.setProperty("wk.crawl.maxSeeds", "3");
+        AtomicInteger emitted = new AtomicInteger();
+
+        ICrawler crawler = new ICrawler() {
+            @Override public List<URI> crawlSeeds() { throw new UnsupportedOperationException(); }
+            @Override public void crawlSeeds(SeedSink sink) throws InterruptedException {
+                for (int i = 0; i < 1000; i++) {
+                    emitted.incrementAndGet();
+                    if (!sink.accept(URI.create("http://example.com/p" + i), 0)) return;
+                }
+            }
+        };
+        AtomicInteger analyzed = new AtomicInteger();
+        IHttpAnalyzer http = url -> { analyzed.incrementAndGet(); return null; };
+        IScanner scanner = resp -> Collections.emptyList();
+
+        ScanService svc = new ScanService(cfg(), crawler, http, scanner);
+        svc.run();
+
+        assertEquals(3, analyzed.get());
+        assertEquals(3, svc.getVisitedPageCount());
+        assertTrue(emitted.get() < 1000, "crawler should stop early, emitted=" + emitted.get());
+    }
+
+    /** 크롤 예외는 로그만 남기고 삼키지 않고 run()까지 전달(스트리밍/비스트리밍 모두) */
+    @Test
+    void crawl_failure_is_rethrown_to_the_caller() {
+        for (String streaming : List.of("true", "false")) {
+            System.setProperty("wk.crawl.streaming", streaming);
+            ICrawler crawler = new ICrawler() {
+                @Override public List<URI> crawlSeeds() { throw new UnsupportedOperationException(); }
+                @Override public void crawlSeeds(SeedSink sink) throws InterruptedException {
+                    sink.accept(URI.create("http://example.com/p0"), 1);
+                    sink.accept(URI.create("http://example.com/p1"), 0);
+                    throw new IllegalStateException("frontier broken");
+                }
+            };
+            IHttpAnalyzer http = url -> null;
+            IScanner scanner = resp -> Collections.emptyList();
+
+            ScanService svc = new ScanService(cfg(), crawler, http, scanner);
+            IllegalStateException e = assertThrows(IllegalStateException.class, svc::run);
+            assertEquals("frontier broken", e.getMessage());
+        }
+    }
+
+    /** 비스트리밍 모드(기존 동작)도 동일 결과 */
+    @Test
+    void non_streaming_mode_still_scans_all_seeds() {
+        System.setProperty("wk.crawl.streaming", "false");
+        ICrawler crawler = () -> {
+            List<URI> seeds = new ArrayList<>();
+            for (int i = 0; i < 5; i++) seeds.add(URI.create("http://example.com/p" + i));
+            seeds.add(URI.create("http://example.com/logo.png")); // 정적 리소스 제외
+            return seeds;
+        };
+        AtomicInteger analyzed = new AtomicInteger();
+        IHttpAnalyzer http = url -> { analyzed.incrementAndGet(); return null; };
+        IScanner scanner = resp -> Collections.emptyList();
+
+        ScanService svc = new ScanService(cfg(), crawler, http, scanner);
+        svc.run();
+
+        assertEquals(5, analyzed.get());
+        assertEquals(5, svc.getVisitedPageCount());
+    }
+}
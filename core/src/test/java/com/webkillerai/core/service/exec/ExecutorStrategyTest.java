@@ -0,0 +1,88 @@
+package com.webkillerai.core.service.exec;
+
+import com.webkillerai.core.api.ICrawler;
+import com.webkillerai.core.api.IHttpAnalyzer;
+import com.webkillerai.core.api.IScanner;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.service.ScanService;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorStrategyTest {
+
+    @Test
+    void every_strategy_caps_running_tasks_at_concurrency() throws Exception {
+        for (String name : List.of("fixed", "forkjoin", "virtual")) {
+            ExecutorStrategy s = ExecutorStrategies.forName(name);
+            ExecutorService exec = s.create(3, "test-worker");
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger max = new AtomicInteger();
+            List<Future<?>> fs = new ArrayList<>();
+            try {
+                for (int i = 0; i < 24; i++) {
+                    fs.add(exec.submit(() -> {
+                        int now = running.incrementAndGet();
+                        max.accumulateAndGet(now, Math::max);
+                        try { Thread.sleep(20); } catch (InterruptedException ie) { Thread.currentThread().interrupt(); }
+                        running.decrementAndGet();
+                    }));
+                }
+                for (Future<?> f : fs) f.get(10, TimeUnit.SECONDS);
+            } finally {
+                exec.shutdownNow();
+            }
+            assertTrue(max.get() <= 3, name + " ran " + max.get() + " tasks at once");
+            assertTrue(max.get() >= 2, name + " should run tasks in parallel, max=" + max.get());
+        }
+    }
+
+    @Test
+    void unknown_or_unsupported_names_fall_back_to_fixed() {
+        assertEquals("fixed", ExecutorStrategies.forName(null).name());
+        assertEquals("fixed", ExecutorStrategies.forName("bogus").name());
+        assertEquals("forkjoin", ExecutorStrategies.forName(" ForkJoin ").name());
+        // 19/20의 preview API는 지원으로 치지 않음
+        assertEquals(Runtime.version().feature() >= 21, VirtualThreadStrategy.isAvailable());
+        String expectVirtual = VirtualThreadStrategy.isAvailable() ? "virtual" : "fixed";
+        assertEquals(expectVirtual, ExecutorStrategies.forName("virtual").name());
+    }
+
+    @Test
+    void scan_service_respects_cap_with_forkjoin_executor() {
+        ScanConfig cfg = ScanConfig.defaults()
+                .setTarget("http://example.com/")
+                .setMaxDepth(0)
+                .setConcurrency(4)
+                .setExecutor("forkjoin");
+        cfg.setRps(10_000);
+
+        ICrawler crawler = () -> {
+            List<URI> seeds = new ArrayList<>();
+            for (int i = 0; i < 24; i++) seeds.add(URI.create("http://example.com/p" + i));
+            return seeds;
+        };
+        AtomicInteger analyzed = new AtomicInteger();
+        IHttpAnalyzer http = url -> {
+            analyzed.incrementAndGet();
+            try { Thread.sleep(30); } catch (InterruptedException ie) { Thread.currentThread().interrupt(); }
+            return null;
+        };
+        IScanner scanner = resp -> Collections.emptyList();
+
+        ScanService svc = new ScanService(cfg, crawler, http, scanner);
+        svc.run();
+
+        assertEquals(24, analyzed.get());
+        assertTrue(svc.getRuntimeSnapshot().maxObservedConcurrency <= 4);
+    }
+}
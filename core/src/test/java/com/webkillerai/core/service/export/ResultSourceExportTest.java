@@ -0,0 +1,73 @@
+package com.webkillerai.core.service.export;
+
+import com.webkillerai.core.model.IssueType;
+import com.webkillerai.core.model.ScanConfig;
+import com.webkillerai.core.model.Severity;
+import com.webkillerai.core.model.VulnResult;
+import com.webkillerai.core.service.ResultLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** 같은 결과를 목록/NDJSON 로그 어느 쪽에서 읽어도 보고서가 같아야 함 */
+class ResultSourceExportTest {
+
+    @TempDir Path tmp;
+
+    private static final String STARTED = "2026-01-01T00:00:00Z";
+
+    private static List<VulnResult> sample(int n) {
+        IssueType[] types = IssueType.values();
+        Severity[] sev = Severity.values();
+        List<VulnResult> out = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            out.add(VulnResult.builder()
+                    .url(URI.create("http://ex.com/p" + (i % 7) + "?q=" + i))
+                    .issueType(types[(i * 7) % types.length])
+                    .severity(sev[(i * 3) % sev.length])
+                    .description(i % 5 == 0 ? null : "desc \"" + i + "\" <b>")
+                    .evidence(i % 4 == 0 ? null : "<script>alert(" + i + ")</script>\nline2")
+                    .confidence(0.5 + (i % 5) / 10.0)
+                    .detectedAt(Instant.parse(STARTED).plusSeconds(i))
+                    .riskScore(i % 3 == 0 ? null : (i * 13) % 101)
+                    .requestLine(i % 2 == 0 ? "GET /p" + i + " HTTP/1.1" : null)
+                    .build());
+        }
+        return out;
+    }
+
+    /** 실행마다 바뀌는 값(생성 시각, 객체 해시 기반 id) 가림 */
+    private static String mask(String s) {
+        return s.replaceAll("\"generatedAt\": \"[^\"]*\"", "\"generatedAt\": \"X\"")
+                .replaceAll("\"id\": \"[A-Z_]{1,3}-\\d+\"", "\"id\": \"X\"")
+                .replaceAll("Generated: [^<]*", "Generated: X");
+    }
+
+    @Test
+    void json_and_html_from_log_match_list_export() throws Exception {
+        ScanConfig cfg = ScanConfig.defaults().setTarget("http://ex.com/");
+        List<VulnResult> results = sample(60);
+
+        Path log = tmp.resolve("r.ndjson");
+        try (ResultLog w = ResultLog.open(log, 60_000)) {
+            results.forEach(w::append);
+        }
+
+        Path a = tmp.resolve("list"), b = tmp.resolve("log");
+        String jsonList = Files.readString(new JsonReportExporter().export(a, cfg, results, STARTED));
+        String jsonLog  = Files.readString(new JsonReportExporter().export(b, cfg, ResultSource.ofLog(log), STARTED));
+        assertEquals(mask(jsonList), mask(jsonLog));
+
+        String htmlList = Files.readString(new HtmlReportExporter().export(a, cfg, results, STARTED));
+        String htmlLog  = Files.readString(new HtmlReportExporter().export(b, cfg, ResultSource.ofLog(log), STARTED));
+        assertEquals(mask(htmlList), mask(htmlLog));
+    }
+}
@@ -0,0 +1,54 @@
+package com.webkillerai.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickTest {
+
+    private static List<String> hits(AhoCorasick ac, String text) {
+        List<String> out = new ArrayList<>();
+        ac.scan(text, (id, start) -> { out.add(ac.pattern(id) + "@" + start); return true; });
+        return out;
+    }
+
+    @Test
+    void reports_every_overlapping_hit_with_offset_ignoring_ascii_case() {
+        AhoCorasick ac = AhoCorasick.of("he", "she", "his", "hers");
+        assertEquals(List.of("she@1", "he@2", "hers@2"), hits(ac, "uSHErS"));
+        assertEquals(List.of("his@0"), hits(ac, "HIS"));
+    }
+
+    @Test
+    void failure_links_carry_suffix_outputs() {
+        AhoCorasick ac = AhoCorasick.of("exception", "nullpointerexception", "at");
+        assertEquals(List.of("nullpointerexception@5", "exception@16", "at@26"),
+                hits(ac, "java.NullPointerException at"));
+    }
+
+    @Test
+    void non_ascii_resets_and_duplicates_get_own_ids() {
+        AhoCorasick ac = AhoCorasick.of("sql", "SQL");
+        assertEquals(List.of("sql@3", "SQL@3"), hits(ac, "가s나sql"));
+        assertTrue(ac.containsAny("ㅡSqLㅡ"));
+        assertFalse(ac.containsAny("s-q-l"));
+        assertFalse(ac.containsAny(null));
+    }
+
+    @Test
+    void sink_can_stop_early() {
+        AhoCorasick ac = AhoCorasick.of("a");
+        int[] seen = {0};
+        ac.scan("aaaa", (id, start) -> ++seen[0] < 2);
+        assertEquals(2, seen[0]);
+    }
+
+    @Test
+    void rejects_empty_and_non_ascii_patterns() {
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.of(""));
+        assertThrows(IllegalArgumentException.class, () -> AhoCorasick.of("오류"));
+    }
+}
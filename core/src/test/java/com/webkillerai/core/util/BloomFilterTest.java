@@ -0,0 +1,28 @@
+package com.webkillerai.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void no_false_negatives_and_fpp_near_target() {
+        BloomFilter f = BloomFilter.forExpected(100_000, 0.01);
+        Random r = new Random(1);
+        long[] in = new long[100_000];
+        for (int i = 0; i < in.length; i++) {
+            in[i] = r.nextLong();
+            f.put(in[i]);
+        }
+        for (long h : in) assertTrue(f.mightContain(h));
+
+        int fp = 0, trials = 200_000;
+        for (int i = 0; i < trials; i++) if (f.mightContain(r.nextLong())) fp++;
+        double rate = (double) fp / trials;
+        assertTrue(rate < 0.02, "fpp=" + rate);
+        assertTrue(f.hashes() >= 5 && f.hashes() <= 8);
+    }
+}
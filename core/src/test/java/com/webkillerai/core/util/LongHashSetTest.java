@@ -0,0 +1,57 @@
+package com.webkillerai.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    void behaves_like_a_set_across_growth() {
+        LongHashSet s = new LongHashSet(4);
+        Set<Long> ref = new HashSet<>();
+        Random r = new Random(11);
+        for (int i = 0; i < 200_000; i++) {
+            long k = (i % 7 == 0) ? r.nextInt(1000) : r.nextLong(); // 작은 값 반복 + 0 포함 가능
+            assertEquals(ref.add(k), s.add(k));
+        }
+        assertEquals(ref.size(), s.size());
+        for (long k : ref) assertTrue(s.contains(k));
+        for (int i = 0; i < 10_000; i++) {
+            long k = r.nextLong();
+            assertEquals(ref.contains(k), s.contains(k));
+        }
+        assertTrue(s.add(0) || ref.contains(0L));
+        assertTrue(s.contains(0));
+        assertTrue(s.capacity() >= s.size() / 0.66, "load factor kept");
+    }
+
+    @Test
+    void readers_never_see_absent_keys_while_writer_grows() throws Exception {
+        LongHashSet s = new LongHashSet(16);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger bad = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            Random r = new Random(5);
+            while (!done.get()) {
+                // 홀수 키는 절대 추가되지 않음
+                if (s.contains(r.nextLong() | 1L)) bad.incrementAndGet();
+                int n = s.size();
+                if (n > 0 && !s.contains(2L)) bad.incrementAndGet(); // 첫 키는 이후 어느 테이블에도 있음
+            }
+        });
+        s.add(2L);
+        reader.start();
+        for (long k = 4; k < 2_000_000; k += 2) s.add(k);
+        done.set(true);
+        reader.join();
+        assertEquals(0, bad.get());
+        assertEquals(999_999, s.size());
+    }
+}
@@ -1,7 +1,13 @@
 package com.webkillerai.core.util;
 
+import com.webkillerai.core.model.IssueType;
+import com.webkillerai.core.model.Severity;
+import com.webkillerai.core.model.VulnResult;
 import org.junit.jupiter.api.Test;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -60,4 +66,25 @@ class RiskUtilTest {
         assertEquals(30, rs.max());
         assertEquals(3, rs.count());
     }
+
+    @Test
+    void accumulator_matches_summarize() {
+        var rnd = new Random(7);
+        var sev = Severity.values();
+        var list = new ArrayList<VulnResult>();
+        var acc = new RiskUtil.Accumulator();
+        assertEquals(RiskUtil.summarize(list), acc.summary());
+        for (int i = 0; i < 997; i++) {
+            var v = VulnResult.builder()
+                    .url(URI.create("http://x/" + i))
+                    .issueType(IssueType.XSS_REFLECTED)
+                    .severity(sev[rnd.nextInt(sev.length)])
+                    .riskScore(rnd.nextInt(5) == 0 ? null : rnd.nextInt(140) - 20)
+                    .build();
+            list.add(v);
+            acc.add(v);
+            if (i % 97 == 0) assertEquals(RiskUtil.summarize(list), acc.summary(), "n=" + (i + 1));
+        }
+        assertEquals(RiskUtil.summarize(list), acc.summary());
+    }
 }
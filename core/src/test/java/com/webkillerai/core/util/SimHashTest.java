@@ -0,0 +1,49 @@
+package com.webkillerai.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimHashTest {
+
+    private static String item(int id, String name, int price) {
+        return "<!doctype html><html><head><title>" + name + " - Shop</title><link rel=stylesheet href=/s.css></head><body>"
+                + "<header><nav><a href=/>Home</a><a href=/cart>Cart</a><a href=/login>Login</a></nav></header>"
+                + "<main><div class=\"product\" data-id=\"" + id + "\"><h1>" + name + "</h1><p class=price>" + price + " KRW</p>"
+                + "<p>Free shipping on orders over 50000. Returns accepted within 30 days of delivery.</p>"
+                + "<form action=/cart method=post><input type=hidden name=id value=" + id + "><button>Add to cart</button></form></div>"
+                + "<ul class=related><li><a href=/item?id=" + (id + 1) + ">Related one</a></li>"
+                + "<li><a href=/item?id=" + (id + 2) + ">Related two</a></li></ul></main>"
+                + "<footer><p>Copyright 2024 Example Shop. All rights reserved.</p>"
+                + "<a href=/terms>Terms</a><a href=/privacy>Privacy</a></footer></body></html>";
+    }
+
+    private static final String[] NAMES = {"Blue Cotton Shirt", "Leather Wallet", "Running Shoes Pro", "Ceramic Mug Set", "Wireless Mouse"};
+
+    @Test
+    void same_template_pages_are_close_and_different_pages_are_far() {
+        long base = SimHash.of(item(1, NAMES[0], 19900));
+        for (int i = 1; i < NAMES.length; i++) {
+            long fp = SimHash.of(item(i * 17, NAMES[i], 1000 * i + 900));
+            assertTrue(SimHash.distance(base, fp) <= 3, "template page " + i + " d=" + SimHash.distance(base, fp));
+        }
+        String report = "<html><body><table><tr><th>Date</th><th>Amount</th></tr><tr><td>2024-01-01</td><td>100</td></tr></table>"
+                + "<script>var x = compute(1); console.log(x)</script>"
+                + "<div id=chart>Quarterly revenue report summary and charts for investors</div></body></html>";
+        assertTrue(SimHash.distance(base, SimHash.of(report)) > 10);
+    }
+
+    @Test
+    void ids_and_attributes_do_not_change_the_fingerprint() {
+        assertEquals(SimHash.of(item(1, NAMES[0], 100)), SimHash.of(item(99_999, NAMES[0], 250)));
+        assertEquals(SimHash.of(item(1, NAMES[0], 100)), SimHash.of(item(1, NAMES[0].toUpperCase(), 100)));
+    }
+
+    @Test
+    void short_or_empty_bodies_have_no_fingerprint() {
+        assertEquals(SimHash.NONE, SimHash.of(null));
+        assertEquals(SimHash.NONE, SimHash.of(""));
+        assertEquals(SimHash.NONE, SimHash.of("<p>ok</p>"));
+        assertNotEquals(SimHash.NONE, SimHash.of(item(1, NAMES[0], 100)));
+    }
+}